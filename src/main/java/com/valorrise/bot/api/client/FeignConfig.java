@@ -1,12 +1,13 @@
 package com.valorrise.bot.api.client;
 
 import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.profiling.ApiCallEvent;
+import com.valorrise.bot.profiling.ApiLatencies;
 import feign.Client;
 import feign.Request;
 import feign.Response;
+import feign.codec.Decoder;
 import feign.codec.Encoder;
-import feign.jackson.JacksonDecoder;
-import feign.jackson.JacksonEncoder;
 import feign.codec.ErrorDecoder;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
@@ -15,9 +16,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-import java.io.IOException;
-import java.util.concurrent.TimeUnit;
-
 @Configuration
 @EnableConfigurationProperties(ApiConfiguration.class)
 public class FeignConfig {
@@ -28,8 +26,8 @@ public class FeignConfig {
     }
 
     @Bean
-    public JacksonDecoder feignDecoder() {
-        return new JacksonDecoder();
+    public Decoder feignDecoder() {
+        return new GameApiDecoder();
     }
 
     @Bean
@@ -55,18 +53,38 @@ public class FeignConfig {
     }
 
     @Bean
-    public Client feignClient() {
-        return new Client.Default(null, null) {
-            @Override
-            public Response execute(Request request, Request.Options options) throws IOException {
-                // Use non-deprecated Options constructor
-                Request.Options updatedOptions = new Request.Options(
-                        apiConfig.getApi().getTimeout(), TimeUnit.MILLISECONDS, // Connect timeout
-                        apiConfig.getApi().getTimeout(), TimeUnit.MILLISECONDS, // Read timeout
-                        true // Follow redirects
-                );
-                return super.execute(request, updatedOptions);
+    public Client feignClient(ApiLatencies apiLatencies) {
+        Client transport = JdkHttpClient.transport(apiConfig.getApi().getTransport(), apiConfig.getApi().getTimeout());
+        return (request, options) -> {
+            ApiCallEvent event = new ApiCallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Response response = null;
+            try {
+                response = transport.execute(request, options);
+                return response;
+            } finally {
+                apiLatencies.record(System.nanoTime() - start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.setEndpoint(endpoint(request));
+                    event.setStatus(response != null ? response.status() : -1);
+                    event.setRequestBytes(request.length());
+                    Integer responseBytes = response != null && response.body() != null
+                            ? response.body().length() : null;
+                    event.setResponseBytes(responseBytes != null ? responseBytes : 0);
+                    event.commit();
+                }
             }
         };
     }
+
+    // The GameApiClient method, so that calls are grouped per endpoint rather than per game or ad id
+    private static String endpoint(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+                && request.requestTemplate().methodMetadata().method() != null) {
+            return request.requestTemplate().methodMetadata().method().getName();
+        }
+        return request.httpMethod().name();
+    }
 }
\ No newline at end of file
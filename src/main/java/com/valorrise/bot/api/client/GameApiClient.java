@@ -1,6 +1,6 @@
 package com.valorrise.bot.api.client;
 
-import com.valorrise.bot.model.dto.*;
+import com.valorrise.bot.model.domain.*;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,22 +11,22 @@ import java.util.List;
 @FeignClient(name = "game-api", url = "${game.api.base-url}", configuration = FeignConfig.class)
 public interface GameApiClient {
     @PostMapping("/game/start")
-    GameDto startGame();
+    Game startGame();
 
     @GetMapping("/{gameId}/messages")
-    List<AdvertisementDto> getAdvertisements(@PathVariable("gameId") String gameId);
+    List<Advertisement> getAdvertisements(@PathVariable("gameId") String gameId);
 
     @PostMapping("/{gameId}/solve/{adId}")
-    SolveResponseDto solveAdvertisement(@PathVariable("gameId") String gameId, @PathVariable("adId") String adId);
+    SolveResponse solveAdvertisement(@PathVariable("gameId") String gameId, @PathVariable("adId") String adId);
 
     @GetMapping("/{gameId}/shop")
-    List<ItemDto> getShopItems(@PathVariable("gameId") String gameId);
+    List<Item> getShopItems(@PathVariable("gameId") String gameId);
 
     @PostMapping("/{gameId}/investigate/reputation")
-    ReputationDto getReputation(@PathVariable("gameId") String gameId);
+    Reputation getReputation(@PathVariable("gameId") String gameId);
 
 
     @PostMapping("/{gameId}/shop/buy/{itemId}")
-    GameDto buyItem(@PathVariable("gameId") String gameId, @PathVariable("itemId") String itemId);
+    Game buyItem(@PathVariable("gameId") String gameId, @PathVariable("itemId") String itemId);
 
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.valorrise.bot.api.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.valorrise.bot.exception.ApiErrorResponse;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared JSON configuration for the Game API. Readers for every {@link GameApiClient} return type
+ * (and the error body) are built once up front; {@link ObjectReader} is immutable and thread-safe,
+ * so they are shared by all games.
+ */
+public final class GameApiCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(new BlackbirdModule());
+
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    static {
+        for (Method method : GameApiClient.class.getMethods()) {
+            Type type = method.getGenericReturnType();
+            READERS.put(type, MAPPER.readerFor(MAPPER.constructType(type)));
+        }
+        READERS.put(ApiErrorResponse.class, MAPPER.readerFor(ApiErrorResponse.class));
+    }
+
+    private GameApiCodec() {
+    }
+
+    public static ObjectReader readerFor(Type type) {
+        ObjectReader reader = READERS.get(type);
+        if (reader == null) {
+            reader = READERS.computeIfAbsent(type, t -> MAPPER.readerFor(MAPPER.constructType(t)));
+        }
+        return reader;
+    }
+}
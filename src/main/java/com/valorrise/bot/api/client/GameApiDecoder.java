@@ -0,0 +1,41 @@
+package com.valorrise.bot.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Streams Game API responses straight into domain objects using the pre-built readers of
+ * {@link GameApiCodec}, without an intermediate DTO or a character reader around the body.
+ */
+public class GameApiDecoder implements Decoder {
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.status() == 204 || response.status() == 404) {
+            return Util.emptyValueOf(type);
+        }
+        if (response.body() == null) {
+            return null;
+        }
+
+        ObjectReader reader = GameApiCodec.readerFor(type);
+        try (InputStream body = response.body().asInputStream();
+             JsonParser parser = reader.createParser(body)) {
+            if (parser.nextToken() == null) {
+                return null; // Empty body
+            }
+            return reader.readValue(parser);
+        } catch (RuntimeJsonMappingException e) {
+            throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+        }
+    }
+}
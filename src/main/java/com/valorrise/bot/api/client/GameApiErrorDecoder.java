@@ -1,9 +1,9 @@
 package com.valorrise.bot.api.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.valorrise.bot.exception.ApiErrorResponse;
 import com.valorrise.bot.exception.GameApiException;
 import feign.Response;
+import feign.Util;
 import feign.codec.ErrorDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,31 +13,55 @@ import java.io.InputStream;
 
 public class GameApiErrorDecoder implements ErrorDecoder {
     private static final Logger logger = LoggerFactory.getLogger(GameApiErrorDecoder.class);
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String UNKNOWN_ERROR = "Unknown error occurred";
+    private static final byte[] EMPTY_BODY = new byte[0];
 
     @Override
     public Exception decode(String methodKey, Response response) {
-        String errorMessage = "Unknown error occurred";
-        ApiErrorResponse apiError;
+        int status = response.status();
+        // Only copy the body here; it is parsed when (and if) the message is read
+        byte[] body = readBody(methodKey, response);
 
-        // Attempt to parse error response body
+        // Map HTTP status codes to custom exceptions
+        GameApiException exception = switch (status) {
+            case 400 -> GameApiException.of("Bad request: ", status, () -> parseMessage(body));
+            case 404 -> GameApiException.of("Resource not found: ", status, () -> parseMessage(body));
+            case 429 -> GameApiException.of("Rate limit exceeded: ", status, () -> parseMessage(body));
+            case 500, 502, 503, 504 -> GameApiException.of("Server error: ", status, () -> parseMessage(body));
+            default -> GameApiException.of("Unexpected error: ", status, () -> parseMessage(body));
+        };
+
+        // Log the error; expected outcomes are left to the caller
+        if (!exception.isExpected()) {
+            logger.error("API error for method: {}, status: {}, message: {}", methodKey, status, exception.getMessage());
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("API error for method: {}, status: {}, message: {}", methodKey, status, exception.getMessage());
+        }
+        return exception;
+    }
+
+    private static byte[] readBody(String methodKey, Response response) {
+        if (response.body() == null) {
+            return EMPTY_BODY;
+        }
         try (InputStream bodyIs = response.body().asInputStream()) {
-            apiError = objectMapper.readValue(bodyIs, ApiErrorResponse.class);
-            errorMessage = apiError.getMessage() != null ? apiError.getMessage() : errorMessage;
+            return Util.toByteArray(bodyIs);
         } catch (IOException e) {
-            logger.warn("Failed to parse error response body for method: {}, status: {}", methodKey, response.status());
+            logger.warn("Failed to read error response body for method: {}, status: {}", methodKey, response.status());
+            return EMPTY_BODY;
         }
+    }
 
-        // Log the error
-        logger.error("API error for method: {}, status: {}, message: {}", methodKey, response.status(), errorMessage);
-
-        // Map HTTP status codes to custom exceptions
-        return switch (response.status()) {
-            case 400 -> new GameApiException("Bad request: " + errorMessage, response.status());
-            case 404 -> new GameApiException("Resource not found: " + errorMessage, response.status());
-            case 429 -> new GameApiException("Rate limit exceeded: " + errorMessage, response.status());
-            case 500, 502, 503, 504 -> new GameApiException("Server error: " + errorMessage, response.status());
-            default -> new GameApiException("Unexpected error: " + errorMessage, response.status());
-        };
+    static String parseMessage(byte[] body) {
+        if (body.length == 0) {
+            return UNKNOWN_ERROR;
+        }
+        try {
+            ApiErrorResponse apiError = GameApiCodec.readerFor(ApiErrorResponse.class).readValue(body);
+            return apiError.getMessage() != null ? apiError.getMessage() : UNKNOWN_ERROR;
+        } catch (IOException e) {
+            logger.warn("Failed to parse error response body");
+            return UNKNOWN_ERROR;
+        }
     }
-}
\ No newline at end of file
+}
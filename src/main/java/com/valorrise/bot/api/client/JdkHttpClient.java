@@ -0,0 +1,105 @@
+package com.valorrise.bot.api.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign transport on {@link HttpClient}, which keeps a pool of persistent HTTP/1.1 connections per host
+ * (unlike {@link Client.Default}, whose {@code HttpURLConnection} keep-alive cache holds only a few idle
+ * connections per host).
+ */
+public class JdkHttpClient implements Client {
+    // Set by HttpClient itself; it rejects requests that try to set them
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    public JdkHttpClient(int timeoutMillis) {
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(timeout)
+                .method(request.httpMethod().name(), request.body() != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(request.body())
+                        : HttpRequest.BodyPublishers.noBody());
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                header.getValue().forEach(value -> builder.header(header.getKey(), value));
+            }
+        }
+
+        HttpResponse<byte[]> response = send(builder.build());
+        return Response.builder()
+                .status(response.statusCode())
+                .headers(Map.<String, Collection<String>>copyOf(response.headers().map()))
+                .body(response.body())
+                .request(request)
+                .build();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    /**
+     * @return the Game API transport with the given name: {@code default} ({@link Client.Default}) or
+     * {@code pooled} (this client)
+     */
+    public static Client transport(String name, int timeoutMillis) {
+        return switch (name) {
+            case "default" -> new DefaultClient(timeoutMillis);
+            case "pooled" -> new JdkHttpClient(timeoutMillis);
+            default -> throw new IllegalArgumentException("Unknown Game API transport: " + name
+                    + "; expected one of " + List.of("default", "pooled"));
+        };
+    }
+
+    // Client.Default with the configured timeouts instead of the per-request options
+    private static final class DefaultClient extends Client.Default {
+        private final Request.Options options;
+
+        private DefaultClient(int timeoutMillis) {
+            super(null, null);
+            this.options = new Request.Options(
+                    timeoutMillis, TimeUnit.MILLISECONDS, // Connect timeout
+                    timeoutMillis, TimeUnit.MILLISECONDS, // Read timeout
+                    true // Follow redirects
+            );
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options ignored) throws IOException {
+            return super.execute(request, options);
+        }
+    }
+}
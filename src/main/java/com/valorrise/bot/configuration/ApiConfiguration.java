@@ -1,11 +1,17 @@
 package com.valorrise.bot.configuration;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "game")
 @Validated
 @Data
@@ -16,6 +22,66 @@ public class ApiConfiguration {
     @NotNull
     private Shop shop;
 
+    @NotNull
+    private Pool pool = new Pool();
+
+    @NotNull
+    private Model model = new Model();
+
+    @NotNull
+    private Investigation investigation = new Investigation();
+
+    @NotNull
+    private Evaluation evaluation = new Evaluation();
+
+    @NotNull
+    private Tournament tournament = new Tournament();
+
+    @NotNull
+    private Strategy strategy = new Strategy();
+
+    @NotNull
+    private Tuning tuning = new Tuning();
+
+    @NotNull
+    private Shadow shadow = new Shadow();
+
+    @NotNull
+    private Journal journal = new Journal();
+
+    @NotNull
+    private Simulation simulation = new Simulation();
+
+    @NotNull
+    private Calibration calibration = new Calibration();
+
+    @NotNull
+    private Profiling profiling = new Profiling();
+
+    @NotNull
+    private Events events = new Events();
+
+    @NotNull
+    private LoadTest loadTest = new LoadTest();
+
+    @NotNull
+    private Run run = new Run();
+
+    @NotNull
+    private Dashboard dashboard = new Dashboard();
+
+    @NotNull
+    private Statistics statistics = new Statistics();
+
+    @NotNull
+    private Results results = new Results();
+
+    @NotNull
+    private Shutdown shutdown = new Shutdown();
+
+    @NotNull
+    private Farm farm = new Farm();
+
     @Data
     public static class Api {
         @NotNull
@@ -23,6 +89,10 @@ public class ApiConfiguration {
 
         @Min(1000)
         private int timeout;
+
+        // HTTP transport of the Feign client: default (HttpURLConnection) or pooled (java.net.http)
+        @NotNull
+        private String transport = "default";
     }
 
     @Data
@@ -32,5 +102,412 @@ public class ApiConfiguration {
 
         @Min(10)
         private int minGoldToBuy;
+
+        // Gold an upgrade purchase must leave room for, so a potion stays affordable afterwards
+        @Min(0)
+        private int cheapUpgradeReserve = 150;
+
+        @Min(0)
+        private int expensiveUpgradeReserve = 350;
+
+        // Cheap upgrades are preferred during the first turns of a game
+        @Min(0)
+        private int earlyGameTurns = 10;
+
+        // A reputation below this makes the upgrade that raises it a priority
+        private float lowReputation = 5;
+    }
+
+    @Data
+    public static class Pool {
+        // Pays off only when games are shorter than the ttl: a replacement waits about a game to be taken
+        private boolean enabled;
+
+        @Min(1)
+        private int size = 2;
+
+        // Age after which a pre-started game is abandoned instead of played
+        @NotNull
+        private Duration ttl = Duration.ofSeconds(60);
+
+        private boolean prefetchShop = true;
+    }
+
+    @Data
+    public static class Model {
+        // Memory-mapped file holding learned success rates; blank keeps them in memory only
+        private String file;
+
+        @Positive
+        private double priorStrength = 20;
+
+        @Positive
+        private double categoryShrinkage = 10;
+
+        // How often a background thread writes the learned counts to the file
+        private Duration flushInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Investigation {
+        // Variance of the local reputation estimate above which the API is asked again
+        @Positive
+        private double maxVariance = 4.0;
+
+        @Min(1)
+        private int highStakesCost = 300;
+    }
+
+    @Data
+    public static class Evaluation {
+        @Min(1)
+        private long games = 1_000_000;
+
+        private long seed = 42L;
+
+        // Shop strategies to compare; empty evaluates game.shop only
+        @NotNull
+        private List<Shop> candidates = new ArrayList<>();
+    }
+
+    @Data
+    public static class Tournament {
+        // Family-wise confidence that the reported winner is really the fastest strategy
+        private double confidence = 0.95;
+
+        @Min(1)
+        private int batchGames = 1_000;
+
+        @Min(1)
+        private long maxGames = 200_000;
+
+        private long seed = 42L;
+
+        // (task, purchase) strategy pairs to rank, by registered strategy name
+        @NotNull
+        private List<Candidate> candidates = new ArrayList<>();
+    }
+
+    @Data
+    public static class Candidate {
+        @NotNull
+        private String task = "expected-reward";
+
+        @NotNull
+        private String purchase = "planner";
+    }
+
+    @Data
+    public static class Tuning {
+        // Configurations sampled for the first successive-halving round, including game.shop
+        @Min(1)
+        private int candidates = 81;
+
+        // Only the best 1/eta of the configurations advance to the next round
+        @Min(2)
+        private int eta = 3;
+
+        @Min(1)
+        private long minGames = 2_000;
+
+        @Min(1)
+        private long maxGames = 200_000;
+
+        private long seed = 42L;
+
+        @NotNull
+        private String output = "application-tuned.yaml";
+    }
+
+    @Data
+    public static class Shadow {
+        private boolean enabled;
+
+        // Task strategies that are run next to the live one on every live board
+        @NotNull
+        private List<String> strategies = new ArrayList<>(List.of("safest"));
+
+        // Threads and queued boards for shadow work; boards beyond that are dropped, never waited for
+        @Min(1)
+        private int threads = 1;
+
+        @Min(1)
+        private int queueSize = 64;
+    }
+
+    @Data
+    public static class Journal {
+        private boolean enabled;
+
+        // One JSON line per played turn, appended across runs
+        @NotNull
+        private String file = "data/turns.jsonl";
+
+        // Turns waiting to be written; further turns are dropped rather than slowing the game
+        @Min(1)
+        private int queueSize = 1024;
+    }
+
+    @Data
+    public static class Simulation {
+        // Calibrated simulator parameters; the built-in defaults are used while it does not exist
+        @NotNull
+        private String parametersFile = "data/simulation-parameters.json";
+    }
+
+    @Data
+    public static class Calibration {
+        // Application logs to read in addition to the turn journal (game.journal.file)
+        @NotNull
+        private List<String> logs = new ArrayList<>();
+
+        // Pseudo-observations of the current parameters that fitted values are shrunk towards
+        @Positive
+        private double priorStrength = 10;
+    }
+
+    @Data
+    public static class Profiling {
+        private boolean enabled;
+
+        @NotNull
+        private Duration reportInterval = Duration.ofMinutes(1);
+
+        // Entries per ranking (endpoints, allocation sites) in each report
+        @Min(1)
+        private int top = 5;
+
+        // JFR allocation sampling rate; the main cost of the monitor
+        @NotNull
+        private String allocationThrottle = "100/s";
+
+        // Turns and GC pauses kept per report window for the overlap analysis
+        @Min(1)
+        private int maxIntervals = 100_000;
+    }
+
+    @Data
+    public static class Events {
+        private boolean enabled = true;
+
+        // Turn event slots; a power of two. When the slowest consumer is this far behind, events are dropped
+        @Min(2)
+        private int bufferSize = 4096;
+
+        // How long an idle consumer parks before polling again
+        @NotNull
+        private Duration idleWait = Duration.ofMillis(1);
+    }
+
+    @Data
+    public static class Run {
+        // Start a run with these settings on startup in play mode; otherwise wait for POST /admin/runs
+        private boolean autoStart = true;
+
+        // Games played at the same time
+        @Min(1)
+        private int concurrency = 1;
+
+        // Most games a run may play at the same time, each on its own thread; larger concurrencies are refused
+        @Min(1)
+        private int maxConcurrency = 64;
+
+        // Games to play before the run drains; 0 plays until stopped
+        @Min(0)
+        private long games = 0;
+
+        // Strategies every game of the run plays; when unset, games play in their strategy cohort
+        private String task;
+
+        private String purchase;
+    }
+
+    @Data
+    public static class Dashboard {
+        private boolean enabled = true;
+
+        // How often a frame (rolling aggregates and the latest turn of every game that played) is streamed
+        @NotNull
+        private Duration interval = Duration.ofSeconds(1);
+
+        // Rolling window of the aggregates, e.g. score per minute and API p99
+        @NotNull
+        private Duration window = Duration.ofMinutes(1);
+
+        // Games per frame; further games that played are only counted
+        @Min(1)
+        private int maxGamesPerFrame = 200;
+
+        // Frames of turns buffered per subscriber; a subscriber this far behind loses its oldest frames
+        @Min(1)
+        private int subscriberBuffer = 16;
+
+        // Viewers at a time, and so sender threads at most: a viewer with frames pending is written to on a
+        // thread of its own, so a stalled viewer holds one thread and never delays another
+        @Min(1)
+        private int maxSubscribers = 32;
+    }
+
+    @Data
+    public static class Statistics {
+        // How often the per-thread histograms of final game statistics are merged into the run's totals
+        @NotNull
+        private Duration mergeInterval = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Results {
+        private boolean enabled = true;
+
+        // Directory of the memory-mapped segments and dictionaries; blank keeps results off-heap in memory only
+        private String directory;
+
+        // Rows per segment; a full segment is written out and a new one started
+        @Min(1024)
+        @Max(1 << 24)
+        private int segmentRows = 65536;
+
+        // Segments per table kept without a directory; the oldest are dropped beyond that
+        @Min(1)
+        private int maxMemorySegments = 64;
+
+        // Groups a query may make: the product of the distinct values of its group-by columns
+        @Min(1)
+        private int maxGroups = 65536;
+    }
+
+    @Data
+    public static class Shutdown {
+        // How long the turns in flight get to finish on shutdown; keep it below the Spring shutdown phase timeout
+        @NotNull
+        private Duration timeout = Duration.ofSeconds(20);
+
+        // Games suspended by a shutdown, resumed by the next run; blank keeps them in memory only
+        private String checkpointFile;
+    }
+
+    @Data
+    public static class Farm {
+        // Games of a farm run; ignored when a strategy mix is given
+        @Min(1)
+        private long games = 10000;
+
+        // Games per task and purchase strategy; empty plays every game in the strategy cohorts
+        @NotNull
+        private List<FarmMix> mix = new ArrayList<>();
+
+        // Games a worker plays at a time, and replays if it dies; keep it well above game.run.concurrency
+        @Min(1)
+        private int shardGames = 200;
+
+        // Worker processes the coordinator starts on this host; workers on other hosts may join as well
+        @Min(0)
+        private int localWorkers = 2;
+
+        // Where the coordinator listens; bind to 0.0.0.0 for workers on other hosts, port 0 picks a free one
+        @NotNull
+        private String bindAddress = "127.0.0.1";
+
+        @Min(0)
+        @Max(65535)
+        private int port = 7077;
+
+        // Coordinator a worker connects to, as host:port
+        @NotNull
+        private String coordinator = "localhost:7077";
+
+        // How often a worker reports its progress
+        @NotNull
+        private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+        // Silence after which a worker counts as dead and its shard goes to another worker
+        @NotNull
+        private Duration workerTimeout = Duration.ofSeconds(15);
+
+        // Local workers keep their files (model, results, checkpoints, journal, log) in a directory each under this one
+        @NotNull
+        private String workerDirectory = "data/farm";
+
+        // JVM options of the local worker processes
+        @NotNull
+        private List<String> workerJvmOptions = new ArrayList<>(List.of("-Xmx512m"));
+    }
+
+    @Data
+    public static class FarmMix {
+        @NotNull
+        private String task;
+
+        @NotNull
+        private String purchase;
+
+        @Min(1)
+        private long games;
+    }
+
+    @Data
+    public static class LoadTest {
+        // Every combination of transport, threading model and bot count is run as one scenario
+        @NotNull
+        private List<String> transports = new ArrayList<>(List.of("default", "pooled"));
+
+        @NotNull
+        private List<String> threading = new ArrayList<>(List.of("thread-per-bot", "shared-pool"));
+
+        @NotNull
+        private List<Integer> bots = new ArrayList<>(List.of(100, 1000));
+
+        // Threads of the shared-pool threading model
+        @Min(1)
+        private int poolThreads = 200;
+
+        @NotNull
+        private Duration warmup = Duration.ofSeconds(10);
+
+        @NotNull
+        private Duration duration = Duration.ofSeconds(60);
+
+        @NotNull
+        private Duration sampleInterval = Duration.ofSeconds(5);
+
+        // Stand-in API latency per request, uniformly varied by up to the jitter either way
+        @NotNull
+        private Duration latency = Duration.ofMillis(50);
+
+        @NotNull
+        private Duration jitter = Duration.ofMillis(20);
+    }
+
+    @Data
+    public static class Strategy {
+        // Strategies of the "default" cohort
+        @NotNull
+        private String task = "expected-reward";
+
+        @NotNull
+        private String purchase = "planner";
+
+        // Share of games played by the default cohort, relative to the cohort weights
+        @Min(0)
+        private int weight = 1;
+
+        // Further cohorts that play a share of the games with their own strategies
+        @NotNull
+        private List<Cohort> cohorts = new ArrayList<>();
+    }
+
+    @Data
+    public static class Cohort {
+        @NotNull
+        private String name;
+
+        @NotNull
+        private String task = "expected-reward";
+
+        @NotNull
+        private String purchase = "planner";
+
+        @Min(0)
+        private int weight = 1;
     }
-}
\ No newline at end of file
+}
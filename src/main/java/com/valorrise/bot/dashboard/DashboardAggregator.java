@@ -0,0 +1,221 @@
+package com.valorrise.bot.dashboard;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnEventConsumer;
+import com.valorrise.bot.profiling.ApiLatencies;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Folds played turns into what the dashboard shows: the latest turn of every game since the last frame,
+ * coalesced per game, and rolling aggregates over {@code game.dashboard.window} kept in 60 buckets.
+ * Turns come from the event bus on its consumer thread; frames are taken on the dashboard's
+ * own thread, so the game threads never wait for either.
+ */
+@Component
+public class DashboardAggregator implements TurnEventConsumer {
+    private static final int BUCKETS = 60;
+    // Labels beyond this many are counted together, in case the API sends unexpected spellings
+    private static final int MAX_LABELS = 32;
+    static final String OTHER_LABEL = "other";
+
+    private final boolean enabled;
+    private final long bucketMillis;
+    private final ApiLatencies apiLatencies;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private final Map<String, GameUpdate> changed = new LinkedHashMap<>();
+    private final long[] bucketIds = new long[BUCKETS];
+    private final long[] turns = new long[BUCKETS];
+    private final long[] successes = new long[BUCKETS];
+    private final long[] scores = new long[BUCKETS];
+    private final Map<String, long[][]> byLabel = new HashMap<>();
+
+    @Autowired
+    public DashboardAggregator(ApiConfiguration config, ApiLatencies apiLatencies) {
+        this(config, apiLatencies, System::currentTimeMillis);
+    }
+
+    DashboardAggregator(ApiConfiguration config, ApiLatencies apiLatencies, LongSupplier clock) {
+        this.enabled = config.getDashboard().isEnabled();
+        this.bucketMillis = Math.max(1, config.getDashboard().getWindow().toMillis() / BUCKETS);
+        this.apiLatencies = apiLatencies;
+        this.clock = clock;
+        Arrays.fill(bucketIds, -1);
+    }
+
+    @Override
+    public String getName() {
+        return "dashboard";
+    }
+
+    @Override
+    public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+        if (!enabled || event.isGameOver()) {
+            return;
+        }
+        GameUpdate update = new GameUpdate(event.getGameId(), event.getCohort(), event.getTurn(), event.getTask(),
+                event.getProbability(), event.isSuccess(), event.getLives(), event.getGold(), event.getScore());
+        synchronized (this) {
+            int slot = advance(clock.getAsLong());
+            turns[slot]++;
+            if (event.isSuccess()) {
+                successes[slot]++;
+                scores[slot] += event.getReward();
+            }
+            long[][] label = label(event.getProbability());
+            label[0][slot]++;
+            if (event.isSuccess()) {
+                label[1][slot]++;
+            }
+            // Re-inserted so that the map stays in the order the games last played
+            changed.remove(update.getGameId());
+            changed.put(update.getGameId(), update);
+        }
+    }
+
+    /**
+     * Takes the latest turn of every game that played since the last call, the most recent ones if more
+     * than {@code max} games played.
+     */
+    public synchronized Turns drainTurns(int max) {
+        int omitted = Math.max(0, changed.size() - max);
+        List<GameUpdate> games = new ArrayList<>(Math.min(changed.size(), max));
+        Iterator<GameUpdate> updates = changed.values().iterator();
+        for (int i = 0; updates.hasNext(); i++) {
+            GameUpdate update = updates.next();
+            if (i >= omitted) {
+                games.add(update);
+            }
+        }
+        changed.clear();
+        return new Turns(games, omitted);
+    }
+
+    public Aggregates aggregates() {
+        long now = clock.getAsLong();
+        long turnCount = 0;
+        long successCount = 0;
+        long score = 0;
+        Map<String, Double> successRateByLabel = new TreeMap<>();
+        synchronized (this) {
+            advance(now);
+            long oldest = now / bucketMillis - BUCKETS;
+            for (int slot = 0; slot < BUCKETS; slot++) {
+                if (bucketIds[slot] > oldest) {
+                    turnCount += turns[slot];
+                    successCount += successes[slot];
+                    score += scores[slot];
+                }
+            }
+            for (Map.Entry<String, long[][]> label : byLabel.entrySet()) {
+                long attempts = 0;
+                long won = 0;
+                for (int slot = 0; slot < BUCKETS; slot++) {
+                    if (bucketIds[slot] > oldest) {
+                        attempts += label.getValue()[0][slot];
+                        won += label.getValue()[1][slot];
+                    }
+                }
+                if (attempts > 0) {
+                    successRateByLabel.put(label.getKey(), (double) won / attempts);
+                }
+            }
+        }
+        double perMinute = 60_000.0 / (BUCKETS * bucketMillis);
+        return Aggregates.builder()
+                .timestamp(now)
+                .windowMillis(BUCKETS * bucketMillis)
+                .turnsPerMinute(turnCount * perMinute)
+                .scorePerMinute(score * perMinute)
+                .successRate(turnCount > 0 ? (double) successCount / turnCount : 0)
+                .successRateByLabel(successRateByLabel)
+                .apiP99Millis(apiLatencies.valueAt(0.99) / 1_000.0)
+                .build();
+    }
+
+    // Moves to the bucket of the given time, clearing it if it still holds an older period
+    private int advance(long now) {
+        long id = now / bucketMillis;
+        int slot = (int) (id % BUCKETS);
+        if (bucketIds[slot] != id) {
+            bucketIds[slot] = id;
+            turns[slot] = 0;
+            successes[slot] = 0;
+            scores[slot] = 0;
+            for (long[][] label : byLabel.values()) {
+                label[0][slot] = 0;
+                label[1][slot] = 0;
+            }
+        }
+        return slot;
+    }
+
+    private long[][] label(String probability) {
+        String name = probability != null ? probability : OTHER_LABEL;
+        long[][] label = byLabel.get(name);
+        if (label == null) {
+            if (byLabel.size() >= MAX_LABELS) {
+                name = OTHER_LABEL;
+                label = byLabel.get(name);
+            }
+            if (label == null) {
+                label = new long[2][BUCKETS];
+                byLabel.put(name, label);
+            }
+        }
+        return label;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class GameUpdate {
+        private String gameId;
+        private String cohort;
+        private int turn;
+        private String task;
+        private String probability;
+        private boolean success;
+        private int lives;
+        private int gold;
+        private int score;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Turns {
+        private List<GameUpdate> games;
+        // Games that played but did not fit into the frame
+        private int omitted;
+    }
+
+    @Data
+    @Builder
+    public static class Aggregates {
+        // Epoch millis
+        private long timestamp;
+        private long windowMillis;
+        private double turnsPerMinute;
+        private double scorePerMinute;
+        private double successRate;
+        private Map<String, Double> successRateByLabel;
+        private double apiP99Millis;
+        // Turns the event bus dropped since startup, i.e. that the dashboard never saw
+        private long droppedTurns;
+    }
+}
@@ -0,0 +1,134 @@
+package com.valorrise.bot.dashboard;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEventBus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams dashboard frames to the subscribed viewers every {@code game.dashboard.interval}: the rolling
+ * aggregates and the latest turn of each game that played since the previous frame. Frames are taken
+ * from {@link DashboardAggregator} on a tick thread and written to viewers by a sender pool with a thread
+ * for every viewer that has frames pending, so a slow viewer only delays itself: however many viewers
+ * stall, none holds up another, the event bus or the game threads. Idle sender threads time out.
+ */
+@Component
+public class DashboardStream {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStream.class);
+
+    private final DashboardAggregator aggregator;
+    private final TurnEventBus turnEventBus;
+    private final ApiConfiguration.Dashboard config;
+    private final List<DashboardSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor sender;
+    private volatile DashboardAggregator.Aggregates latest;
+
+    public DashboardStream(DashboardAggregator aggregator, TurnEventBus turnEventBus, ApiConfiguration config) {
+        this.aggregator = aggregator;
+        this.turnEventBus = turnEventBus;
+        this.config = config.getDashboard();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Each viewer has at most one send queued or running, so up to max-subscribers threads are needed
+        this.sender = new ThreadPoolExecutor(0, this.config.getMaxSubscribers(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (this.config.isEnabled()) {
+            long interval = this.config.getInterval().toMillis();
+            ticker.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Opens a server-sent event stream for a viewer, with {@code aggregates}, {@code turns} and, when the
+     * viewer fell behind, {@code dropped} events.
+     *
+     * @throws IllegalStateException if the dashboard is disabled or has as many viewers as allowed
+     */
+    public SseEmitter subscribe() {
+        // No timeout: the stream lasts until the viewer goes away
+        SseEmitter emitter = new SseEmitter(0L);
+        DashboardSubscriber subscriber = subscribe(
+                (name, data) -> emitter.send(SseEmitter.event().name(name).data(data)));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Registers a viewer; it receives frames from the next tick on until it fails or is closed.
+     *
+     * @throws IllegalStateException if the dashboard is disabled or has as many viewers as allowed
+     */
+    DashboardSubscriber subscribe(DashboardSubscriber.Sink sink) {
+        if (!config.isEnabled()) {
+            throw new IllegalStateException("The dashboard is disabled");
+        }
+        if (subscribers.size() >= config.getMaxSubscribers()) {
+            throw new IllegalStateException("The dashboard already has " + subscribers.size() + " viewers");
+        }
+        DashboardSubscriber subscriber = new DashboardSubscriber(sink, config.getSubscriberBuffer(), this::unsubscribe);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    void unsubscribe(DashboardSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * @return the aggregates of the last frame, or {@code null} before the first frame
+     */
+    public DashboardAggregator.Aggregates getLatest() {
+        return latest;
+    }
+
+    void tick() {
+        try {
+            // Taken even without viewers, so that the games played meanwhile don't pile up
+            DashboardAggregator.Turns turns = aggregator.drainTurns(config.getMaxGamesPerFrame());
+            DashboardAggregator.Aggregates aggregates = aggregator.aggregates();
+            aggregates.setDroppedTurns(turnEventBus.getDroppedEvents());
+            latest = aggregates;
+            for (DashboardSubscriber subscriber : subscribers) {
+                subscriber.offer(aggregates, turns, sender);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Failed to publish dashboard frame: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+        sender.shutdownNow();
+        for (DashboardSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        subscribers.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package com.valorrise.bot.dashboard;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * One dashboard viewer. Aggregates are conflated to the latest value and turn frames wait in a bounded
+ * buffer that drops its oldest frame when full, so whatever the viewer's speed, offering never blocks
+ * and memory per viewer stays bounded. At most one send task per viewer is queued or running.
+ */
+class DashboardSubscriber {
+    static final String AGGREGATES = "aggregates";
+    static final String TURNS = "turns";
+    static final String DROPPED = "dropped";
+
+    /**
+     * Writes one server-sent event, blocking while the viewer is slow.
+     */
+    interface Sink {
+        void send(String name, Object data) throws IOException;
+    }
+
+    private final Sink sink;
+    private final Consumer<DashboardSubscriber> onClose;
+    private final AtomicReference<DashboardAggregator.Aggregates> aggregates = new AtomicReference<>();
+    private final BlockingQueue<DashboardAggregator.Turns> turns;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    DashboardSubscriber(Sink sink, int buffer, Consumer<DashboardSubscriber> onClose) {
+        this.sink = sink;
+        this.turns = new ArrayBlockingQueue<>(buffer);
+        this.onClose = onClose;
+    }
+
+    /**
+     * Hands a frame to the viewer and schedules sending it; called from the dashboard's tick thread only.
+     */
+    void offer(DashboardAggregator.Aggregates latest, DashboardAggregator.Turns frame, Executor sender) {
+        if (closed) {
+            return;
+        }
+        aggregates.set(latest);
+        if (frame != null && !frame.getGames().isEmpty()) {
+            while (!turns.offer(frame)) {
+                if (turns.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Every sender is busy, e.g. still with a viewer that left while stalled: retried next tick
+                scheduled.set(false);
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    private void drain() {
+        try {
+            do {
+                DashboardAggregator.Aggregates latest = aggregates.getAndSet(null);
+                if (latest != null) {
+                    sink.send(AGGREGATES, latest);
+                }
+                DashboardAggregator.Turns frame;
+                while ((frame = turns.poll()) != null) {
+                    sink.send(TURNS, frame);
+                }
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    sink.send(DROPPED, lost);
+                }
+                scheduled.set(false);
+                // A frame offered while the flag was still set would otherwise wait for the next tick
+            } while (!closed && hasPending() && scheduled.compareAndSet(false, true));
+        } catch (IOException | RuntimeException e) {
+            closed = true;
+            onClose.accept(this);
+        }
+    }
+
+    private boolean hasPending() {
+        return aggregates.get() != null || !turns.isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.valorrise.bot.events;
+
+import com.valorrise.bot.model.domain.TaskCategory;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The facts of one played turn, or of a game that is over, as a preallocated slot of {@link TurnEventBus}. Slots are reused once all
+ * consumers have passed them: consumers must copy out whatever they keep beyond
+ * {@link TurnEventConsumer#onEvent}.
+ */
+@Getter
+@Setter
+public class TurnEvent {
+    @Setter(AccessLevel.PACKAGE)
+    private long sequence = -1;
+
+    private String gameId;
+    private String cohort;
+    private String taskStrategy;
+    private String purchaseStrategy;
+    private int turn;
+
+    // The chosen advertisement
+    private String adId;
+    private String task;
+    private int reward;
+    private String probability;
+    private TaskCategory category;
+
+    // The solve outcome
+    private boolean success;
+    private String outcome;
+    private int lives;
+    private int gold;
+    private int score;
+
+    // Items bought before the task: ShopItem ownership bits and the number of potions
+    private long upgradesBought;
+    private int potionsBought;
+    private int livesAfterPurchases;
+    private int goldAfterPurchases;
+
+    // Predicted (or, after an investigation this turn, observed) reputation
+    private double people;
+    private double state;
+    private double underworld;
+    private boolean reputationObserved;
+
+    // Set on the one event published when a game is over, after its last turn: it carries the game's final
+    // turn, lives, gold and score and its task counts, success tells whether the score passed the target, and
+    // the advertisement and purchase fields are empty
+    private boolean gameOver;
+    private int tasksCompleted;
+    private int tasksFailed;
+}
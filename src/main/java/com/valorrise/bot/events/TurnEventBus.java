@@ -0,0 +1,205 @@
+package com.valorrise.bot.events;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer of {@link TurnEvent} slots (Disruptor-style) that fans every played turn out to all
+ * {@link TurnEventConsumer}s: logging, metrics, dashboards.
+ * <p>
+ * Game threads are the producers, each publishing its own game's turns in order; any number of games
+ * may publish concurrently. Publishing claims a sequence with a CAS on the cursor, fills the preallocated
+ * slot in place and marks it available, so it neither allocates nor blocks: when the slowest consumer is
+ * a whole ring behind, the event is dropped and counted instead. Each consumer follows on its own thread,
+ * draining everything available in one batch and parking briefly when there is nothing to do.
+ * <pre>
+ * TurnEvent event = bus.claim();
+ * if (event != null) {
+ *     event.setGameId(...);
+ *     bus.publish(event);
+ * }
+ * </pre>
+ */
+@Component
+public class TurnEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(TurnEventBus.class);
+
+    private final TurnEvent[] slots;
+    private final int mask;
+    private final int indexShift;
+    // Per slot, the lap (sequence >>> indexShift) of the event last published into it
+    private final AtomicIntegerArray published;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final LongAdder dropped = new LongAdder();
+    private final List<Follower> followers = new ArrayList<>();
+    private final long idleWaitNanos;
+    // Lower bound of the slowest consumer's sequence, so that producers rarely scan all consumers
+    private volatile long gatingCache = -1;
+    private volatile boolean running = true;
+
+    public TurnEventBus(List<TurnEventConsumer> consumers, ApiConfiguration config) {
+        ApiConfiguration.Events events = config.getEvents();
+        int size = events.getBufferSize();
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("game.events.buffer-size must be a power of two: " + size);
+        }
+        this.slots = new TurnEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new TurnEvent();
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.idleWaitNanos = events.getIdleWait().toNanos();
+
+        if (events.isEnabled()) {
+            for (TurnEventConsumer consumer : consumers) {
+                Follower follower = new Follower(consumer);
+                Thread thread = new Thread(follower, "turn-events-" + consumer.getName());
+                thread.setDaemon(true);
+                follower.thread = thread;
+                followers.add(follower);
+            }
+            followers.forEach(follower -> follower.thread.start());
+        }
+    }
+
+    public boolean isEnabled() {
+        return !followers.isEmpty();
+    }
+
+    /**
+     * Claims the next slot. The caller must fill it and {@link #publish} it promptly: consumers wait for
+     * claimed slots in sequence order.
+     *
+     * @return the slot to fill, or {@code null} when the bus has no consumers or the ring is full
+     */
+    public TurnEvent claim() {
+        if (followers.isEmpty() || !running) {
+            return null;
+        }
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            long wrapPoint = next - slots.length;
+            if (wrapPoint > gatingCache) {
+                long slowest = slowestSequence(current);
+                gatingCache = slowest;
+                if (wrapPoint > slowest) {
+                    dropped.increment();
+                    return null;
+                }
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        TurnEvent event = slots[(int) next & mask];
+        event.setSequence(next);
+        return event;
+    }
+
+    public void publish(TurnEvent event) {
+        long sequence = event.getSequence();
+        published.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return events claimed but not yet processed by the slowest consumer
+     */
+    public long getBacklog() {
+        long current = cursor.get();
+        return current - slowestSequence(current);
+    }
+
+    private long slowestSequence(long fallback) {
+        long slowest = fallback;
+        for (Follower follower : followers) {
+            slowest = Math.min(slowest, follower.sequence.get());
+        }
+        return slowest;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    // The highest sequence up to which every event from low on has been published
+    private long highestPublished(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Stops accepting events and lets every consumer drain what was already published.
+     */
+    @PreDestroy
+    public void close() {
+        running = false;
+        for (Follower follower : followers) {
+            try {
+                follower.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Follower implements Runnable {
+        private final TurnEventConsumer consumer;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private Thread thread;
+
+        private Follower(TurnEventConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = highestPublished(next, cursor.get());
+                if (available < next) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(idleWaitNanos);
+                    continue;
+                }
+                for (long current = next; current <= available; current++) {
+                    try {
+                        consumer.onEvent(slots[(int) current & mask], current, current == available);
+                    } catch (RuntimeException e) {
+                        logger.warn("Turn event consumer {} failed on event {}: {}",
+                                consumer.getName(), current, e.getMessage());
+                    }
+                }
+                sequence.lazySet(available);
+                next = available + 1;
+            }
+        }
+    }
+}
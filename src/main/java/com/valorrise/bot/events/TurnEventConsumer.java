@@ -0,0 +1,14 @@
+package com.valorrise.bot.events;
+
+/**
+ * Consumer of {@link TurnEventBus} events. Every consumer runs on its own thread and sees every published
+ * event in sequence order, in batches of whatever was published since its previous batch.
+ */
+public interface TurnEventConsumer {
+    String getName();
+
+    /**
+     * @param endOfBatch whether this is the last event currently available, e.g. to flush buffered output
+     */
+    void onEvent(TurnEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,66 @@
+package com.valorrise.bot.events;
+
+import com.valorrise.bot.model.domain.ShopItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the per-turn game log (purchases, the chosen task and its outcome) from {@link TurnEvent}s, off
+ * the game threads. {@link com.valorrise.bot.simulation.SimulationCalibrator#readLog} parses these lines.
+ */
+@Component
+public class TurnLogConsumer implements TurnEventConsumer {
+    private static final Logger logger = LoggerFactory.getLogger(TurnLogConsumer.class);
+    private static final ShopItem[] ITEMS = ShopItem.values();
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+        log(event);
+    }
+
+    public static boolean isEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    /**
+     * Writes the lines of one turn; the game threads call this directly for turns the bus could not take.
+     */
+    public static void log(TurnEvent event) {
+        if (event.isGameOver() || !logger.isInfoEnabled()) {
+            return;
+        }
+        if (event.getPotionsBought() > 0 || event.getUpgradesBought() != 0) {
+            logger.info("🛍️ Game {} bought {}! Lives: ❤️ {}, Gold: 💰 {}", event.getGameId(),
+                    purchases(event), event.getLivesAfterPurchases(), event.getGoldAfterPurchases());
+        }
+        logger.info("📜 Selected Task: '{}' (ID: {})", event.getTask(), event.getAdId());
+        logger.info("🎯 Task '{}' (ID: {}) Attempted! Success: {}, Lives: ❤️ {}, Gold: 💰 {}, Score: 🏆 {}",
+                event.getTask(), event.getAdId(), event.isSuccess() ? "✅ Yes" : "❌ No",
+                event.getLives(), event.getGold(), event.getScore());
+        if (!event.isSuccess()) {
+            logger.warn("😓 Task '{}' (ID: {}) Failed: {}", event.getTask(), event.getAdId(), event.getOutcome());
+        }
+    }
+
+    private static List<String> purchases(TurnEvent event) {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < event.getPotionsBought(); i++) {
+            items.add(ShopItem.HEALING_POTION.getId());
+        }
+        for (ShopItem item : ITEMS) {
+            if (item != ShopItem.HEALING_POTION && item.isOwned(event.getUpgradesBought())) {
+                items.add(item.getId());
+            }
+        }
+        return items;
+    }
+}
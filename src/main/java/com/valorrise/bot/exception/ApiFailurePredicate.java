@@ -0,0 +1,26 @@
+package com.valorrise.bot.exception;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which errors count towards a circuit breaker's failure rate. Expected game outcomes
+ * (400 on an expired ad, 404 on a finished game) are not failures of the API; throttling, server
+ * errors and transport errors are. Calls rejected locally by a bulkhead or another circuit breaker never
+ * reached the API, so they say nothing about it either.
+ */
+public class ApiFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException) {
+            return false;
+        }
+        if (throwable instanceof GameApiException e) {
+            return e.getStatus() == 429 || e.getStatus() >= 500;
+        }
+        return true;
+    }
+}
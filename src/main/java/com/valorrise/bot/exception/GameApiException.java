@@ -1,14 +1,56 @@
 package com.valorrise.bot.exception;
 
+import java.util.function.Supplier;
+
 public class GameApiException extends RuntimeException {
     private final int status;
+    private final String prefix;
+    private final Supplier<String> detail;
+    private volatile String message;
 
     public GameApiException(String message, int status) {
         super(message);
         this.status = status;
+        this.prefix = message;
+        this.detail = null;
+        this.message = message;
+    }
+
+    /**
+     * Creates an exception whose message is only resolved when it is first read. Expected game
+     * outcomes (400, 404, 429) are thrown without a stack trace: they are used for control flow and
+     * the trace would always point at the error decoder anyway.
+     */
+    protected GameApiException(String prefix, int status, Supplier<String> detail, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.status = status;
+        this.prefix = prefix;
+        this.detail = detail;
+    }
+
+    public static GameApiException of(String prefix, int status, Supplier<String> detail) {
+        return new GameApiException(prefix, status, detail, !isExpected(status));
+    }
+
+    public static boolean isExpected(int status) {
+        return status == 400 || status == 404 || status == 429;
     }
 
     public int getStatus() {
         return status;
     }
-}
\ No newline at end of file
+
+    public boolean isExpected() {
+        return isExpected(status);
+    }
+
+    @Override
+    public String getMessage() {
+        String resolved = message;
+        if (resolved == null && detail != null) {
+            resolved = prefix + detail.get();
+            message = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,62 @@
+package com.valorrise.bot.farm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * One end of a coordinator-worker connection, sending and receiving {@link FarmMessage}s as JSON lines.
+ */
+class FarmConnection implements Closeable {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    FarmConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Makes {@link #receive()} fail once nothing arrived for this long.
+     */
+    void setTimeout(Duration timeout) throws IOException {
+        socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+    }
+
+    synchronized void send(FarmMessage message) throws IOException {
+        writer.write(mapper.writeValueAsString(message));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * @return the next message, or {@code null} once the other end closed the connection
+     */
+    FarmMessage receive() throws IOException {
+        String line = reader.readLine();
+        return line != null ? mapper.readValue(line, FarmMessage.class) : null;
+    }
+
+    String getRemoteAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,327 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.ValorRiseApplication;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits a farm run into {@link Shard}s and hands them out over TCP to worker processes on this host or
+ * others, one shard at a time per worker, so that every worker stays busy and faster workers play more.
+ * The coordinator only exchanges a few messages per shard, so throughput grows with the workers.
+ * <p>
+ * A worker that disconnects, or reports no progress for {@code game.farm.worker-timeout}, is dropped and
+ * its shard goes to the next worker asking for one. Only the statistics of completed shards are merged,
+ * so the games of a replayed shard are counted once.
+ */
+public class FarmCoordinator implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(FarmCoordinator.class);
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ApiConfiguration config;
+    private final ApiConfiguration.Farm farm;
+    private final int shardCount;
+    private final String workerMainClass;
+    private final ServerSocket serverSocket;
+    private final List<Process> processes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectionNumber = new AtomicInteger();
+    private final long startedAt = System.nanoTime();
+
+    // Guarded by this
+    private final Deque<Shard> pending;
+    private final Map<String, GameStatistics.Snapshot> statistics = new TreeMap<>();
+    private int workers;
+    private int workersJoined;
+    private int workersLost;
+    private int shardsDone;
+    private int shardsReassigned;
+    private long gamesPlayed;
+    private boolean closed;
+
+    /**
+     * Starts listening for workers on {@code game.farm.bind-address} and {@code game.farm.port}.
+     */
+    public FarmCoordinator(ApiConfiguration config, List<Shard> shards) throws IOException {
+        this(config, shards, ValorRiseApplication.class.getName());
+    }
+
+    /**
+     * @param workerMainClass main class local workers run when this application is not started from its jar
+     */
+    FarmCoordinator(ApiConfiguration config, List<Shard> shards, String workerMainClass) throws IOException {
+        this.config = config;
+        this.farm = config.getFarm();
+        this.pending = new ArrayDeque<>(shards);
+        this.shardCount = shards.size();
+        this.workerMainClass = workerMainClass;
+        this.serverSocket = new ServerSocket(farm.getPort(), 50, InetAddress.getByName(farm.getBindAddress()));
+        Thread acceptor = new Thread(this::accept, "farm-coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("🚜 Farm coordinator listening on {}", getAddress());
+    }
+
+    /**
+     * The address workers connect to, as host:port.
+     */
+    public String getAddress() {
+        InetAddress bound = serverSocket.getInetAddress();
+        String host = bound.isAnyLocalAddress() ? InetAddress.getLoopbackAddress().getHostAddress()
+                : bound.getHostAddress();
+        return host + ":" + serverSocket.getLocalPort();
+    }
+
+    /**
+     * Starts worker processes on this host, running this application in {@code farm-worker} mode. Each
+     * keeps its files in its own directory under {@code game.farm.worker-directory}, starting from a copy
+     * of the learned success rates, and logs to {@code worker.log} there.
+     *
+     * @param args command-line arguments of the coordinator, passed on to the workers
+     */
+    public void launch(int count, List<String> args) throws IOException {
+        for (int worker = 1; worker <= count; worker++) {
+            Path directory = Path.of(farm.getWorkerDirectory(), "worker-" + worker);
+            Files.createDirectories(directory);
+            ProcessBuilder builder = new ProcessBuilder(workerCommand(directory, args))
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve("worker.log").toFile());
+            processes.add(builder.start());
+        }
+        if (count > 0) {
+            logger.info("🚜 Started {} local workers, logging to {}", count,
+                    Path.of(farm.getWorkerDirectory(), "worker-*", "worker.log"));
+        }
+    }
+
+    /**
+     * Waits until every shard is played.
+     *
+     * @throws IllegalStateException if every local worker died and no other worker is connected
+     */
+    public synchronized FarmResult await() throws InterruptedException {
+        long nextReport = System.nanoTime() + REPORT_INTERVAL_NANOS;
+        while (shardsDone < shardCount) {
+            if (!processes.isEmpty() && workers == 0 && processes.stream().noneMatch(Process::isAlive)) {
+                throw new IllegalStateException("Every local worker is gone with " + (shardCount - shardsDone)
+                        + " shards left; see their worker.log");
+            }
+            wait(1000);
+            if (System.nanoTime() - nextReport > 0) {
+                logger.info("🚜 {}/{} shards played, {} games, {} workers", shardsDone, shardCount, gamesPlayed,
+                        workers);
+                nextReport = System.nanoTime() + REPORT_INTERVAL_NANOS;
+            }
+        }
+        // Workers waiting for a shard are told to leave
+        notifyAll();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        GameStatistics.Snapshot total = null;
+        Map<String, GameStatistics.Summary> byStrategy = new LinkedHashMap<>();
+        for (Map.Entry<String, GameStatistics.Snapshot> entry : statistics.entrySet()) {
+            total = total != null ? GameStatistics.merge(total, entry.getValue()) : entry.getValue();
+            byStrategy.put(entry.getKey(), GameStatistics.summarize(entry.getValue()));
+        }
+        return new FarmResult(gamesPlayed, shardCount, shardsReassigned, workersJoined, workersLost, elapsedMillis,
+                gamesPlayed * 1000.0 / elapsedMillis, total,
+                total != null ? GameStatistics.summarize(total) : null, byStrategy);
+    }
+
+    /**
+     * Stops taking workers, and gives the local workers until {@code game.farm.worker-timeout} to leave.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        serverSocket.close();
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(farm.getWorkerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    process.destroy();
+                }
+            } catch (InterruptedException e) {
+                process.destroy();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> serve(socket), "farm-worker-" + connectionNumber.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("Failed to accept a farm worker: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands shards to one worker until none are left or the worker is lost.
+     */
+    private void serve(Socket socket) {
+        String worker = String.valueOf(socket.getRemoteSocketAddress());
+        boolean joined = false;
+        Shard shard = null;
+        try (FarmConnection connection = new FarmConnection(socket)) {
+            connection.setTimeout(farm.getWorkerTimeout());
+            FarmMessage hello = connection.receive();
+            if (hello == null || hello.getType() != FarmMessage.Type.HELLO) {
+                logger.warn("Dropping {}, which is no farm worker", worker);
+                return;
+            }
+            worker = hello.getWorker() + " at " + connection.getRemoteAddress();
+            joined = join(worker);
+            while (joined && (shard = nextShard()) != null) {
+                connection.send(FarmMessage.shard(shard));
+                FarmMessage message = connection.receive();
+                while (message != null && message.getType() == FarmMessage.Type.PROGRESS) {
+                    message = connection.receive();
+                }
+                if (message == null || message.getType() != FarmMessage.Type.DONE
+                        || message.getShardId() != shard.getId()) {
+                    throw new EOFException("left in the middle of shard " + shard.getId());
+                }
+                complete(shard, message);
+                shard = null;
+            }
+            connection.send(FarmMessage.stop());
+        } catch (IOException e) {
+            if (joined) {
+                logger.warn("💀 Lost farm worker {}{}: {}", worker,
+                        shard != null ? ", handing shard " + shard.getId() + " to another worker" : "", e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (joined) {
+                leave(shard);
+            }
+        }
+    }
+
+    private synchronized boolean join(String worker) {
+        if (closed) {
+            return false;
+        }
+        workers++;
+        workersJoined++;
+        logger.info("🚜 Farm worker {} joined, {} workers", worker, workers);
+        return true;
+    }
+
+    /**
+     * Waits while every remaining shard is with another worker, which may still die and give it back.
+     *
+     * @return the next shard, or {@code null} once all are played
+     */
+    private synchronized Shard nextShard() throws InterruptedException {
+        while (!closed && pending.isEmpty() && shardsDone < shardCount) {
+            wait();
+        }
+        return closed ? null : pending.poll();
+    }
+
+    private synchronized void complete(Shard shard, FarmMessage done) {
+        shardsDone++;
+        gamesPlayed += done.getGamesPlayed();
+        if (done.getStatistics() != null) {
+            statistics.merge(shard.strategies(), done.getStatistics(), GameStatistics::merge);
+        }
+        notifyAll();
+    }
+
+    private synchronized void leave(Shard unfinished) {
+        workers--;
+        if (unfinished != null) {
+            workersLost++;
+            shardsReassigned++;
+            pending.addFirst(unfinished);
+        }
+        notifyAll();
+    }
+
+    private List<String> workerCommand(Path directory, List<String> args) throws IOException {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("game.mode", "farm-worker");
+        overrides.put("game.farm.coordinator", getAddress());
+        // The workers' web servers would compete for the coordinator's port
+        overrides.put("spring.main.web-application-type", "none");
+        overrides.put("game.model.file", ownCopy(config.getModel().getFile(), directory));
+        overrides.put("game.results.directory", isBlank(config.getResults().getDirectory()) ? ""
+                : directory.resolve("results").toString());
+        overrides.put("game.shutdown.checkpoint-file", isBlank(config.getShutdown().getCheckpointFile()) ? ""
+                : directory.resolve("checkpoints.json").toString());
+        overrides.put("game.journal.file", directory.resolve("turns.jsonl").toString());
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(farm.getWorkerJvmOptions());
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator)) {
+            // A Spring Boot jar, which has to be started through its own launcher
+            command.add("-jar");
+            command.add(classPath);
+        } else {
+            command.add("-cp");
+            command.add(classPath);
+            command.add(workerMainClass);
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (!overrides.containsKey(key)) {
+                command.add(arg);
+            }
+        }
+        overrides.forEach((key, value) -> command.add("--" + key + "=" + value));
+        return command;
+    }
+
+    /**
+     * A worker's own copy of the success-rate model file, so that workers don't write to the same file.
+     */
+    private static String ownCopy(String shared, Path directory) throws IOException {
+        if (isBlank(shared)) {
+            return "";
+        }
+        Path source = Path.of(shared);
+        Path copy = directory.resolve(source.getFileName());
+        if (Files.exists(source) && !Files.exists(copy)) {
+            Files.copy(source, copy);
+        }
+        return copy.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,54 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.service.GameStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a {@link FarmCoordinator} and its workers say to each other, one JSON object per line.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FarmMessage {
+    public enum Type {
+        // Worker: joins the farm
+        HELLO,
+        // Coordinator: a shard to play
+        SHARD,
+        // Worker: games of its shard played so far; also tells the coordinator that the worker is alive
+        PROGRESS,
+        // Worker: the shard is played, with the statistics of its games
+        DONE,
+        // Coordinator: every shard is played, the worker may leave
+        STOP
+    }
+
+    private Type type;
+    private String worker;
+    private Shard shard;
+    private int shardId;
+    private long gamesPlayed;
+    private GameStatistics.Snapshot statistics;
+
+    static FarmMessage hello(String worker) {
+        return new FarmMessage(Type.HELLO, worker, null, 0, 0, null);
+    }
+
+    static FarmMessage shard(Shard shard) {
+        return new FarmMessage(Type.SHARD, null, shard, shard.getId(), 0, null);
+    }
+
+    static FarmMessage progress(int shardId, long gamesPlayed) {
+        return new FarmMessage(Type.PROGRESS, null, null, shardId, gamesPlayed, null);
+    }
+
+    static FarmMessage done(int shardId, long gamesPlayed, GameStatistics.Snapshot statistics) {
+        return new FarmMessage(Type.DONE, null, null, shardId, gamesPlayed, statistics);
+    }
+
+    static FarmMessage stop() {
+        return new FarmMessage(Type.STOP, null, null, 0, 0, null);
+    }
+}
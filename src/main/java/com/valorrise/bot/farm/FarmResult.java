@@ -0,0 +1,28 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.service.GameStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Outcome of a farm run: the statistics of every game merged from all workers, in total and per entry
+ * of the strategy mix.
+ */
+@Data
+@AllArgsConstructor
+public class FarmResult {
+    private long games;
+    private int shards;
+    // Shards handed to another worker after theirs died or went silent
+    private int shardsReassigned;
+    private int workers;
+    private int workersLost;
+    private long elapsedMillis;
+    private double gamesPerSecond;
+    private GameStatistics.Snapshot statistics;
+    private GameStatistics.Summary summary;
+    // By task/purchase strategies of the mix, "cohorts" without a mix
+    private Map<String, GameStatistics.Summary> byStrategy;
+}
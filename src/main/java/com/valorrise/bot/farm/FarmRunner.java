@@ -0,0 +1,77 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameStatistics;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Farm mode ({@code game.mode=farm}): plays a run of {@code game.farm.games} games, or the strategy mix
+ * {@code game.farm.mix}, on several worker JVMs instead of this one, so that no single heap or thread
+ * pool caps the throughput. The coordinator starts {@code game.farm.local-workers} workers on this host;
+ * workers on other hosts join by running in {@code farm-worker} mode. The merged statistics are logged
+ * and served by {@code /admin/runs/statistics}.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "farm")
+public class FarmRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(FarmRunner.class);
+    private final ApiConfiguration config;
+    private final StrategyRegistry strategyRegistry;
+    private final GameStatistics gameStatistics;
+
+    public FarmRunner(ApiConfiguration config, StrategyRegistry strategyRegistry, GameStatistics gameStatistics) {
+        this.config = config;
+        this.strategyRegistry = strategyRegistry;
+        this.gameStatistics = gameStatistics;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        ApiConfiguration.Farm farm = config.getFarm();
+        try {
+            for (ApiConfiguration.FarmMix mix : farm.getMix()) {
+                strategyRegistry.fixed("farm", mix.getTask(), mix.getPurchase());
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("❌ Invalid farm strategy mix: {}", e.getMessage());
+            return;
+        }
+        List<Shard> shards = Shard.plan(farm);
+        logger.info("🚜 Farming out {} games in {} shards of up to {} games",
+                shards.stream().mapToLong(Shard::getGames).sum(), shards.size(), farm.getShardGames());
+
+        FarmResult result;
+        try (FarmCoordinator coordinator = new FarmCoordinator(config, shards)) {
+            coordinator.launch(farm.getLocalWorkers(), List.of(args));
+            result = coordinator.await();
+        } catch (IllegalStateException e) {
+            logger.error("❌ Farm run failed: {}", e.getMessage());
+            return;
+        }
+
+        gameStatistics.reset();
+        if (result.getStatistics() != null) {
+            gameStatistics.add(result.getStatistics());
+        }
+        logger.info("🏁 Farm run finished: {} games in {} s ({} games/s) by {} workers, {} lost, {} shards replayed",
+                result.getGames(), result.getElapsedMillis() / 1000, String.format("%.1f", result.getGamesPerSecond()),
+                result.getWorkers(), result.getWorkersLost(), result.getShardsReassigned());
+        for (Map.Entry<String, GameStatistics.Summary> entry : result.getByStrategy().entrySet()) {
+            GameStatistics.Summary summary = entry.getValue();
+            logger.info("  {}: {} games, {} reached the target, score p50/p90/p99 🏆 {} / {} / {}, "
+                            + "turns to target p50/p90/p99 {} / {} / {}",
+                    entry.getKey(), summary.getGames(), summary.getReachedTarget(),
+                    summary.getScore().getP50(), summary.getScore().getP90(), summary.getScore().getP99(),
+                    summary.getTurnsToTarget().getP50(), summary.getTurnsToTarget().getP90(),
+                    summary.getTurnsToTarget().getP99());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameRunManager;
+import com.valorrise.bot.service.GameStatistics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Duration;
+
+/**
+ * Plays the shards a {@link FarmCoordinator} hands out, each as a run of the {@link GameRunManager} with
+ * {@code game.run.concurrency} games at a time, and reports the statistics of every shard back. While a
+ * shard plays, the worker reports its progress every {@code game.farm.heartbeat-interval}, which tells the
+ * coordinator that it is alive.
+ */
+public class FarmWorker {
+    private final GameRunManager gameRunManager;
+    private final GameStatistics gameStatistics;
+    private final int concurrency;
+    private final Duration heartbeatInterval;
+
+    public FarmWorker(GameRunManager gameRunManager, GameStatistics gameStatistics, ApiConfiguration config) {
+        this.gameRunManager = gameRunManager;
+        this.gameStatistics = gameStatistics;
+        this.concurrency = config.getRun().getConcurrency();
+        this.heartbeatInterval = config.getFarm().getHeartbeatInterval();
+    }
+
+    /**
+     * Works for the coordinator until it has no shards left or goes away.
+     *
+     * @return the shards played
+     */
+    public int work(String host, int port) throws IOException, InterruptedException {
+        int shards = 0;
+        try (FarmConnection connection = new FarmConnection(new Socket(host, port))) {
+            connection.send(FarmMessage.hello(name()));
+            FarmMessage message;
+            while ((message = connection.receive()) != null && message.getType() == FarmMessage.Type.SHARD) {
+                play(connection, message.getShard());
+                shards++;
+            }
+        }
+        return shards;
+    }
+
+    private void play(FarmConnection connection, Shard shard) throws IOException, InterruptedException {
+        gameRunManager.start(concurrency, shard.getGames(), shard.getTask(), shard.getPurchase());
+        GameRunManager.RunStatus status;
+        try {
+            while (!gameRunManager.awaitIdle(heartbeatInterval)) {
+                connection.send(FarmMessage.progress(shard.getId(), gameRunManager.getStatus().getGamesFinished()));
+            }
+            status = gameRunManager.getStatus();
+        } catch (IOException | InterruptedException e) {
+            // The coordinator hands the shard to another worker
+            gameRunManager.stop(false);
+            throw e;
+        }
+        if (status.getGamesStarted() < shard.getGames()) {
+            // Stopped from outside, e.g. by a shutdown: leave the shard to another worker rather than report it
+            throw new IOException("Shard " + shard.getId() + " was cut short after " + status.getGamesFinished()
+                    + " games");
+        }
+        // Games that could not be started are not reported as played
+        connection.send(FarmMessage.done(shard.getId(), status.getGamesFinished(), gameStatistics.snapshot()));
+    }
+
+    private static String name() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "localhost";
+        }
+        return ProcessHandle.current().pid() + "@" + host;
+    }
+}
@@ -0,0 +1,56 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameRunManager;
+import com.valorrise.bot.service.GameStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Farm worker mode ({@code game.mode=farm-worker}): plays shards for the coordinator at
+ * {@code game.farm.coordinator} and exits once it is done or gone, closing the application so that its
+ * files are flushed.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "farm-worker")
+public class FarmWorkerRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(FarmWorkerRunner.class);
+    private final FarmWorker worker;
+    private final String coordinator;
+    private final ConfigurableApplicationContext context;
+
+    public FarmWorkerRunner(GameRunManager gameRunManager, GameStatistics gameStatistics, ApiConfiguration config,
+                            ConfigurableApplicationContext context) {
+        this.worker = new FarmWorker(gameRunManager, gameStatistics, config);
+        this.coordinator = config.getFarm().getCoordinator();
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        int separator = coordinator.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("game.farm.coordinator must be host:port, not " + coordinator);
+        }
+        String host = coordinator.substring(0, separator);
+        int port = Integer.parseInt(coordinator.substring(separator + 1));
+        logger.info("🚜 Working for the farm coordinator at {}", coordinator);
+        int exitCode = 0;
+        try {
+            int shards = worker.work(host, port);
+            logger.info("🚜 Played {} shards, leaving the farm", shards);
+        } catch (IOException e) {
+            logger.error("❌ Lost the farm coordinator at {}: {}", coordinator, e.getMessage());
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,51 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A slice of a farm run that one worker plays as a run of its own.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Shard {
+    private int id;
+    private long games;
+    // Strategies every game of the shard plays; null plays in the strategy cohorts
+    private String task;
+    private String purchase;
+
+    /**
+     * The strategy mix entry the shard belongs to, under which its statistics are merged.
+     */
+    public String strategies() {
+        return task != null || purchase != null ? task + "/" + purchase : "cohorts";
+    }
+
+    /**
+     * Splits a farm run into shards of at most {@code game.farm.shard-games} games: each entry of the
+     * strategy mix on its own, or all games in the strategy cohorts when there is no mix.
+     */
+    public static List<Shard> plan(ApiConfiguration.Farm farm) {
+        List<Shard> shards = new ArrayList<>();
+        if (farm.getMix().isEmpty()) {
+            split(shards, farm.getGames(), null, null, farm.getShardGames());
+        }
+        for (ApiConfiguration.FarmMix mix : farm.getMix()) {
+            split(shards, mix.getGames(), mix.getTask(), mix.getPurchase(), farm.getShardGames());
+        }
+        return shards;
+    }
+
+    private static void split(List<Shard> shards, long games, String task, String purchase, int shardGames) {
+        for (long left = games; left > 0; left -= shardGames) {
+            shards.add(new Shard(shards.size(), Math.min(left, shardGames), task, purchase));
+        }
+    }
+}
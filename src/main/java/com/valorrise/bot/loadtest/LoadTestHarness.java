@@ -0,0 +1,328 @@
+package com.valorrise.bot.loadtest;
+
+import com.valorrise.bot.api.client.GameApiClient;
+import com.valorrise.bot.api.client.GameApiDecoder;
+import com.valorrise.bot.api.client.GameApiErrorDecoder;
+import com.valorrise.bot.api.client.JdkHttpClient;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEventBus;
+import com.valorrise.bot.profiling.LatencyHistogram;
+import com.valorrise.bot.service.GameApiService;
+import com.valorrise.bot.service.GameCheckpoints;
+import com.valorrise.bot.service.GamePreStartPool;
+import com.valorrise.bot.service.GameRunControl;
+import com.valorrise.bot.service.GameService;
+import com.valorrise.bot.service.GameStatistics;
+import com.valorrise.bot.service.PurchasePlanner;
+import com.valorrise.bot.service.ReputationTracker;
+import com.valorrise.bot.service.ShadowEvaluator;
+import com.valorrise.bot.service.ShopService;
+import com.valorrise.bot.service.SuccessRateModel;
+import com.valorrise.bot.service.TaskCategoryClassifier;
+import com.valorrise.bot.service.TaskSelectionService;
+import com.valorrise.bot.service.TurnJournal;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.PotionsOnlyPurchaseStrategy;
+import com.valorrise.bot.strategy.SafestTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import feign.Client;
+import feign.Feign;
+import feign.Retryer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs one load-test scenario: a fresh {@link StandInGameServer}, a Game API client on the scenario's
+ * transport, and {@code bots} {@link GameService} instances that play games back to back on the scenario's
+ * threading model until the measured duration is over.
+ * <p>
+ * The clients are plain Feign proxies without the Spring AOP resilience layer (retries, bulkheads,
+ * circuit breakers), so the numbers are those of the transport and the game loop itself. Latency is
+ * measured client-side around the transport; JVM figures are sampled every {@code sampleInterval}.
+ * <p>
+ * Every scenario plays on collaborators of its own (see {@link #isolated()}), never on the application's:
+ * the stand-in decides outcomes by each label's prior rate, and those must not reach the learned model,
+ * the turn journal, the results store or the run statistics.
+ */
+public class LoadTestHarness {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final ApiConfiguration config;
+
+    public LoadTestHarness(ApiConfiguration config) {
+        this.config = config;
+    }
+
+    public LoadTestResult run(LoadTestScenario scenario) {
+        StandInGameServer server;
+        try {
+            server = new StandInGameServer(scenario.getLatency(), scenario.getJitter());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start the stand-in Game API", e);
+        }
+
+        AtomicReference<LatencyHistogram> latencies = new AtomicReference<>(new LatencyHistogram());
+        Client transport = JdkHttpClient.transport(scenario.getTransport(), scenario.getTimeoutMillis());
+        Client timed = (request, options) -> {
+            long start = System.nanoTime();
+            try {
+                return transport.execute(request, options);
+            } finally {
+                latencies.get().record((System.nanoTime() - start) / 1_000);
+            }
+        };
+        GameApiClient client = Feign.builder()
+                .client(timed)
+                .contract(new SpringMvcContract())
+                .decoder(new GameApiDecoder())
+                .errorDecoder(new GameApiErrorDecoder())
+                .retryer(Retryer.NEVER_RETRY)
+                .target(GameApiClient.class, server.getBaseUrl());
+        GameApiService gameApiService = new GameApiService(client, CircuitBreakerRegistry.ofDefaults());
+        ApiConfiguration isolated = isolated();
+        ShopService shopService = new ShopService(gameApiService, isolated);
+        GamePreStartPool pool = new GamePreStartPool(gameApiService, isolated);
+        SuccessRateModel successRateModel = new SuccessRateModel(isolated);
+        TaskSelectionService taskSelectionService = new TaskSelectionService(successRateModel,
+                new TaskCategoryClassifier());
+        StrategyRegistry strategyRegistry = new StrategyRegistry(
+                List.of(new ExpectedRewardTaskStrategy(successRateModel), new SafestTaskStrategy(successRateModel)),
+                List.of(new PurchasePlanner(isolated), new PotionsOnlyPurchaseStrategy(isolated)), isolated);
+        ReputationTracker reputationTracker = new ReputationTracker(isolated);
+        ShadowEvaluator shadowEvaluator = new ShadowEvaluator(taskSelectionService, successRateModel,
+                strategyRegistry, isolated);
+        TurnJournal turnJournal = new TurnJournal(taskSelectionService, isolated);
+        TurnEventBus turnEventBus = new TurnEventBus(List.of(), isolated);
+        GameStatistics gameStatistics = new GameStatistics(isolated);
+
+        LongAdder games = new LongAdder();
+        Bots bots = new Bots(scenario, games);
+        for (int i = 0; i < scenario.getBots(); i++) {
+            bots.add(new GameService(gameApiService, taskSelectionService, shopService, pool, strategyRegistry,
+                    reputationTracker, shadowEvaluator, turnJournal, turnEventBus, new GameRunControl(),
+                    gameStatistics, new GameCheckpoints()));
+        }
+
+        try {
+            bots.start();
+            sleep(scenario.getWarmup().toMillis());
+            latencies.set(new LatencyHistogram());
+            Snapshot from = new Snapshot(games.sum(), server.getTurns(), server.getRequests());
+            long start = System.nanoTime();
+            long end = start + scenario.getDuration().toNanos();
+            long peakHeap = 0;
+            int peakThreads = 0;
+            Snapshot previous = from;
+            long previousAt = start;
+            while (System.nanoTime() < end) {
+                sleep(Math.min(scenario.getSampleInterval().toMillis(),
+                        TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()) + 1));
+                long now = System.nanoTime();
+                Snapshot current = new Snapshot(games.sum(), server.getTurns(), server.getRequests());
+                long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+                int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+                peakHeap = Math.max(peakHeap, heap);
+                peakThreads = Math.max(peakThreads, threads);
+                double seconds = (now - previousAt) / 1e9;
+                logger.info("⏱️ {} t={}s: {} games/s, {} turns/s, p99 {} ms, heap {} MB, gc {} ({} ms), threads {}",
+                        scenario.getName(), Math.round((now - start) / 1e9),
+                        String.format("%.1f", (current.games - previous.games) / seconds),
+                        String.format("%.1f", (current.turns - previous.turns) / seconds),
+                        String.format("%.1f", latencies.get().valueAt(0.99) / 1000.0),
+                        heap >> 20, current.gcCount - from.gcCount, current.gcMillis - from.gcMillis, threads);
+                previous = current;
+                previousAt = now;
+            }
+
+            double seconds = (previousAt - start) / 1e9;
+            LatencyHistogram measured = latencies.get();
+            return LoadTestResult.builder()
+                    .scenario(scenario)
+                    .seconds(seconds)
+                    .games(previous.games - from.games)
+                    .turns(previous.turns - from.turns)
+                    .gamesPerSecond((previous.games - from.games) / seconds)
+                    .turnsPerSecond((previous.turns - from.turns) / seconds)
+                    .requests(previous.requests - from.requests)
+                    .p50Micros(measured.valueAt(0.50))
+                    .p90Micros(measured.valueAt(0.90))
+                    .p99Micros(measured.valueAt(0.99))
+                    .maxMicros(measured.getMax())
+                    .peakHeapBytes(peakHeap)
+                    .gcCount(previous.gcCount - from.gcCount)
+                    .gcMillis(previous.gcMillis - from.gcMillis)
+                    .peakThreads(peakThreads)
+                    .build();
+        } finally {
+            bots.stop();
+            // Games still running fail fast once the server is gone
+            server.close();
+            bots.await();
+            pool.shutdown();
+            turnEventBus.close();
+            gameStatistics.close();
+        }
+    }
+
+    /**
+     * The application's settings for the game loop, with the learned success rates in memory only and
+     * the journal, shadow evaluation and turn events off.
+     */
+    private ApiConfiguration isolated() {
+        ApiConfiguration isolated = new ApiConfiguration();
+        isolated.setApi(config.getApi());
+        isolated.setShop(config.getShop());
+        isolated.setPool(config.getPool());
+        isolated.setInvestigation(config.getInvestigation());
+        isolated.setStrategy(config.getStrategy());
+        isolated.setStatistics(config.getStatistics());
+        ApiConfiguration.Model model = new ApiConfiguration.Model();
+        model.setPriorStrength(config.getModel().getPriorStrength());
+        model.setCategoryShrinkage(config.getModel().getCategoryShrinkage());
+        model.setFlushInterval(config.getModel().getFlushInterval());
+        isolated.setModel(model);
+        isolated.getEvents().setEnabled(false);
+        return isolated;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(0, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load test interrupted", e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final long games;
+        private final long turns;
+        private final long requests;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Snapshot(long games, long turns, long requests) {
+            this.games = games;
+            this.turns = turns;
+            this.requests = requests;
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            this.gcCount = count;
+            this.gcMillis = millis;
+        }
+    }
+
+    /**
+     * The bots of a scenario, each playing games back to back until stopped.
+     */
+    private static final class Bots {
+        private final LoadTestScenario scenario;
+        private final LongAdder games;
+        private final List<GameService> services = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private ExecutorService pool;
+        private volatile boolean running = true;
+
+        private Bots(LoadTestScenario scenario, LongAdder games) {
+            this.scenario = scenario;
+            this.games = games;
+        }
+
+        private void add(GameService service) {
+            services.add(service);
+        }
+
+        private void start() {
+            switch (scenario.getThreading()) {
+                case LoadTestScenario.THREAD_PER_BOT -> {
+                    for (int i = 0; i < services.size(); i++) {
+                        GameService service = services.get(i);
+                        Thread thread = new Thread(() -> {
+                            while (running) {
+                                play(service);
+                            }
+                        }, "bot-" + i);
+                        thread.setDaemon(true);
+                        threads.add(thread);
+                    }
+                    threads.forEach(Thread::start);
+                }
+                case LoadTestScenario.SHARED_POOL -> {
+                    pool = Executors.newFixedThreadPool(scenario.getPoolThreads(), runnable -> {
+                        Thread thread = new Thread(runnable, "bot-pool");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    // Every bot is one game at a time in the pool's queue, so bots take turns fairly
+                    services.forEach(service -> pool.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            play(service);
+                            if (running) {
+                                try {
+                                    pool.execute(this);
+                                } catch (RejectedExecutionException e) {
+                                    // Stopped while this game finished
+                                }
+                            }
+                        }
+                    }));
+                }
+                default -> throw new IllegalArgumentException("Unknown threading model: " + scenario.getThreading()
+                        + "; expected " + LoadTestScenario.THREAD_PER_BOT + " or " + LoadTestScenario.SHARED_POOL);
+            }
+        }
+
+        private void play(GameService service) {
+            try {
+                service.playGame();
+                if (running) {
+                    games.increment();
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    logger.debug("Bot game failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        private void stop() {
+            running = false;
+        }
+
+        private void await() {
+            long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+            try {
+                for (Thread thread : threads) {
+                    thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+                }
+                if (pool != null) {
+                    pool.shutdown();
+                    pool.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.valorrise.bot.loadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Throughput, client-side API latency and JVM resource use over the measured part of a scenario (after
+ * its warm-up).
+ */
+@Data
+@Builder
+public class LoadTestResult {
+    private LoadTestScenario scenario;
+    private double seconds;
+    private long games;
+    private long turns;
+    private double gamesPerSecond;
+    private double turnsPerSecond;
+    private long requests;
+    private long p50Micros;
+    private long p90Micros;
+    private long p99Micros;
+    private long maxMicros;
+    private long peakHeapBytes;
+    private long gcCount;
+    private long gcMillis;
+    private int peakThreads;
+}
@@ -0,0 +1,70 @@
+package com.valorrise.bot.loadtest;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load-test mode ({@code game.mode=loadtest}): runs every combination of the configured transports,
+ * threading models and bot counts ({@code game.load-test.*}) against a local stand-in API, one scenario
+ * after the other in this JVM, and logs a comparison table.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "loadtest")
+public class LoadTestRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+    private final ApiConfiguration config;
+    private final LoadTestHarness harness;
+
+    public LoadTestRunner(ApiConfiguration config) {
+        this.config = config;
+        this.harness = new LoadTestHarness(config);
+    }
+
+    @Override
+    public void run(String... args) {
+        ApiConfiguration.LoadTest loadTest = config.getLoadTest();
+        List<LoadTestResult> results = new ArrayList<>();
+        for (int bots : loadTest.getBots()) {
+            for (String threading : loadTest.getThreading()) {
+                for (String transport : loadTest.getTransports()) {
+                    LoadTestScenario scenario = LoadTestScenario.builder()
+                            .transport(transport)
+                            .threading(threading)
+                            .bots(bots)
+                            .poolThreads(loadTest.getPoolThreads())
+                            .warmup(loadTest.getWarmup())
+                            .duration(loadTest.getDuration())
+                            .sampleInterval(loadTest.getSampleInterval())
+                            .latency(loadTest.getLatency())
+                            .jitter(loadTest.getJitter())
+                            .timeoutMillis(config.getApi().getTimeout())
+                            .build();
+                    logger.info("🏋️ Load test {}: {} bots, {} latency ± {}, {} warm-up + {}", scenario.getName(),
+                            bots, loadTest.getLatency(), loadTest.getJitter(), loadTest.getWarmup(),
+                            loadTest.getDuration());
+                    // Start every scenario from a collected heap, so that scenarios do not pay for each other
+                    System.gc();
+                    results.add(harness.run(scenario));
+                }
+            }
+        }
+
+        logger.info(String.format("📊 Load test results%n%-32s %9s %10s %9s %9s %9s %9s %8s %6s %8s %7s",
+                "scenario", "games/s", "turns/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "heap MB", "gc", "gc ms",
+                "threads"));
+        for (LoadTestResult result : results) {
+            logger.info(String.format("%-32s %9.1f %10.1f %9.1f %9.1f %9.1f %9.1f %8d %6d %8d %7d",
+                    result.getScenario().getName(), result.getGamesPerSecond(), result.getTurnsPerSecond(),
+                    result.getP50Micros() / 1000.0, result.getP90Micros() / 1000.0, result.getP99Micros() / 1000.0,
+                    result.getMaxMicros() / 1000.0, result.getPeakHeapBytes() >> 20, result.getGcCount(),
+                    result.getGcMillis(), result.getPeakThreads()));
+        }
+    }
+}
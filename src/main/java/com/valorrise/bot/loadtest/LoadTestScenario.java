@@ -0,0 +1,31 @@
+package com.valorrise.bot.loadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Builder
+public class LoadTestScenario {
+    public static final String THREAD_PER_BOT = "thread-per-bot";
+    public static final String SHARED_POOL = "shared-pool";
+
+    // Game API transport, see JdkHttpClient#transport
+    private String transport;
+    // THREAD_PER_BOT: every bot plays on its own thread; SHARED_POOL: bots' games are tasks on poolThreads threads
+    private String threading;
+    private int bots;
+    private int poolThreads;
+    private Duration warmup;
+    private Duration duration;
+    private Duration sampleInterval;
+    // Server-side latency of every stand-in API request
+    private Duration latency;
+    private Duration jitter;
+    private int timeoutMillis;
+
+    public String getName() {
+        return transport + "/" + threading + "/" + bots;
+    }
+}
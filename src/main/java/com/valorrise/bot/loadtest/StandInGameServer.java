@@ -0,0 +1,224 @@
+package com.valorrise.bot.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.model.domain.SolveResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the Game API on the JDK's {@link HttpServer}, for load tests. It serves every
+ * endpoint of {@link com.valorrise.bot.api.client.GameApiClient} with simplified game rules (plain-text
+ * boards, success drawn at the label's prior rate, no reputation effects) after an artificial latency of
+ * {@code latency} ± {@code jitter} per request.
+ * <p>
+ * Every request is handled on its own thread, so that the configured latency does not turn into server
+ * queueing and the bots, not the stand-in, are what is measured.
+ */
+public class StandInGameServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static final String[] LABELS = {"Sure thing", "Piece of cake", "Walk in the park", "Quite likely",
+            "Hmmm....", "Gamble", "Risky", "Rather detrimental", "Playing with fire"};
+    private static final int BOARD_SIZE = 10;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final Map<String, State> games = new ConcurrentHashMap<>();
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    public StandInGameServer(Duration latency, Duration jitter) throws IOException {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.handlers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stand-in-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+        games.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            delay();
+            String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+            Object body = route(path);
+            if (body == null) {
+                respond(exchange, 404, Map.of("message", "No game found"));
+            } else {
+                respond(exchange, 200, body);
+            }
+        }
+    }
+
+    private Object route(String[] path) {
+        if (path.length == 2 && path[0].equals("game") && path[1].equals("start")) {
+            return start();
+        }
+        State state = path.length >= 2 ? games.get(path[0]) : null;
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return switch (path[1]) {
+                case "messages" -> state.board;
+                case "solve" -> path.length == 3 ? solve(path[0], state, path[2]) : null;
+                case "shop" -> path.length == 2 ? shop() : path.length == 4 ? buy(state, path[3]) : null;
+                case "investigate" -> Reputation.builder().build();
+                default -> null;
+            };
+        }
+    }
+
+    private Game start() {
+        String gameId = UUID.randomUUID().toString().substring(0, 8);
+        State state = new State();
+        state.board = board();
+        games.put(gameId, state);
+        gamesStarted.increment();
+        return Game.builder().gameId(gameId).lives(state.lives).gold(state.gold).build();
+    }
+
+    private SolveResponse solve(String gameId, State state, String adId) {
+        Advertisement ad = state.board.stream().filter(candidate -> candidate.getAdId().equals(adId))
+                .findFirst().orElse(null);
+        if (ad == null) {
+            return null;
+        }
+        turns.increment();
+        boolean success = ThreadLocalRandom.current().nextDouble()
+                < ProbabilityLabel.fromLabel(ad.getProbability()).getPrior();
+        state.turn++;
+        if (success) {
+            state.gold += ad.getReward();
+            state.score += ad.getReward();
+        } else {
+            state.lives--;
+        }
+        state.board = board();
+        if (state.lives <= 0) {
+            games.remove(gameId);
+        }
+        return SolveResponse.builder().success(success).lives(state.lives).gold(state.gold).score(state.score)
+                .turn(state.turn).message(success ? "You completed the task" : "You failed the task").build();
+    }
+
+    private static List<Item> shop() {
+        List<Item> items = new ArrayList<>();
+        for (ShopItem item : ShopItem.values()) {
+            items.add(Item.builder().id(item.getId()).name(item.name()).cost(item.getListCost()).build());
+        }
+        return items;
+    }
+
+    private static Game buy(State state, String itemId) {
+        ShopItem item = ShopItem.fromId(itemId);
+        if (item != null && state.gold >= item.getListCost()) {
+            state.gold -= item.getListCost();
+            if (item == ShopItem.HEALING_POTION) {
+                state.lives++;
+            }
+        }
+        state.turn++;
+        return Game.builder().lives(state.lives).gold(state.gold).score(state.score).turn(state.turn).build();
+    }
+
+    private static List<Advertisement> board() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Advertisement> board = new ArrayList<>(BOARD_SIZE);
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            board.add(Advertisement.builder()
+                    .adId(Long.toString(random.nextLong() & Long.MAX_VALUE, 36))
+                    .message("Help defend the village of Stand-in " + i)
+                    .reward(1 + random.nextInt(150))
+                    .expiresIn(1 + random.nextInt(7))
+                    .probability(LABELS[random.nextInt(LABELS.length)])
+                    .build());
+        }
+        return board;
+    }
+
+    private void delay() {
+        long nanos = latencyNanos;
+        if (jitterNanos > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(-jitterNanos, jitterNanos + 1);
+        }
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class State {
+        private int lives = 3;
+        private int gold;
+        private int score;
+        private int turn;
+        private List<Advertisement> board;
+    }
+}
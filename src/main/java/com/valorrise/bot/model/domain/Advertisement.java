@@ -6,7 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Advertisement {
@@ -16,4 +16,6 @@ public class Advertisement {
     private int expiresIn;
     private boolean encrypted;
     private String probability;
+    // Derived from the message during task selection; not part of the API response
+    private TaskCategory category;
 }
\ No newline at end of file
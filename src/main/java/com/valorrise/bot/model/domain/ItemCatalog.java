@@ -0,0 +1,53 @@
+package com.valorrise.bot.model.domain;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable view of a game's shop: the cost of every {@link ShopItem} on offer, indexed by ordinal.
+ * Items the shop does not offer (and ids this bot does not know) are absent.
+ */
+public final class ItemCatalog {
+    private static final int NOT_SOLD = -1;
+
+    /** Catalog at list prices, used until a game's real catalog has been fetched. */
+    public static final ItemCatalog DEFAULT = defaults();
+
+    private final int[] costs;
+
+    private ItemCatalog(int[] costs) {
+        this.costs = costs;
+    }
+
+    public static ItemCatalog of(List<Item> items) {
+        int[] costs = new int[ShopItem.values().length];
+        Arrays.fill(costs, NOT_SOLD);
+        for (Item item : items) {
+            ShopItem shopItem = ShopItem.fromId(item.getId());
+            if (shopItem != null) {
+                costs[shopItem.ordinal()] = item.getCost();
+            }
+        }
+        return new ItemCatalog(costs);
+    }
+
+    private static ItemCatalog defaults() {
+        ShopItem[] items = ShopItem.values();
+        int[] costs = new int[items.length];
+        for (ShopItem item : items) {
+            costs[item.ordinal()] = item.getListCost();
+        }
+        return new ItemCatalog(costs);
+    }
+
+    public boolean contains(ShopItem item) {
+        return costs[item.ordinal()] != NOT_SOLD;
+    }
+
+    /**
+     * @return the item's cost, or {@code -1} if the shop does not sell it
+     */
+    public int cost(ShopItem item) {
+        return costs[item.ordinal()];
+    }
+}
@@ -0,0 +1,18 @@
+package com.valorrise.bot.model.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreparedGame {
+    private Game game;
+    private List<Item> shopItems;
+    private long preparedAtNanos;
+}
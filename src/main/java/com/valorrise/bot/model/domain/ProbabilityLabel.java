@@ -0,0 +1,74 @@
+package com.valorrise.bot.model.domain;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The probability labels the Game API puts on advertisements, with the success rate assumed for each
+ * before any outcome has been observed.
+ */
+public enum ProbabilityLabel {
+    SURE_THING("surething", 0.98, false),
+    PIECE_OF_CAKE("pieceofcake", 0.96, false),
+    WALK_IN_THE_PARK("walkinthepark", 0.87, false),
+    HMMM("hmmm....", 0.78, false),
+    QUITE_LIKELY("quitelikely", 0.75, false),
+    GAMBLE("gamble", 0.55, false),
+    RISKY("risky", 0.46, false),
+    RATHER_DETRIMENTAL("ratherdetrimental", 0.33, false),
+    PLAYING_WITH_FIRE("playingwithfire", 0.25, true),
+    UNKNOWN("", 0.1, true);
+
+    private static final Map<String, ProbabilityLabel> BY_NORMALIZED = new HashMap<>();
+    // Labels as the API spells them; only a handful exist, the bound just guards against junk input
+    private static final Map<String, ProbabilityLabel> BY_LABEL = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_LABELS = 256;
+
+    static {
+        for (ProbabilityLabel label : values()) {
+            if (label != UNKNOWN) {
+                BY_NORMALIZED.put(label.normalized, label);
+            }
+        }
+    }
+
+    private final String normalized;
+    private final double prior;
+    private final boolean trap;
+
+    ProbabilityLabel(String normalized, double prior, boolean trap) {
+        this.normalized = normalized;
+        this.prior = prior;
+        this.trap = trap;
+    }
+
+    public double getPrior() {
+        return prior;
+    }
+
+    public boolean isTrap() {
+        return trap;
+    }
+
+    /**
+     * Resolves a label as shown by the API, ignoring case and whitespace ("Walk in the park").
+     */
+    public static ProbabilityLabel fromLabel(String label) {
+        if (label == null) {
+            return UNKNOWN;
+        }
+        // Called for every ad on every turn: resolve each spelling once instead of normalizing every time
+        ProbabilityLabel cached = BY_LABEL.get(label);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = label.toLowerCase(Locale.ROOT).replaceAll("\\s", "");
+        ProbabilityLabel resolved = BY_NORMALIZED.getOrDefault(normalized, UNKNOWN);
+        if (BY_LABEL.size() < MAX_CACHED_LABELS) {
+            BY_LABEL.put(label, resolved);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,61 @@
+package com.valorrise.bot.model.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Items sold in the shop, with their list prices. The ordinal doubles as the item's bit in an
+ * ownership mask (see {@link #mask()}).
+ */
+public enum ShopItem {
+    HEALING_POTION("hpot", 50),
+    CLAW_SHARPENING("cs", 100),
+    GASOLINE("gas", 100),
+    COPPER_PLATING("wax", 100),
+    BOOK_OF_TRICKS("tricks", 100),
+    POTION_OF_STRONGER_WINGS("wingpot", 100),
+    CLAW_HONING("ch", 300),
+    ROCKET_FUEL("rf", 300),
+    IRON_PLATING("iron", 300),
+    BOOK_OF_MEGATRICKS("mtrix", 300),
+    POTION_OF_AWESOME_WINGS("wingpotmax", 300);
+
+    private static final Map<String, ShopItem> BY_ID = new HashMap<>();
+
+    static {
+        for (ShopItem item : values()) {
+            BY_ID.put(item.id, item);
+        }
+    }
+
+    private final String id;
+    private final int listCost;
+
+    ShopItem(String id, int listCost) {
+        this.id = id;
+        this.listCost = listCost;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getListCost() {
+        return listCost;
+    }
+
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    public boolean isOwned(long owned) {
+        return (owned & mask()) != 0;
+    }
+
+    /**
+     * @return the item with the given shop id, or {@code null} if the id is unknown
+     */
+    public static ShopItem fromId(String id) {
+        return BY_ID.get(id);
+    }
+}
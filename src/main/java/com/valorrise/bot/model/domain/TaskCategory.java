@@ -0,0 +1,16 @@
+package com.valorrise.bot.model.domain;
+
+/**
+ * Kind of task an advertisement offers, derived from its message template.
+ */
+public enum TaskCategory {
+    STEAL_AND_SHARE,
+    STEAL,
+    ESCORT,
+    INVESTIGATE,
+    INFILTRATE,
+    DEFEND,
+    BIOGRAPHY,
+    ADVERTISE,
+    UNKNOWN
+}
@@ -0,0 +1,36 @@
+package com.valorrise.bot.model.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One played turn as written to the turn journal, for calibrating the simulator.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnRecord {
+    private String gameId;
+    private int turn;
+    private int livesBefore;
+    private int goldBefore;
+    // Ids of the items bought this turn, in order
+    private List<String> purchases;
+    private int livesAfterPurchases;
+    // List price of all upgrades owned when the task was attempted
+    private int upgradeGold;
+    // Reputation revealed by an investigation this turn, if any
+    private Reputation observedReputation;
+    // The whole board, decoded and categorised
+    private List<Advertisement> board;
+    private String chosenAdId;
+    private boolean success;
+    private int livesAfter;
+    private int goldAfter;
+    private int scoreAfter;
+}
@@ -1,16 +0,0 @@
-package com.valorrise.bot.model.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ItemDto {
-    private String id;
-    private String name;
-    private int cost;
-}
\ No newline at end of file
@@ -1,17 +0,0 @@
-package com.valorrise.bot.model.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ReputationDto {
-    private float people;
-    private float state;
-    private float underworld;
-}
-
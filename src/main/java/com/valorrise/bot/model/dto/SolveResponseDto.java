@@ -1,21 +0,0 @@
-package com.valorrise.bot.model.dto;
-
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class SolveResponseDto {
-    private boolean success;
-    private int lives;
-    private int gold;
-    private int score;
-    private int highScore;
-    private int turn;
-    private String message;
-}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.valorrise.bot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * Decoding of one advertisement field that was not already in the decode cache.
+ */
+@Name(AdDecodeEvent.NAME)
+@Label("Advertisement Decode")
+@Category({"ValorRise", "Game"})
+@StackTrace(false)
+@Setter
+public class AdDecodeEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.valorrise.bot.AdDecode";
+
+    @Label("Encoding")
+    private String encoding;
+
+    @Label("Length")
+    private int length;
+}
@@ -0,0 +1,35 @@
+package com.valorrise.bot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * One Game API HTTP exchange as seen by the Feign client; the event's duration is its latency. Status is
+ * {@code -1} when no response was received.
+ */
+@Name(ApiCallEvent.NAME)
+@Label("Game API Call")
+@Category({"ValorRise", "Game API"})
+@StackTrace(false)
+@Setter
+public class ApiCallEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.valorrise.bot.ApiCall";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    private long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    private long responseBytes;
+}
@@ -0,0 +1,66 @@
+package com.valorrise.bot.profiling;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latencies of the Game API calls over a rolling window, kept as a ring of histograms that each cover a
+ * slice of the window. Recording goes into the current slice without locking; only moving on to the
+ * next slice, once per slice, takes a lock.
+ */
+@Component
+public class ApiLatencies {
+    private static final int SLICES = 6;
+
+    private final LatencyHistogram[] slices = new LatencyHistogram[SLICES];
+    private final long sliceNanos;
+    private volatile int current;
+    private volatile long sliceStart;
+
+    public ApiLatencies(ApiConfiguration config) {
+        this.sliceNanos = Math.max(1, config.getDashboard().getWindow().toNanos() / SLICES);
+        for (int i = 0; i < SLICES; i++) {
+            slices[i] = new LatencyHistogram();
+        }
+        this.sliceStart = System.nanoTime();
+    }
+
+    public void record(long nanos) {
+        long now = System.nanoTime();
+        if (now - sliceStart >= sliceNanos) {
+            rotate(now);
+        }
+        slices[current].record(nanos / 1_000);
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the latency quantile over the window in microseconds, or 0 when there were no calls
+     */
+    public long valueAt(double quantile) {
+        long now = System.nanoTime();
+        if (now - sliceStart >= sliceNanos) {
+            rotate(now);
+        }
+        LatencyHistogram window = new LatencyHistogram();
+        for (int i = 0; i < SLICES; i++) {
+            window.add(slices[i]);
+        }
+        return window.valueAt(quantile);
+    }
+
+    // Clears the slices that fell out of the window, so an idle period does not keep old calls
+    private synchronized void rotate(long now) {
+        long elapsed = (now - sliceStart) / sliceNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        int next = current;
+        for (long i = 0; i < Math.min(elapsed, SLICES); i++) {
+            next = (next + 1) % SLICES;
+            slices[next] = new LatencyHistogram();
+        }
+        current = next;
+        sliceStart += elapsed * sliceNanos;
+    }
+}
@@ -0,0 +1,47 @@
+package com.valorrise.bot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * One played turn; the event's duration is the whole turn, the stage fields split it into its parts.
+ */
+@Name(GameTurnEvent.NAME)
+@Label("Game Turn")
+@Category({"ValorRise", "Game"})
+@StackTrace(false)
+@Setter
+public class GameTurnEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.valorrise.bot.GameTurn";
+
+    @Label("Game Id")
+    private String gameId;
+
+    @Label("Turn")
+    private int turn;
+
+    @Label("Cohort")
+    private String cohort;
+
+    @Label("Shop")
+    @Description("Purchase planning, reputation investigation and purchases")
+    @Timespan(Timespan.NANOSECONDS)
+    private long shopNanos;
+
+    @Label("Select")
+    @Description("Fetching, decoding and scoring the board")
+    @Timespan(Timespan.NANOSECONDS)
+    private long selectNanos;
+
+    @Label("Solve")
+    @Timespan(Timespan.NANOSECONDS)
+    private long solveNanos;
+
+    @Label("Success")
+    private boolean success;
+}
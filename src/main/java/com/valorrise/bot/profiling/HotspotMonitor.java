@@ -0,0 +1,126 @@
+package com.valorrise.bot.profiling;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Always-on in-process profiling ({@code game.profiling.*}): streams the bot's own JFR events together
+ * with sampled allocations and GC pauses, and periodically logs the slowest Game API endpoints, the
+ * allocation hotspots and the GC pauses that overlapped running turns.
+ * <p>
+ * Overhead is kept low by recording only what the summary needs: the bot's events carry no stack traces,
+ * allocations are sampled at a fixed rate ({@code allocation-throttle}) and nothing else is enabled. The
+ * events are also available to any other JFR recording, e.g. one started with
+ * {@code -XX:StartFlightRecording}.
+ */
+@Component
+public class HotspotMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(HotspotMonitor.class);
+    private static final String GC_PAUSE = "jdk.GCPhasePause";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String APPLICATION_PACKAGE = "com.valorrise.";
+
+    private final HotspotSummary summary;
+    private final long reportIntervalNanos;
+    private final RecordingStream stream;
+    private long windowStart = System.nanoTime();
+
+    public HotspotMonitor(ApiConfiguration config) {
+        ApiConfiguration.Profiling profiling = config.getProfiling();
+        this.summary = new HotspotSummary(profiling.getTop(), profiling.getMaxIntervals());
+        this.reportIntervalNanos = profiling.getReportInterval().toNanos();
+        this.stream = profiling.isEnabled() ? start(profiling) : null;
+    }
+
+    public boolean isEnabled() {
+        return stream != null;
+    }
+
+    private RecordingStream start(ApiConfiguration.Profiling profiling) {
+        RecordingStream recording = new RecordingStream();
+        recording.setMaxAge(profiling.getReportInterval());
+        recording.enable(ApiCallEvent.NAME);
+        recording.enable(GameTurnEvent.NAME);
+        recording.enable(GC_PAUSE);
+        recording.enable(ALLOCATION_SAMPLE).with("throttle", profiling.getAllocationThrottle()).withStackTrace();
+
+        // All callbacks run on the stream's thread, so the summary needs no synchronization
+        recording.onEvent(ApiCallEvent.NAME, event ->
+                summary.onApiCall(event.getString("endpoint"), event.getInt("status"), event.getDuration()));
+        recording.onEvent(GameTurnEvent.NAME, event -> summary.onTurn(event.getStartTime(), event.getDuration()));
+        recording.onEvent(GC_PAUSE, event -> summary.onGcPause(event.getStartTime(), event.getDuration()));
+        recording.onEvent(ALLOCATION_SAMPLE, event -> summary.onAllocation(allocationFrame(event), event.getLong("weight")));
+        recording.onFlush(this::reportIfDue);
+        recording.startAsync();
+        logger.info("JFR hotspot monitor started, reporting every {}", profiling.getReportInterval());
+        return recording;
+    }
+
+    private void reportIfDue() {
+        long now = System.nanoTime();
+        if (now - windowStart < reportIntervalNanos) {
+            return;
+        }
+        Duration window = Duration.ofNanos(now - windowStart);
+        windowStart = now;
+        log(window, summary.drain());
+    }
+
+    private static void log(Duration window, HotspotSummary.Report report) {
+        StringBuilder text = new StringBuilder("🔥 Hotspots over the last ").append(window.toSeconds()).append("s");
+        text.append("\n  Slowest endpoints:");
+        for (HotspotSummary.EndpointLatency endpoint : report.getSlowestEndpoints()) {
+            text.append(String.format("%n    %-20s mean %6d ms, max %6d ms, calls %d, errors %d",
+                    endpoint.getEndpoint(), endpoint.getMean().toMillis(), endpoint.getMax().toMillis(),
+                    endpoint.getCalls(), endpoint.getErrors()));
+        }
+        text.append("\n  Allocation hotspots (sampled):");
+        for (HotspotSummary.AllocationSite site : report.getAllocationHotspots()) {
+            text.append(String.format("%n    %5.1f%% %s", site.getShare() * 100, site.getFrame()));
+        }
+        text.append(String.format("%n  GC pauses: %d (%d ms), %d during turns (%d ms); %d of %d turns paused",
+                report.getGcPauses(), report.getGcPauseTime().toMillis(), report.getGcPausesDuringTurns(),
+                report.getGcPauseTimeDuringTurns().toMillis(), report.getTurnsWithGcPause(), report.getTurns()));
+        if (report.getDroppedIntervals() > 0) {
+            text.append(String.format("%n  %d turns/pauses beyond game.profiling.max-intervals were not analysed",
+                    report.getDroppedIntervals()));
+        }
+        logger.info(text.toString());
+    }
+
+    // The innermost application frame, so that allocations inside JDK and library code are charged to the
+    // bot code that caused them
+    private static String allocationFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        if (frames.isEmpty()) {
+            return "<unknown>";
+        }
+        RecordedFrame chosen = frames.get(0);
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                chosen = frame;
+                break;
+            }
+        }
+        return chosen.getMethod().getType().getName() + "." + chosen.getMethod().getName()
+                + ":" + chosen.getLineNumber();
+    }
+
+    @PreDestroy
+    void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.valorrise.bot.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates one reporting window of profiling events: Game API latency per endpoint, sampled allocation
+ * weight per allocating frame, and GC pauses together with how much of them fell into running turns.
+ * <p>
+ * Not thread-safe; it is fed by the single thread of a JFR event stream.
+ */
+class HotspotSummary {
+    private final int top;
+    private final int maxIntervals;
+    private final Map<String, Latency> endpoints = new HashMap<>();
+    private final Map<String, long[]> allocations = new HashMap<>();
+    private final List<long[]> turns = new ArrayList<>();
+    private final List<long[]> pauses = new ArrayList<>();
+    private long droppedIntervals;
+
+    /**
+     * @param top          entries kept per ranking
+     * @param maxIntervals turns and GC pauses kept per window for the overlap analysis; further ones are
+     *                     counted but not analysed
+     */
+    HotspotSummary(int top, int maxIntervals) {
+        this.top = top;
+        this.maxIntervals = maxIntervals;
+    }
+
+    void onApiCall(String endpoint, int status, Duration latency) {
+        Latency stats = endpoints.computeIfAbsent(endpoint, key -> new Latency());
+        long nanos = latency.toNanos();
+        stats.calls++;
+        stats.totalNanos += nanos;
+        stats.maxNanos = Math.max(stats.maxNanos, nanos);
+        if (status < 200 || status >= 300) {
+            stats.errors++;
+        }
+    }
+
+    void onTurn(Instant start, Duration duration) {
+        addInterval(turns, start, duration);
+    }
+
+    void onGcPause(Instant start, Duration duration) {
+        addInterval(pauses, start, duration);
+    }
+
+    void onAllocation(String frame, long bytes) {
+        long[] weight = allocations.computeIfAbsent(frame, key -> new long[2]);
+        weight[0] += bytes;
+        weight[1]++;
+    }
+
+    /**
+     * @return the summary of the events since the previous call, which start a new window
+     */
+    Report drain() {
+        List<EndpointLatency> slowest = endpoints.entrySet().stream()
+                .map(entry -> new EndpointLatency(entry.getKey(), entry.getValue().calls, entry.getValue().errors,
+                        Duration.ofNanos(entry.getValue().totalNanos / entry.getValue().calls),
+                        Duration.ofNanos(entry.getValue().maxNanos)))
+                .sorted(Comparator.comparing(EndpointLatency::getMean).reversed())
+                .limit(top)
+                .toList();
+
+        long sampledBytes = allocations.values().stream().mapToLong(weight -> weight[0]).sum();
+        List<AllocationSite> allocationSites = allocations.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(top)
+                .map(entry -> new AllocationSite(entry.getKey(), entry.getValue()[0], entry.getValue()[1],
+                        (double) entry.getValue()[0] / sampledBytes))
+                .toList();
+
+        Report report = overlap(slowest, allocationSites);
+        endpoints.clear();
+        allocations.clear();
+        turns.clear();
+        pauses.clear();
+        droppedIntervals = 0;
+        return report;
+    }
+
+    private Report overlap(List<EndpointLatency> slowest, List<AllocationSite> allocationSites) {
+        long[][] gc = pauses.toArray(new long[0][]);
+        Arrays.sort(gc, Comparator.comparingLong(interval -> interval[0]));
+        long[][] busy = merge(turns);
+
+        long pauseNanos = 0;
+        long pauseNanosInTurns = 0;
+        int overlapping = 0;
+        int next = 0;
+        for (long[] pause : gc) {
+            pauseNanos += pause[1] - pause[0];
+            while (next < busy.length && busy[next][1] <= pause[0]) {
+                next++;
+            }
+            long inTurns = 0;
+            for (int i = next; i < busy.length && busy[i][0] < pause[1]; i++) {
+                inTurns += Math.min(busy[i][1], pause[1]) - Math.max(busy[i][0], pause[0]);
+            }
+            if (inTurns > 0) {
+                overlapping++;
+                pauseNanosInTurns += inTurns;
+            }
+        }
+
+        int turnsHit = 0;
+        for (long[] turn : turns) {
+            if (overlapsAny(gc, turn)) {
+                turnsHit++;
+            }
+        }
+
+        return new Report(slowest, allocationSites, turns.size(), turnsHit, gc.length, overlapping,
+                Duration.ofNanos(pauseNanos), Duration.ofNanos(pauseNanosInTurns), droppedIntervals);
+    }
+
+    private void addInterval(List<long[]> intervals, Instant start, Duration duration) {
+        if (intervals.size() >= maxIntervals) {
+            droppedIntervals++;
+            return;
+        }
+        long from = start.getEpochSecond() * 1_000_000_000L + start.getNano();
+        intervals.add(new long[]{from, from + duration.toNanos()});
+    }
+
+    // Turns of concurrently played games overlap; merged, they are the time during which any turn ran
+    private static long[][] merge(List<long[]> intervals) {
+        long[][] sorted = intervals.toArray(new long[0][]);
+        Arrays.sort(sorted, Comparator.comparingLong(interval -> interval[0]));
+        List<long[]> merged = new ArrayList<>();
+        for (long[] interval : sorted) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval[0] <= last[1]) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                merged.add(new long[]{interval[0], interval[1]});
+            }
+        }
+        return merged.toArray(new long[0][]);
+    }
+
+    // GC pauses do not overlap each other, so sorted by start they are sorted by end as well
+    private static boolean overlapsAny(long[][] gc, long[] turn) {
+        int low = 0;
+        int high = gc.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (gc[mid][1] <= turn[0]) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < gc.length && gc[low][0] < turn[1];
+    }
+
+    private static final class Latency {
+        private long calls;
+        private long errors;
+        private long totalNanos;
+        private long maxNanos;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Report {
+        private List<EndpointLatency> slowestEndpoints;
+        private List<AllocationSite> allocationHotspots;
+        private int turns;
+        private int turnsWithGcPause;
+        private int gcPauses;
+        private int gcPausesDuringTurns;
+        private Duration gcPauseTime;
+        private Duration gcPauseTimeDuringTurns;
+        // Turns and pauses beyond game.profiling.max-intervals, left out of the overlap analysis
+        private long droppedIntervals;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class EndpointLatency {
+        private String endpoint;
+        private long calls;
+        private long errors;
+        private Duration mean;
+        private Duration max;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class AllocationSite {
+        private String frame;
+        private long sampledBytes;
+        private long samples;
+        private double share;
+    }
+}
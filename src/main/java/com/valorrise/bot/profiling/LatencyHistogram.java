@@ -0,0 +1,90 @@
+package com.valorrise.bot.profiling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Concurrent log-linear histogram of latencies in microseconds: values below 16 are exact, larger ones
+ * fall into 16 linear sub-buckets per power of two (within 6.25%). Recording is a single atomic
+ * increment, so many bot threads can record without contention on a lock, and histograms of separate
+ * periods can be merged.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    // Up to 2^40 us (about 12 days); larger values are clamped into the last bucket
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(Math.min(index(value), counts.length() - 1));
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the lower bound of the bucket holding the quantile, or 0 when nothing was recorded
+     */
+    public long valueAt(double quantile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(lowerBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        max.accumulate(other.getMax());
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.valorrise.bot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * One purchase attempt in {@link com.valorrise.bot.service.ShopService}, including attempts that were
+ * decided locally without calling the API.
+ */
+@Name(PurchaseEvent.NAME)
+@Label("Purchase")
+@Category({"ValorRise", "Game"})
+@StackTrace(false)
+@Setter
+public class PurchaseEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.valorrise.bot.Purchase";
+    public static final String BOUGHT = "bought";
+    public static final String UNAVAILABLE = "unavailable";
+    public static final String UNAFFORDABLE = "unaffordable";
+    public static final String FAILED = "failed";
+
+    @Label("Game Id")
+    private String gameId;
+
+    @Label("Item")
+    private String item;
+
+    @Label("Cost")
+    private int cost;
+
+    @Label("Outcome")
+    private String outcome;
+}
@@ -0,0 +1,121 @@
+package com.valorrise.bot.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative values with the buckets of {@link LatencyHistogram}, in plain arrays for a
+ * single writer: one thread records, and histograms are merged once recording into them has stopped.
+ * It takes the same few kilobytes however many values it holds.
+ */
+public class ValueHistogram {
+    private final long[] counts = new long[LatencyHistogram.BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts[Math.min(LatencyHistogram.index(clamped), counts.length - 1)]++;
+        count++;
+        sum += clamped;
+        min = Math.min(min, clamped);
+        max = Math.max(max, clamped);
+    }
+
+    public void add(ValueHistogram other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Adds the values of a histogram recorded elsewhere, e.g. in another process.
+     */
+    public void add(Snapshot other) {
+        if (other.getCount() == 0) {
+            return;
+        }
+        long[] otherCounts = other.getCounts();
+        for (int i = 0; i < Math.min(counts.length, otherCounts.length); i++) {
+            counts[i] += otherCounts[i];
+        }
+        count += other.getCount();
+        sum += other.getSum();
+        min = Math.min(min, other.getMin());
+        max = Math.max(max, other.getMax());
+    }
+
+    /**
+     * A copy of the values recorded so far that can be sent elsewhere and added there.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(counts.clone(), count, sum, getMin(), max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the lower bound of the bucket holding the quantile, at least the minimum and at most the
+     * maximum recorded, or 0 when nothing was recorded
+     */
+    public long valueAt(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(LatencyHistogram.lowerBound(i), max));
+            }
+        }
+        return max;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+        private long[] counts;
+        private long count;
+        private long sum;
+        private long min;
+        private long max;
+    }
+}
@@ -0,0 +1,65 @@
+package com.valorrise.bot.results;
+
+/**
+ * A column of a {@link ResultTable}: its name in queries, its position in the table and how its values
+ * are encoded in a segment.
+ */
+public final class Column {
+    public enum Type {
+        // Measures
+        INT(Integer.BYTES),
+        FLOAT(Float.BYTES),
+        // Dimensions: a name from the store's dictionary, an enum ordinal or a boolean
+        NAME(Integer.BYTES),
+        LABEL(Byte.BYTES),
+        CATEGORY(Byte.BYTES),
+        FLAG(Byte.BYTES),
+        // An advertisement id from the segment's own dictionary; stored, but not queried
+        AD(Integer.BYTES);
+
+        private final int width;
+
+        Type(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    private final String name;
+    private final Type type;
+    private final int index;
+
+    Column(String name, Type type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    public boolean isDimension() {
+        return type == Type.NAME || type == Type.LABEL || type == Type.CATEGORY || type == Type.FLAG;
+    }
+
+    public boolean isMeasure() {
+        return type == Type.INT || type == Type.FLOAT;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
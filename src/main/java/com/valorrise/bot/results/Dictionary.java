@@ -0,0 +1,112 @@
+package com.valorrise.bot.results;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding of strings as dense ints, in the order they were first seen. One thread adds
+ * strings; any thread may look them up. Strings are appended to a file, one per line, in id order, and
+ * either written through as they are added or whenever {@link #flush} is called. Once full, every new
+ * string shares one last id, {@link #OTHER}.
+ */
+final class Dictionary {
+    static final String OTHER = "(other)";
+
+    private final int maxSize;
+    private final boolean writeThrough;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final BufferedWriter writer;
+    private volatile String[] values = new String[16];
+    private volatile int size;
+
+    /**
+     * @param file         where the strings are kept, and loaded from if it exists; {@code null} keeps them
+     *                     in memory
+     * @param writeThrough whether to write each string as it is added, so that the file is always at least
+     *                     as far along as the columns that use it
+     */
+    Dictionary(Path file, int maxSize, boolean writeThrough) throws IOException {
+        this.maxSize = maxSize;
+        this.writeThrough = writeThrough;
+        if (file != null && Files.exists(file)) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines.subList(0, Math.min(lines.size(), maxSize))) {
+                put(line);
+            }
+        }
+        this.writer = file == null ? null : Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Encodes a string, adding it if it is new; called from the writing thread only.
+     */
+    int id(String value) throws IOException {
+        // Strings can't hold line breaks, or ids would shift when the file is read back
+        String key = value == null ? "" : value.replace('\n', ' ').replace('\r', ' ');
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (size >= maxSize - 1 && !key.equals(OTHER)) {
+            return id(OTHER);
+        }
+        if (writer != null) {
+            writer.write(key);
+            writer.newLine();
+            if (writeThrough) {
+                writer.flush();
+            }
+        }
+        return put(key);
+    }
+
+    /**
+     * @return the id of a string, or -1 if it was never added
+     */
+    int find(String value) {
+        return ids.getOrDefault(value, -1);
+    }
+
+    String value(int id) {
+        return values[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private int put(String value) {
+        int id = size;
+        String[] current = values;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+            values = current;
+        }
+        current[id] = value;
+        ids.put(value, id);
+        // Publishes the value to readers that see the new size
+        size = id + 1;
+        return id;
+    }
+}
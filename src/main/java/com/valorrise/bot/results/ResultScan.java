@@ -0,0 +1,192 @@
+package com.valorrise.bot.results;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * One query's pass over the segments of a table: equality filters, a group-by over dimension columns
+ * and count, sum, min and max of one measure per group.
+ * <p>
+ * Segments are scanned in batches of rows, a column at a time: each filter narrows a selection vector of
+ * row numbers, each group-by column folds its value into a dense group number, and the measure is added
+ * to per-group arrays. The loops touch nothing but primitive arrays and the off-heap columns, so a scan
+ * allocates nothing per row, however many rows it reads.
+ */
+final class ResultScan {
+    static final int BATCH = 1024;
+
+    private final Column[] filters;
+    private final int[] filterValues;
+    private final Column[] groupBy;
+    private final int[] cardinalities;
+    private final Column measure;
+
+    // Per group
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+
+    // Per batch
+    private final int[] selection = new int[BATCH];
+    private final int[] groups = new int[BATCH];
+
+    private long scanned;
+    private long matched;
+
+    /**
+     * @param cardinalities the number of distinct values of each group-by column; their product is the
+     *                      number of groups
+     * @param measure       a measure column, or {@code null} to only count rows
+     */
+    ResultScan(Column[] filters, int[] filterValues, Column[] groupBy, int[] cardinalities, Column measure) {
+        this.filters = filters;
+        this.filterValues = filterValues;
+        this.groupBy = groupBy;
+        this.cardinalities = cardinalities;
+        this.measure = measure;
+        int size = groupCount(cardinalities);
+        this.counts = new long[size];
+        this.sums = new double[size];
+        this.mins = new double[size];
+        this.maxs = new double[size];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    }
+
+    static int groupCount(int[] cardinalities) {
+        long groups = 1;
+        for (int cardinality : cardinalities) {
+            groups = Math.min(Integer.MAX_VALUE, groups * Math.max(1, cardinality));
+        }
+        return (int) groups;
+    }
+
+    /**
+     * Scans the first {@code rows} rows of a segment.
+     */
+    void scan(Segment segment, int rows) {
+        for (int from = 0; from < rows; from += BATCH) {
+            int to = Math.min(rows, from + BATCH);
+            int selected = to - from;
+            for (int i = 0; i < selected; i++) {
+                selection[i] = from + i;
+            }
+            for (int f = 0; f < filters.length && selected > 0; f++) {
+                selected = filter(segment, filters[f], filterValues[f], selected);
+            }
+            scanned += to - from;
+            matched += selected;
+            if (selected > 0) {
+                group(segment, selected);
+                accumulate(segment, selected);
+            }
+        }
+    }
+
+    long getScanned() {
+        return scanned;
+    }
+
+    long getMatched() {
+        return matched;
+    }
+
+    int getGroupCount() {
+        return counts.length;
+    }
+
+    long count(int group) {
+        return counts[group];
+    }
+
+    double sum(int group) {
+        return sums[group];
+    }
+
+    double min(int group) {
+        return mins[group];
+    }
+
+    double max(int group) {
+        return maxs[group];
+    }
+
+    /**
+     * @return the value of each group-by column for a group number
+     */
+    int[] key(int group) {
+        int[] key = new int[groupBy.length];
+        for (int c = groupBy.length - 1; c >= 0; c--) {
+            key[c] = group % cardinalities[c];
+            group /= cardinalities[c];
+        }
+        return key;
+    }
+
+    // Keeps the selected rows whose column holds the value, without branching on the comparison
+    private int filter(Segment segment, Column column, int value, int selected) {
+        int kept = 0;
+        if (column.getType().getWidth() == Byte.BYTES) {
+            ByteBuffer values = segment.bytes(column);
+            for (int i = 0; i < selected; i++) {
+                int row = selection[i];
+                selection[kept] = row;
+                kept += values.get(row) == value ? 1 : 0;
+            }
+        } else {
+            IntBuffer values = segment.ints(column);
+            for (int i = 0; i < selected; i++) {
+                int row = selection[i];
+                selection[kept] = row;
+                kept += values.get(row) == value ? 1 : 0;
+            }
+        }
+        return kept;
+    }
+
+    private void group(Segment segment, int selected) {
+        Arrays.fill(groups, 0, selected, 0);
+        for (int c = 0; c < groupBy.length; c++) {
+            int cardinality = cardinalities[c];
+            if (groupBy[c].getType().getWidth() == Byte.BYTES) {
+                ByteBuffer values = segment.bytes(groupBy[c]);
+                for (int i = 0; i < selected; i++) {
+                    groups[i] = groups[i] * cardinality + values.get(selection[i]);
+                }
+            } else {
+                IntBuffer values = segment.ints(groupBy[c]);
+                for (int i = 0; i < selected; i++) {
+                    groups[i] = groups[i] * cardinality + values.get(selection[i]);
+                }
+            }
+        }
+    }
+
+    private void accumulate(Segment segment, int selected) {
+        if (measure == null) {
+            for (int i = 0; i < selected; i++) {
+                counts[groups[i]]++;
+            }
+        } else if (measure.getType() == Column.Type.FLOAT) {
+            FloatBuffer values = segment.floats(measure);
+            for (int i = 0; i < selected; i++) {
+                add(groups[i], values.get(selection[i]));
+            }
+        } else {
+            IntBuffer values = segment.ints(measure);
+            for (int i = 0; i < selected; i++) {
+                add(groups[i], values.get(selection[i]));
+            }
+        }
+    }
+
+    private void add(int group, double value) {
+        counts[group]++;
+        sums[group] += value;
+        mins[group] = Math.min(mins[group], value);
+        maxs[group] = Math.max(maxs[group], value);
+    }
+}
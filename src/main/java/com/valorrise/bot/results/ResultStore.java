@@ -0,0 +1,494 @@
+package com.valorrise.bot.results;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnEventConsumer;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Embedded columnar store of every played turn and every finished game, for queries over the whole
+ * history by strategy, label and outcome without an external database.
+ * <p>
+ * Rows are appended off the game threads, from the {@link TurnEvent}s of the event bus, into segments of
+ * {@code game.results.segment-rows} rows per {@link ResultTable}. Segments live off the heap, in
+ * memory-mapped files under {@code game.results.directory} or, without a directory, in direct buffers
+ * of which only the latest {@code game.results.max-memory-segments} are kept. Cohorts and strategies
+ * are encoded in one dictionary for the store, advertisement ids in one per turns segment, and labels
+ * and categories by their ordinal, so a row is a few dozen bytes and the heap doesn't grow with history.
+ * <p>
+ * Queries run on the caller's thread next to the appending one and see every row committed when they
+ * start; see {@link ResultScan} for how segments are scanned.
+ */
+@Component
+public class ResultStore implements TurnEventConsumer {
+    private static final Logger logger = LoggerFactory.getLogger(ResultStore.class);
+    private static final Pattern SEGMENT_FILE = Pattern.compile("(turns|games)-(\\d+)\\.seg");
+    private static final String NAMES_FILE = "names.dict";
+    private static final int MAX_NAMES = 4096;
+    // Games whose turns were seen but whose end wasn't, e.g. because the bus dropped it
+    private static final int MAX_OPEN_GAMES = 4096;
+    private static final ProbabilityLabel[] LABELS = ProbabilityLabel.values();
+    private static final TaskCategory[] CATEGORIES = TaskCategory.values();
+
+    private final int segmentRows;
+    private final int maxMemorySegments;
+    private final int maxGroups;
+    private final Dictionary names;
+    private final List<Segment> turns = new CopyOnWriteArrayList<>();
+    private final List<Segment> games = new CopyOnWriteArrayList<>();
+    private volatile boolean enabled;
+    // Null when results are kept in memory only
+    private Path directory;
+
+    // Only touched by the appending thread
+    private final Map<String, Integer> openGames = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_OPEN_GAMES;
+        }
+    };
+    private Dictionary ads;
+    private int nextGame;
+
+    @Autowired
+    public ResultStore(ApiConfiguration config) {
+        this(config.getResults());
+    }
+
+    ResultStore(ApiConfiguration.Results config) {
+        this.directory = config.getDirectory() == null || config.getDirectory().isBlank()
+                ? null : Path.of(config.getDirectory());
+        this.segmentRows = config.getSegmentRows();
+        this.maxMemorySegments = config.getMaxMemorySegments();
+        this.maxGroups = config.getMaxGroups();
+        this.enabled = config.isEnabled();
+        this.names = enabled ? load() : null;
+    }
+
+    @Override
+    public String getName() {
+        return "results";
+    }
+
+    @Override
+    public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (event.isGameOver()) {
+                appendGame(event);
+            } else {
+                appendTurn(event);
+            }
+            if (endOfBatch && ads != null) {
+                ads.flush();
+            }
+        } catch (IOException e) {
+            // Without a place to write, every further event would fail the same way
+            logger.error("🗄️ Results store stopped recording: {}", e.getMessage());
+            enabled = false;
+        }
+    }
+
+    /**
+     * Counts, and sums up a measure over, the rows of a table that match every filter, per combination of
+     * values of the group-by columns. Groups are listed from the most rows to the fewest.
+     *
+     * @throws IllegalArgumentException for an unknown table or column, a column that can't be used where
+     *                                  it is, or more groups than {@code game.results.max-groups}
+     * @throws IllegalStateException    if the store is disabled
+     */
+    public QueryResult query(Query query) {
+        if (names == null) {
+            throw new IllegalStateException("The results store is disabled");
+        }
+        long start = System.nanoTime();
+        ResultTable table = ResultTable.of(query.getTable());
+        List<Segment> segments = table == ResultTable.TURNS ? turns : games;
+        // Rows first: every name they use is in the dictionary by the time its size is read
+        Segment[] snapshot = segments.toArray(new Segment[0]);
+        int[] rows = new int[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            rows[i] = snapshot[i].getRows();
+        }
+
+        Map<String, String> where = query.getWhere() != null ? query.getWhere() : Map.of();
+        Column[] filters = new Column[where.size()];
+        int[] filterValues = new int[where.size()];
+        int f = 0;
+        for (Map.Entry<String, String> filter : where.entrySet()) {
+            filters[f] = table.column(filter.getKey());
+            filterValues[f] = encode(filters[f], filter.getValue());
+            f++;
+        }
+        List<String> groupBy = query.getGroupBy() != null ? query.getGroupBy() : List.of();
+        Column[] groupColumns = new Column[groupBy.size()];
+        int[] cardinalities = new int[groupBy.size()];
+        for (int g = 0; g < groupColumns.length; g++) {
+            groupColumns[g] = table.column(groupBy.get(g));
+            if (!groupColumns[g].isDimension()) {
+                throw new IllegalArgumentException("Cannot group by " + groupColumns[g] + ", it is not a dimension");
+            }
+            cardinalities[g] = cardinality(groupColumns[g]);
+        }
+        if (ResultScan.groupCount(cardinalities) > maxGroups) {
+            throw new IllegalArgumentException("Grouping by " + groupBy + " makes more than " + maxGroups + " groups");
+        }
+        Column measure = null;
+        if (query.getMeasure() != null && !query.getMeasure().isBlank()) {
+            measure = table.column(query.getMeasure());
+            if (!measure.isMeasure()) {
+                throw new IllegalArgumentException("Column " + measure + " is not a measure");
+            }
+        }
+
+        ResultScan scan = new ResultScan(filters, filterValues, groupColumns, cardinalities, measure);
+        for (int i = 0; i < snapshot.length; i++) {
+            scan.scan(snapshot[i], rows[i]);
+        }
+
+        List<Group> groups = new ArrayList<>();
+        for (int group = 0; group < scan.getGroupCount(); group++) {
+            long count = scan.count(group);
+            if (count == 0) {
+                continue;
+            }
+            int[] values = scan.key(group);
+            Map<String, String> key = new LinkedHashMap<>();
+            for (int g = 0; g < groupColumns.length; g++) {
+                key.put(groupColumns[g].getName(), decode(groupColumns[g], values[g]));
+            }
+            Measure stats = measure == null ? null : new Measure(measure.getName(), scan.sum(group),
+                    scan.sum(group) / count, scan.min(group), scan.max(group));
+            groups.add(new Group(key, count, stats));
+        }
+        groups.sort(Comparator.comparingLong(Group::getCount).reversed());
+        return new QueryResult(table.getName(), scan.getScanned(), scan.getMatched(), groups,
+                (System.nanoTime() - start) / 1_000);
+    }
+
+    public Status getStatus() {
+        Map<String, Long> rows = new TreeMap<>();
+        rows.put(ResultTable.TURNS.getName(), countRows(turns));
+        rows.put(ResultTable.GAMES.getName(), countRows(games));
+        return new Status(enabled, directory != null ? directory.toString() : null, rows,
+                turns.size() + games.size(), names != null ? names.size() : 0);
+    }
+
+    @PreDestroy
+    public void close() {
+        enabled = false;
+        for (Segment segment : turns) {
+            segment.force();
+        }
+        for (Segment segment : games) {
+            segment.force();
+        }
+        try {
+            if (ads != null) {
+                ads.close();
+            }
+            if (names != null) {
+                names.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot close results dictionaries: {}", e.getMessage());
+        }
+    }
+
+    private void appendTurn(TurnEvent event) throws IOException {
+        Segment segment = writable(ResultTable.TURNS, turns);
+        segment.putInt(ResultTable.TURN_GAME, gameNumber(event.getGameId()));
+        segment.putInt(ResultTable.TURN_COHORT, names.id(event.getCohort()));
+        segment.putInt(ResultTable.TURN_TASK_STRATEGY, names.id(event.getTaskStrategy()));
+        segment.putInt(ResultTable.TURN_PURCHASE_STRATEGY, names.id(event.getPurchaseStrategy()));
+        segment.putInt(ResultTable.TURN_NUMBER, event.getTurn());
+        segment.putInt(ResultTable.TURN_AD, ads.id(event.getAdId()));
+        segment.putByte(ResultTable.TURN_LABEL, (byte) ProbabilityLabel.fromLabel(event.getProbability()).ordinal());
+        TaskCategory category = event.getCategory() != null ? event.getCategory() : TaskCategory.UNKNOWN;
+        segment.putByte(ResultTable.TURN_CATEGORY, (byte) category.ordinal());
+        segment.putInt(ResultTable.TURN_REWARD, event.getReward());
+        segment.putByte(ResultTable.TURN_SUCCESS, (byte) (event.isSuccess() ? 1 : 0));
+        segment.putInt(ResultTable.TURN_LIVES, event.getLives());
+        segment.putInt(ResultTable.TURN_GOLD, event.getGold());
+        segment.putInt(ResultTable.TURN_SCORE, event.getScore());
+        segment.putInt(ResultTable.TURN_POTIONS, event.getPotionsBought());
+        segment.putFloat(ResultTable.TURN_PEOPLE, (float) event.getPeople());
+        segment.putFloat(ResultTable.TURN_STATE, (float) event.getState());
+        segment.putFloat(ResultTable.TURN_UNDERWORLD, (float) event.getUnderworld());
+        segment.commit();
+    }
+
+    private void appendGame(TurnEvent event) throws IOException {
+        Segment segment = writable(ResultTable.GAMES, games);
+        Integer number = openGames.remove(event.getGameId());
+        segment.putInt(ResultTable.GAME_GAME, number != null ? number : nextGame++);
+        segment.putInt(ResultTable.GAME_COHORT, names.id(event.getCohort()));
+        segment.putInt(ResultTable.GAME_TASK_STRATEGY, names.id(event.getTaskStrategy()));
+        segment.putInt(ResultTable.GAME_PURCHASE_STRATEGY, names.id(event.getPurchaseStrategy()));
+        segment.putInt(ResultTable.GAME_TURNS, event.getTurn());
+        segment.putInt(ResultTable.GAME_LIVES, event.getLives());
+        segment.putInt(ResultTable.GAME_GOLD, event.getGold());
+        segment.putInt(ResultTable.GAME_SCORE, event.getScore());
+        segment.putInt(ResultTable.GAME_COMPLETED, event.getTasksCompleted());
+        segment.putInt(ResultTable.GAME_FAILED, event.getTasksFailed());
+        segment.putByte(ResultTable.GAME_REACHED_TARGET, (byte) (event.isSuccess() ? 1 : 0));
+        segment.commit();
+    }
+
+    private int gameNumber(String gameId) {
+        Integer number = openGames.get(gameId);
+        if (number == null) {
+            number = nextGame++;
+            openGames.put(gameId, number);
+        }
+        return number;
+    }
+
+    /**
+     * @return the segment to append the next row of a table to, starting a new one when the last is full
+     */
+    private Segment writable(ResultTable table, List<Segment> segments) throws IOException {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && !last.isFull()) {
+            return last;
+        }
+        int number = last != null ? last.getNumber() + 1 : 0;
+        Segment segment;
+        if (directory != null) {
+            if (last != null) {
+                last.force();
+            }
+            segment = Segment.create(table, number, segmentRows, segmentFile(table, number));
+        } else {
+            segment = Segment.allocate(table, number, segmentRows);
+            if (segments.size() >= maxMemorySegments) {
+                segments.remove(0);
+            }
+        }
+        if (table == ResultTable.TURNS) {
+            if (ads != null) {
+                ads.close();
+            }
+            ads = new Dictionary(directory != null ? adsFile(number) : null, segmentRows, false);
+        }
+        segments.add(segment);
+        return segment;
+    }
+
+    private int encode(Column column, String value) {
+        switch (column.getType()) {
+            case NAME:
+                return names.find(value);
+            case LABEL:
+                for (ProbabilityLabel label : LABELS) {
+                    if (label.name().equalsIgnoreCase(value)) {
+                        return label.ordinal();
+                    }
+                }
+                return ProbabilityLabel.fromLabel(value).ordinal();
+            case CATEGORY:
+                try {
+                    return TaskCategory.valueOf(value.toUpperCase(Locale.ROOT)).ordinal();
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown task category: " + value, e);
+                }
+            case FLAG:
+                if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException("Column " + column + " is true or false, not " + value);
+                }
+                return Boolean.parseBoolean(value) ? 1 : 0;
+            case INT:
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Column " + column + " holds whole numbers, not " + value, e);
+                }
+            default:
+                throw new IllegalArgumentException("Cannot filter on " + column);
+        }
+    }
+
+    private String decode(Column column, int value) {
+        return switch (column.getType()) {
+            case NAME -> names.value(value);
+            case LABEL -> LABELS[value].name();
+            case CATEGORY -> CATEGORIES[value].name();
+            case FLAG -> Boolean.toString(value != 0);
+            default -> Integer.toString(value);
+        };
+    }
+
+    private int cardinality(Column column) {
+        return switch (column.getType()) {
+            case NAME -> Math.max(1, names.size());
+            case LABEL -> LABELS.length;
+            case CATEGORY -> CATEGORIES.length;
+            default -> 2;
+        };
+    }
+
+    /**
+     * Opens the segments and the dictionary of the directory, if any, and picks up where they stopped.
+     */
+    private Dictionary load() {
+        if (directory == null) {
+            return newDictionary(null);
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(file -> SEGMENT_FILE.matcher(file.getFileName().toString()).matches())
+                        .sorted()
+                        .toList();
+            }
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                matcher.matches();
+                ResultTable table = ResultTable.of(matcher.group(1));
+                try {
+                    Segment segment = Segment.open(table, Integer.parseInt(matcher.group(2)), file);
+                    (table == ResultTable.TURNS ? turns : games).add(segment);
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Skipping results segment {}: {}", file, e.getMessage());
+                }
+            }
+            Dictionary dictionary = new Dictionary(directory.resolve(NAMES_FILE), MAX_NAMES, true);
+            if (!turns.isEmpty()) {
+                Segment last = turns.get(turns.size() - 1);
+                if (!last.isFull()) {
+                    ads = new Dictionary(adsFile(last.getNumber()), segmentRows, false);
+                }
+            }
+            nextGame = Math.max(nextGame(turns, ResultTable.TURN_GAME), nextGame(games, ResultTable.GAME_GAME));
+            logger.info("🗄️ Results store at {}: {} turns and {} games", directory, countRows(turns), countRows(games));
+            return dictionary;
+        } catch (IOException e) {
+            logger.warn("Cannot open results directory {}, keeping results in memory: {}", directory, e.getMessage());
+            directory = null;
+            turns.clear();
+            games.clear();
+            ads = null;
+            nextGame = 0;
+            return newDictionary(null);
+        }
+    }
+
+    private Dictionary newDictionary(Path file) {
+        try {
+            return new Dictionary(file, MAX_NAMES, true);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Games are numbered in the order they are seen, so the last segment holds the highest number
+    private static int nextGame(List<Segment> segments, Column game) {
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        Segment last = segments.get(segments.size() - 1);
+        IntBuffer numbers = last.ints(game);
+        int max = -1;
+        for (int row = 0; row < last.getRows(); row++) {
+            max = Math.max(max, numbers.get(row));
+        }
+        return max + 1;
+    }
+
+    private static long countRows(List<Segment> segments) {
+        long rows = 0;
+        for (Segment segment : segments) {
+            rows += segment.getRows();
+        }
+        return rows;
+    }
+
+    private Path segmentFile(ResultTable table, int number) {
+        return directory.resolve(String.format("%s-%06d.seg", table.getName(), number));
+    }
+
+    private Path adsFile(int number) {
+        return directory.resolve(String.format("turns-%06d.ads", number));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Query {
+        // turns or games
+        private String table;
+        // Column name to value, e.g. success=true or task=safest
+        private Map<String, String> where;
+        // Dimension columns: cohort, task, purchase, label, category, success or target
+        private List<String> groupBy;
+        // Optional measure column to sum up per group, e.g. score or reward
+        private String measure;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class QueryResult {
+        private String table;
+        private long scannedRows;
+        private long matchedRows;
+        private List<Group> groups;
+        private long tookMicros;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Group {
+        private Map<String, String> key;
+        private long count;
+        private Measure measure;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Measure {
+        private String column;
+        private double sum;
+        private double mean;
+        private double min;
+        private double max;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Status {
+        private boolean enabled;
+        // Blank when results are kept in memory only
+        private String directory;
+        private Map<String, Long> rows;
+        private int segments;
+        private int names;
+    }
+}
@@ -0,0 +1,101 @@
+package com.valorrise.bot.results;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tables of the {@link ResultStore}: one row per played turn and one per finished game. Games are
+ * numbered by the store, so a game's turns can be matched to its summary.
+ */
+public final class ResultTable {
+    public static final ResultTable TURNS = new ResultTable("turns");
+    public static final ResultTable GAMES = new ResultTable("games");
+
+    static final Column TURN_GAME = TURNS.add("game", Column.Type.INT);
+    static final Column TURN_COHORT = TURNS.add("cohort", Column.Type.NAME);
+    static final Column TURN_TASK_STRATEGY = TURNS.add("task", Column.Type.NAME);
+    static final Column TURN_PURCHASE_STRATEGY = TURNS.add("purchase", Column.Type.NAME);
+    static final Column TURN_NUMBER = TURNS.add("turn", Column.Type.INT);
+    static final Column TURN_AD = TURNS.add("ad", Column.Type.AD);
+    static final Column TURN_LABEL = TURNS.add("label", Column.Type.LABEL);
+    static final Column TURN_CATEGORY = TURNS.add("category", Column.Type.CATEGORY);
+    static final Column TURN_REWARD = TURNS.add("reward", Column.Type.INT);
+    static final Column TURN_SUCCESS = TURNS.add("success", Column.Type.FLAG);
+    static final Column TURN_LIVES = TURNS.add("lives", Column.Type.INT);
+    static final Column TURN_GOLD = TURNS.add("gold", Column.Type.INT);
+    static final Column TURN_SCORE = TURNS.add("score", Column.Type.INT);
+    static final Column TURN_POTIONS = TURNS.add("potions", Column.Type.INT);
+    static final Column TURN_PEOPLE = TURNS.add("people", Column.Type.FLOAT);
+    static final Column TURN_STATE = TURNS.add("state", Column.Type.FLOAT);
+    static final Column TURN_UNDERWORLD = TURNS.add("underworld", Column.Type.FLOAT);
+
+    static final Column GAME_GAME = GAMES.add("game", Column.Type.INT);
+    static final Column GAME_COHORT = GAMES.add("cohort", Column.Type.NAME);
+    static final Column GAME_TASK_STRATEGY = GAMES.add("task", Column.Type.NAME);
+    static final Column GAME_PURCHASE_STRATEGY = GAMES.add("purchase", Column.Type.NAME);
+    static final Column GAME_TURNS = GAMES.add("turns", Column.Type.INT);
+    static final Column GAME_LIVES = GAMES.add("lives", Column.Type.INT);
+    static final Column GAME_GOLD = GAMES.add("gold", Column.Type.INT);
+    static final Column GAME_SCORE = GAMES.add("score", Column.Type.INT);
+    static final Column GAME_COMPLETED = GAMES.add("completed", Column.Type.INT);
+    static final Column GAME_FAILED = GAMES.add("failed", Column.Type.INT);
+    static final Column GAME_REACHED_TARGET = GAMES.add("target", Column.Type.FLAG);
+
+    private final String name;
+    private final List<Column> columns = new ArrayList<>();
+    private int rowBytes;
+
+    private ResultTable(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a table other than {@code turns} or {@code games}
+     */
+    public static ResultTable of(String name) {
+        if (TURNS.name.equalsIgnoreCase(name)) {
+            return TURNS;
+        }
+        if (GAMES.name.equalsIgnoreCase(name)) {
+            return GAMES;
+        }
+        throw new IllegalArgumentException("Unknown results table: " + name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Column> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the table has no such column
+     */
+    public Column column(String name) {
+        for (Column column : columns) {
+            if (column.getName().equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Table " + this.name + " has no column " + name);
+    }
+
+    int getRowBytes() {
+        return rowBytes;
+    }
+
+    private Column add(String name, Column.Type type) {
+        Column column = new Column(name, type, columns.size());
+        columns.add(column);
+        rowBytes += type.getWidth();
+        return column;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
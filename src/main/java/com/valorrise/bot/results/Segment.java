@@ -0,0 +1,174 @@
+package com.valorrise.bot.results;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A fixed number of rows of one {@link ResultTable}, column by column, off the heap: in a memory-mapped
+ * file or, without one, a direct buffer. A header records the table layout and how many rows are
+ * written, so a segment left unfinished by a restart is appended to where it stopped.
+ * <p>
+ * One thread appends: it fills the columns of the next row and then {@link #commit}s it. Readers on any
+ * thread see the rows committed before they read {@link #getRows()}.
+ */
+final class Segment {
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int MAGIC = 0x56525253; // "VRRS"
+    private static final int VERSION = 1;
+    // Magic, version, columns, row bytes, capacity and rows
+    private static final int HEADER_BYTES = 24;
+    private static final int ROWS_OFFSET = 20;
+
+    private final ResultTable table;
+    private final int number;
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int[] offsets;
+    private volatile int rows;
+
+    private Segment(ResultTable table, int number, ByteBuffer buffer, int capacity, int rows) {
+        this.table = table;
+        this.number = number;
+        this.buffer = buffer.order(ORDER);
+        this.capacity = capacity;
+        this.rows = rows;
+        List<Column> columns = table.getColumns();
+        this.offsets = new int[columns.size()];
+        int offset = HEADER_BYTES;
+        for (Column column : columns) {
+            offsets[column.getIndex()] = offset;
+            offset += capacity * column.getType().getWidth();
+        }
+    }
+
+    /**
+     * A segment in a direct buffer, gone with the process.
+     */
+    static Segment allocate(ResultTable table, int number, int capacity) {
+        Segment segment = new Segment(table, number, ByteBuffer.allocateDirect(size(table, capacity)), capacity, 0);
+        segment.writeHeader();
+        return segment;
+    }
+
+    /**
+     * A new segment in a memory-mapped file, replacing any file at that path.
+     */
+    static Segment create(ResultTable table, int number, int capacity, Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Segment segment = new Segment(table, number, map(file, size(table, capacity)), capacity, 0);
+        segment.writeHeader();
+        return segment;
+    }
+
+    /**
+     * Maps a segment written before.
+     *
+     * @throws IOException if the file is not a segment of this table's current layout
+     */
+    static Segment open(ResultTable table, int number, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(header, 0);
+        }
+        int capacity = header.getInt(16);
+        int rows = header.getInt(ROWS_OFFSET);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                || header.getInt(8) != table.getColumns().size() || header.getInt(12) != table.getRowBytes()
+                || capacity <= 0 || rows < 0 || rows > capacity
+                || Files.size(file) != size(table, capacity)) {
+            throw new IOException("Not a segment of table " + table + " in its current layout");
+        }
+        return new Segment(table, number, map(file, size(table, capacity)), capacity, rows);
+    }
+
+    ResultTable getTable() {
+        return table;
+    }
+
+    int getNumber() {
+        return number;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    boolean isFull() {
+        return rows == capacity;
+    }
+
+    // Writing: fill the columns of row getRows(), then commit
+
+    void putInt(Column column, int value) {
+        buffer.putInt(offsets[column.getIndex()] + rows * Integer.BYTES, value);
+    }
+
+    void putFloat(Column column, float value) {
+        buffer.putFloat(offsets[column.getIndex()] + rows * Float.BYTES, value);
+    }
+
+    void putByte(Column column, byte value) {
+        buffer.put(offsets[column.getIndex()] + rows, value);
+    }
+
+    void commit() {
+        buffer.putInt(ROWS_OFFSET, rows + 1);
+        rows++;
+    }
+
+    /**
+     * Writes the mapped pages out to the file, e.g. once the segment is full.
+     */
+    void force() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    // Reading: views over a whole column, valid up to getRows()
+
+    IntBuffer ints(Column column) {
+        return column(column).asIntBuffer();
+    }
+
+    FloatBuffer floats(Column column) {
+        return column(column).asFloatBuffer();
+    }
+
+    ByteBuffer bytes(Column column) {
+        return column(column);
+    }
+
+    private ByteBuffer column(Column column) {
+        return buffer.slice(offsets[column.getIndex()], capacity * column.getType().getWidth()).order(ORDER);
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, table.getColumns().size())
+                .putInt(12, table.getRowBytes()).putInt(16, capacity).putInt(ROWS_OFFSET, 0);
+    }
+
+    private static int size(ResultTable table, int capacity) {
+        return HEADER_BYTES + capacity * table.getRowBytes();
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -2,27 +2,86 @@ package com.valorrise.bot.service;
 
 import com.valorrise.bot.api.client.GameApiClient;
 import com.valorrise.bot.model.domain.Advertisement;
-import com.valorrise.bot.model.dto.AdvertisementDto;
-import com.valorrise.bot.model.mapper.AdvertisementMapper;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.SolveResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Resilient facade over {@link GameApiClient}. Every endpoint runs in its own bulkhead so that a slow
+ * endpoint (e.g. reputation investigations) cannot exhaust the capacity of the others, and the
+ * {@code gameStart} and {@code solve} endpoints are guarded by circuit breakers.
+ */
 @Service
 public class GameApiService {
+    static final String GAME_START = "gameStart";
+    static final String MESSAGES = "messages";
+    static final String SOLVE = "solve";
+    static final String SHOP = "shop";
+    static final String REPUTATION = "reputation";
+
     private final GameApiClient client;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
 
-    public GameApiService(GameApiClient client) {
+    public GameApiService(GameApiClient client, CircuitBreakerRegistry circuitBreakerRegistry) {
         this.client = client;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    /**
+     * Starts a new game. Game starts are paused while the {@code solve} circuit breaker is open:
+     * a new game could not make progress anyway and would only add load to a failing API.
+     */
+    @Bulkhead(name = GAME_START)
+    @CircuitBreaker(name = GAME_START)
+    @Retry(name = "gameApi")
+    public Game startGame() {
+        var solveBreaker = circuitBreakerRegistry.circuitBreaker(SOLVE);
+        if (solveBreaker.getState() == io.github.resilience4j.circuitbreaker.CircuitBreaker.State.OPEN) {
+            throw CallNotPermittedException.createCallNotPermittedException(solveBreaker);
+        }
+        return client.startGame();
     }
 
+    @Bulkhead(name = MESSAGES)
     @Retry(name = "gameApi")
     public List<Advertisement> getAdvertisements(String gameId) {
-        List<AdvertisementDto> dtos = client.getAdvertisements(gameId);
-        return dtos.stream()
-                .map(AdvertisementMapper::toEntity)
-                .collect(Collectors.toList());
+        List<Advertisement> advertisements = client.getAdvertisements(gameId);
+        return advertisements != null ? advertisements : Collections.emptyList();
+    }
+
+    @Bulkhead(name = SOLVE)
+    @CircuitBreaker(name = SOLVE)
+    public SolveResponse solveAdvertisement(String gameId, String adId) {
+        return client.solveAdvertisement(gameId, adId);
+    }
+
+    @Bulkhead(name = SHOP)
+    @Retry(name = "gameApi")
+    public List<Item> getShopItems(String gameId) {
+        List<Item> items = client.getShopItems(gameId);
+        return items != null ? items : Collections.emptyList();
+    }
+
+    @Bulkhead(name = SHOP)
+    public Game buyItem(String gameId, String itemId) {
+        Game updatedGame = client.buyItem(gameId, itemId);
+        updatedGame.setGameId(gameId);
+        return updatedGame;
+    }
+
+    @Bulkhead(name = REPUTATION)
+    @Retry(name = "gameApi")
+    public Reputation getReputation(String gameId) {
+        return client.getReputation(gameId);
     }
 }
\ No newline at end of file
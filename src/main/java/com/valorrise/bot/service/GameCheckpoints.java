@@ -0,0 +1,194 @@
+package com.valorrise.bot.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Games suspended by a shutdown, to be resumed by the next run instead of being lost. The Game API keeps
+ * a game until it is over, so a checkpoint only needs what the bot tracked locally: its progress, the
+ * upgrades it owns, its reputation estimate and its statistics so far.
+ * <p>
+ * With a file configured ({@code game.shutdown.checkpoint-file}) the checkpoints are written there on
+ * {@link #flush()} and loaded on startup; a checkpoint taken for resuming is removed from the file at
+ * once, so a game is not resumed twice.
+ */
+@Component
+public class GameCheckpoints {
+    private static final Logger logger = LoggerFactory.getLogger(GameCheckpoints.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path file;
+
+    // Guarded by this; by game id, in the order the games were suspended
+    private final Map<String, Checkpoint> checkpoints = new LinkedHashMap<>();
+
+    /**
+     * Checkpoints kept in memory only.
+     */
+    public GameCheckpoints() {
+        this((String) null);
+    }
+
+    @Autowired
+    public GameCheckpoints(ApiConfiguration config) {
+        this(config.getShutdown().getCheckpointFile());
+    }
+
+    GameCheckpoints(String file) {
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        if (this.file != null && Files.exists(this.file)) {
+            load();
+        }
+    }
+
+    /**
+     * Keeps a suspended game, replacing an earlier checkpoint of it.
+     */
+    public synchronized void save(Checkpoint checkpoint) {
+        checkpoints.remove(checkpoint.getGameId());
+        checkpoints.put(checkpoint.getGameId(), checkpoint);
+    }
+
+    /**
+     * Keeps a checkpoint unless the game already has a newer one, e.g. when a shutdown gives up on a game
+     * that may still suspend itself.
+     */
+    public synchronized void saveIfAbsent(Checkpoint checkpoint) {
+        checkpoints.putIfAbsent(checkpoint.getGameId(), checkpoint);
+    }
+
+    public synchronized void discard(String gameId) {
+        checkpoints.remove(gameId);
+    }
+
+    /**
+     * Takes the game suspended first, if any, to resume it.
+     */
+    public Checkpoint take() {
+        return take(null, null);
+    }
+
+    /**
+     * Takes the game suspended first that played the given strategies, so that a run of fixed strategies
+     * does not finish games other strategies began.
+     *
+     * @param task     task strategy the game must have played, or {@code null} for any
+     * @param purchase purchase strategy the game must have played, or {@code null} for any
+     */
+    public synchronized Checkpoint take(String task, String purchase) {
+        Iterator<Checkpoint> iterator = checkpoints.values().iterator();
+        while (iterator.hasNext()) {
+            Checkpoint checkpoint = iterator.next();
+            if ((task == null || task.equals(checkpoint.getTask()))
+                    && (purchase == null || purchase.equals(checkpoint.getPurchase()))) {
+                iterator.remove();
+                flush();
+                return checkpoint;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Writes the checkpoints to the file, if any, replacing its content in one step.
+     */
+    public synchronized void flush() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            mapper.writeValue(temporary.toFile(), new ArrayList<>(checkpoints.values()));
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write game checkpoints to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        flush();
+    }
+
+    private void load() {
+        try {
+            List<Checkpoint> loaded = mapper.readValue(file.toFile(), new TypeReference<List<Checkpoint>>() {
+            });
+            for (Checkpoint checkpoint : loaded) {
+                checkpoints.put(checkpoint.getGameId(), checkpoint);
+            }
+            if (!checkpoints.isEmpty()) {
+                logger.info("💾 {} suspended games to resume from {}", checkpoints.size(), file);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read game checkpoints from {}, starting without: {}", file, e.getMessage());
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Checkpoint {
+        private String gameId;
+        // Cohort and strategies the game played, to go on with the same ones
+        private String cohort;
+        private String task;
+        private String purchase;
+        private int turn;
+        private int lives;
+        private int gold;
+        private int score;
+        // ShopItem ownership bits and the gold spent on upgrades
+        private long ownedUpgrades;
+        private int upgradeGold;
+        private int tasksCompleted;
+        private int tasksFailed;
+        private int totalRewards;
+        private int itemsPurchased;
+        // The predicted reputation, see ReputationTracker.Estimate; absent if the game was checkpointed by
+        // the shutdown deadline rather than by its own thread
+        private double[] reputation;
+        private double[] reputationVariance;
+        // Epoch millis
+        private long suspendedAt;
+
+        public Game toGame() {
+            return Game.builder().gameId(gameId).turn(turn).lives(lives).gold(gold).score(score).build();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.PreparedGame;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a small, bounded pool of already-started games (optionally with their shop catalog) so that
+ * the next game can take its first turn without waiting for {@code /game/start}. Pooled games that
+ * are not picked up within the configured TTL are discarded.
+ */
+@Service
+public class GamePreStartPool {
+    private static final Logger logger = LoggerFactory.getLogger(GamePreStartPool.class);
+    private final GameApiService gameApiService;
+    private final ApiConfiguration.Pool config;
+    private final BlockingQueue<PreparedGame> ready;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService starter;
+
+    public GamePreStartPool(GameApiService gameApiService, ApiConfiguration config) {
+        this.gameApiService = gameApiService;
+        this.config = config.getPool();
+        this.ready = new ArrayBlockingQueue<>(this.config.getSize());
+        this.starter = Executors.newFixedThreadPool(this.config.getSize(), runnable -> {
+            Thread thread = new Thread(runnable, "game-prestart");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a pre-started game from the pool and schedules a replacement.
+     *
+     * @return a ready game, or {@code null} when the pool is disabled or currently empty
+     */
+    public PreparedGame acquire() {
+        if (!config.isEnabled()) {
+            return null;
+        }
+
+        PreparedGame prepared;
+        long now = System.nanoTime();
+        while ((prepared = ready.poll()) != null && isExpired(prepared, now)) {
+            logger.debug("Discarding expired pre-started game {}", prepared.getGame().getGameId());
+        }
+        refill();
+        return prepared;
+    }
+
+    public int available() {
+        return ready.size();
+    }
+
+    private boolean isExpired(PreparedGame prepared, long now) {
+        return now - prepared.getPreparedAtNanos() > config.getTtl().toNanos();
+    }
+
+    private void refill() {
+        while (true) {
+            int inFlight = pending.get();
+            if (ready.size() + inFlight >= config.getSize()) {
+                return;
+            }
+            if (pending.compareAndSet(inFlight, inFlight + 1)) {
+                starter.execute(this::prepare);
+            }
+        }
+    }
+
+    private void prepare() {
+        try {
+            Game game = gameApiService.startGame();
+            List<Item> shopItems = config.isPrefetchShop() ? gameApiService.getShopItems(game.getGameId()) : null;
+            PreparedGame prepared = PreparedGame.builder()
+                    .game(game)
+                    .shopItems(shopItems)
+                    .preparedAtNanos(System.nanoTime())
+                    .build();
+            if (!ready.offer(prepared)) {
+                logger.debug("Pre-start pool full, dropping game {}", game.getGameId());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to pre-start game: {}", e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        starter.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What the turn loop reports to and checks with between turns: the progress of every game in flight,
+ * and whether games are paused or have to stop. Pausing holds each game before its next turn; a stop
+ * ends each game before its next turn.
+ */
+@Component
+public class GameRunControl {
+    private final ConcurrentHashMap<String, Progress> active = new ConcurrentHashMap<>();
+    private final Object gate = new Object();
+    private volatile boolean paused;
+    private volatile boolean stopping;
+    private volatile boolean suspending;
+
+    public void started(Game game, StrategyRegistry.Cohort cohort) {
+        Progress progress = new Progress(game.getGameId(), cohort, System.currentTimeMillis());
+        progress.update(game);
+        active.put(game.getGameId(), progress);
+    }
+
+    /**
+     * Called between turns with what the game tracks beyond its own state, so that a game which is still
+     * mid-turn when a shutdown gives up on it can be checkpointed in full as of that point.
+     */
+    public void record(Game game, long ownedUpgrades, int upgradeGold, int tasksCompleted, int tasksFailed,
+                       int totalRewards, int itemsPurchased) {
+        Progress progress = active.get(game.getGameId());
+        if (progress != null) {
+            progress.record(game, ownedUpgrades, upgradeGold, tasksCompleted, tasksFailed, totalRewards,
+                    itemsPurchased);
+        }
+    }
+
+    /**
+     * Called before every turn: records the game's progress, waits while games are paused and tells
+     * whether the game has to stop instead of playing the turn.
+     */
+    public boolean shouldStop(Game game) {
+        Progress progress = active.get(game.getGameId());
+        if (progress != null) {
+            progress.update(game);
+        }
+        if (paused) {
+            awaitResume();
+        }
+        return stopping;
+    }
+
+    public void finished(String gameId) {
+        active.remove(gameId);
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        synchronized (gate) {
+            paused = false;
+            gate.notifyAll();
+        }
+    }
+
+    /**
+     * Ends every game in flight before its next turn, also releasing paused games.
+     */
+    public void stopAll() {
+        synchronized (gate) {
+            stopping = true;
+            gate.notifyAll();
+        }
+    }
+
+    /**
+     * Like {@link #stopAll()}, for a shutdown: games that stop are to be checkpointed rather than ended.
+     */
+    public void suspendAll() {
+        synchronized (gate) {
+            suspending = true;
+            stopping = true;
+            gate.notifyAll();
+        }
+    }
+
+    /**
+     * Lets games play again after {@link #stopAll()} or {@link #suspendAll()}, e.g. when a new run starts.
+     */
+    public void reset() {
+        synchronized (gate) {
+            stopping = false;
+            suspending = false;
+            paused = false;
+            gate.notifyAll();
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return whether games told to stop are being suspended, to be resumed after a restart
+     */
+    public boolean isSuspending() {
+        return suspending;
+    }
+
+    /**
+     * Blocks while games are paused, unless they are being stopped.
+     *
+     * @return {@code false} if games are being stopped
+     */
+    public boolean awaitResume() {
+        synchronized (gate) {
+            while (paused && !stopping) {
+                try {
+                    gate.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return !stopping;
+        }
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public List<GameStatus> getActiveGames() {
+        List<GameStatus> games = new ArrayList<>(active.size());
+        for (Progress progress : active.values()) {
+            games.add(progress.toStatus());
+        }
+        games.sort(Comparator.comparingLong(GameStatus::getStartedAt));
+        return games;
+    }
+
+    /**
+     * @return a checkpoint of every game in flight as of its last recorded turn, without a reputation
+     * estimate, which only the game's own thread may read
+     */
+    public List<GameCheckpoints.Checkpoint> checkpointActiveGames() {
+        long now = System.currentTimeMillis();
+        List<GameCheckpoints.Checkpoint> checkpoints = new ArrayList<>(active.size());
+        for (Progress progress : active.values()) {
+            checkpoints.add(progress.toCheckpoint(now));
+        }
+        return checkpoints;
+    }
+
+    // Written by the game's own thread only. The status endpoint reads the volatile fields; a checkpoint
+    // reads everything under the progress's lock, so that it never mixes two turns
+    private static final class Progress {
+        private final String gameId;
+        private final String cohort;
+        private final String task;
+        private final String purchase;
+        private final long startedAt;
+        private volatile int turn;
+        private volatile int lives;
+        private volatile int gold;
+        private volatile int score;
+        private long ownedUpgrades;
+        private int upgradeGold;
+        private int tasksCompleted;
+        private int tasksFailed;
+        private int totalRewards;
+        private int itemsPurchased;
+
+        Progress(String gameId, StrategyRegistry.Cohort cohort, long startedAt) {
+            this.gameId = gameId;
+            this.cohort = cohort.getName();
+            this.task = cohort.getTaskStrategy().getName();
+            this.purchase = cohort.getPurchaseStrategy().getName();
+            this.startedAt = startedAt;
+        }
+
+        synchronized void update(Game game) {
+            turn = game.getTurn();
+            lives = game.getLives();
+            gold = game.getGold();
+            score = game.getScore();
+        }
+
+        synchronized void record(Game game, long ownedUpgrades, int upgradeGold, int tasksCompleted,
+                                 int tasksFailed, int totalRewards, int itemsPurchased) {
+            update(game);
+            this.ownedUpgrades = ownedUpgrades;
+            this.upgradeGold = upgradeGold;
+            this.tasksCompleted = tasksCompleted;
+            this.tasksFailed = tasksFailed;
+            this.totalRewards = totalRewards;
+            this.itemsPurchased = itemsPurchased;
+        }
+
+        GameStatus toStatus() {
+            return new GameStatus(gameId, cohort, startedAt, turn, lives, gold, score);
+        }
+
+        synchronized GameCheckpoints.Checkpoint toCheckpoint(long suspendedAt) {
+            return GameCheckpoints.Checkpoint.builder()
+                    .gameId(gameId)
+                    .cohort(cohort)
+                    .task(task)
+                    .purchase(purchase)
+                    .turn(turn)
+                    .lives(lives)
+                    .gold(gold)
+                    .score(score)
+                    .ownedUpgrades(ownedUpgrades)
+                    .upgradeGold(upgradeGold)
+                    .tasksCompleted(tasksCompleted)
+                    .tasksFailed(tasksFailed)
+                    .totalRewards(totalRewards)
+                    .itemsPurchased(itemsPurchased)
+                    .suspendedAt(suspendedAt)
+                    .build();
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class GameStatus {
+        private String gameId;
+        private String cohort;
+        // Epoch millis
+        private long startedAt;
+        private int turn;
+        private int lives;
+        private int gold;
+        private int score;
+    }
+}
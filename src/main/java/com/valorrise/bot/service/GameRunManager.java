@@ -0,0 +1,335 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs games on a set of worker threads, each playing one game after the other, and lets operators
+ * steer the run while it plays: pause and resume, change the concurrency, the number of games or the
+ * strategies, and stop. Only one run is in progress at a time.
+ * <p>
+ * Scaling down and draining never cut a game short: surplus workers leave after their current game.
+ * A stop without draining ends the games in flight before their next turn; a suspension, on shutdown,
+ * does the same but checkpoints the games so that the next run resumes them.
+ */
+@Service
+public class GameRunManager {
+    private static final Logger logger = LoggerFactory.getLogger(GameRunManager.class);
+    static final String RUN_COHORT = "run";
+
+    public enum State { IDLE, RUNNING, PAUSED, DRAINING }
+
+    private final GameService gameService;
+    private final GameRunControl control;
+    private final StrategyRegistry strategyRegistry;
+    private final GameStatistics gameStatistics;
+    private final int maxConcurrency;
+    private final AtomicInteger threadNumber = new AtomicInteger();
+    private final AtomicLong gamesFinished = new AtomicLong();
+
+    // Guarded by this
+    private State state = State.IDLE;
+    private int concurrency;
+    private long games;
+    private long gamesStarted;
+    private int workers;
+    private volatile StrategyRegistry.Cohort cohort;
+
+    public GameRunManager(GameService gameService, GameRunControl control, StrategyRegistry strategyRegistry,
+                          GameStatistics gameStatistics, ApiConfiguration config) {
+        this.gameService = gameService;
+        this.control = control;
+        this.strategyRegistry = strategyRegistry;
+        this.gameStatistics = gameStatistics;
+        this.maxConcurrency = config.getRun().getMaxConcurrency();
+    }
+
+    /**
+     * @param games    games to play before the run drains, 0 to play until stopped
+     * @param task     task strategy of every game, or {@code null} to play in the strategy cohorts
+     * @param purchase purchase strategy of every game, or {@code null} to play in the strategy cohorts
+     * @throws IllegalStateException    if a run is already in progress
+     * @throws IllegalArgumentException if a setting is out of range or a strategy is unknown
+     */
+    public synchronized RunStatus start(int concurrency, long games, String task, String purchase) {
+        if (state != State.IDLE) {
+            throw new IllegalStateException("A run is already " + state.name().toLowerCase());
+        }
+        checkConcurrency(concurrency);
+        checkGames(games);
+        this.cohort = runCohort(task, purchase, null);
+        this.concurrency = concurrency;
+        this.games = games;
+        this.gamesStarted = 0;
+        gamesFinished.set(0);
+        gameStatistics.reset();
+        control.reset();
+        state = State.RUNNING;
+        logger.info("▶️ Starting run: {} games at a time, {} games, strategies: {}", concurrency,
+                games > 0 ? games : "unlimited", describe(cohort));
+        addWorkers();
+        return getStatus();
+    }
+
+    /**
+     * Changes the settings of the run in progress; {@code null} keeps a setting. More workers start at
+     * once, surplus workers leave after their current game, and new strategies apply to games started
+     * from now on.
+     *
+     * @throws IllegalStateException    if no run is in progress
+     * @throws IllegalArgumentException if a setting is out of range or a strategy is unknown
+     */
+    public synchronized RunStatus scale(Integer concurrency, Long games, String task, String purchase) {
+        if (state == State.IDLE || state == State.DRAINING) {
+            throw new IllegalStateException("No run to scale, the run is " + state.name().toLowerCase());
+        }
+        if (concurrency != null) {
+            checkConcurrency(concurrency);
+        }
+        if (games != null) {
+            checkGames(games);
+        }
+        this.cohort = runCohort(task, purchase, cohort);
+        if (concurrency != null) {
+            this.concurrency = concurrency;
+        }
+        if (games != null) {
+            this.games = games;
+        }
+        logger.info("📏 Run now plays {} games at a time, {} games, strategies: {}", this.concurrency,
+                this.games > 0 ? this.games : "unlimited", describe(cohort));
+        addWorkers();
+        return getStatus();
+    }
+
+    /**
+     * Holds every game before its next turn and starts no new games until {@link #resume()}.
+     */
+    public synchronized RunStatus pause() {
+        if (state != State.RUNNING) {
+            throw new IllegalStateException("No run to pause, the run is " + state.name().toLowerCase());
+        }
+        state = State.PAUSED;
+        control.pause();
+        logger.info("⏸️ Run paused with {} games in flight", control.getActiveCount());
+        return getStatus();
+    }
+
+    public synchronized RunStatus resume() {
+        if (state != State.PAUSED) {
+            throw new IllegalStateException("No run to resume, the run is " + state.name().toLowerCase());
+        }
+        state = State.RUNNING;
+        control.resume();
+        logger.info("▶️ Run resumed");
+        return getStatus();
+    }
+
+    /**
+     * Stops the run. Draining starts no new games but lets the games in flight play to the end;
+     * otherwise they end before their next turn. A paused run is resumed to drain.
+     */
+    public synchronized RunStatus stop(boolean drain) {
+        if (state == State.IDLE) {
+            return getStatus();
+        }
+        state = State.DRAINING;
+        if (drain) {
+            control.resume();
+        } else {
+            control.stopAll();
+        }
+        logger.info("⏹️ Stopping run{}, {} games in flight", drain ? " gracefully" : "", control.getActiveCount());
+        if (workers == 0) {
+            finish();
+        }
+        return getStatus();
+    }
+
+    /**
+     * Stops the run for a shutdown: starts no new games, lets every game in flight finish its current turn
+     * and suspends it before the next, and waits for the workers to leave.
+     *
+     * @return checkpoints of the games still in flight when the timeout passed, as of their last turn
+     */
+    public synchronized List<GameCheckpoints.Checkpoint> suspend(Duration timeout) throws InterruptedException {
+        if (state == State.IDLE) {
+            return List.of();
+        }
+        state = State.DRAINING;
+        control.suspendAll();
+        logger.info("💾 Suspending run, {} games in flight", control.getActiveCount());
+        if (workers == 0) {
+            finish();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (workers > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return control.checkpointActiveGames();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return List.of();
+    }
+
+    /**
+     * Waits for the run to finish, e.g. a run of a fixed number of games.
+     *
+     * @return whether the run is idle
+     */
+    public synchronized boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (state != State.IDLE) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    public synchronized RunStatus getStatus() {
+        return new RunStatus(state, concurrency, workers, games, gamesStarted, gamesFinished.get(),
+                cohort != null ? cohort.getTaskStrategy().getName() : null,
+                cohort != null ? cohort.getPurchaseStrategy().getName() : null,
+                control.getActiveGames());
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop(false);
+    }
+
+    private void addWorkers() {
+        while (workers < concurrency && (games == 0 || gamesStarted + workers < games)) {
+            workers++;
+            Thread thread = new Thread(this::work, "game-run-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void work() {
+        while (claimGame()) {
+            try {
+                // Games that could not start, failed or were suspended are not counted as played
+                if (gameService.playGame(cohort)) {
+                    gamesFinished.incrementAndGet();
+                }
+            } catch (Exception e) {
+                logger.error("🚨 Error during game execution: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Waits while the run is paused, then either counts the worker's next game or lets the worker leave.
+     */
+    private boolean claimGame() {
+        while (true) {
+            boolean stopping = !control.awaitResume();
+            synchronized (this) {
+                if (stopping || state == State.DRAINING || state == State.IDLE || workers > concurrency
+                        || (games > 0 && gamesStarted >= games)) {
+                    leave();
+                    return false;
+                }
+                if (state != State.PAUSED) {
+                    gamesStarted++;
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void leave() {
+        workers--;
+        notifyAll();
+        if (workers == 0 && (state == State.DRAINING || (games > 0 && gamesStarted >= games))) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        state = State.IDLE;
+        notifyAll();
+        GameStatistics.Summary summary = gameStatistics.getSummary();
+        logger.info("""
+                        🏁 Run finished: {} games played, {} reached the target score
+                          Score p50/p90/p99: 🏆 {} / {} / {}
+                          Turns to target p50/p90/p99: {} / {} / {}
+                          Gold remaining p50/p90/p99: 💰 {} / {} / {}""",
+                summary.getGames(), summary.getReachedTarget(),
+                summary.getScore().getP50(), summary.getScore().getP90(), summary.getScore().getP99(),
+                summary.getTurnsToTarget().getP50(), summary.getTurnsToTarget().getP90(),
+                summary.getTurnsToTarget().getP99(),
+                summary.getGoldRemaining().getP50(), summary.getGoldRemaining().getP90(),
+                summary.getGoldRemaining().getP99());
+    }
+
+    private StrategyRegistry.Cohort runCohort(String task, String purchase, StrategyRegistry.Cohort current) {
+        if (task == null && purchase == null) {
+            return current;
+        }
+        if (current != null) {
+            task = task != null ? task : current.getTaskStrategy().getName();
+            purchase = purchase != null ? purchase : current.getPurchaseStrategy().getName();
+        }
+        return strategyRegistry.fixed(RUN_COHORT, task, purchase);
+    }
+
+    private static String describe(StrategyRegistry.Cohort cohort) {
+        return cohort != null
+                ? cohort.getTaskStrategy().getName() + "/" + cohort.getPurchaseStrategy().getName()
+                : "per cohort";
+    }
+
+    private void checkConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1, got " + concurrency);
+        }
+        if (concurrency > maxConcurrency) {
+            throw new IllegalArgumentException("Concurrency must be at most " + maxConcurrency + ", got " + concurrency);
+        }
+    }
+
+    private static void checkGames(long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Games must not be negative, got " + games);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RunStatus {
+        private State state;
+        private int concurrency;
+        private int workers;
+        // 0 plays until stopped
+        private long games;
+        private long gamesStarted;
+        private long gamesFinished;
+        // Fixed strategies of the run, null when games play in their strategy cohorts
+        private String task;
+        private String purchase;
+        private List<GameRunControl.GameStatus> activeGames;
+    }
+}
@@ -1,171 +1,314 @@
 package com.valorrise.bot.service;
 
-import com.valorrise.bot.api.client.GameApiClient;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnEventBus;
+import com.valorrise.bot.events.TurnLogConsumer;
 import com.valorrise.bot.exception.GameApiException;
 import com.valorrise.bot.model.domain.Advertisement;
 import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.PreparedGame;
 import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
 import com.valorrise.bot.model.domain.SolveResponse;
-import com.valorrise.bot.model.dto.GameDto;
-import com.valorrise.bot.model.dto.SolveResponseDto;
-import com.valorrise.bot.model.mapper.GameMapper;
-import com.valorrise.bot.model.mapper.ReputationMapper;
-import com.valorrise.bot.model.mapper.SolveResponseMapper;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.valorrise.bot.model.domain.TurnRecord;
+import com.valorrise.bot.profiling.GameTurnEvent;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.List;
 
 @Service
 public class GameService {
     private static final Logger logger = LoggerFactory.getLogger(GameService.class);
-    private final GameApiClient apiClient;
+    private static final int TARGET_SCORE = 1000;
     private final GameApiService gameApiService;
     private final TaskSelectionService taskSelectionService;
     private final ShopService shopService;
+    private final GamePreStartPool gamePreStartPool;
+    private final StrategyRegistry strategyRegistry;
+    private final ReputationTracker reputationTracker;
+    private final ShadowEvaluator shadowEvaluator;
+    private final TurnJournal turnJournal;
+    private final TurnEventBus turnEventBus;
+    private final GameRunControl gameRunControl;
+    private final GameStatistics gameStatistics;
+    private final GameCheckpoints gameCheckpoints;
 
-    // List of upgrade items (excluding healing potion)
-    private static final List<String> UPGRADE_ITEMS = Arrays.asList(
-            "cs", "gas", "wax", "tricks", "wingpot", // 100 gold items
-            "ch", "rf", "iron", "mtrix", "wingpotmax" // 300 gold items
-    );
-
-    public GameService(GameApiClient apiClient, GameApiService gameApiService,
-                       TaskSelectionService taskSelectionService, ShopService shopService) {
-        this.apiClient = apiClient;
+    public GameService(GameApiService gameApiService, TaskSelectionService taskSelectionService,
+                       ShopService shopService, GamePreStartPool gamePreStartPool,
+                       StrategyRegistry strategyRegistry, ReputationTracker reputationTracker,
+                       ShadowEvaluator shadowEvaluator, TurnJournal turnJournal, TurnEventBus turnEventBus,
+                       GameRunControl gameRunControl, GameStatistics gameStatistics,
+                       GameCheckpoints gameCheckpoints) {
         this.gameApiService = gameApiService;
         this.taskSelectionService = taskSelectionService;
         this.shopService = shopService;
+        this.gamePreStartPool = gamePreStartPool;
+        this.strategyRegistry = strategyRegistry;
+        this.reputationTracker = reputationTracker;
+        this.shadowEvaluator = shadowEvaluator;
+        this.turnJournal = turnJournal;
+        this.turnEventBus = turnEventBus;
+        this.gameRunControl = gameRunControl;
+        this.gameStatistics = gameStatistics;
+        this.gameCheckpoints = gameCheckpoints;
     }
 
-    @Retry(name = "gameApi")
     public void playGame() {
+        playGame(null);
+    }
+
+    /**
+     * Plays one game on the given strategies, or on those of the cohort the game is assigned to when
+     * {@code cohort} is {@code null}.
+     *
+     * @return whether a game was played to its end; {@code false} if none could be started, or if it was
+     * suspended for the next run to finish
+     */
+    public boolean playGame(StrategyRegistry.Cohort fixedCohort) {
+        // The game whose shop catalog is cached, released however the game ends
+        String gameId = null;
         try {
-            // Start a new game
-            GameDto gameDto = apiClient.startGame();
-            Game game = GameMapper.toEntity(gameDto);
+            // Resume a game suspended by a shutdown, else take a pre-started game if one is ready, otherwise
+            // start a new one. A run of fixed strategies only resumes games those strategies played.
+            GameCheckpoints.Checkpoint resumed = fixedCohort != null
+                    ? gameCheckpoints.take(fixedCohort.getTaskStrategy().getName(),
+                            fixedCohort.getPurchaseStrategy().getName())
+                    : gameCheckpoints.take();
+            Game game = resumed != null ? resumed.toGame() : startGame();
             assert game != null;
-            logger.info("🎮 New Adventure Begins! Game ID: {}, Lives: ❤️ {}, Gold: 💰 {}",
-                    game.getGameId(), game.getLives(), game.getGold());
+            gameId = game.getGameId();
+            // The game plays its whole run on the strategies its cohort has now
+            StrategyRegistry.Cohort cohort = fixedCohort != null
+                    ? fixedCohort
+                    : resumed != null ? resumedCohort(resumed) : strategyRegistry.assign(game.getGameId());
+            if (resumed != null) {
+                logger.info("💾 Resuming Game {} at Turn {}, Lives: ❤️ {}, Gold: 💰 {}, Cohort: {}",
+                        game.getGameId(), game.getTurn(), game.getLives(), game.getGold(), cohort.getName());
+            } else {
+                logger.info("🎮 New Adventure Begins! Game ID: {}, Lives: ❤️ {}, Gold: 💰 {}, Cohort: {}",
+                        game.getGameId(), game.getLives(), game.getGold(), cohort.getName());
+            }
 
             // Statistics tracking
-            int tasksCompleted = 0;
-            int tasksFailed = 0;
-            int totalRewards = 0;
-            int itemsPurchased = 0;
-            Reputation finalReputation = new Reputation();
+            int tasksCompleted = resumed != null ? resumed.getTasksCompleted() : 0;
+            int tasksFailed = resumed != null ? resumed.getTasksFailed() : 0;
+            int totalRewards = resumed != null ? resumed.getTotalRewards() : 0;
+            int itemsPurchased = resumed != null ? resumed.getItemsPurchased() : 0;
+            ReputationTracker.Estimate reputation = resumed != null
+                    ? reputationTracker.resumedEstimate(resumed.getReputation(), resumed.getReputationVariance())
+                    : reputationTracker.newEstimate();
+
+            // Track purchased upgrades to avoid duplicates (one bit per ShopItem)
+            long ownedUpgrades = resumed != null ? resumed.getOwnedUpgrades() : 0L;
+            int upgradeGold = resumed != null ? resumed.getUpgradeGold() : 0;
+            boolean suspended = false;
 
-            // Track purchased items to avoid duplicates
-            boolean[] purchasedUpgrades = new boolean[UPGRADE_ITEMS.size()];
+            shopService.loadCatalog(game.getGameId());
 
             // Game loop
-            while (game.getLives() > 0) {
-                try {
-                    // Update reputation every 5 turns
-                    if (game.getTurn() % 5 == 0 && game.getTurn() > 0) {
-                        try {
-                            finalReputation = ReputationMapper.toEntity(apiClient.getReputation(game.getGameId()));
-                            logger.info("📊 Reputation Check at Turn {} for Game {}: People: 😊 {}, State: 🏰 {}, Underworld: 👹 {}",
-                                    game.getTurn(), game.getGameId(), finalReputation.getPeople(),
-                                    finalReputation.getState(), finalReputation.getUnderworld());
-                        } catch (GameApiException e) {
-                            logger.warn("⚠️ Failed to fetch reputation for Game {} at Turn {}: {}",
-                                    game.getGameId(), game.getTurn(), e.getMessage());
+            gameRunControl.started(game, cohort);
+            try {
+                while (game.getLives() > 0) {
+                    gameRunControl.record(game, ownedUpgrades, upgradeGold, tasksCompleted, tasksFailed,
+                            totalRewards, itemsPurchased);
+                    if (gameRunControl.shouldStop(game)) {
+                        if (gameRunControl.isSuspending()) {
+                            // Shutting down: the next run picks the game up where it stopped
+                            suspended = true;
+                            gameCheckpoints.save(GameCheckpoints.Checkpoint.builder()
+                                    .gameId(game.getGameId())
+                                    .cohort(cohort.getName())
+                                    .task(cohort.getTaskStrategy().getName())
+                                    .purchase(cohort.getPurchaseStrategy().getName())
+                                    .turn(game.getTurn())
+                                    .lives(game.getLives())
+                                    .gold(game.getGold())
+                                    .score(game.getScore())
+                                    .ownedUpgrades(ownedUpgrades)
+                                    .upgradeGold(upgradeGold)
+                                    .tasksCompleted(tasksCompleted)
+                                    .tasksFailed(tasksFailed)
+                                    .totalRewards(totalRewards)
+                                    .itemsPurchased(itemsPurchased)
+                                    .reputation(reputation.means())
+                                    .reputationVariance(reputation.variances())
+                                    .suspendedAt(System.currentTimeMillis())
+                                    .build());
+                            logger.info("💾 Suspending Game {} at Turn {}", game.getGameId(), game.getTurn());
+                        } else {
+                            logger.info("⏹️ Stopping Game {} at Turn {}", game.getGameId(), game.getTurn());
                         }
-                    }
-
-                    // Buy health potion if lives are low
-                    if (game.getLives() <= 2 && game.getGold() >= 50) {
-                        game = shopService.buyHealthPotionIfNeeded(game);
-                        itemsPurchased++;
-                        logger.info("🧪 Purchased Healing Potion! Lives: ❤️ {}, Gold: 💰 {}",
-                                game.getLives(), game.getGold());
-                    }
-                    if (game.getLives() <= 0) {
-                        logger.info("💀 Game Over after potion purchase: Lives: ❤️ {}", game.getLives());
                         break;
                     }
+                    try {
+                        GameTurnEvent turnEvent = new GameTurnEvent();
+                        turnEvent.begin();
+                        long turnStart = System.nanoTime();
+                        int livesAtTurnStart = game.getLives();
+                        int goldAtTurnStart = game.getGold();
+                        Reputation observed = null;
 
-                    // Buy an upgrade if conditions are met
-                    if (game.getLives() >= 3 && game.getGold() >= 150) {
-                        String itemToBuy = selectUpgradeItem(game, purchasedUpgrades, tasksFailed, tasksCompleted, finalReputation);
-                        if (itemToBuy != null) {
+                        // Buy what this turn's plan can afford: a potion if lives are low, then an upgrade.
+                        // Reputation only steers the upgrade, so it is investigated only when that choice
+                        // rests on too uncertain a prediction
+                        ItemCatalog catalog = shopService.knownCatalog(game.getGameId());
+                        List<ShopItem> purchases = cohort.getPurchaseStrategy().plan(game, catalog, ownedUpgrades,
+                                tasksFailed, tasksCompleted, reputation.toReputation());
+                        ShopItem upgrade = purchases.isEmpty() ? null : purchases.get(purchases.size() - 1);
+                        if (upgrade != null && upgrade != ShopItem.HEALING_POTION
+                                && reputationTracker.shouldInvestigate(reputation, catalog.cost(upgrade))
+                                && investigateReputation(game, reputation)) {
+                            observed = reputation.toReputation();
+                            purchases = cohort.getPurchaseStrategy().plan(game, catalog, ownedUpgrades,
+                                    tasksFailed, tasksCompleted, reputation.toReputation());
+                        }
+                        int bought = 0;
+                        long upgradesBought = 0L;
+                        int potionsBought = 0;
+                        for (ShopItem item : purchases) {
                             int goldBefore = game.getGold();
-                            Game updatedGame = shopService.buyItem(game, itemToBuy);
-                            if (updatedGame.getGold() < goldBefore) { // Verify purchase
-                                itemsPurchased++;
-                                int itemIndex = UPGRADE_ITEMS.indexOf(itemToBuy);
-                                purchasedUpgrades[itemIndex] = true;
-                                logger.info("🛡️ Upgraded with {}! Lives: ❤️ {}, Gold: 💰 {}",
-                                        itemToBuy, updatedGame.getLives(), updatedGame.getGold());
-                                game = updatedGame;
+                            Game updatedGame = shopService.buyItem(game, item.getId());
+                            if (updatedGame.getGold() >= goldBefore) { // Verify purchase
+                                logger.info("🛑 Failed to buy {}: insufficient gold or error", item.getId());
+                                break;
+                            }
+                            itemsPurchased++;
+                            bought++;
+                            game = updatedGame;
+                            if (item == ShopItem.HEALING_POTION) {
+                                potionsBought++;
                             } else {
-                                logger.info("🛑 Failed to buy upgrade {}: insufficient gold or error", itemToBuy);
+                                ownedUpgrades |= item.mask();
+                                upgradesBought |= item.mask();
+                                upgradeGold += item.getListCost();
                             }
                         }
-                    }
+                        int livesAfterPurchases = game.getLives();
+                        int goldAfterPurchases = game.getGold();
+                        long shopDone = System.nanoTime();
+                        if (game.getLives() <= 0) {
+                            logger.info("💀 Game Over after potion purchase: Lives: ❤️ {}", game.getLives());
+                            break;
+                        }
 
+                        // Fetch and select task, and let shadow strategies pick from the same board
+                        List<Advertisement> board = gameApiService.getAdvertisements(game.getGameId());
+                        taskSelectionService.categorize(board);
+                        Advertisement bestAd = taskSelectionService.selectBestTask(board, cohort.getTaskStrategy());
+                        if (bestAd == null) {
+                            logger.warn("🚫 No valid tasks available for Game: {}", game.getGameId());
+                            break;
+                        }
+                        shadowEvaluator.observe(game.getGameId(), game.getTurn(), board, bestAd, cohort.getTaskStrategy());
+                        long selectDone = System.nanoTime();
 
-                    // Fetch and select task
-                    Advertisement bestAd = taskSelectionService.selectBestTask(
-                            gameApiService.getAdvertisements(game.getGameId()));
-                    if (bestAd == null) {
-                        logger.warn("🚫 No valid tasks available for Game: {}", game.getGameId());
-                        break;
-                    }
+                        // Decode adId to handle URL-encoded characters
+                        String decodedAdId = URLDecoder.decode(bestAd.getAdId(), StandardCharsets.UTF_8);
 
-                    // Decode adId to handle URL-encoded characters
-                    String decodedAdId = URLDecoder.decode(bestAd.getAdId(), StandardCharsets.UTF_8);
-
-                    // Log the chosen advertisement's name and ID
-                    logger.info("📜 Selected Task: '{}' (ID: {})", bestAd.getMessage(), decodedAdId);
-
-                    // Solve task
-                    SolveResponseDto responseDto = apiClient.solveAdvertisement(game.getGameId(), decodedAdId);
-                    SolveResponse response = SolveResponseMapper.toEntity(responseDto);
-                    assert response != null;
-                    logger.info("🎯 Task '{}' (ID: {}) Attempted! Success: {}, Lives: ❤️ {}, Gold: 💰 {}, Score: 🏆 {}",
-                            bestAd.getMessage(), decodedAdId, response.isSuccess() ? "✅ Yes" : "❌ No",
-                            response.getLives(), response.getGold(), response.getScore());
-
-                    // Update game state
-                    game.setLives(response.getLives());
-                    game.setGold(response.getGold());
-                    game.setScore(response.getScore());
-                    game.setTurn(response.getTurn());
-
-                    // Update statistics
-                    if (response.isSuccess()) {
-                        tasksCompleted++;
-                        totalRewards += bestAd.getReward();
-                    } else {
-                        tasksFailed++;
-                        logger.warn("😓 Task '{}' (ID: {}) Failed: {}",
-                                bestAd.getMessage(), decodedAdId, response.getMessage());
-                    }
+                        // Solve task
+                        SolveResponse response = gameApiService.solveAdvertisement(game.getGameId(), decodedAdId);
+                        assert response != null;
+                        turnEvent.end();
+                        if (turnEvent.shouldCommit()) {
+                            turnEvent.setGameId(game.getGameId());
+                            turnEvent.setTurn(response.getTurn());
+                            turnEvent.setCohort(cohort.getName());
+                            turnEvent.setShopNanos(shopDone - turnStart);
+                            turnEvent.setSelectNanos(selectDone - shopDone);
+                            turnEvent.setSolveNanos(System.nanoTime() - selectDone);
+                            turnEvent.setSuccess(response.isSuccess());
+                            turnEvent.commit();
+                        }
+                        // Update game state
+                        game.setLives(response.getLives());
+                        game.setGold(response.getGold());
+                        game.setScore(response.getScore());
+                        game.setTurn(response.getTurn());
 
-                    // Check if score exceeds 1000
-                    if (game.getScore() > 1000) {
-                        logger.info("🏅 Victory! Score exceeded 1000 for Game: {}", game.getGameId());
-                        break;
-                    }
-                } catch (GameApiException e) {
-                    logger.error("🚨 API Error for Game {}: Status={}, Message={}",
-                            game.getGameId(), e.getStatus(), e.getMessage());
-                    if (e.getStatus() == 404) {
-                        logger.info("💀 Game {} not found, ending adventure", game.getGameId());
+                        // Update statistics, the learned success rates and the predicted reputation
+                        taskSelectionService.recordOutcome(bestAd, response.isSuccess());
+                        reputationTracker.onTaskSolved(reputation, bestAd.getCategory(), response.isSuccess());
+                        publishTurn(game, cohort, bestAd, decodedAdId, response, upgradesBought, potionsBought,
+                                livesAfterPurchases, goldAfterPurchases, reputation, observed != null);
+                        if (turnJournal.isEnabled()) {
+                            turnJournal.record(TurnRecord.builder()
+                                    .gameId(game.getGameId())
+                                    .turn(response.getTurn())
+                                    .livesBefore(livesAtTurnStart)
+                                    .goldBefore(goldAtTurnStart)
+                                    .purchases(purchases.subList(0, bought).stream().map(ShopItem::getId).toList())
+                                    .livesAfterPurchases(livesAfterPurchases)
+                                    .upgradeGold(upgradeGold)
+                                    .observedReputation(observed)
+                                    .board(board)
+                                    .chosenAdId(bestAd.getAdId())
+                                    .success(response.isSuccess())
+                                    .livesAfter(response.getLives())
+                                    .goldAfter(response.getGold())
+                                    .scoreAfter(response.getScore())
+                                    .build());
+                        }
+                        if (response.isSuccess()) {
+                            tasksCompleted++;
+                            totalRewards += bestAd.getReward();
+                        } else {
+                            tasksFailed++;
+                        }
+
+                        // Check if score exceeds 1000
+                        if (game.getScore() > TARGET_SCORE) {
+                            logger.info("🏅 Victory! Score exceeded 1000 for Game: {}", game.getGameId());
+                            break;
+                        }
+                    } catch (GameApiException e) {
+                        if (!e.isExpected()) {
+                            logger.error("🚨 API Error for Game {}: Status={}, Message={}",
+                                    game.getGameId(), e.getStatus(), e.getMessage());
+                        } else if (logger.isDebugEnabled()) {
+                            logger.debug("API outcome for Game {}: Status={}, Message={}",
+                                    game.getGameId(), e.getStatus(), e.getMessage());
+                        }
+                        if (e.getStatus() == 404) {
+                            logger.info("💀 Game {} not found, ending adventure", game.getGameId());
+                            break;
+                        }
+                        // Continue loop for transient errors (handled by Resilience4j)
+                    } catch (FeignException e) {
+                        // A timeout or a broken connection that outlasted the API call's own retries; the game
+                        // goes on with its next turn rather than being dropped
+                        logger.warn("📡 API unreachable for Game {}: {}", game.getGameId(), e.getMessage());
+                    } catch (BulkheadFullException e) {
+                        logger.warn("⏳ API saturated for Game {}: {}", game.getGameId(), e.getMessage());
+                    } catch (CallNotPermittedException e) {
+                        logger.error("🔌 Circuit open for Game {}, abandoning adventure: {}", game.getGameId(), e.getMessage());
                         break;
                     }
-                    // Continue loop for transient errors (handled by Resilience4j)
                 }
+            } finally {
+                gameRunControl.finished(game.getGameId());
+            }
+
+            if (suspended) {
+                return false;
+            }
+            if (gameRunControl.isSuspending()) {
+                // Over after all, though a shutdown that gave up waiting may have checkpointed it
+                gameCheckpoints.discard(game.getGameId());
             }
+            gameStatistics.record(game.getTurn(), game.getScore(), game.getGold(), game.getScore() > TARGET_SCORE);
+            publishGameOver(game, cohort, tasksCompleted, tasksFailed);
 
             // Log final statistics in a tabulated format
+            Reputation finalReputation = reputation.toReputation();
             logger.info("🏁 Game Over for Game: {} | Final Score: 🏆 {}",
                     game.getGameId(), game.getScore());
             logger.info("""
@@ -179,62 +322,135 @@ public class GameService {
                               Reputation: People 😊 {} | State 🏰 {} | Underworld 👹 {}""",
                     game.getTurn(), tasksCompleted, tasksFailed, totalRewards, game.getGold(), itemsPurchased,
                     finalReputation.getPeople(), finalReputation.getState(), finalReputation.getUnderworld());
-
+            return true;
         } catch (GameApiException e) {
             logger.error("🚫 Failed to start adventure: Status={}, Message={}",
                     e.getStatus(), e.getMessage());
+        } catch (FeignException e) {
+            logger.error("🚫 Failed to start adventure: {}", e.getMessage());
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            logger.warn("⏸️ Game start paused: {}", e.getMessage());
+        } finally {
+            if (gameId != null) {
+                shopService.releaseGame(gameId);
+            }
         }
+        return false;
     }
 
-    private String selectUpgradeItem(Game game, boolean[] purchasedUpgrades, int tasksFailed, int tasksCompleted, Reputation reputation) {
-        // Prioritize cheaper items (100 gold) if early in game, tasks are failing, or any reputation is low
-        boolean preferCheapItems = game.getTurn() < 10 || tasksFailed > tasksCompleted ||
-                reputation.getPeople() < 0 || reputation.getState() < 0 || reputation.getUnderworld() < 0;
-        int minGoldRequired = preferCheapItems ? 150 : 350; // Ensure enough gold for item + potion
-
-        if (game.getGold() < minGoldRequired) {
-            return null;
+    // The per-turn log, metrics and dashboards consume this from the event bus, off the game thread. A turn
+    // the bus can't take (it is disabled or its ring is full) is still logged, on the game thread.
+    private void publishTurn(Game game, StrategyRegistry.Cohort cohort, Advertisement ad, String adId,
+                             SolveResponse response, long upgradesBought, int potionsBought,
+                             int livesAfterPurchases, int goldAfterPurchases,
+                             ReputationTracker.Estimate reputation, boolean reputationObserved) {
+        TurnEvent event = turnEventBus.claim();
+        boolean claimed = event != null;
+        if (!claimed) {
+            if (!TurnLogConsumer.isEnabled()) {
+                return;
+            }
+            event = new TurnEvent();
         }
+        event.setGameId(game.getGameId());
+        event.setCohort(cohort.getName());
+        event.setTaskStrategy(cohort.getTaskStrategy().getName());
+        event.setPurchaseStrategy(cohort.getPurchaseStrategy().getName());
+        event.setTurn(response.getTurn());
+        event.setAdId(adId);
+        event.setTask(ad.getMessage());
+        event.setReward(ad.getReward());
+        event.setProbability(ad.getProbability());
+        event.setCategory(ad.getCategory());
+        event.setSuccess(response.isSuccess());
+        event.setOutcome(response.getMessage());
+        event.setLives(response.getLives());
+        event.setGold(response.getGold());
+        event.setScore(response.getScore());
+        event.setUpgradesBought(upgradesBought);
+        event.setPotionsBought(potionsBought);
+        event.setLivesAfterPurchases(livesAfterPurchases);
+        event.setGoldAfterPurchases(goldAfterPurchases);
+        event.setPeople(reputation.people());
+        event.setState(reputation.state());
+        event.setUnderworld(reputation.underworld());
+        event.setReputationObserved(reputationObserved);
+        event.setGameOver(false);
+        event.setTasksCompleted(0);
+        event.setTasksFailed(0);
+        if (claimed) {
+            turnEventBus.publish(event);
+        } else {
+            TurnLogConsumer.log(event);
+        }
+    }
 
-        // Find the lowest reputation to prioritize upgrades
-        float minReputation = Math.min(Math.min(reputation.getPeople(), reputation.getState()), reputation.getUnderworld());
-        if (minReputation == reputation.getState() && reputation.getState() < 5) {
-            if (!purchasedUpgrades[UPGRADE_ITEMS.indexOf("tricks")]) {
-                return "tricks"; // Book of Tricks for low state reputation
-            } else if (!purchasedUpgrades[UPGRADE_ITEMS.indexOf("mtrix")]) {
-                return "mtrix"; // Book of Megatricks
-            }
-        } else if (minReputation == reputation.getUnderworld() && reputation.getUnderworld() < 5) {
-            if (!purchasedUpgrades[UPGRADE_ITEMS.indexOf("cs")]) {
-                return "cs"; // Claw Sharpening for low underworld reputation
-            } else if (!purchasedUpgrades[UPGRADE_ITEMS.indexOf("ch")]) {
-                return "ch"; // Claw Honing
-            }
-        } else if (minReputation == reputation.getPeople() && reputation.getPeople() < 5) {
-            if (!purchasedUpgrades[UPGRADE_ITEMS.indexOf("wingpot")]) {
-                return "wingpot"; // Potion of Stronger Wings for low people reputation
-            } else if (!purchasedUpgrades[UPGRADE_ITEMS.indexOf("wingpotmax")]) {
-                return "wingpotmax"; // Potion of Awesome Wings
-            }
+    // The results store files the game's summary when this follows its turns
+    private void publishGameOver(Game game, StrategyRegistry.Cohort cohort, int tasksCompleted, int tasksFailed) {
+        TurnEvent event = turnEventBus.claim();
+        if (event == null) {
+            return;
         }
+        event.setGameId(game.getGameId());
+        event.setCohort(cohort.getName());
+        event.setTaskStrategy(cohort.getTaskStrategy().getName());
+        event.setPurchaseStrategy(cohort.getPurchaseStrategy().getName());
+        event.setTurn(game.getTurn());
+        event.setAdId(null);
+        event.setTask(null);
+        event.setReward(0);
+        event.setProbability(null);
+        event.setCategory(null);
+        event.setSuccess(game.getScore() > TARGET_SCORE);
+        event.setOutcome(null);
+        event.setLives(game.getLives());
+        event.setGold(game.getGold());
+        event.setScore(game.getScore());
+        event.setUpgradesBought(0);
+        event.setPotionsBought(0);
+        event.setLivesAfterPurchases(game.getLives());
+        event.setGoldAfterPurchases(game.getGold());
+        event.setPeople(0);
+        event.setState(0);
+        event.setUnderworld(0);
+        event.setReputationObserved(false);
+        event.setGameOver(true);
+        event.setTasksCompleted(tasksCompleted);
+        event.setTasksFailed(tasksFailed);
+        turnEventBus.publish(event);
+    }
 
-        // Try cheaper items first if preferred
-        if (preferCheapItems) {
-            for (int i = 0; i < 5; i++) { // First 5 items are 100 gold
-                if (!purchasedUpgrades[i]) {
-                    return UPGRADE_ITEMS.get(i);
-                }
-            }
+    private boolean investigateReputation(Game game, ReputationTracker.Estimate estimate) {
+        try {
+            Reputation observed = gameApiService.getReputation(game.getGameId());
+            reputationTracker.onObserved(estimate, observed);
+            logger.info("📊 Reputation Check at Turn {} for Game {}: People: 😊 {}, State: 🏰 {}, Underworld: 👹 {}",
+                    game.getTurn(), game.getGameId(), observed.getPeople(),
+                    observed.getState(), observed.getUnderworld());
+            return true;
+        } catch (GameApiException | BulkheadFullException | CallNotPermittedException e) {
+            logger.warn("⚠️ Failed to fetch reputation for Game {} at Turn {}: {}",
+                    game.getGameId(), game.getTurn(), e.getMessage());
+            return false;
         }
+    }
 
-        // Try expensive items if cheaper ones are purchased or not preferred
-        for (int i = 5; i < UPGRADE_ITEMS.size(); i++) { // Last 5 items are 300 gold
-            if (!purchasedUpgrades[i]) {
-                return UPGRADE_ITEMS.get(i);
-            }
+    // Goes on with the strategies the game played before it was suspended, if they still exist
+    private StrategyRegistry.Cohort resumedCohort(GameCheckpoints.Checkpoint checkpoint) {
+        try {
+            return strategyRegistry.fixed(checkpoint.getCohort(), checkpoint.getTask(), checkpoint.getPurchase());
+        } catch (IllegalArgumentException e) {
+            return strategyRegistry.assign(checkpoint.getGameId());
         }
+    }
 
-        // Return null if all upgrades are purchased
-        return null;
+    private Game startGame() {
+        PreparedGame prepared = gamePreStartPool.acquire();
+        if (prepared == null) {
+            return gameApiService.startGame();
+        }
+        logger.debug("Using pre-started game {}", prepared.getGame().getGameId());
+        shopService.primeCatalog(prepared.getGame().getGameId(), prepared.getShopItems());
+        return prepared.getGame();
     }
 }
\ No newline at end of file
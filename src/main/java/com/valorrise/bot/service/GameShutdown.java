@@ -0,0 +1,73 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Shuts the game run down gracefully when the application stops, e.g. on SIGTERM during a rolling
+ * deploy: no new games start, the turns in flight finish within {@code game.shutdown.timeout}, and each
+ * unfinished game is checkpointed so that the next run resumes it. A game still mid-turn at the deadline
+ * is checkpointed as of its last completed turn.
+ * <p>
+ * This runs in the first shutdown phase, while the web server still answers and before any bean is
+ * destroyed; the buffers the games fed are flushed afterwards as their beans close: the event bus drains
+ * its consumers (the log, dashboard and results store), the journal writes its queue, and the
+ * success-rate model and the checkpoints are written to their files.
+ */
+@Component
+public class GameShutdown implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(GameShutdown.class);
+
+    private final GameRunManager gameRunManager;
+    private final GameCheckpoints gameCheckpoints;
+    private final ApiConfiguration.Shutdown config;
+    private volatile boolean running;
+
+    public GameShutdown(GameRunManager gameRunManager, GameCheckpoints gameCheckpoints, ApiConfiguration config) {
+        this.gameRunManager = gameRunManager;
+        this.gameCheckpoints = gameCheckpoints;
+        this.config = config.getShutdown();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (gameRunManager.getState() == GameRunManager.State.IDLE) {
+            return;
+        }
+        logger.info("🛑 Shutting down: letting the turns in flight finish within {}", config.getTimeout());
+        try {
+            List<GameCheckpoints.Checkpoint> unfinished = gameRunManager.suspend(config.getTimeout());
+            unfinished.forEach(gameCheckpoints::saveIfAbsent);
+            if (!unfinished.isEmpty()) {
+                logger.warn("⏳ {} games were still mid-turn at the deadline, checkpointed as of their last turn",
+                        unfinished.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gameCheckpoints.flush();
+        logger.info("💾 {} games checkpointed for the next run", gameCheckpoints.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server's graceful shutdown, so the run can still be watched while it drains
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+}
@@ -0,0 +1,253 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.profiling.ValueHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distributions of the final statistics of every game (score, turns, turns to the target score, gold
+ * remaining) in constant memory, however many games are played.
+ * <p>
+ * Each game thread records into its own histograms, without locking and without contending with other
+ * threads. Every {@code game.statistics.merge-interval}, and whenever a summary is asked for, the merger
+ * swaps each thread's histograms for empty ones and adds them to the run's totals; a recording that is
+ * still under way when its histograms are swapped is waited for, so none is lost.
+ * <p>
+ * The totals can be taken as a {@link Snapshot} and added to those of another instance, e.g. to merge
+ * the statistics of games played in several processes.
+ */
+@Component
+public class GameStatistics {
+    private final ThreadLocal<Recorder> recorders = ThreadLocal.withInitial(this::register);
+    private final Queue<Recorder> registered = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService merger;
+
+    // Guarded by this
+    private final Interval total = new Interval();
+
+    public GameStatistics(ApiConfiguration config) {
+        this.merger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getStatistics().getMergeInterval().toMillis();
+        merger.scheduleAtFixedRate(this::merge, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the final statistics of a game on the calling thread.
+     *
+     * @param reachedTarget whether the game ended because its score passed the target
+     */
+    public void record(int turns, int score, int gold, boolean reachedTarget) {
+        recorders.get().record(turns, score, gold, reachedTarget);
+    }
+
+    /**
+     * Adds what every thread recorded since the last merge to the totals.
+     */
+    public synchronized void merge() {
+        Iterator<Recorder> iterator = registered.iterator();
+        while (iterator.hasNext()) {
+            Recorder recorder = iterator.next();
+            boolean ownerGone = recorder.isOwnerGone();
+            recorder.harvest(total);
+            // The thread is gone and everything it recorded is merged
+            if (ownerGone) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized Summary getSummary() {
+        merge();
+        return total.summary();
+    }
+
+    /**
+     * A copy of the totals, including everything recorded up to now.
+     */
+    public synchronized Snapshot snapshot() {
+        merge();
+        return total.snapshot();
+    }
+
+    /**
+     * Adds statistics recorded elsewhere to the totals.
+     */
+    public synchronized void add(Snapshot snapshot) {
+        total.add(snapshot);
+    }
+
+    public static Summary summarize(Snapshot snapshot) {
+        Interval interval = new Interval();
+        interval.add(snapshot);
+        return interval.summary();
+    }
+
+    public static Snapshot merge(Snapshot first, Snapshot second) {
+        Interval interval = new Interval();
+        interval.add(first);
+        interval.add(second);
+        return interval.snapshot();
+    }
+
+    /**
+     * Starts over, e.g. for a new run. Games recorded concurrently may land on either side of the reset.
+     */
+    public synchronized void reset() {
+        merge();
+        total.reset();
+    }
+
+    @PreDestroy
+    public void close() {
+        merger.shutdownNow();
+    }
+
+    private Recorder register() {
+        Recorder recorder = new Recorder(Thread.currentThread());
+        registered.add(recorder);
+        return recorder;
+    }
+
+    private static final class Interval {
+        private final ValueHistogram score = new ValueHistogram();
+        private final ValueHistogram turns = new ValueHistogram();
+        private final ValueHistogram turnsToTarget = new ValueHistogram();
+        private final ValueHistogram gold = new ValueHistogram();
+
+        void record(int turns, int score, int gold, boolean reachedTarget) {
+            this.score.record(score);
+            this.turns.record(turns);
+            if (reachedTarget) {
+                turnsToTarget.record(turns);
+            }
+            this.gold.record(gold);
+        }
+
+        void add(Interval other) {
+            score.add(other.score);
+            turns.add(other.turns);
+            turnsToTarget.add(other.turnsToTarget);
+            gold.add(other.gold);
+        }
+
+        void add(Snapshot other) {
+            score.add(other.getScore());
+            turns.add(other.getTurns());
+            turnsToTarget.add(other.getTurnsToTarget());
+            gold.add(other.getGold());
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(score.snapshot(), turns.snapshot(), turnsToTarget.snapshot(), gold.snapshot());
+        }
+
+        Summary summary() {
+            return new Summary(turns.getCount(), turnsToTarget.getCount(), Distribution.of(score),
+                    Distribution.of(turns), Distribution.of(turnsToTarget), Distribution.of(gold));
+        }
+
+        void reset() {
+            score.reset();
+            turns.reset();
+            turnsToTarget.reset();
+            gold.reset();
+        }
+    }
+
+    /**
+     * One thread's histograms, double-buffered: the owner records into {@code active}, the merger swaps
+     * in the spare and adds up the old one once the owner is not writing to it anymore.
+     */
+    private static final class Recorder {
+        private final WeakReference<Thread> owner;
+        private volatile Interval active = new Interval();
+        private volatile boolean writing;
+        // Only used by the merger
+        private Interval spare = new Interval();
+
+        Recorder(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        void record(int turns, int score, int gold, boolean reachedTarget) {
+            writing = true;
+            try {
+                active.record(turns, score, gold, reachedTarget);
+            } finally {
+                writing = false;
+            }
+        }
+
+        void harvest(Interval into) {
+            Interval old = active;
+            active = spare;
+            // The owner flags a write before it reads active, so a write into the old histograms shows here
+            while (writing) {
+                Thread.onSpinWait();
+            }
+            into.add(old);
+            old.reset();
+            spare = old;
+        }
+
+        boolean isOwnerGone() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+        private ValueHistogram.Snapshot score;
+        private ValueHistogram.Snapshot turns;
+        private ValueHistogram.Snapshot turnsToTarget;
+        private ValueHistogram.Snapshot gold;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Summary {
+        private long games;
+        // Games that ended because their score passed the target
+        private long reachedTarget;
+        private Distribution score;
+        private Distribution turns;
+        private Distribution turnsToTarget;
+        private Distribution goldRemaining;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Distribution {
+        private long count;
+        private long min;
+        private double mean;
+        private long p50;
+        private long p90;
+        private long p99;
+        private long max;
+
+        static Distribution of(ValueHistogram histogram) {
+            return new Distribution(histogram.getCount(), histogram.getMin(), histogram.getMean(),
+                    histogram.valueAt(0.5), histogram.valueAt(0.9), histogram.valueAt(0.99), histogram.getMax());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.strategy.PurchaseStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.valorrise.bot.model.domain.ShopItem.*;
+
+/**
+ * Plans a turn's shop purchases locally. Gold and lives are tracked across the plan, and an item is
+ * only planned if {@link ShopService#buyItem} would actually buy it ({@code gold >= cost + minGoldToBuy}),
+ * so executing the plan never issues a buy call that the shop rule would turn into a no-op.
+ */
+@Service
+public class PurchasePlanner implements PurchaseStrategy {
+    public static final String NAME = "planner";
+
+    private static final ShopItem[] STATE_UPGRADES = {BOOK_OF_TRICKS, BOOK_OF_MEGATRICKS};
+    private static final ShopItem[] UNDERWORLD_UPGRADES = {CLAW_SHARPENING, CLAW_HONING};
+    private static final ShopItem[] PEOPLE_UPGRADES = {POTION_OF_STRONGER_WINGS, POTION_OF_AWESOME_WINGS};
+    private static final ShopItem[] CHEAP_UPGRADES = {
+            CLAW_SHARPENING, GASOLINE, COPPER_PLATING, BOOK_OF_TRICKS, POTION_OF_STRONGER_WINGS
+    };
+    private static final ShopItem[] EXPENSIVE_UPGRADES = {
+            CLAW_HONING, ROCKET_FUEL, IRON_PLATING, BOOK_OF_MEGATRICKS, POTION_OF_AWESOME_WINGS
+    };
+
+    private final int minLivesToBuy;
+    private final int minGoldToBuy;
+    private final int cheapUpgradeReserve;
+    private final int expensiveUpgradeReserve;
+    private final int earlyGameTurns;
+    private final float lowReputation;
+
+    @Autowired
+    public PurchasePlanner(ApiConfiguration config) {
+        this(config.getShop());
+    }
+
+    public PurchasePlanner(ApiConfiguration.Shop shop) {
+        this.minLivesToBuy = shop.getMinLivesToBuy();
+        this.minGoldToBuy = shop.getMinGoldToBuy();
+        this.cheapUpgradeReserve = shop.getCheapUpgradeReserve();
+        this.expensiveUpgradeReserve = shop.getExpensiveUpgradeReserve();
+        this.earlyGameTurns = shop.getEarlyGameTurns();
+        this.lowReputation = shop.getLowReputation();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<ShopItem> plan(Game game, ItemCatalog catalog, long owned,
+                               int tasksFailed, int tasksCompleted, Reputation reputation) {
+        if (catalog == null) {
+            catalog = ItemCatalog.DEFAULT;
+        }
+        int gold = game.getGold();
+        int lives = game.getLives();
+        List<ShopItem> plan = null;
+
+        // Heal first when lives are low
+        if (lives < minLivesToBuy && canAfford(catalog, HEALING_POTION, gold)) {
+            plan = new ArrayList<>(2);
+            plan.add(HEALING_POTION);
+            gold -= catalog.cost(HEALING_POTION);
+            lives++;
+        }
+
+        // At most one upgrade per turn, and only with lives to spare
+        if (lives >= minLivesToBuy) {
+            ShopItem upgrade = selectUpgrade(catalog, gold, game.getTurn(), owned, tasksFailed, tasksCompleted, reputation);
+            if (upgrade != null) {
+                if (plan == null) {
+                    plan = new ArrayList<>(1);
+                }
+                plan.add(upgrade);
+            }
+        }
+        return plan != null ? plan : Collections.emptyList();
+    }
+
+    ShopItem selectUpgrade(ItemCatalog catalog, int gold, int turn, long owned,
+                           int tasksFailed, int tasksCompleted, Reputation reputation) {
+        // Prioritize cheaper items (100 gold) if early in game, tasks are failing, or any reputation is low
+        boolean preferCheapItems = turn < earlyGameTurns || tasksFailed > tasksCompleted ||
+                reputation.getPeople() < 0 || reputation.getState() < 0 || reputation.getUnderworld() < 0;
+        int reserve = preferCheapItems ? cheapUpgradeReserve : expensiveUpgradeReserve;
+        if (gold < reserve) {
+            return null;
+        }
+
+        // Find the lowest reputation to prioritize upgrades
+        float minReputation = Math.min(Math.min(reputation.getPeople(), reputation.getState()), reputation.getUnderworld());
+        ShopItem item = null;
+        if (minReputation == reputation.getState() && reputation.getState() < lowReputation) {
+            item = firstAffordable(catalog, gold, owned, STATE_UPGRADES);
+        } else if (minReputation == reputation.getUnderworld() && reputation.getUnderworld() < lowReputation) {
+            item = firstAffordable(catalog, gold, owned, UNDERWORLD_UPGRADES);
+        } else if (minReputation == reputation.getPeople() && reputation.getPeople() < lowReputation) {
+            item = firstAffordable(catalog, gold, owned, PEOPLE_UPGRADES);
+        }
+
+        // Try cheaper items first if preferred, then expensive ones
+        if (item == null && preferCheapItems) {
+            item = firstAffordable(catalog, gold, owned, CHEAP_UPGRADES);
+        }
+        if (item == null) {
+            item = firstAffordable(catalog, gold, owned, EXPENSIVE_UPGRADES);
+        }
+        return item;
+    }
+
+    private ShopItem firstAffordable(ItemCatalog catalog, int gold, long owned, ShopItem[] candidates) {
+        for (ShopItem candidate : candidates) {
+            if (!candidate.isOwned(owned) && canAfford(catalog, candidate, gold)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean canAfford(ItemCatalog catalog, ShopItem item, int gold) {
+        return catalog.contains(item) && gold >= catalog.cost(item) + minGoldToBuy;
+    }
+}
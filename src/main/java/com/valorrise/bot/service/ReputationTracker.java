@@ -0,0 +1,159 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.TaskCategory;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Predicts a game's reputation locally so that {@code /investigate/reputation} is only called when
+ * the answer can change a decision.
+ * <p>
+ * Every solved task moves the estimate by the expected effect of its category and adds variance;
+ * an investigation replaces the estimate with the observed values and clears the variance. The
+ * per-category effects are initial estimates read off the game's task templates.
+ */
+@Service
+public class ReputationTracker {
+    private static final int PEOPLE = 0;
+    private static final int STATE = 1;
+    private static final int UNDERWORLD = 2;
+
+    // Expected change of (people, state, underworld) when a task of the category succeeds
+    private static final double[][] SUCCESS_EFFECT = new double[TaskCategory.values().length][];
+    // Variance added per axis for every solved task of the category
+    private static final double[] EFFECT_VARIANCE = new double[TaskCategory.values().length];
+
+    static {
+        effect(TaskCategory.STEAL_AND_SHARE, 1, -1, 1, 0.5);
+        effect(TaskCategory.STEAL, 0, -1, 1, 0.5);
+        effect(TaskCategory.ESCORT, 1, 0, 0, 0.5);
+        effect(TaskCategory.INVESTIGATE, 0, 1, -1, 0.5);
+        effect(TaskCategory.INFILTRATE, 0, 1, -1, 0.5);
+        effect(TaskCategory.DEFEND, 1, 1, 0, 0.5);
+        effect(TaskCategory.BIOGRAPHY, 1, 0, 0, 0.5);
+        effect(TaskCategory.ADVERTISE, 1, 0, 0, 0.5);
+        effect(TaskCategory.UNKNOWN, 0, 0, 0, 1.0);
+    }
+
+    private final double maxVariance;
+    private final int highStakesCost;
+
+    public ReputationTracker(ApiConfiguration config) {
+        this.maxVariance = config.getInvestigation().getMaxVariance();
+        this.highStakesCost = config.getInvestigation().getHighStakesCost();
+    }
+
+    /**
+     * Per-game estimate; not thread-safe, each game owns one.
+     */
+    public static final class Estimate {
+        private final double[] mean = new double[3];
+        private final double[] variance = new double[3];
+
+        public Reputation toReputation() {
+            return Reputation.builder()
+                    .people((float) mean[PEOPLE])
+                    .state((float) mean[STATE])
+                    .underworld((float) mean[UNDERWORLD])
+                    .build();
+        }
+
+        public double people() {
+            return mean[PEOPLE];
+        }
+
+        public double state() {
+            return mean[STATE];
+        }
+
+        public double underworld() {
+            return mean[UNDERWORLD];
+        }
+
+        public double maxVariance() {
+            return Math.max(Math.max(variance[PEOPLE], variance[STATE]), variance[UNDERWORLD]);
+        }
+
+        /**
+         * @return (people, state, underworld), e.g. to checkpoint the estimate
+         */
+        public double[] means() {
+            return mean.clone();
+        }
+
+        public double[] variances() {
+            return variance.clone();
+        }
+    }
+
+    /**
+     * @return the estimate for a newly started game, whose reputation is known to be neutral
+     */
+    public Estimate newEstimate() {
+        return new Estimate();
+    }
+
+    /**
+     * @param means     the checkpointed {@link Estimate#means()}, or {@code null} if the game was checkpointed
+     *                  without its estimate
+     * @param variances the checkpointed {@link Estimate#variances()}
+     * @return the estimate for a resumed game: the checkpointed one, or else one too uncertain to act on,
+     * so that the game investigates before its next upgrade
+     */
+    public Estimate resumedEstimate(double[] means, double[] variances) {
+        Estimate estimate = new Estimate();
+        if (means != null && means.length == 3 && variances != null && variances.length == 3) {
+            System.arraycopy(means, 0, estimate.mean, 0, 3);
+            System.arraycopy(variances, 0, estimate.variance, 0, 3);
+        } else {
+            Arrays.fill(estimate.variance, Double.MAX_VALUE);
+        }
+        return estimate;
+    }
+
+    public void onTaskSolved(Estimate estimate, TaskCategory category, boolean success) {
+        int c = (category != null ? category : TaskCategory.UNKNOWN).ordinal();
+        for (int axis = 0; axis < 3; axis++) {
+            if (success) {
+                estimate.mean[axis] += SUCCESS_EFFECT[c][axis];
+            }
+            estimate.variance[axis] += EFFECT_VARIANCE[c];
+        }
+    }
+
+    /**
+     * @return the expected change of (people, state, underworld) when a task of the category succeeds
+     */
+    public static double[] successEffect(TaskCategory category) {
+        return SUCCESS_EFFECT[category.ordinal()].clone();
+    }
+
+    public void onObserved(Estimate estimate, Reputation observed) {
+        estimate.mean[PEOPLE] = observed.getPeople();
+        estimate.mean[STATE] = observed.getState();
+        estimate.mean[UNDERWORLD] = observed.getUnderworld();
+        estimate.variance[PEOPLE] = 0;
+        estimate.variance[STATE] = 0;
+        estimate.variance[UNDERWORLD] = 0;
+    }
+
+    /**
+     * Decides whether to investigate before committing to an upgrade, the only decision reputation
+     * feeds into: when the prediction has become too uncertain, or before spending
+     * {@code highStakesCost} gold or more on anything short of an exact figure.
+     *
+     * @param upgradeCost cost of the upgrade about to be bought
+     */
+    public boolean shouldInvestigate(Estimate estimate, int upgradeCost) {
+        double uncertainty = estimate.maxVariance();
+        return uncertainty > maxVariance || (upgradeCost >= highStakesCost && uncertainty > 0);
+    }
+
+    private static void effect(TaskCategory category, double people, double state, double underworld, double variance) {
+        SUCCESS_EFFECT[category.ordinal()] = new double[]{people, state, underworld};
+        EFFECT_VARIANCE[category.ordinal()] = variance;
+    }
+}
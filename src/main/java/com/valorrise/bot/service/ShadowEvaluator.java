@@ -0,0 +1,197 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import com.valorrise.bot.strategy.TaskStrategy;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shadow mode: runs alternative task strategies on the boards of live turns and records what they would
+ * have picked next to the live choice, with the counterfactual expected reward of each pick under the
+ * learned {@link SuccessRateModel}. No shadow choice is ever played.
+ * <p>
+ * The work runs on a small pool of low-priority threads with a bounded queue. Submitting never blocks:
+ * when the shadow pool falls behind, boards are dropped (and counted), so shadow mode cannot slow the
+ * live turn loop.
+ */
+@Service
+public class ShadowEvaluator {
+    private static final Logger logger = LoggerFactory.getLogger(ShadowEvaluator.class);
+
+    private final TaskSelectionService taskSelectionService;
+    private final SuccessRateModel successRateModel;
+    private final Map<String, TaskStrategy> strategies = new LinkedHashMap<>();
+    private final Map<String, Tally> tallies = new LinkedHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadPoolExecutor executor;
+
+    public ShadowEvaluator(TaskSelectionService taskSelectionService, SuccessRateModel successRateModel,
+                           StrategyRegistry strategyRegistry, ApiConfiguration config) {
+        this.taskSelectionService = taskSelectionService;
+        this.successRateModel = successRateModel;
+        ApiConfiguration.Shadow shadow = config.getShadow();
+        if (shadow.isEnabled()) {
+            for (String name : shadow.getStrategies()) {
+                strategies.put(name, strategyRegistry.getTaskStrategy(name));
+                tallies.put(name, new Tally());
+            }
+        }
+        this.executor = strategies.isEmpty() ? null : new ThreadPoolExecutor(shadow.getThreads(), shadow.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(shadow.getQueueSize()), runnable -> {
+            Thread thread = new Thread(runnable, "shadow-eval");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, (runnable, pool) -> dropped.increment());
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Queues a live board for shadow evaluation. Returns immediately; the board and the live choice must
+     * not be modified afterwards.
+     *
+     * @param liveChoice the advertisement the live strategy picked, as returned by
+     *                   {@link TaskSelectionService#selectBestTask}
+     */
+    public void observe(String gameId, int turn, List<Advertisement> board, Advertisement liveChoice,
+                        TaskStrategy liveStrategy) {
+        if (executor == null || board == null || board.isEmpty() || liveChoice == null) {
+            return;
+        }
+        executor.execute(() -> evaluate(gameId, turn, board, liveChoice, liveStrategy));
+    }
+
+    private void evaluate(String gameId, int turn, List<Advertisement> board, Advertisement liveChoice,
+                          TaskStrategy liveStrategy) {
+        try {
+            double liveValue = expectedReward(liveChoice);
+            for (Map.Entry<String, TaskStrategy> entry : strategies.entrySet()) {
+                Advertisement pick = taskSelectionService.selectBestTask(board, entry.getValue());
+                double value = pick != null ? expectedReward(pick) : 0;
+                boolean agrees = pick != null && Objects.equals(pick.getAdId(), liveChoice.getAdId());
+                tallies.get(entry.getKey()).add(agrees, value, liveValue);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Shadow {} vs live {} for Game {} turn {}: {} (EV {}) vs {} (EV {})",
+                            entry.getKey(), liveStrategy.getName(), gameId, turn,
+                            pick != null ? pick.getAdId() : "none", String.format("%.1f", value),
+                            liveChoice.getAdId(), String.format("%.1f", liveValue));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Shadow evaluation failed for Game {} turn {}: {}", gameId, turn, e.getMessage());
+        }
+    }
+
+    private double expectedReward(Advertisement ad) {
+        return ad.getReward() * successRateModel.estimate(ProbabilityLabel.fromLabel(ad.getProbability()),
+                ad.getCategory() != null ? ad.getCategory() : TaskCategory.UNKNOWN);
+    }
+
+    /**
+     * @return per shadow strategy, how its picks compare to the live picks so far
+     */
+    public List<Report> getReports() {
+        List<Report> reports = new ArrayList<>(tallies.size());
+        tallies.forEach((name, tally) -> reports.add(tally.toReport(name)));
+        return reports;
+    }
+
+    public long getDroppedBoards() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Tally {
+        private final LongAdder boards = new LongAdder();
+        private final LongAdder agreements = new LongAdder();
+        private final DoubleAdder shadowValue = new DoubleAdder();
+        private final DoubleAdder liveValue = new DoubleAdder();
+
+        void add(boolean agrees, double shadow, double live) {
+            boards.increment();
+            if (agrees) {
+                agreements.increment();
+            }
+            shadowValue.add(shadow);
+            liveValue.add(live);
+        }
+
+        Report toReport(String name) {
+            long n = boards.sum();
+            return new Report(name, n, n == 0 ? 0 : (double) agreements.sum() / n,
+                    n == 0 ? 0 : shadowValue.sum() / n, n == 0 ? 0 : liveValue.sum() / n);
+        }
+    }
+
+    /**
+     * Shadow results of one strategy: how often it agreed with the live pick, and the mean expected reward
+     * per turn of its picks against that of the live picks.
+     */
+    public static final class Report {
+        private final String strategy;
+        private final long boards;
+        private final double agreementRate;
+        private final double meanShadowValue;
+        private final double meanLiveValue;
+
+        Report(String strategy, long boards, double agreementRate, double meanShadowValue, double meanLiveValue) {
+            this.strategy = strategy;
+            this.boards = boards;
+            this.agreementRate = agreementRate;
+            this.meanShadowValue = meanShadowValue;
+            this.meanLiveValue = meanLiveValue;
+        }
+
+        public String getStrategy() {
+            return strategy;
+        }
+
+        public long getBoards() {
+            return boards;
+        }
+
+        public double getAgreementRate() {
+            return agreementRate;
+        }
+
+        public double getMeanShadowValue() {
+            return meanShadowValue;
+        }
+
+        public double getMeanLiveValue() {
+            return meanLiveValue;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: boards=%d, agreement=%.1f%%, EV/turn %.2f vs live %.2f",
+                    strategy, boards, agreementRate * 100, meanShadowValue, meanLiveValue);
+        }
+    }
+}
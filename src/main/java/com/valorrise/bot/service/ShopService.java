@@ -1,49 +1,33 @@
 package com.valorrise.bot.service;
 
-import com.valorrise.bot.api.client.GameApiClient;
 import com.valorrise.bot.configuration.ApiConfiguration;
 import com.valorrise.bot.model.domain.Game;
 import com.valorrise.bot.model.domain.Item;
-import com.valorrise.bot.model.dto.GameDto;
-import com.valorrise.bot.model.dto.ItemDto;
-import com.valorrise.bot.model.mapper.GameMapper;
-import com.valorrise.bot.model.mapper.ItemMapper;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.profiling.PurchaseEvent;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ShopService {
     private static final Logger logger = LoggerFactory.getLogger(ShopService.class);
-    private final GameApiClient apiClient;
-    private final int minLivesToBuy;
+    private final GameApiService gameApiService;
     private final int minGoldToBuy;
+    // Shop catalog per running game; items and costs do not change during a game
+    private final Map<String, ItemCatalog> catalogs = new ConcurrentHashMap<>();
 
-    public ShopService(GameApiClient apiClient, ApiConfiguration config) {
-        this.apiClient = apiClient;
-        this.minLivesToBuy = config.getShop().getMinLivesToBuy();
+    public ShopService(GameApiService gameApiService, ApiConfiguration config) {
+        this.gameApiService = gameApiService;
         this.minGoldToBuy = config.getShop().getMinGoldToBuy();
     }
 
-    @Retry(name = "gameApi")
-    public Game buyHealthPotionIfNeeded(Game game) {
-        if (game == null) {
-            logger.warn("Cannot buy potion for null game");
-            return null;
-        }
-
-        if (game.getLives() >= minLivesToBuy || game.getGold() < minGoldToBuy) {
-            logger.debug("No need to buy potion for game {}: lives={}, gold={}",
-                    game.getGameId(), game.getLives(), game.getGold());
-            return game;
-        }
-
-        return buyItem(game, "hpot");
-    }
-
     @Retry(name = "gameApi")
     public Game buyItem(Game game, String itemId) {
         if (game == null) {
@@ -51,35 +35,85 @@ public class ShopService {
             return null;
         }
 
+        PurchaseEvent event = new PurchaseEvent();
+        event.begin();
+        event.setGameId(game.getGameId());
+        event.setItem(itemId);
+        event.setOutcome(PurchaseEvent.FAILED);
         try {
-            List<ItemDto> itemDtos = apiClient.getShopItems(game.getGameId());
-            List<Item> items = itemDtos.stream()
-                    .map(ItemMapper::toEntity)
-                    .toList();
+            ShopItem targetItem = ShopItem.fromId(itemId);
+            ItemCatalog catalog = catalog(game.getGameId());
 
-            Item targetItem = items.stream()
-                    .filter(item -> itemId.equals(item.getId()))
-                    .findFirst()
-                    .orElse(null);
-
-            if (targetItem == null) {
+            if (targetItem == null || !catalog.contains(targetItem)) {
                 logger.warn("Item {} not found in shop for game: {}", itemId, game.getGameId());
+                event.setOutcome(PurchaseEvent.UNAVAILABLE);
                 return game;
             }
 
-            if (game.getGold() >= targetItem.getCost() + minGoldToBuy) {
-                logger.debug("Buying item {} for game: {}, cost: {}", itemId, game.getGameId(), targetItem.getCost());
-                GameDto updatedGameDto = apiClient.buyItem(game.getGameId(), targetItem.getId());
-                updatedGameDto.setGameId(game.getGameId());
-                return GameMapper.toEntity(updatedGameDto);
+            int cost = catalog.cost(targetItem);
+            event.setCost(cost);
+            if (game.getGold() >= cost + minGoldToBuy) {
+                logger.debug("Buying item {} for game: {}, cost: {}", itemId, game.getGameId(), cost);
+                Game updatedGame = gameApiService.buyItem(game.getGameId(), targetItem.getId());
+                event.setOutcome(PurchaseEvent.BOUGHT);
+                return updatedGame;
             } else {
+                event.setOutcome(PurchaseEvent.UNAFFORDABLE);
                 logger.debug("Insufficient gold for item {}: gameId={}, gold={}, cost={}, minGoldToBuy={}",
-                        itemId, game.getGameId(), game.getGold(), targetItem.getCost(), minGoldToBuy);
+                        itemId, game.getGameId(), game.getGold(), cost, minGoldToBuy);
                 return game;
             }
         } catch (Exception e) {
             logger.error("Error buying item {} for game {}: {}", itemId, game.getGameId(), e.getMessage());
             return game; // Return unchanged game state on error
+        } finally {
+            event.commit();
+        }
+    }
+
+    public void primeCatalog(String gameId, List<Item> items) {
+        if (gameId != null && items != null) {
+            catalogs.put(gameId, ItemCatalog.of(items));
+        }
+    }
+
+    /**
+     * Fetches the game's catalog unless it is already known, so that purchases are planned against the
+     * game's own prices from the first turn on. If the shop cannot be reached, the game plans against
+     * the list prices until a purchase fetches the catalog.
+     */
+    public void loadCatalog(String gameId) {
+        if (gameId == null || catalogs.containsKey(gameId)) {
+            return;
+        }
+        try {
+            catalog(gameId);
+        } catch (Exception e) {
+            logger.warn("Failed to fetch the shop for game {}, planning on list prices: {}", gameId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the game's catalog if it has already been fetched, otherwise the list prices; never
+     * calls the API
+     */
+    public ItemCatalog knownCatalog(String gameId) {
+        ItemCatalog catalog = gameId != null ? catalogs.get(gameId) : null;
+        return catalog != null ? catalog : ItemCatalog.DEFAULT;
+    }
+
+    public void releaseGame(String gameId) {
+        if (gameId != null) {
+            catalogs.remove(gameId);
+        }
+    }
+
+    private ItemCatalog catalog(String gameId) {
+        ItemCatalog catalog = catalogs.get(gameId);
+        if (catalog == null) {
+            catalog = ItemCatalog.of(gameApiService.getShopItems(gameId));
+            catalogs.put(gameId, catalog);
         }
+        return catalog;
     }
 }
\ No newline at end of file
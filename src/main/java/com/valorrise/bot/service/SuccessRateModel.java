@@ -0,0 +1,201 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Online estimate of the success rate of a task, learned from solve outcomes across all games.
+ * <p>
+ * Each probability label has a Beta posterior whose prior mean is the label's nominal rate
+ * ({@link ProbabilityLabel#getPrior()}) with {@code priorStrength} pseudo-observations. Each
+ * (label, category) cell is in turn shrunk towards its label's posterior, so a rarely seen category
+ * borrows from the label until it has data of its own. Counters are {@link LongAdder}s, so concurrent
+ * games record outcomes without contending on a lock.
+ * <p>
+ * When a file is configured the counts are kept in a small memory-mapped file (a header plus two
+ * longs per cell) and loaded on startup. A background thread writes them back every
+ * {@code flush-interval}, so that recording an outcome never waits for the disk. A file written for a
+ * different set of labels or categories is ignored.
+ */
+@Service
+public class SuccessRateModel {
+    private static final Logger logger = LoggerFactory.getLogger(SuccessRateModel.class);
+    private static final int MAGIC = 0x56525352; // "VRSR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int LABELS = ProbabilityLabel.values().length;
+    private static final int CATEGORIES = TaskCategory.values().length;
+
+    private final double priorStrength;
+    private final double categoryShrinkage;
+
+    // Per (label, category) cell, and per label across all categories
+    private final LongAdder[] cellSuccesses = newAdders(LABELS * CATEGORIES);
+    private final LongAdder[] cellTrials = newAdders(LABELS * CATEGORIES);
+    private final LongAdder[] labelSuccesses = newAdders(LABELS);
+    private final LongAdder[] labelTrials = newAdders(LABELS);
+    private final AtomicLong recorded = new AtomicLong();
+    // Guarded by this: the recorded count as of the last flush
+    private long flushed;
+
+    private final MappedByteBuffer store;
+    private final ScheduledExecutorService flusher;
+
+    @Autowired
+    public SuccessRateModel(ApiConfiguration config) {
+        this(config.getModel(), config.getModel().getFile());
+    }
+
+    SuccessRateModel(ApiConfiguration.Model config, String file) {
+        this.priorStrength = config.getPriorStrength();
+        this.categoryShrinkage = config.getCategoryShrinkage();
+        this.store = file == null || file.isBlank() ? null : open(Path.of(file));
+        if (store != null) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "success-rate-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = config.getFlushInterval().toMillis();
+            flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * A model that learns in memory only, whatever file is configured, e.g. for simulated games.
+     */
+    public static SuccessRateModel inMemory(ApiConfiguration config) {
+        return new SuccessRateModel(config.getModel(), null);
+    }
+
+    /**
+     * @return the posterior mean success rate for a task with this label and category
+     */
+    public double estimate(ProbabilityLabel label, TaskCategory category) {
+        int l = label.ordinal();
+        double labelRate = (label.getPrior() * priorStrength + labelSuccesses[l].sum())
+                / (priorStrength + labelTrials[l].sum());
+
+        int cell = cell(l, category);
+        long trials = cellTrials[cell].sum();
+        if (trials == 0) {
+            return labelRate;
+        }
+        return (labelRate * categoryShrinkage + cellSuccesses[cell].sum()) / (categoryShrinkage + trials);
+    }
+
+    public void record(ProbabilityLabel label, TaskCategory category, boolean success) {
+        int l = label.ordinal();
+        int cell = cell(l, category);
+        cellTrials[cell].increment();
+        labelTrials[l].increment();
+        if (success) {
+            cellSuccesses[cell].increment();
+            labelSuccesses[l].increment();
+        }
+        recorded.incrementAndGet();
+    }
+
+    public long observations(ProbabilityLabel label) {
+        return labelTrials[label.ordinal()].sum();
+    }
+
+    /**
+     * Writes the current counts to the backing file, if any, unless nothing was recorded since the last
+     * flush.
+     */
+    public synchronized void flush() {
+        long current = recorded.get();
+        if (store == null || current == flushed) {
+            return;
+        }
+        flushed = current;
+        for (int cell = 0; cell < LABELS * CATEGORIES; cell++) {
+            int offset = HEADER_BYTES + cell * 2 * Long.BYTES;
+            store.putLong(offset, cellSuccesses[cell].sum());
+            store.putLong(offset + Long.BYTES, cellTrials[cell].sum());
+        }
+        store.force();
+    }
+
+    @PreDestroy
+    void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+    }
+
+    private static int cell(int label, TaskCategory category) {
+        return label * CATEGORIES + category.ordinal();
+    }
+
+    private MappedByteBuffer open(Path path) {
+        long size = HEADER_BYTES + (long) LABELS * CATEGORIES * 2 * Long.BYTES;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            boolean existed = Files.exists(path) && Files.size(path) == size;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                if (existed && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+                        && buffer.getInt(8) == LABELS && buffer.getInt(12) == CATEGORIES) {
+                    load(buffer);
+                    logger.info("Loaded success-rate model from {}", path);
+                } else {
+                    buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, LABELS).putInt(12, CATEGORIES);
+                }
+                return buffer;
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot open success-rate model file {}, keeping it in memory: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void load(MappedByteBuffer buffer) {
+        for (int cell = 0; cell < LABELS * CATEGORIES; cell++) {
+            int offset = HEADER_BYTES + cell * 2 * Long.BYTES;
+            long successes = buffer.getLong(offset);
+            long trials = buffer.getLong(offset + Long.BYTES);
+            if (successes < 0 || trials < successes) {
+                continue; // Corrupt cell
+            }
+            int label = cell / CATEGORIES;
+            cellSuccesses[cell].add(successes);
+            cellTrials[cell].add(trials);
+            labelSuccesses[label].add(successes);
+            labelTrials[label].add(trials);
+        }
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
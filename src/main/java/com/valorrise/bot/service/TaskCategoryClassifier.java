@@ -0,0 +1,139 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.model.domain.TaskCategory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tags advertisement messages with a {@link TaskCategory} by matching the game's message templates.
+ * <p>
+ * All template fragments are compiled into one Aho-Corasick automaton, stored as a complete transition
+ * table, so a message is classified in a single pass over its characters with one table lookup per
+ * character and no allocation. Matching ignores ASCII case. When several fragments match, the one
+ * registered first wins (e.g. "share ... with the people" outranks "steal").
+ */
+@Component
+public class TaskCategoryClassifier {
+    // Symbols: a-z, space, and everything else
+    private static final int SPACE = 26;
+    private static final int OTHER = 27;
+    private static final int ALPHABET = 28;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private static final Map<String, TaskCategory> TEMPLATES = new LinkedHashMap<>();
+
+    static {
+        // Highest priority first
+        TEMPLATES.put("share some of the profits with the people", TaskCategory.STEAL_AND_SHARE);
+        TEMPLATES.put("biographical novel", TaskCategory.BIOGRAPHY);
+        TEMPLATES.put("advertisement campaign", TaskCategory.ADVERTISE);
+        TEMPLATES.put("help defending", TaskCategory.DEFEND);
+        TEMPLATES.put("escort ", TaskCategory.ESCORT);
+        TEMPLATES.put("investigate ", TaskCategory.INVESTIGATE);
+        TEMPLATES.put("infiltrate ", TaskCategory.INFILTRATE);
+        TEMPLATES.put("steal ", TaskCategory.STEAL);
+    }
+
+    private final int[][] transitions;
+    // Priority of the best fragment ending in each state (including fragments reached via failure links)
+    private final int[] matchRank;
+    private final TaskCategory[] categoryByRank;
+
+    public TaskCategoryClassifier() {
+        this(TEMPLATES);
+    }
+
+    TaskCategoryClassifier(Map<String, TaskCategory> fragments) {
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+        trie.add(newState());
+        ranks.add(NO_MATCH);
+
+        categoryByRank = new TaskCategory[fragments.size()];
+        int rank = 0;
+        for (Map.Entry<String, TaskCategory> fragment : fragments.entrySet()) {
+            int state = 0;
+            for (int i = 0; i < fragment.getKey().length(); i++) {
+                int symbol = symbol(fragment.getKey().charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState());
+                    ranks.add(NO_MATCH);
+                }
+                state = trie.get(state)[symbol];
+            }
+            ranks.set(state, Math.min(ranks.get(state), rank));
+            categoryByRank[rank++] = fragment.getValue();
+        }
+
+        transitions = trie.toArray(new int[0][]);
+        matchRank = ranks.stream().mapToInt(Integer::intValue).toArray();
+        buildFailureTransitions();
+    }
+
+    public TaskCategory classify(CharSequence message) {
+        if (message == null) {
+            return TaskCategory.UNKNOWN;
+        }
+        int state = 0;
+        int best = NO_MATCH;
+        for (int i = 0; i < message.length() && best > 0; i++) {
+            state = transitions[state][symbol(message.charAt(i))];
+            if (matchRank[state] < best) {
+                best = matchRank[state];
+            }
+        }
+        return best == NO_MATCH ? TaskCategory.UNKNOWN : categoryByRank[best];
+    }
+
+    // Breadth-first: turn the trie into a complete automaton by resolving missing edges via failure links
+    private void buildFailureTransitions() {
+        int[] failure = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = transitions[0][symbol];
+            if (child < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matchRank[state] = Math.min(matchRank[state], matchRank[failure[state]]);
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = transitions[state][symbol];
+                if (child < 0) {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                } else {
+                    failure[child] = transitions[failure[state]][symbol];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return c == ' ' ? SPACE : OTHER;
+    }
+}
@@ -1,21 +1,57 @@
 package com.valorrise.bot.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.profiling.AdDecodeEvent;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.TaskStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 @Service
 public class TaskSelectionService {
     private static final Logger logger = LoggerFactory.getLogger(TaskSelectionService.class);
     private static final Pattern BASE64_PATTERN = Pattern.compile("^[A-Za-z0-9+/=]+$");
+    private static final Pattern READABLE_PATTERN = Pattern.compile(".*[a-zA-Z\\s].*");
+    private static final int DECODE_CACHE_SIZE = 10_000;
+
+    // Ad messages and probability labels come from a small template space and repeat across turns
+    // and games, so their decoded form is memoized (W-TinyLFU eviction) for the lifetime of this bean
+    private final Cache<String, String> decodeCache = Caffeine.newBuilder()
+            .maximumSize(DECODE_CACHE_SIZE)
+            .recordStats()
+            .build();
+
+    private final SuccessRateModel successRateModel;
+    private final TaskCategoryClassifier categoryClassifier;
+    private final TaskStrategy defaultStrategy;
+    // Bound once; a method reference at the call site would be a new object per cache lookup
+    private final Function<String, String> fieldDecoder = this::decodeField;
+
+    public TaskSelectionService(SuccessRateModel successRateModel, TaskCategoryClassifier categoryClassifier) {
+        this.successRateModel = successRateModel;
+        this.categoryClassifier = categoryClassifier;
+        this.defaultStrategy = new ExpectedRewardTaskStrategy(successRateModel);
+    }
 
     public Advertisement selectBestTask(List<Advertisement> advertisements) {
+        return selectBestTask(advertisements, defaultStrategy);
+    }
+
+    /**
+     * @param strategy scores the decoded advertisements that are not traps; the highest non-negative score wins
+     */
+    public Advertisement selectBestTask(List<Advertisement> advertisements, TaskStrategy strategy) {
         if (advertisements == null || advertisements.isEmpty()) {
             logger.warn("No advertisements provided for task selection");
             return null;
@@ -25,8 +61,8 @@ public class TaskSelectionService {
         double bestScore = -1;
 
         for (Advertisement ad : advertisements) {
-            // Decode fields if encrypted
-            Advertisement decodedAd = decodeAdvertisement(ad);
+            // Decode fields if encrypted, then tag the task category for scoring and analytics
+            Advertisement decodedAd = decode(ad);
             // Skip traps
             if (isTrap(decodedAd)) {
                 logger.debug("Skipping trap task: {}, probability: {}, reward: {}",
@@ -34,8 +70,7 @@ public class TaskSelectionService {
                 continue;
             }
 
-
-            double score = decodedAd.getReward() * parseProbability(decodedAd.getProbability());
+            double score = strategy.score(decodedAd);
 
             if (score > bestScore) {
                 bestScore = Math.round(score * 100.0) / 100.0;
@@ -53,15 +88,47 @@ public class TaskSelectionService {
         return bestAd;
     }
 
+    /**
+     * Tags the task category of every advertisement on a freshly fetched board that is not encrypted, in
+     * place, so that {@link #decode} can return them as they are. Call it before the board is shared with
+     * the journal or the shadow evaluation; encrypted advertisements get their category when decoded.
+     */
+    public void categorize(List<Advertisement> board) {
+        for (Advertisement ad : board) {
+            if (!ad.isEncrypted()) {
+                ad.setCategory(categoryClassifier.classify(ad.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Decodes and categorises a single advertisement the way task selection does. The given advertisement
+     * is never modified: boards are shared with the journal and the shadow evaluation.
+     *
+     * @return the decoded, categorised advertisement; the given instance itself if it was neither encrypted
+     * nor lacking its category, e.g. on a board that was {@link #categorize categorized}
+     */
+    public Advertisement decode(Advertisement ad) {
+        Advertisement decodedAd = decodeAdvertisement(ad);
+        TaskCategory category = categoryClassifier.classify(decodedAd.getMessage());
+        if (decodedAd != ad) {
+            decodedAd.setCategory(category);
+        } else if (ad.getCategory() != category) {
+            decodedAd = ad.toBuilder().category(category).build();
+        }
+        return decodedAd;
+    }
+
     private Advertisement decodeAdvertisement(Advertisement ad) {
         if (!ad.isEncrypted()) {
             return ad;
         }
 
         try {
+            // Ad ids are unique, caching them would only evict the repeating fields
             String decodedAdId = decodeField(ad.getAdId());
-            String decodedMessage = decodeField(ad.getMessage());
-            String decodedProbability = decodeField(ad.getProbability());
+            String decodedMessage = decodeCached(ad.getMessage());
+            String decodedProbability = decodeCached(ad.getProbability());
 
             return Advertisement.builder()
                     .adId(decodedAdId)
@@ -78,10 +145,32 @@ public class TaskSelectionService {
         }
     }
 
+    /**
+     * Feeds the outcome of a solved task back into the success-rate model.
+     *
+     * @param ad the advertisement as returned by {@link #selectBestTask}
+     */
+    public void recordOutcome(Advertisement ad, boolean success) {
+        successRateModel.record(ProbabilityLabel.fromLabel(ad.getProbability()), categoryOf(ad), success);
+    }
+
+    public CacheStats getDecodeCacheStats() {
+        return decodeCache.stats();
+    }
+
+    private String decodeCached(String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+        return decodeCache.get(input, fieldDecoder);
+    }
+
     private String decodeField(String input) {
         if (input == null || input.isEmpty()) {
             return input;
         }
+        AdDecodeEvent event = new AdDecodeEvent();
+        event.begin();
 
         // Try Base64 first if it matches pattern
         if (BASE64_PATTERN.matcher(input).matches()) {
@@ -90,7 +179,7 @@ public class TaskSelectionService {
                 String decoded = new String(decodedBytes);
                 if (isReadable(decoded)) {
                     logger.debug("Base64 decoded: {} -> {}", input, decoded);
-                    return decoded;
+                    return emit(event, "base64", input, decoded);
                 }
             } catch (IllegalArgumentException e) {
                 logger.debug("Not Base64: {}. Error: {}", input, e.getMessage());
@@ -101,12 +190,22 @@ public class TaskSelectionService {
         String rot13Decoded = rot13(input);
         if (!rot13Decoded.equals(input) && isReadable(rot13Decoded)) {
             logger.debug("ROT13 decoded: {} -> {}", input, rot13Decoded);
-            return rot13Decoded;
+            return emit(event, "rot13", input, rot13Decoded);
         }
 
         // Fallback to original
         logger.debug("No decoding applied for: {}", input);
-        return input;
+        return emit(event, "none", input, input);
+    }
+
+    private static String emit(AdDecodeEvent event, String encoding, String input, String decoded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setEncoding(encoding);
+            event.setLength(input.length());
+            event.commit();
+        }
+        return decoded;
     }
 
     private String rot13(String input) {
@@ -141,39 +240,16 @@ public class TaskSelectionService {
     }
 
     private boolean isReadable(String text) {
-        return text != null && text.matches(".*[a-zA-Z\\s].*") && !text.contains("\uFFFD");
+        return text != null && READABLE_PATTERN.matcher(text).matches() && !text.contains("\uFFFD");
     }
 
     private boolean isTrap(Advertisement ad) {
-        String probability = ad.getProbability().toLowerCase().replaceAll("\\s", "");
-        List<String> validProbabilities = Arrays.asList(
-                "surething",
-                "pieceofcake",
-                "walkinthepark",
-                "hmmm....",
-                "quitelikely",
-                "gamble",
-                "risky",
-                "ratherdetrimental"
-        );
-        return !validProbabilities.contains(probability) ||
+        return ProbabilityLabel.fromLabel(ad.getProbability()).isTrap() ||
                 ad.getReward() < 5 ||
                 ad.getExpiresIn() <= 0;
     }
 
-    private double parseProbability(String probability) {
-        String normalized = probability.toLowerCase().replace(" ", "");
-        return switch (normalized) {
-            case "surething" -> 0.98;
-            case "pieceofcake" -> 0.96;
-            case "walkinthepark" -> 0.87;
-            case "hmmm...." -> 0.78;
-            case "quitelikely" -> 0.75;
-            case "gamble" -> 0.55;
-            case "risky" -> 0.46;
-            case "ratherdetrimental" -> 0.33;
-            case "playingwithfire" -> 0.25;
-            default -> 0.1;
-        };
+    private static TaskCategory categoryOf(Advertisement ad) {
+        return ad.getCategory() != null ? ad.getCategory() : TaskCategory.UNKNOWN;
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.valorrise.bot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.TurnRecord;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends every played turn to a JSON-lines file ({@code game.journal.*}), the input of
+ * {@link com.valorrise.bot.simulation.SimulationCalibrator}. Boards are decoded and written by a single
+ * background thread behind a bounded queue; when it falls behind, turns are dropped and counted instead
+ * of slowing the game.
+ */
+@Service
+public class TurnJournal {
+    private static final Logger logger = LoggerFactory.getLogger(TurnJournal.class);
+
+    private final TaskSelectionService taskSelectionService;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LongAdder dropped = new LongAdder();
+    private final Path file;
+    private final ThreadPoolExecutor writer;
+    private BufferedWriter out;
+
+    public TurnJournal(TaskSelectionService taskSelectionService, ApiConfiguration config) {
+        this.taskSelectionService = taskSelectionService;
+        ApiConfiguration.Journal journal = config.getJournal();
+        this.file = Path.of(journal.getFile());
+        this.writer = !journal.isEnabled() ? null : new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(journal.getQueueSize()), runnable -> {
+            Thread thread = new Thread(runnable, "turn-journal");
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> dropped.increment());
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Queues a turn for writing. The record and its board must not be modified afterwards; the board may
+     * still be encoded.
+     */
+    public void record(TurnRecord turn) {
+        if (writer != null) {
+            writer.execute(() -> write(turn));
+        }
+    }
+
+    public long getDroppedTurns() {
+        return dropped.sum();
+    }
+
+    // Runs on the journal thread only
+    private void write(TurnRecord turn) {
+        try {
+            if (out == null) {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            List<Advertisement> decoded = new ArrayList<>(turn.getBoard().size());
+            for (Advertisement ad : turn.getBoard()) {
+                decoded.add(taskSelectionService.decode(ad));
+            }
+            turn.setBoard(decoded);
+            out.write(mapper.writeValueAsString(turn));
+            out.newLine();
+            if (writer.getQueue().isEmpty()) {
+                out.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to journal turn {} of Game {}: {}", turn.getTurn(), turn.getGameId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the queued turns and closes the file.
+     */
+    @PreDestroy
+    void close() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Turn journal did not drain in time, {} is left open", file);
+            } else if (out != null) {
+                out.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Failed to close turn journal {}: {}", file, e.getMessage());
+        }
+    }
+}
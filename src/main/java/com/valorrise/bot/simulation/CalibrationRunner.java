@@ -0,0 +1,49 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Offline mode ({@code game.mode=calibrate}): fits the simulator to the turn journal and the configured
+ * logs, and writes the parameter file the other offline modes load.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "calibrate")
+public class CalibrationRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CalibrationRunner.class);
+    private final ApiConfiguration config;
+
+    public CalibrationRunner(ApiConfiguration config) {
+        this.config = config;
+    }
+
+    @Override
+    public void run(String... args) throws IOException {
+        SimulationCalibrator calibrator = new SimulationCalibrator(config.getCalibration().getPriorStrength());
+        Path journal = Path.of(config.getJournal().getFile());
+        if (Files.exists(journal)) {
+            calibrator.readJournal(journal);
+        } else {
+            logger.warn("⚠️ No turn journal at {}; enable game.journal to record one", journal.toAbsolutePath());
+        }
+        for (String log : config.getCalibration().getLogs()) {
+            calibrator.readLog(Path.of(log));
+        }
+
+        // Fit against the built-in defaults, not a previous calibration, so data is never counted twice
+        SimulationParameters parameters = calibrator.fit(new SimulationParameters());
+        Path output = Path.of(config.getSimulation().getParametersFile());
+        parameters.save(output);
+        logger.info("📐 Calibrated from {} journal turns ({} boards), {} potions and {} reputation checks: {}",
+                calibrator.getTurns(), calibrator.getBoards(), calibrator.getPotions(),
+                calibrator.getReputationObservations(), output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,95 @@
+package com.valorrise.bot.simulation;
+
+/**
+ * Mergeable accumulator of simulated game outcomes. Not thread-safe: each simulation task fills its
+ * own instance and results are merged when tasks join.
+ */
+public class EvaluationStats {
+    private static final double Z_95 = 1.96;
+
+    private long games;
+    private double scoreSum;
+    private double scoreSumSquares;
+    private long gameOvers;
+    private long reachedTarget;
+    private double turnsSum;
+    private double turnsSumSquares;
+
+    public void add(int score, int turns, boolean gameOver, boolean targetReached) {
+        games++;
+        scoreSum += score;
+        scoreSumSquares += (double) score * score;
+        if (gameOver) {
+            gameOvers++;
+        }
+        if (targetReached) {
+            reachedTarget++;
+            turnsSum += turns;
+            turnsSumSquares += (double) turns * turns;
+        }
+    }
+
+    public EvaluationStats merge(EvaluationStats other) {
+        games += other.games;
+        scoreSum += other.scoreSum;
+        scoreSumSquares += other.scoreSumSquares;
+        gameOvers += other.gameOvers;
+        reachedTarget += other.reachedTarget;
+        turnsSum += other.turnsSum;
+        turnsSumSquares += other.turnsSumSquares;
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public double getMeanScore() {
+        return mean(scoreSum, games);
+    }
+
+    public double getScoreCi95() {
+        return halfWidth(scoreSum, scoreSumSquares, games);
+    }
+
+    public double getGameOverRate() {
+        return games == 0 ? 0 : (double) gameOvers / games;
+    }
+
+    public double getGameOverCi95() {
+        double p = getGameOverRate();
+        return games == 0 ? 0 : Z_95 * Math.sqrt(p * (1 - p) / games);
+    }
+
+    public double getTargetRate() {
+        return games == 0 ? 0 : (double) reachedTarget / games;
+    }
+
+    public double getMeanTurnsToTarget() {
+        return mean(turnsSum, reachedTarget);
+    }
+
+    public double getTurnsToTargetCi95() {
+        return halfWidth(turnsSum, turnsSumSquares, reachedTarget);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d, score=%.1f ±%.1f, turnsToTarget=%.1f ±%.1f (reached %.2f%%), gameOver=%.2f%% ±%.2f",
+                games, getMeanScore(), getScoreCi95(), getMeanTurnsToTarget(), getTurnsToTargetCi95(),
+                getTargetRate() * 100, getGameOverRate() * 100, getGameOverCi95() * 100);
+    }
+
+    private static double mean(double sum, long n) {
+        return n == 0 ? 0 : sum / n;
+    }
+
+    private static double halfWidth(double sum, double sumSquares, long n) {
+        if (n < 2) {
+            return 0;
+        }
+        double mean = sum / n;
+        double variance = Math.max(0, (sumSquares - n * mean * mean) / (n - 1));
+        return Z_95 * Math.sqrt(variance / n);
+    }
+}
@@ -0,0 +1,213 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.service.ReputationTracker;
+import com.valorrise.bot.service.TaskSelectionService;
+import com.valorrise.bot.strategy.PurchaseStrategy;
+import com.valorrise.bot.strategy.TaskStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays games offline against a {@link SimulationParameters} model of the Game API, using the same
+ * task selection and purchase planning as live games. Stateless apart from its collaborators, so one
+ * instance can be shared by concurrent simulation tasks as long as each brings its own board.
+ * Investigations are modelled like in live games and reveal the actual reputation, which moves by the
+ * configured effect of every successful task.
+ * <p>
+ * A game is fully determined by its seed: boards and solve outcomes come from two separate streams,
+ * and every turn draws the same number of values from each. Different strategies played with the
+ * same seed therefore face the same boards and the same luck (common random numbers).
+ */
+public class GameSimulator {
+    // Display form of each ProbabilityLabel, by ordinal
+    private static final String[] LABELS = {
+            "Sure thing", "Piece of cake", "Walk in the park", "Hmmm....", "Quite likely",
+            "Gamble", "Risky", "Rather detrimental", "Playing with fire", "Suicide mission"
+    };
+    private static final String[] MESSAGES = {
+            "Steal pan delivery to Savino Broadbent and share some of the profits with the people.",
+            "Steal bucket from Valerian Hermanson",
+            "Escort Ige Wannell to meadow in Newtown where they can meet with their long lost clothes",
+            "Investigate Adrian Andrewson and find out their relation to the magic potatoes.",
+            "Infiltrate The Emerald Forsaken Squad and recover their secrets.",
+            "Help defending plains in Pencawl from the intruders",
+            "Help Christi Jakeman to write their biographical novel about their difficulties with a deranged water",
+            "Create an advertisement campaign for Pate Rennoll to promote their dog based business"
+    };
+
+    // Encrypted ads arrive Base64-encoded; encoded forms are prepared once so boards stay allocation-free
+    private static final String[] ENCODED_LABELS = encodeAll(LABELS);
+    private static final String[] ENCODED_MESSAGES = encodeAll(MESSAGES);
+
+    private final SimulationParameters parameters;
+    // Null picks tasks like the default cohort
+    private final TaskStrategy taskStrategy;
+    private final PurchaseStrategy purchaseStrategy;
+    private final ReputationTracker reputationTracker;
+    private final TaskSelectionService taskSelectionService;
+    private final double[] labelCdf;
+
+    public GameSimulator(SimulationParameters parameters, PurchaseStrategy purchaseStrategy,
+                         ReputationTracker reputationTracker, TaskSelectionService taskSelectionService) {
+        this(parameters, null, purchaseStrategy, reputationTracker, taskSelectionService);
+    }
+
+    public GameSimulator(SimulationParameters parameters, TaskStrategy taskStrategy, PurchaseStrategy purchaseStrategy,
+                         ReputationTracker reputationTracker, TaskSelectionService taskSelectionService) {
+        parameters.validate();
+        if (LABELS.length != ProbabilityLabel.values().length) {
+            throw new IllegalStateException("Missing display label for a ProbabilityLabel");
+        }
+        this.parameters = parameters;
+        this.taskStrategy = taskStrategy;
+        this.purchaseStrategy = purchaseStrategy;
+        this.reputationTracker = reputationTracker;
+        this.taskSelectionService = taskSelectionService;
+        this.labelCdf = cumulative(parameters.getLabelWeights());
+    }
+
+    /**
+     * @return a reusable board of advertisements for one simulation task
+     */
+    public List<Advertisement> newBoard() {
+        List<Advertisement> board = new ArrayList<>(parameters.getAdsPerTurn());
+        for (int i = 0; i < parameters.getAdsPerTurn(); i++) {
+            board.add(new Advertisement());
+        }
+        return board;
+    }
+
+    /**
+     * @return the turns taken to reach the target score, or {@code maxTurns} if it was not reached
+     */
+    public int play(long seed, List<Advertisement> board, EvaluationStats stats) {
+        SplittableRandom boards = new SplittableRandom(seed);
+        SplittableRandom outcomes = boards.split();
+        Game game = Game.builder()
+                .lives(parameters.getStartingLives())
+                .gold(parameters.getStartingGold())
+                .build();
+        ReputationTracker.Estimate reputation = reputationTracker.newEstimate();
+        // The game's actual reputation, which investigations reveal to the estimate
+        Reputation actual = new Reputation();
+        long ownedUpgrades = 0L;
+        double upgradeBonus = 0;
+        int tasksCompleted = 0;
+        int tasksFailed = 0;
+
+        while (game.getLives() > 0 && game.getScore() < parameters.getTargetScore()
+                && game.getTurn() < parameters.getMaxTurns()) {
+            List<ShopItem> purchases = purchaseStrategy.plan(game, ItemCatalog.DEFAULT, ownedUpgrades,
+                    tasksFailed, tasksCompleted, reputation.toReputation());
+            ShopItem upgrade = purchases.isEmpty() ? null : purchases.get(purchases.size() - 1);
+            if (upgrade != null && upgrade != ShopItem.HEALING_POTION
+                    && reputationTracker.shouldInvestigate(reputation, upgrade.getListCost())) {
+                reputationTracker.onObserved(reputation, actual);
+                purchases = purchaseStrategy.plan(game, ItemCatalog.DEFAULT, ownedUpgrades,
+                        tasksFailed, tasksCompleted, reputation.toReputation());
+            }
+            for (ShopItem item : purchases) {
+                game.setGold(game.getGold() - item.getListCost());
+                if (item == ShopItem.HEALING_POTION) {
+                    game.setLives(game.getLives() + parameters.getPotionLives());
+                } else {
+                    ownedUpgrades |= item.mask();
+                    upgradeBonus += parameters.getUpgradeBonusPer100Gold() * item.getListCost() / 100.0;
+                }
+            }
+
+            fillBoard(boards, board);
+            taskSelectionService.categorize(board);
+            Advertisement ad = taskStrategy != null
+                    ? taskSelectionService.selectBestTask(board, taskStrategy)
+                    : taskSelectionService.selectBestTask(board);
+            if (ad == null) {
+                break; // The live bot ends the game when nothing is worth taking
+            }
+
+            int label = ProbabilityLabel.fromLabel(ad.getProbability()).ordinal();
+            boolean success = outcomes.nextDouble() < Math.min(0.99, parameters.getSuccessRates()[label] + upgradeBonus);
+            if (success) {
+                tasksCompleted++;
+                game.setGold(game.getGold() + ad.getReward());
+                game.setScore(game.getScore() + ad.getReward());
+                double[] effect = parameters.getReputationEffects()[categoryOf(ad).ordinal()];
+                actual.setPeople(actual.getPeople() + (float) effect[0]);
+                actual.setState(actual.getState() + (float) effect[1]);
+                actual.setUnderworld(actual.getUnderworld() + (float) effect[2]);
+            } else {
+                tasksFailed++;
+                game.setLives(game.getLives() - 1);
+            }
+            reputationTracker.onTaskSolved(reputation, ad.getCategory(), success);
+            game.setTurn(game.getTurn() + 1);
+        }
+
+        boolean reached = game.getScore() >= parameters.getTargetScore();
+        stats.add(game.getScore(), game.getTurn(), game.getLives() <= 0, reached);
+        return reached ? game.getTurn() : parameters.getMaxTurns();
+    }
+
+    private void fillBoard(SplittableRandom random, List<Advertisement> board) {
+        for (Advertisement ad : board) {
+            int label = sampleLabel(random);
+            double mean = parameters.getMeanRewards()[label];
+            int message = random.nextInt(MESSAGES.length);
+            boolean encrypted = random.nextDouble() < parameters.getEncryptedShare();
+            ad.setAdId(null);
+            ad.setMessage(encrypted ? ENCODED_MESSAGES[message] : MESSAGES[message]);
+            ad.setProbability(encrypted ? ENCODED_LABELS[label] : LABELS[label]);
+            ad.setReward((int) Math.max(1, Math.round(mean * (0.5 + random.nextDouble()))));
+            ad.setExpiresIn(1 + random.nextInt(parameters.getMaxExpiresIn()));
+            ad.setEncrypted(encrypted);
+            ad.setCategory(null);
+        }
+    }
+
+    private int sampleLabel(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < labelCdf.length - 1; i++) {
+            if (u < labelCdf[i]) {
+                return i;
+            }
+        }
+        return labelCdf.length - 1;
+    }
+
+    private static TaskCategory categoryOf(Advertisement ad) {
+        return ad.getCategory() != null ? ad.getCategory() : TaskCategory.UNKNOWN;
+    }
+
+    private static String[] encodeAll(String[] plain) {
+        String[] encoded = new String[plain.length];
+        for (int i = 0; i < plain.length; i++) {
+            encoded[i] = Base64.getEncoder().encodeToString(plain[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return encoded;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double[] cdf = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cdf[i] = running / total;
+        }
+        return cdf;
+    }
+}
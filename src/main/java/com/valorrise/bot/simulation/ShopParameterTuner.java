@@ -0,0 +1,185 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Tunes the shop thresholds of {@link com.valorrise.bot.service.PurchasePlanner} against the simulator
+ * with successive halving: many random configurations are evaluated on a few games, and only the best
+ * {@code 1/eta} of them advance to a round with {@code eta} times as many games, until one is left or the
+ * game budget per configuration is reached.
+ * <p>
+ * Every configuration of a round plays the same seeds, so the comparison within a round is not blurred by
+ * board luck. Configurations of a round are evaluated in parallel on the common ForkJoin pool.
+ * <p>
+ * The objective is the expected number of turns to reach the target score, counting a game that does
+ * not reach it as {@code maxTurns}.
+ */
+public class ShopParameterTuner {
+    private static final int GOLD_STEP = 10;
+
+    private final SimulationParameters parameters;
+    private final StrategyEvaluator evaluator;
+
+    public ShopParameterTuner(SimulationParameters parameters, ApiConfiguration configuration) {
+        this.parameters = parameters;
+        this.evaluator = new StrategyEvaluator(parameters, configuration);
+    }
+
+    /**
+     * @param baseline     the current configuration; always one of the candidates
+     * @param candidates   number of configurations in the first round, including the baseline
+     * @param eta          elimination factor between rounds
+     * @param minGames     games per configuration in the first round
+     * @param maxGames     upper bound on games per configuration in any round
+     */
+    public Result tune(ApiConfiguration.Shop baseline, int candidates, int eta,
+                       long minGames, long maxGames, long seed) {
+        if (candidates < 1 || eta < 2 || minGames < 1 || maxGames < minGames) {
+            throw new IllegalArgumentException("Invalid tuning budget");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Candidate> survivors = new ArrayList<>(candidates);
+        survivors.add(new Candidate(copy(baseline)));
+        while (survivors.size() < candidates) {
+            survivors.add(new Candidate(sample(random, baseline)));
+        }
+
+        long games = minGames;
+        long simulated = 0;
+        int rounds = 0;
+        while (true) {
+            long roundGames = games;
+            long roundSeed = random.nextLong();
+            survivors.parallelStream().forEach(candidate ->
+                    candidate.stats = evaluator.evaluate(candidate.shop, roundGames, roundSeed));
+            simulated += roundGames * survivors.size();
+            rounds++;
+            survivors.sort(Comparator.comparingDouble(candidate -> expectedTurns(candidate.stats)));
+
+            if (survivors.size() == 1 || games >= maxGames) {
+                break;
+            }
+            survivors = new ArrayList<>(survivors.subList(0, Math.max(1, survivors.size() / eta)));
+            games = Math.min(maxGames, games * eta);
+        }
+
+        Candidate best = survivors.get(0);
+        return new Result(best.shop, best.stats, expectedTurns(best.stats), rounds, simulated);
+    }
+
+    /**
+     * Writes the tuned shop configuration as a Spring profile, to be activated with
+     * {@code --spring.profiles.active=tuned} when the file is named {@code application-tuned.yaml}.
+     */
+    public void writeProfile(Result result, Path file) throws IOException {
+        ApiConfiguration.Shop shop = result.getShop();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(String.format(Locale.ROOT, """
+                            # Generated by the shop parameter tuner (game.mode=tune)
+                            # Expected turns to a score of %d: %.1f (%d games, %s)
+                            game:
+                              shop:
+                                min-lives-to-buy: %d
+                                min-gold-to-buy: %d
+                                cheap-upgrade-reserve: %d
+                                expensive-upgrade-reserve: %d
+                                early-game-turns: %d
+                                low-reputation: %.1f
+                            """,
+                    parameters.getTargetScore(), result.getExpectedTurns(), result.getStats().getGames(),
+                    result.getStats(), shop.getMinLivesToBuy(), shop.getMinGoldToBuy(),
+                    shop.getCheapUpgradeReserve(), shop.getExpensiveUpgradeReserve(),
+                    shop.getEarlyGameTurns(), shop.getLowReputation()));
+        }
+    }
+
+    double expectedTurns(EvaluationStats stats) {
+        return stats.getTargetRate() * stats.getMeanTurnsToTarget()
+                + (1 - stats.getTargetRate()) * parameters.getMaxTurns();
+    }
+
+    private static ApiConfiguration.Shop sample(SplittableRandom random, ApiConfiguration.Shop baseline) {
+        ApiConfiguration.Shop shop = copy(baseline);
+        shop.setMinLivesToBuy(random.nextInt(1, 6));
+        shop.setMinGoldToBuy(GOLD_STEP * random.nextInt(1, 16));
+        shop.setCheapUpgradeReserve(GOLD_STEP * random.nextInt(0, 41));
+        shop.setExpensiveUpgradeReserve(GOLD_STEP * random.nextInt(0, 81));
+        shop.setEarlyGameTurns(random.nextInt(0, 31));
+        shop.setLowReputation(random.nextInt(0, 21) / 2f);
+        return shop;
+    }
+
+    private static ApiConfiguration.Shop copy(ApiConfiguration.Shop source) {
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(source.getMinLivesToBuy());
+        shop.setMinGoldToBuy(source.getMinGoldToBuy());
+        shop.setCheapUpgradeReserve(source.getCheapUpgradeReserve());
+        shop.setExpensiveUpgradeReserve(source.getExpensiveUpgradeReserve());
+        shop.setEarlyGameTurns(source.getEarlyGameTurns());
+        shop.setLowReputation(source.getLowReputation());
+        return shop;
+    }
+
+    private static final class Candidate {
+        private final ApiConfiguration.Shop shop;
+        private EvaluationStats stats;
+
+        Candidate(ApiConfiguration.Shop shop) {
+            this.shop = shop;
+        }
+    }
+
+    /**
+     * The best configuration found and how it performed in its last round.
+     */
+    public static final class Result {
+        private final ApiConfiguration.Shop shop;
+        private final EvaluationStats stats;
+        private final double expectedTurns;
+        private final int rounds;
+        private final long gamesSimulated;
+
+        Result(ApiConfiguration.Shop shop, EvaluationStats stats, double expectedTurns, int rounds, long gamesSimulated) {
+            this.shop = shop;
+            this.stats = stats;
+            this.expectedTurns = expectedTurns;
+            this.rounds = rounds;
+            this.gamesSimulated = gamesSimulated;
+        }
+
+        public ApiConfiguration.Shop getShop() {
+            return shop;
+        }
+
+        public EvaluationStats getStats() {
+            return stats;
+        }
+
+        public double getExpectedTurns() {
+            return expectedTurns;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        public long getGamesSimulated() {
+            return gamesSimulated;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.valorrise.bot.simulation;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.model.domain.TurnRecord;
+import com.valorrise.bot.service.TaskCategoryClassifier;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fits {@link SimulationParameters} to recorded games, so that simulated strategy comparisons carry over
+ * to the live API.
+ * <p>
+ * The turn journal ({@link com.valorrise.bot.service.TurnJournal}) has whole boards and feeds every fit:
+ * the label mix, reward, expiry and encryption of ads, per-label success rates, the success bonus of
+ * upgrades, the potion effect and the reputation effect of each task category. Application logs only
+ * show the chosen task and its outcome, so they contribute to the potion and reputation fits only.
+ * <p>
+ * Every fitted value is shrunk towards the prior parameters with {@code priorStrength} pseudo-observations,
+ * so sparse data moves the model only a little. Not thread-safe.
+ */
+public class SimulationCalibrator {
+    private static final int LABELS = ProbabilityLabel.values().length;
+    private static final int CATEGORIES = TaskCategory.values().length;
+    private static final double MAX_UPGRADE_BONUS = 0.1;
+
+    private static final Pattern GAME_START = Pattern.compile("New Adventure Begins! Game ID: \\S+,");
+    private static final Pattern SELECTED = Pattern.compile("Selected Task: '(.*)' \\(ID: ");
+    private static final Pattern ATTEMPTED = Pattern.compile(
+            "Attempted! Success: \\S+ (Yes|No), Lives: \\S+ (-?\\d+), Gold: \\S+ (-?\\d+)");
+    private static final Pattern POTION = Pattern.compile("Purchased Healing Potion! Lives: \\S+ (-?\\d+), Gold: \\S+ (-?\\d+)");
+    private static final Pattern UPGRADE = Pattern.compile("Upgraded with \\S+! Lives: \\S+ (-?\\d+), Gold: \\S+ (-?\\d+)");
+    // All purchases of a turn in one line, as TurnLogConsumer writes them
+    private static final Pattern PURCHASES = Pattern.compile(
+            "Game \\S+ bought \\[(.*)]! Lives: \\S+ (-?\\d+), Gold: \\S+ (-?\\d+)");
+    private static final Pattern REPUTATION = Pattern.compile(
+            "Reputation Check at Turn \\d+ for Game (\\S+): People: \\S+ (-?[\\d.]+), State: \\S+ (-?[\\d.]+), Underworld: \\S+ (-?[\\d.]+)");
+
+    private final double priorStrength;
+    private final TaskCategoryClassifier classifier = new TaskCategoryClassifier();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Board statistics
+    private long boards;
+    private long boardAds;
+    private long encryptedAds;
+    private int maxExpiresIn;
+    private final long[] labelCounts = new long[LABELS];
+    private final double[] rewardSums = new double[LABELS];
+
+    // Outcomes of tasks attempted without upgrades, by label
+    private final long[] attempts = new long[LABELS];
+    private final long[] successes = new long[LABELS];
+    // Outcomes with upgrades, for the bonus per 100 gold x: sums of x, x^2 and x * success by label
+    private final double[] upgradedX = new double[LABELS];
+    private final double[] upgradedXX = new double[LABELS];
+    private final double[] upgradedXS = new double[LABELS];
+
+    private long potions;
+    private long potionLives;
+
+    // Normal equations of the reputation effects: successes per category between two observations
+    // against the observed change of (people, state, underworld)
+    private final double[][] reputationXtX = new double[CATEGORIES][CATEGORIES];
+    private final double[][] reputationXtY = new double[CATEGORIES][3];
+    private long reputationObservations;
+
+    private long turns;
+    private final Map<String, GameTrack> games = new HashMap<>();
+
+    public SimulationCalibrator(double priorStrength) {
+        this.priorStrength = priorStrength;
+    }
+
+    public void readJournal(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    addTurn(mapper.readValue(line, TurnRecord.class));
+                }
+            }
+        }
+    }
+
+    public void addTurn(TurnRecord turn) {
+        turns++;
+        GameTrack game = games.computeIfAbsent(turn.getGameId(), id -> new GameTrack());
+        if (turn.getObservedReputation() != null) {
+            game.observe(turn.getObservedReputation());
+        }
+
+        int potionsBought = 0;
+        if (turn.getPurchases() != null) {
+            for (String item : turn.getPurchases()) {
+                if (ShopItem.HEALING_POTION.getId().equals(item)) {
+                    potionsBought++;
+                }
+            }
+        }
+        if (potionsBought > 0) {
+            potions += potionsBought;
+            potionLives += turn.getLivesAfterPurchases() - turn.getLivesBefore();
+        }
+
+        Advertisement chosen = null;
+        if (turn.getBoard() != null && !turn.getBoard().isEmpty()) {
+            boards++;
+            for (Advertisement ad : turn.getBoard()) {
+                int label = ProbabilityLabel.fromLabel(ad.getProbability()).ordinal();
+                boardAds++;
+                labelCounts[label]++;
+                rewardSums[label] += ad.getReward();
+                maxExpiresIn = Math.max(maxExpiresIn, ad.getExpiresIn());
+                if (ad.isEncrypted()) {
+                    encryptedAds++;
+                }
+                if (ad.getAdId() != null && ad.getAdId().equals(turn.getChosenAdId())) {
+                    chosen = ad;
+                }
+            }
+        }
+        if (chosen == null) {
+            return;
+        }
+
+        int label = ProbabilityLabel.fromLabel(chosen.getProbability()).ordinal();
+        int success = turn.isSuccess() ? 1 : 0;
+        if (turn.getUpgradeGold() == 0) {
+            attempts[label]++;
+            successes[label] += success;
+        } else {
+            double x = turn.getUpgradeGold() / 100.0;
+            upgradedX[label] += x;
+            upgradedXX[label] += x * x;
+            upgradedXS[label] += x * success;
+        }
+        if (turn.isSuccess()) {
+            game.solved(chosen.getCategory() != null ? chosen.getCategory() : classifier.classify(chosen.getMessage()));
+        }
+    }
+
+    /**
+     * Reads an application log written by {@code GameService} and {@code TurnLogConsumer}. Logs from before
+     * purchases were logged per turn, with one line per item bought, are read as well.
+     */
+    public void readLog(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            GameTrack game = null;
+            TaskCategory selected = TaskCategory.UNKNOWN;
+            int lives = 0;
+            int gold = 0;
+            String line;
+            Matcher m;
+            while ((line = reader.readLine()) != null) {
+                if ((m = GAME_START.matcher(line)).find()) {
+                    game = new GameTrack();
+                    lives = Integer.MAX_VALUE;
+                    gold = Integer.MAX_VALUE;
+                } else if (game == null) {
+                    continue;
+                } else if ((m = SELECTED.matcher(line)).find()) {
+                    selected = classifier.classify(m.group(1));
+                } else if ((m = ATTEMPTED.matcher(line)).find()) {
+                    if (m.group(1).equals("Yes")) {
+                        game.solved(selected);
+                    }
+                    lives = Integer.parseInt(m.group(2));
+                    gold = Integer.parseInt(m.group(3));
+                } else if ((m = POTION.matcher(line)).find()) {
+                    int livesNow = Integer.parseInt(m.group(1));
+                    int goldNow = Integer.parseInt(m.group(2));
+                    // Only purchases that demonstrably went through (gold was spent) are counted
+                    if (goldNow < gold && lives != Integer.MAX_VALUE) {
+                        potions++;
+                        potionLives += livesNow - lives;
+                    }
+                    lives = livesNow;
+                    gold = goldNow;
+                } else if ((m = UPGRADE.matcher(line)).find()) {
+                    lives = Integer.parseInt(m.group(1));
+                    gold = Integer.parseInt(m.group(2));
+                } else if ((m = PURCHASES.matcher(line)).find()) {
+                    int bought = potions(m.group(1));
+                    int livesNow = Integer.parseInt(m.group(2));
+                    int goldNow = Integer.parseInt(m.group(3));
+                    // Upgrades don't change lives, so all lives gained are the potions'
+                    if (bought > 0 && goldNow < gold && lives != Integer.MAX_VALUE) {
+                        potions += bought;
+                        potionLives += livesNow - lives;
+                    }
+                    lives = livesNow;
+                    gold = goldNow;
+                } else if ((m = REPUTATION.matcher(line)).find()) {
+                    game.observe(Reputation.builder()
+                            .people(Float.parseFloat(m.group(2)))
+                            .state(Float.parseFloat(m.group(3)))
+                            .underworld(Float.parseFloat(m.group(4)))
+                            .build());
+                }
+            }
+        }
+    }
+
+    private static int potions(String items) {
+        int count = 0;
+        for (String item : items.split(", ")) {
+            if (item.equals(ShopItem.HEALING_POTION.getId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param prior the parameters to start from; not modified
+     * @return a copy of the prior with every parameter the data speaks to refitted
+     */
+    public SimulationParameters fit(SimulationParameters prior) {
+        SimulationParameters fitted = copy(prior);
+        double k = priorStrength;
+
+        if (boards > 0) {
+            fitted.setAdsPerTurn((int) Math.max(1, Math.round((double) boardAds / boards)));
+            fitted.setMaxExpiresIn(Math.max(1, maxExpiresIn));
+            fitted.setEncryptedShare((encryptedAds + k * prior.getEncryptedShare()) / (boardAds + k));
+
+            double priorTotal = 0;
+            for (double weight : prior.getLabelWeights()) {
+                priorTotal += weight;
+            }
+            double[] weights = new double[LABELS];
+            double[] rewards = new double[LABELS];
+            for (int label = 0; label < LABELS; label++) {
+                double priorShare = prior.getLabelWeights()[label] / priorTotal;
+                weights[label] = 100 * (labelCounts[label] + k * priorShare) / (boardAds + k);
+                rewards[label] = (rewardSums[label] + k * prior.getMeanRewards()[label]) / (labelCounts[label] + k);
+            }
+            fitted.setLabelWeights(weights);
+            fitted.setMeanRewards(rewards);
+        }
+
+        double[] rates = prior.getSuccessRates().clone();
+        double bonusNumerator = 0;
+        double bonusDenominator = 0;
+        for (int label = 0; label < LABELS; label++) {
+            if (attempts[label] > 0) {
+                rates[label] = (successes[label] + k * rates[label]) / (attempts[label] + k);
+            }
+            bonusNumerator += upgradedXS[label] - rates[label] * upgradedX[label];
+            bonusDenominator += upgradedXX[label];
+        }
+        fitted.setSuccessRates(rates);
+        if (bonusDenominator > 0) {
+            double bonus = (bonusNumerator + k * prior.getUpgradeBonusPer100Gold()) / (bonusDenominator + k);
+            fitted.setUpgradeBonusPer100Gold(Math.min(MAX_UPGRADE_BONUS, Math.max(0, bonus)));
+        }
+
+        if (potions > 0) {
+            fitted.setPotionLives((int) Math.max(1, Math.round((double) potionLives / potions)));
+        }
+
+        if (reputationObservations > 0) {
+            fitted.setReputationEffects(fitReputationEffects(prior.getReputationEffects(), k));
+        }
+        return fitted;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    public long getBoards() {
+        return boards;
+    }
+
+    public long getPotions() {
+        return potions;
+    }
+
+    public long getReputationObservations() {
+        return reputationObservations;
+    }
+
+    // Ridge regression towards the prior effects: (XtX + kI) b = XtY + k b0, one axis at a time
+    private double[][] fitReputationEffects(double[][] prior, double k) {
+        double[][] effects = new double[CATEGORIES][3];
+        for (int axis = 0; axis < 3; axis++) {
+            double[][] a = new double[CATEGORIES][CATEGORIES + 1];
+            for (int i = 0; i < CATEGORIES; i++) {
+                System.arraycopy(reputationXtX[i], 0, a[i], 0, CATEGORIES);
+                a[i][i] += k;
+                a[i][CATEGORIES] = reputationXtY[i][axis] + k * prior[i][axis];
+            }
+            double[] solution = solve(a);
+            for (int i = 0; i < CATEGORIES; i++) {
+                effects[i][axis] = solution[i];
+            }
+        }
+        return effects;
+    }
+
+    // Gaussian elimination with partial pivoting on an augmented n x (n + 1) matrix
+    private static double[] solve(double[][] a) {
+        int n = a.length;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+                    pivot = row;
+                }
+            }
+            double[] swap = a[col];
+            a[col] = a[pivot];
+            a[pivot] = swap;
+            for (int row = col + 1; row < n; row++) {
+                double factor = a[row][col] / a[col][col];
+                for (int c = col; c <= n; c++) {
+                    a[row][c] -= factor * a[col][c];
+                }
+            }
+        }
+        double[] x = new double[n];
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = a[row][n];
+            for (int c = row + 1; c < n; c++) {
+                sum -= a[row][c] * x[c];
+            }
+            x[row] = sum / a[row][row];
+        }
+        return x;
+    }
+
+    private static SimulationParameters copy(SimulationParameters source) {
+        SimulationParameters copy = new SimulationParameters();
+        copy.setStartingLives(source.getStartingLives());
+        copy.setStartingGold(source.getStartingGold());
+        copy.setAdsPerTurn(source.getAdsPerTurn());
+        copy.setTargetScore(source.getTargetScore());
+        copy.setMaxTurns(source.getMaxTurns());
+        copy.setUpgradeBonusPer100Gold(source.getUpgradeBonusPer100Gold());
+        copy.setPotionLives(source.getPotionLives());
+        copy.setLabelWeights(source.getLabelWeights().clone());
+        copy.setSuccessRates(source.getSuccessRates().clone());
+        copy.setMeanRewards(source.getMeanRewards().clone());
+        copy.setMaxExpiresIn(source.getMaxExpiresIn());
+        copy.setEncryptedShare(source.getEncryptedShare());
+        double[][] effects = new double[source.getReputationEffects().length][];
+        for (int i = 0; i < effects.length; i++) {
+            effects[i] = source.getReputationEffects()[i].clone();
+        }
+        copy.setReputationEffects(effects);
+        return copy;
+    }
+
+    /**
+     * Successful tasks per category since the game's reputation was last observed. Every game starts
+     * with a known neutral reputation.
+     */
+    private final class GameTrack {
+        private final int[] solved = new int[CATEGORIES];
+        private final double[] last = new double[3];
+
+        void solved(TaskCategory category) {
+            solved[category.ordinal()]++;
+        }
+
+        void observe(Reputation reputation) {
+            double[] now = {reputation.getPeople(), reputation.getState(), reputation.getUnderworld()};
+            for (int i = 0; i < CATEGORIES; i++) {
+                if (solved[i] == 0) {
+                    continue;
+                }
+                for (int j = 0; j < CATEGORIES; j++) {
+                    reputationXtX[i][j] += (double) solved[i] * solved[j];
+                }
+                for (int axis = 0; axis < 3; axis++) {
+                    reputationXtY[i][axis] += solved[i] * (now[axis] - last[axis]);
+                }
+            }
+            reputationObservations++;
+            System.arraycopy(now, 0, last, 0, 3);
+            Arrays.fill(solved, 0);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.valorrise.bot.simulation;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.service.ReputationTracker;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Model of the game used by the simulator. Per-label arrays are indexed by
+ * {@link ProbabilityLabel#ordinal()}. The defaults are rough guesses; {@link SimulationCalibrator} fits
+ * them to recorded games and saves them to {@code game.simulation.parameters-file}, which the offline
+ * modes load when it exists.
+ */
+@Data
+public class SimulationParameters {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private int startingLives = 3;
+    private int startingGold = 0;
+    private int adsPerTurn = 10;
+    private int targetScore = 1000;
+    private int maxTurns = 1000;
+
+    // Success probability added per 100 gold worth of upgrades owned
+    private double upgradeBonusPer100Gold = 0.01;
+
+    // Lives restored by a healing potion
+    private int potionLives = 1;
+
+    // How often each label appears on the board (relative weights)
+    private double[] labelWeights = {8, 8, 10, 8, 10, 12, 10, 8, 8, 8};
+
+    // Actual success rate of each label
+    private double[] successRates = {0.95, 0.9, 0.8, 0.7, 0.65, 0.5, 0.4, 0.3, 0.2, 0.05};
+
+    // Mean reward of each label; rewards are drawn uniformly from 0.5x to 1.5x the mean
+    private double[] meanRewards = {20, 25, 30, 40, 45, 60, 75, 90, 110, 150};
+
+    // Ads expire uniformly within 1..maxExpiresIn turns
+    private int maxExpiresIn = 7;
+
+    // Share of ads that arrive encrypted
+    private double encryptedShare = 0;
+
+    // Actual change of (people, state, underworld) when a task succeeds, by TaskCategory ordinal
+    private double[][] reputationEffects = defaultReputationEffects();
+
+    public void validate() {
+        int labels = ProbabilityLabel.values().length;
+        if (labelWeights.length != labels || successRates.length != labels || meanRewards.length != labels) {
+            throw new IllegalArgumentException("Simulation parameters need one value per probability label (" + labels + ")");
+        }
+        if (reputationEffects.length != TaskCategory.values().length) {
+            throw new IllegalArgumentException("Simulation parameters need reputation effects per task category ("
+                    + TaskCategory.values().length + ")");
+        }
+        for (double[] effect : reputationEffects) {
+            if (effect.length != 3) {
+                throw new IllegalArgumentException("Reputation effects need a (people, state, underworld) triple");
+            }
+        }
+        if (maxExpiresIn < 1 || adsPerTurn < 1 || encryptedShare < 0 || encryptedShare > 1) {
+            throw new IllegalArgumentException("Invalid board parameters");
+        }
+    }
+
+    public static SimulationParameters load(Path file) throws IOException {
+        SimulationParameters parameters = MAPPER.readValue(file.toFile(), SimulationParameters.class);
+        parameters.validate();
+        return parameters;
+    }
+
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * @return the calibrated parameters from {@code game.simulation.parameters-file}, or the defaults if
+     * it does not exist
+     */
+    public static SimulationParameters forConfig(ApiConfiguration config) {
+        Path file = Path.of(config.getSimulation().getParametersFile());
+        if (!Files.exists(file)) {
+            return new SimulationParameters();
+        }
+        try {
+            return load(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read simulation parameters " + file, e);
+        }
+    }
+
+    private static double[][] defaultReputationEffects() {
+        double[][] effects = new double[TaskCategory.values().length][];
+        for (TaskCategory category : TaskCategory.values()) {
+            effects[category.ordinal()] = ReputationTracker.successEffect(category);
+        }
+        return effects;
+    }
+}
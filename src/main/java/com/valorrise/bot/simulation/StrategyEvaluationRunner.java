@@ -0,0 +1,42 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Offline mode ({@code game.mode=evaluate}): evaluates the configured shop strategies in simulation
+ * instead of playing live games.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "evaluate")
+public class StrategyEvaluationRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StrategyEvaluationRunner.class);
+    private final ApiConfiguration config;
+
+    public StrategyEvaluationRunner(ApiConfiguration config) {
+        this.config = config;
+    }
+
+    @Override
+    public void run(String... args) {
+        ApiConfiguration.Evaluation evaluation = config.getEvaluation();
+        List<ApiConfiguration.Shop> candidates = evaluation.getCandidates().isEmpty()
+                ? List.of(config.getShop())
+                : evaluation.getCandidates();
+        StrategyEvaluator evaluator = new StrategyEvaluator(SimulationParameters.forConfig(config), config);
+
+        logger.info("🧪 Evaluating {} strategies with {} simulated games each on {} threads",
+                candidates.size(), evaluation.getGames(), Runtime.getRuntime().availableProcessors());
+        for (ApiConfiguration.Shop candidate : candidates) {
+            long start = System.nanoTime();
+            EvaluationStats stats = evaluator.evaluate(candidate, evaluation.getGames(), evaluation.getSeed());
+            logger.info("📊 {} -> {} ({} ms)", candidate, stats, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.service.PurchasePlanner;
+import com.valorrise.bot.service.ReputationTracker;
+import com.valorrise.bot.service.SuccessRateModel;
+import com.valorrise.bot.service.TaskCategoryClassifier;
+import com.valorrise.bot.service.TaskSelectionService;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo evaluation of a shop strategy: plays many simulated games in parallel on the common
+ * {@link ForkJoinPool}. The game range is split recursively and every split hands the left half a
+ * {@link SplittableRandom#split() split} of its parent's generator, from which each game draws its
+ * seed, so results depend only on the seed and the number of games, not on thread scheduling.
+ */
+public class StrategyEvaluator {
+    private static final long GAMES_PER_LEAF = 2_000;
+
+    private final SimulationParameters parameters;
+    private final ApiConfiguration configuration;
+
+    public StrategyEvaluator(SimulationParameters parameters, ApiConfiguration configuration) {
+        this.parameters = parameters;
+        this.configuration = configuration;
+    }
+
+    public EvaluationStats evaluate(ApiConfiguration.Shop strategy, long games, long seed) {
+        TaskSelectionService taskSelectionService = new TaskSelectionService(
+                SuccessRateModel.inMemory(configuration), new TaskCategoryClassifier());
+        GameSimulator simulator = new GameSimulator(parameters, new PurchasePlanner(strategy),
+                new ReputationTracker(configuration), taskSelectionService);
+        return ForkJoinPool.commonPool().invoke(new SimulationTask(simulator, 0, games, new SplittableRandom(seed)));
+    }
+
+    private static final class SimulationTask extends RecursiveTask<EvaluationStats> {
+        private final GameSimulator simulator;
+        private final long from;
+        private final long to;
+        private final SplittableRandom random;
+
+        SimulationTask(GameSimulator simulator, long from, long to, SplittableRandom random) {
+            this.simulator = simulator;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected EvaluationStats compute() {
+            if (to - from <= GAMES_PER_LEAF) {
+                EvaluationStats stats = new EvaluationStats();
+                List<Advertisement> board = simulator.newBoard();
+                for (long game = from; game < to; game++) {
+                    simulator.play(random.nextLong(), board, stats);
+                }
+                return stats;
+            }
+
+            long middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(simulator, from, middle, random.split());
+            SimulationTask right = new SimulationTask(simulator, middle, to, random);
+            left.fork();
+            EvaluationStats stats = right.compute();
+            return stats.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.service.ReputationTracker;
+import com.valorrise.bot.service.SuccessRateModel;
+import com.valorrise.bot.service.TaskCategoryClassifier;
+import com.valorrise.bot.service.TaskSelectionService;
+import com.valorrise.bot.strategy.StrategyRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ranks K candidates, each a pair of task and purchase strategies resolved through the
+ * {@link StrategyRegistry}, by how fast they reach the target score, using as few simulated games as
+ * the evidence allows.
+ * <p>
+ * Games are played in batches; within a batch every strategy plays the same game seeds (common random
+ * numbers), so strategies are compared on paired per-game differences, which removes most of the
+ * board-to-board noise. The (strategy, chunk) pieces of a batch run interleaved on the common
+ * {@link ForkJoinPool}. After each batch the current leader is tested against every other strategy;
+ * the tournament stops as soon as the leader is significantly faster than all of them. The critical
+ * value is Bonferroni-corrected for the K - 1 comparisons and for every look at the data, which keeps
+ * the overall error rate below {@code 1 - confidence} despite stopping early.
+ * <p>
+ * A game that does not reach the target counts as taking {@code maxTurns} turns.
+ */
+public class StrategyTournament {
+    private static final int GAMES_PER_CHUNK = 250;
+
+    private final SimulationParameters parameters;
+    private final ApiConfiguration configuration;
+
+    public StrategyTournament(SimulationParameters parameters, ApiConfiguration configuration) {
+        this.parameters = parameters;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @param strategies the candidates, e.g. from {@link StrategyRegistry#fixed}
+     */
+    public TournamentResult run(List<StrategyRegistry.Cohort> strategies, double confidence,
+                                int batchGames, long maxGames, long seed) {
+        int k = strategies.size();
+        if (k < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two strategies");
+        }
+        List<GameSimulator> simulators = new ArrayList<>(k);
+        for (StrategyRegistry.Cohort strategy : strategies) {
+            TaskSelectionService taskSelectionService = new TaskSelectionService(
+                    SuccessRateModel.inMemory(configuration), new TaskCategoryClassifier());
+            simulators.add(new GameSimulator(parameters, strategy.getTaskStrategy(), strategy.getPurchaseStrategy(),
+                    new ReputationTracker(configuration), taskSelectionService));
+        }
+
+        long maxLooks = Math.max(1, (maxGames + batchGames - 1) / batchGames);
+        double critical = inverseNormal(1 - (1 - confidence) / (2.0 * (k - 1) * maxLooks));
+
+        double[] turnSums = new double[k];
+        // Paired differences turns[i] - turns[j], upper triangle
+        double[][] diffSums = new double[k][k];
+        double[][] diffSquares = new double[k][k];
+        EvaluationStats[] stats = new EvaluationStats[k];
+        for (int i = 0; i < k; i++) {
+            stats[i] = new EvaluationStats();
+        }
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long games = 0;
+        int leader = 0;
+        boolean decided = false;
+        while (games < maxGames && !decided) {
+            int batch = (int) Math.min(batchGames, maxGames - games);
+            long[] batchSeeds = new long[batch];
+            for (int g = 0; g < batch; g++) {
+                batchSeeds[g] = seeds.nextLong();
+            }
+
+            int[][] turns = playBatch(simulators, batchSeeds, stats);
+            for (int g = 0; g < batch; g++) {
+                for (int i = 0; i < k; i++) {
+                    turnSums[i] += turns[i][g];
+                    for (int j = i + 1; j < k; j++) {
+                        double d = turns[i][g] - turns[j][g];
+                        diffSums[i][j] += d;
+                        diffSquares[i][j] += d * d;
+                    }
+                }
+            }
+            games += batch;
+
+            leader = 0;
+            for (int i = 1; i < k; i++) {
+                if (turnSums[i] < turnSums[leader]) {
+                    leader = i;
+                }
+            }
+            decided = true;
+            for (int j = 0; j < k && decided; j++) {
+                if (j != leader && zScore(leader, j, diffSums, diffSquares, games) > -critical) {
+                    decided = false;
+                }
+            }
+        }
+
+        List<TournamentResult.Entry> ranking = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            double meanDiff = pairedSum(i, leader, diffSums) / games;
+            double sd = Math.sqrt(pairedVariance(i, leader, diffSums, diffSquares, games));
+            ranking.add(new TournamentResult.Entry(strategies.get(i), stats[i], turnSums[i] / games,
+                    meanDiff, sd == 0 ? 0 : meanDiff / sd));
+        }
+        ranking.sort(Comparator.comparingDouble(TournamentResult.Entry::getMeanTurns));
+        return new TournamentResult(ranking, games, decided, confidence);
+    }
+
+    private int[][] playBatch(List<GameSimulator> simulators, long[] batchSeeds, EvaluationStats[] stats) {
+        int k = simulators.size();
+        int[][] turns = new int[k][batchSeeds.length];
+        EvaluationStats[][] chunkStats = new EvaluationStats[k][];
+        List<RecursiveAction> chunks = new ArrayList<>();
+        int chunkCount = (batchSeeds.length + GAMES_PER_CHUNK - 1) / GAMES_PER_CHUNK;
+        // Strategy-minor order so that all strategies progress through the batch together
+        for (int c = 0; c < chunkCount; c++) {
+            for (int s = 0; s < k; s++) {
+                if (chunkStats[s] == null) {
+                    chunkStats[s] = new EvaluationStats[chunkCount];
+                }
+                EvaluationStats chunk = new EvaluationStats();
+                chunkStats[s][c] = chunk;
+                GameSimulator simulator = simulators.get(s);
+                int[] out = turns[s];
+                int from = c * GAMES_PER_CHUNK;
+                int to = Math.min(batchSeeds.length, from + GAMES_PER_CHUNK);
+                chunks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        List<Advertisement> board = simulator.newBoard();
+                        for (int g = from; g < to; g++) {
+                            out[g] = simulator.play(batchSeeds[g], board, chunk);
+                        }
+                    }
+                });
+            }
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(chunks);
+            }
+        });
+        for (int s = 0; s < k; s++) {
+            for (EvaluationStats chunk : chunkStats[s]) {
+                stats[s].merge(chunk);
+            }
+        }
+        return turns;
+    }
+
+    // z statistic of the mean paired difference turns[a] - turns[b]; negative when a is faster
+    private static double zScore(int a, int b, double[][] diffSums, double[][] diffSquares, long n) {
+        double variance = pairedVariance(a, b, diffSums, diffSquares, n);
+        if (variance == 0) {
+            return pairedSum(a, b, diffSums) < 0 ? Double.NEGATIVE_INFINITY : 0;
+        }
+        return (pairedSum(a, b, diffSums) / n) / Math.sqrt(variance / n);
+    }
+
+    private static double pairedSum(int a, int b, double[][] diffSums) {
+        if (a == b) {
+            return 0;
+        }
+        return a < b ? diffSums[a][b] : -diffSums[b][a];
+    }
+
+    private static double pairedVariance(int a, int b, double[][] diffSums, double[][] diffSquares, long n) {
+        if (a == b || n < 2) {
+            return 0;
+        }
+        int i = Math.min(a, b);
+        int j = Math.max(a, b);
+        double mean = diffSums[i][j] / n;
+        return Math.max(0, (diffSquares[i][j] - n * mean * mean) / (n - 1));
+    }
+
+    /**
+     * Inverse of the standard normal CDF (Acklam's rational approximation, relative error below 1.2e-9).
+     */
+    static double inverseNormal(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("p must be in (0, 1): " + p);
+        }
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -inverseNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
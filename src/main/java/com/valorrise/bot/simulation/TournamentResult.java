@@ -0,0 +1,33 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.strategy.StrategyRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link StrategyTournament}: strategies ranked by mean turns to the target score, each
+ * with its effect relative to the leader.
+ */
+@Data
+@AllArgsConstructor
+public class TournamentResult {
+    private List<Entry> ranking;
+    private long gamesPerStrategy;
+    // Whether the leader was significantly faster than every other strategy before the game budget ran out
+    private boolean decided;
+    private double confidence;
+
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        private StrategyRegistry.Cohort strategy;
+        private EvaluationStats stats;
+        private double meanTurns;
+        // Mean paired difference in turns against the leader (positive: slower)
+        private double turnsBehindLeader;
+        // Cohen's d of the paired differences against the leader
+        private double effectSize;
+    }
+}
@@ -0,0 +1,59 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline mode ({@code game.mode=tournament}): ranks the configured pairs of task and purchase strategies
+ * ({@code game.tournament.candidates}) and stops as soon as the winner is statistically clear.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "tournament")
+public class TournamentRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TournamentRunner.class);
+    private final ApiConfiguration config;
+    private final StrategyRegistry strategyRegistry;
+
+    public TournamentRunner(ApiConfiguration config, StrategyRegistry strategyRegistry) {
+        this.config = config;
+        this.strategyRegistry = strategyRegistry;
+    }
+
+    @Override
+    public void run(String... args) {
+        ApiConfiguration.Tournament tournament = config.getTournament();
+        if (tournament.getCandidates().size() < 2) {
+            logger.error("❌ A tournament needs at least two strategy pairs under game.tournament.candidates");
+            return;
+        }
+        List<StrategyRegistry.Cohort> candidates = new ArrayList<>();
+        for (ApiConfiguration.Candidate candidate : tournament.getCandidates()) {
+            candidates.add(strategyRegistry.fixed(candidate.getTask() + "+" + candidate.getPurchase(),
+                    candidate.getTask(), candidate.getPurchase()));
+        }
+
+        logger.info("🏁 Running a tournament of {} strategies (confidence {}, up to {} games each)",
+                candidates.size(), tournament.getConfidence(), tournament.getMaxGames());
+        long start = System.nanoTime();
+        TournamentResult result = new StrategyTournament(SimulationParameters.forConfig(config), config).run(candidates,
+                tournament.getConfidence(), tournament.getBatchGames(), tournament.getMaxGames(), tournament.getSeed());
+
+        logger.info("🏆 {} after {} games per strategy ({} ms)",
+                result.isDecided() ? "Winner is significant" : "No significant winner",
+                result.getGamesPerStrategy(), (System.nanoTime() - start) / 1_000_000);
+        int rank = 1;
+        for (TournamentResult.Entry entry : result.getRanking()) {
+            logger.info("{}. {} -> {} turns (+{} vs leader, d={}) {}", rank++, entry.getStrategy().getName(),
+                    String.format("%.1f", entry.getMeanTurns()), String.format("%.2f", entry.getTurnsBehindLeader()),
+                    String.format("%.3f", entry.getEffectSize()), entry.getStats());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Offline mode ({@code game.mode=tune}): searches the shop thresholds in simulation and writes the best
+ * configuration found as a Spring profile.
+ */
+@Component
+@ConditionalOnProperty(name = "game.mode", havingValue = "tune")
+public class TuningRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TuningRunner.class);
+    private final ApiConfiguration config;
+
+    public TuningRunner(ApiConfiguration config) {
+        this.config = config;
+    }
+
+    @Override
+    public void run(String... args) throws IOException {
+        ApiConfiguration.Tuning tuning = config.getTuning();
+        ShopParameterTuner tuner = new ShopParameterTuner(SimulationParameters.forConfig(config), config);
+
+        logger.info("🎛️ Tuning shop parameters: {} candidates, eta {}, {}..{} games each",
+                tuning.getCandidates(), tuning.getEta(), tuning.getMinGames(), tuning.getMaxGames());
+        long start = System.nanoTime();
+        ShopParameterTuner.Result result = tuner.tune(config.getShop(), tuning.getCandidates(), tuning.getEta(),
+                tuning.getMinGames(), tuning.getMaxGames(), tuning.getSeed());
+        Path output = Path.of(tuning.getOutput());
+        tuner.writeProfile(result, output);
+
+        logger.info("🏆 Best {} -> {} expected turns to target, {} ({} rounds, {} games, {} ms)",
+                result.getShop(), String.format("%.1f", result.getExpectedTurns()), result.getStats(),
+                result.getRounds(), result.getGamesSimulated(), (System.nanoTime() - start) / 1_000_000);
+        logger.info("💾 Wrote {}; activate it with --spring.profiles.active=tuned", output.toAbsolutePath());
+    }
+}
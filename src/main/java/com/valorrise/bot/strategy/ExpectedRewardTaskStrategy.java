@@ -0,0 +1,33 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.service.SuccessRateModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maximises expected reward: the reward weighted by the learned success rate of the task's label and
+ * category.
+ */
+@Component
+public class ExpectedRewardTaskStrategy implements TaskStrategy {
+    public static final String NAME = "expected-reward";
+
+    private final SuccessRateModel successRateModel;
+
+    public ExpectedRewardTaskStrategy(SuccessRateModel successRateModel) {
+        this.successRateModel = successRateModel;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public double score(Advertisement ad) {
+        return ad.getReward() * successRateModel.estimate(ProbabilityLabel.fromLabel(ad.getProbability()),
+                ad.getCategory() != null ? ad.getCategory() : TaskCategory.UNKNOWN);
+    }
+}
@@ -0,0 +1,53 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Baseline that never upgrades: buys a healing potion whenever lives drop below {@code minLivesToBuy},
+ * under the same gold reserve as the planner.
+ */
+@Component
+public class PotionsOnlyPurchaseStrategy implements PurchaseStrategy {
+    public static final String NAME = "potions-only";
+    private static final List<ShopItem> POTION = List.of(ShopItem.HEALING_POTION);
+
+    private final int minLivesToBuy;
+    private final int minGoldToBuy;
+
+    @Autowired
+    public PotionsOnlyPurchaseStrategy(ApiConfiguration config) {
+        this(config.getShop());
+    }
+
+    public PotionsOnlyPurchaseStrategy(ApiConfiguration.Shop shop) {
+        this.minLivesToBuy = shop.getMinLivesToBuy();
+        this.minGoldToBuy = shop.getMinGoldToBuy();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<ShopItem> plan(Game game, ItemCatalog catalog, long owned,
+                               int tasksFailed, int tasksCompleted, Reputation reputation) {
+        if (catalog == null) {
+            catalog = ItemCatalog.DEFAULT;
+        }
+        if (game.getLives() < minLivesToBuy && catalog.contains(ShopItem.HEALING_POTION)
+                && game.getGold() >= catalog.cost(ShopItem.HEALING_POTION) + minGoldToBuy) {
+            return POTION;
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+
+import java.util.List;
+
+/**
+ * Decides what a game buys at the start of each turn. Implementations are shared by concurrent games
+ * and must be thread-safe.
+ */
+public interface PurchaseStrategy {
+
+    /**
+     * @return the unique name this strategy is registered and configured under
+     */
+    String getName();
+
+    /**
+     * @param owned bitmask of upgrades already bought in this game (see {@link ShopItem#mask()})
+     * @return the items to buy this turn, in order; empty if nothing should be bought
+     */
+    List<ShopItem> plan(Game game, ItemCatalog catalog, long owned,
+                        int tasksFailed, int tasksCompleted, Reputation reputation);
+}
@@ -0,0 +1,35 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.service.SuccessRateModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Protects lives: picks the task most likely to succeed, using the reward only to break ties.
+ */
+@Component
+public class SafestTaskStrategy implements TaskStrategy {
+    public static final String NAME = "safest";
+    // Success rates are compared in steps of 0.001, each step outweighing any reward
+    private static final double RATE_STEP_WEIGHT = 100_000;
+
+    private final SuccessRateModel successRateModel;
+
+    public SafestTaskStrategy(SuccessRateModel successRateModel) {
+        this.successRateModel = successRateModel;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public double score(Advertisement ad) {
+        double successRate = successRateModel.estimate(ProbabilityLabel.fromLabel(ad.getProbability()),
+                ad.getCategory() != null ? ad.getCategory() : TaskCategory.UNKNOWN);
+        return Math.round(successRate * 1000) * RATE_STEP_WEIGHT + ad.getReward();
+    }
+}
@@ -0,0 +1,209 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Looks up the {@link TaskStrategy} and {@link PurchaseStrategy} beans by name and splits games into
+ * cohorts that each play with their own pair of strategies.
+ * <p>
+ * The cohorts are an immutable list behind an {@link AtomicReference}: {@link #swap} publishes a new list
+ * without any locking, and {@link #assign} pins a game to its cohort's strategies when it starts. A swap
+ * therefore applies to games started afterwards, while in-flight games finish undisturbed on the
+ * strategies they started with.
+ */
+@Component
+public class StrategyRegistry {
+    public static final String DEFAULT_COHORT = "default";
+    private static final Logger logger = LoggerFactory.getLogger(StrategyRegistry.class);
+
+    private final Map<String, TaskStrategy> taskStrategies;
+    private final Map<String, PurchaseStrategy> purchaseStrategies;
+    private final AtomicReference<List<Cohort>> cohorts;
+
+    public StrategyRegistry(List<TaskStrategy> taskStrategies, List<PurchaseStrategy> purchaseStrategies,
+                            ApiConfiguration config) {
+        this.taskStrategies = byName(taskStrategies, TaskStrategy::getName);
+        this.purchaseStrategies = byName(purchaseStrategies, PurchaseStrategy::getName);
+
+        ApiConfiguration.Strategy strategy = config.getStrategy();
+        List<Cohort> configured = new ArrayList<>();
+        configured.add(new Cohort(DEFAULT_COHORT, strategy.getWeight(),
+                taskStrategy(strategy.getTask()), purchaseStrategy(strategy.getPurchase())));
+        for (ApiConfiguration.Cohort cohort : strategy.getCohorts()) {
+            if (find(configured, cohort.getName()) != null) {
+                throw new IllegalStateException("Duplicate strategy cohort: " + cohort.getName());
+            }
+            configured.add(new Cohort(cohort.getName(), cohort.getWeight(),
+                    taskStrategy(cohort.getTask()), purchaseStrategy(cohort.getPurchase())));
+        }
+        if (configured.stream().mapToInt(Cohort::getWeight).sum() <= 0) {
+            throw new IllegalStateException("At least one strategy cohort needs a positive weight");
+        }
+        this.cohorts = new AtomicReference<>(Collections.unmodifiableList(configured));
+    }
+
+    public Set<String> getTaskStrategyNames() {
+        return taskStrategies.keySet();
+    }
+
+    public Set<String> getPurchaseStrategyNames() {
+        return purchaseStrategies.keySet();
+    }
+
+    public List<Cohort> getCohorts() {
+        return cohorts.get();
+    }
+
+    /**
+     * Picks the cohort a game plays in, in proportion to the cohort weights. The choice only depends on
+     * the game id, so a game keeps its cohort even if it is looked up again.
+     */
+    public Cohort assign(String gameId) {
+        List<Cohort> current = cohorts.get();
+        int total = 0;
+        for (Cohort cohort : current) {
+            total += cohort.getWeight();
+        }
+        int ticket = Math.floorMod(gameId != null ? gameId.hashCode() : 0, total);
+        for (Cohort cohort : current) {
+            ticket -= cohort.getWeight();
+            if (ticket < 0) {
+                return cohort;
+            }
+        }
+        throw new IllegalStateException("No strategy cohort with a positive weight");
+    }
+
+    /**
+     * Replaces the strategies of a cohort for all games started from now on.
+     *
+     * @param task     name of the new task strategy, or {@code null} to keep the current one
+     * @param purchase name of the new purchase strategy, or {@code null} to keep the current one
+     * @return the updated cohort
+     * @throws IllegalArgumentException if the cohort or a strategy is unknown
+     */
+    public Cohort swap(String cohortName, String task, String purchase) {
+        TaskStrategy taskStrategy = task != null ? taskStrategy(task) : null;
+        PurchaseStrategy purchaseStrategy = purchase != null ? purchaseStrategy(purchase) : null;
+        while (true) {
+            List<Cohort> current = cohorts.get();
+            Cohort old = find(current, cohortName);
+            if (old == null) {
+                throw new IllegalArgumentException("Unknown strategy cohort: " + cohortName);
+            }
+            Cohort updated = new Cohort(old.getName(), old.getWeight(),
+                    taskStrategy != null ? taskStrategy : old.getTaskStrategy(),
+                    purchaseStrategy != null ? purchaseStrategy : old.getPurchaseStrategy());
+            List<Cohort> next = new ArrayList<>(current);
+            next.set(current.indexOf(old), updated);
+            if (cohorts.compareAndSet(current, Collections.unmodifiableList(next))) {
+                logger.info("🔀 Cohort '{}' now plays task strategy '{}' and purchase strategy '{}'",
+                        cohortName, updated.getTaskStrategy().getName(), updated.getPurchaseStrategy().getName());
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Builds a cohort outside the configured split, for games that have to play fixed strategies.
+     *
+     * @param task     name of the task strategy, or {@code null} for the default cohort's
+     * @param purchase name of the purchase strategy, or {@code null} for the default cohort's
+     * @throws IllegalArgumentException if a strategy is unknown
+     */
+    public Cohort fixed(String name, String task, String purchase) {
+        Cohort defaults = find(cohorts.get(), DEFAULT_COHORT);
+        return new Cohort(name, 0,
+                task != null ? taskStrategy(task) : defaults.getTaskStrategy(),
+                purchase != null ? purchaseStrategy(purchase) : defaults.getPurchaseStrategy());
+    }
+
+    /**
+     * @throws IllegalArgumentException if no task strategy has this name
+     */
+    public TaskStrategy getTaskStrategy(String name) {
+        return taskStrategy(name);
+    }
+
+    private TaskStrategy taskStrategy(String name) {
+        TaskStrategy strategy = taskStrategies.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown task strategy '" + name + "', available: "
+                    + taskStrategies.keySet());
+        }
+        return strategy;
+    }
+
+    private PurchaseStrategy purchaseStrategy(String name) {
+        PurchaseStrategy strategy = purchaseStrategies.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown purchase strategy '" + name + "', available: "
+                    + purchaseStrategies.keySet());
+        }
+        return strategy;
+    }
+
+    private static Cohort find(List<Cohort> cohorts, String name) {
+        for (Cohort cohort : cohorts) {
+            if (cohort.getName().equals(name)) {
+                return cohort;
+            }
+        }
+        return null;
+    }
+
+    private static <T> Map<String, T> byName(List<T> strategies, Function<T, String> name) {
+        Map<String, T> byName = new LinkedHashMap<>();
+        for (T strategy : strategies) {
+            if (byName.putIfAbsent(name.apply(strategy), strategy) != null) {
+                throw new IllegalStateException("Duplicate strategy name: " + name.apply(strategy));
+            }
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * A named share of the games and the strategies they play with.
+     */
+    public static final class Cohort {
+        private final String name;
+        private final int weight;
+        private final TaskStrategy taskStrategy;
+        private final PurchaseStrategy purchaseStrategy;
+
+        Cohort(String name, int weight, TaskStrategy taskStrategy, PurchaseStrategy purchaseStrategy) {
+            this.name = name;
+            this.weight = weight;
+            this.taskStrategy = taskStrategy;
+            this.purchaseStrategy = purchaseStrategy;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public TaskStrategy getTaskStrategy() {
+            return taskStrategy;
+        }
+
+        public PurchaseStrategy getPurchaseStrategy() {
+            return purchaseStrategy;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.model.domain.Advertisement;
+
+/**
+ * Decides which task a game attempts. {@link com.valorrise.bot.service.TaskSelectionService} decodes,
+ * categorises and filters out traps, then takes the advertisement with the highest score.
+ * Implementations are shared by concurrent games and must be thread-safe.
+ */
+public interface TaskStrategy {
+
+    /**
+     * @return the unique name this strategy is registered and configured under
+     */
+    String getName();
+
+    /**
+     * @param ad a decoded, categorised advertisement that is not a trap
+     * @return how desirable the task is; higher is better
+     */
+    double score(Advertisement ad);
+}
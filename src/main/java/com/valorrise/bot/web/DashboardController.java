@@ -0,0 +1,43 @@
+package com.valorrise.bot.web;
+
+import com.valorrise.bot.dashboard.DashboardAggregator;
+import com.valorrise.bot.dashboard.DashboardStream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live game progress: a server-sent event stream of dashboard frames, and the aggregates of the last
+ * frame for clients that poll.
+ */
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+    private final DashboardStream dashboardStream;
+
+    public DashboardController(DashboardStream dashboardStream) {
+        this.dashboardStream = dashboardStream;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        try {
+            return dashboardStream.subscribe();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping
+    public DashboardAggregator.Aggregates getAggregates() {
+        DashboardAggregator.Aggregates latest = dashboardStream.getLatest();
+        if (latest == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No dashboard frame yet");
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,133 @@
+package com.valorrise.bot.web;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameRunManager;
+import com.valorrise.bot.service.GameStatistics;
+import com.valorrise.bot.service.TaskSelectionService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+/**
+ * Control API for game runs: start, pause, resume, scale and stop a run, list the games in flight with
+ * their current turn, lives, gold and score, summarize the games played and show how well decoded ads
+ * are cached. Requests that don't fit
+ * the run's current state are answered with 409.
+ */
+@RestController
+@RequestMapping("/admin/runs")
+public class GameRunController {
+    private final GameRunManager gameRunManager;
+    private final GameStatistics gameStatistics;
+    private final TaskSelectionService taskSelectionService;
+    private final ApiConfiguration.Run defaults;
+
+    public GameRunController(GameRunManager gameRunManager, GameStatistics gameStatistics,
+                             TaskSelectionService taskSelectionService, ApiConfiguration config) {
+        this.gameRunManager = gameRunManager;
+        this.gameStatistics = gameStatistics;
+        this.taskSelectionService = taskSelectionService;
+        this.defaults = config.getRun();
+    }
+
+    @GetMapping
+    public GameRunManager.RunStatus getStatus() {
+        return gameRunManager.getStatus();
+    }
+
+    /**
+     * Distributions of the final statistics of the games of the current or last run.
+     */
+    @GetMapping("/statistics")
+    public GameStatistics.Summary getStatistics() {
+        return gameStatistics.getSummary();
+    }
+
+    /**
+     * Hits and misses of the cache of decoded ad messages and probability labels since startup.
+     */
+    @GetMapping("/decode-cache")
+    public DecodeCacheView getDecodeCache() {
+        CacheStats stats = taskSelectionService.getDecodeCacheStats();
+        return new DecodeCacheView(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+
+    /**
+     * Starts a run; settings left out of the request are taken from {@code game.run}.
+     */
+    @PostMapping
+    public GameRunManager.RunStatus start(@RequestBody(required = false) RunRequest request) {
+        RunRequest settings = request != null ? request : new RunRequest();
+        return call(() -> gameRunManager.start(
+                settings.getConcurrency() != null ? settings.getConcurrency() : defaults.getConcurrency(),
+                settings.getGames() != null ? settings.getGames() : defaults.getGames(),
+                settings.getTask() != null ? settings.getTask() : defaults.getTask(),
+                settings.getPurchase() != null ? settings.getPurchase() : defaults.getPurchase()));
+    }
+
+    @PatchMapping
+    public GameRunManager.RunStatus scale(@RequestBody RunRequest request) {
+        return call(() -> gameRunManager.scale(request.getConcurrency(), request.getGames(),
+                request.getTask(), request.getPurchase()));
+    }
+
+    @PostMapping("/pause")
+    public GameRunManager.RunStatus pause() {
+        return call(gameRunManager::pause);
+    }
+
+    @PostMapping("/resume")
+    public GameRunManager.RunStatus resume() {
+        return call(gameRunManager::resume);
+    }
+
+    /**
+     * Stops the run, by default letting the games in flight play to the end.
+     */
+    @PostMapping("/stop")
+    public GameRunManager.RunStatus stop(@RequestParam(defaultValue = "true") boolean drain) {
+        return gameRunManager.stop(drain);
+    }
+
+    private static GameRunManager.RunStatus call(Supplier<GameRunManager.RunStatus> action) {
+        try {
+            return action.get();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class DecodeCacheView {
+        private long hits;
+        private long misses;
+        // 1.0 until the first lookup
+        private double hitRate;
+        private long evictions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class RunRequest {
+        // Any may be omitted: start falls back to game.run, scale keeps the current setting
+        private Integer concurrency;
+        private Long games;
+        private String task;
+        private String purchase;
+    }
+}
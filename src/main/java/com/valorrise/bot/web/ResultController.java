@@ -0,0 +1,68 @@
+package com.valorrise.bot.web;
+
+import com.valorrise.bot.results.ResultStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queries over the history of played turns and games in the {@link ResultStore}, e.g.
+ * {@code GET /admin/results/turns?groupBy=task,label&where=success:true&measure=reward}.
+ */
+@RestController
+@RequestMapping("/admin/results")
+public class ResultController {
+    private final ResultStore resultStore;
+
+    public ResultController(ResultStore resultStore) {
+        this.resultStore = resultStore;
+    }
+
+    @GetMapping
+    public ResultStore.Status getStatus() {
+        return resultStore.getStatus();
+    }
+
+    /**
+     * @param where   filters as {@code column:value}, all of which a row must match
+     * @param groupBy dimension columns to group by
+     * @param measure a measure column to sum up per group
+     */
+    @GetMapping("/{table}")
+    public ResultStore.QueryResult query(@PathVariable String table,
+                                         @RequestParam(required = false) List<String> where,
+                                         @RequestParam(required = false) List<String> groupBy,
+                                         @RequestParam(required = false) String measure) {
+        try {
+            return resultStore.query(new ResultStore.Query(table, filters(where), groupBy, measure));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, String> filters(List<String> where) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (where == null) {
+            return filters;
+        }
+        for (String filter : where) {
+            int separator = filter.indexOf(':');
+            if (separator <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Filters are column:value, not " + filter);
+            }
+            filters.put(filter.substring(0, separator).trim(), filter.substring(separator + 1).trim());
+        }
+        return filters;
+    }
+}
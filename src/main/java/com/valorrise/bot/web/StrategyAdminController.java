@@ -0,0 +1,93 @@
+package com.valorrise.bot.web;
+
+import com.valorrise.bot.service.ShadowEvaluator;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Admin API for inspecting the strategy cohorts and hot-swapping their strategies, and for the results
+ * of shadow mode. A swap applies to games started after it; games in flight are never paused.
+ */
+@RestController
+@RequestMapping("/admin/strategies")
+public class StrategyAdminController {
+    private final StrategyRegistry strategyRegistry;
+    private final ShadowEvaluator shadowEvaluator;
+
+    public StrategyAdminController(StrategyRegistry strategyRegistry, ShadowEvaluator shadowEvaluator) {
+        this.strategyRegistry = strategyRegistry;
+        this.shadowEvaluator = shadowEvaluator;
+    }
+
+    @GetMapping
+    public Strategies getStrategies() {
+        return new Strategies(strategyRegistry.getTaskStrategyNames(), strategyRegistry.getPurchaseStrategyNames(),
+                strategyRegistry.getCohorts().stream().map(StrategyAdminController::toView).toList());
+    }
+
+    @PutMapping("/cohorts/{cohort}")
+    public CohortView swap(@PathVariable String cohort, @RequestBody SwapRequest request) {
+        try {
+            return toView(strategyRegistry.swap(cohort, request.getTask(), request.getPurchase()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/shadow")
+    public ShadowView getShadow() {
+        return new ShadowView(shadowEvaluator.isEnabled(), shadowEvaluator.getDroppedBoards(),
+                shadowEvaluator.getReports());
+    }
+
+    private static CohortView toView(StrategyRegistry.Cohort cohort) {
+        return new CohortView(cohort.getName(), cohort.getWeight(),
+                cohort.getTaskStrategy().getName(), cohort.getPurchaseStrategy().getName());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Strategies {
+        private Set<String> taskStrategies;
+        private Set<String> purchaseStrategies;
+        private List<CohortView> cohorts;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class CohortView {
+        private String name;
+        private int weight;
+        private String task;
+        private String purchase;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ShadowView {
+        private boolean enabled;
+        private long droppedBoards;
+        private List<ShadowEvaluator.Report> reports;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class SwapRequest {
+        // Either may be omitted to keep the cohort's current strategy
+        private String task;
+        private String purchase;
+    }
+}
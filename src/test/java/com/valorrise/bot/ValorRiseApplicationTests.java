@@ -3,7 +3,7 @@ package com.valorrise.bot;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest(properties = {"game.interactive=false"})
+@SpringBootTest(properties = {"game.run.auto-start=false"})
 class ValorRiseApplicationTests {
 
     @Test
@@ -0,0 +1,63 @@
+package com.valorrise.bot.api.client;
+
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.Game;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameApiDecoderTest {
+
+    private final GameApiDecoder decoder = new GameApiDecoder();
+
+    @Test
+    void shouldDecodeGameDirectly_ignoringUnknownProperties() throws Exception {
+        // Given
+        String json = "{\"gameId\":\"abc\",\"lives\":3,\"gold\":0,\"score\":0,\"turn\":0,\"highScore\":0}";
+
+        // When
+        Object result = decoder.decode(response(200, json), Game.class);
+
+        // Then
+        assertThat(result).isEqualTo(Game.builder().gameId("abc").lives(3).build());
+    }
+
+    @Test
+    void shouldDecodeAdvertisementList() throws Exception {
+        // Given
+        String json = "[{\"adId\":\"a1\",\"message\":\"Help\",\"reward\":10,\"expiresIn\":7,\"probability\":\"Piece of cake\"}]";
+        Type type = GameApiClient.class.getMethod("getAdvertisements", String.class).getGenericReturnType();
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<Advertisement> result = (List<Advertisement>) decoder.decode(response(200, json), type);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getAdId()).isEqualTo("a1");
+        assertThat(result.get(0).getProbability()).isEqualTo("Piece of cake");
+    }
+
+    @Test
+    void shouldReturnNull_whenBodyIsEmpty() throws Exception {
+        assertThat(decoder.decode(response(200, ""), Game.class)).isNull();
+    }
+
+    private static Response response(int status, String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://localhost/game", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.valorrise.bot.api.client;
+
+import com.valorrise.bot.exception.GameApiException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameApiErrorDecoderTest {
+
+    private final GameApiErrorDecoder decoder = new GameApiErrorDecoder();
+
+    @Test
+    void shouldThrowStacklessException_forExpectedStatus() {
+        // When
+        GameApiException exception = (GameApiException) decoder.decode("solve", response(400, "{\"message\":\"Ad expired\"}"));
+
+        // Then
+        assertThat(exception.getStatus()).isEqualTo(400);
+        assertThat(exception.isExpected()).isTrue();
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo("Bad request: Ad expired");
+    }
+
+    @Test
+    void shouldKeepStackTrace_forServerErrors() {
+        // When
+        GameApiException exception = (GameApiException) decoder.decode("solve", response(503, "{\"message\":\"Down\"}"));
+
+        // Then
+        assertThat(exception.isExpected()).isFalse();
+        assertThat(exception.getStackTrace()).isNotEmpty();
+        assertThat(exception.getMessage()).isEqualTo("Server error: Down");
+    }
+
+    @Test
+    void shouldFallBackToUnknownError_whenBodyIsNotJson() {
+        // When
+        GameApiException exception = (GameApiException) decoder.decode("solve", response(404, "gone"));
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("Resource not found: Unknown error occurred");
+    }
+
+    private static Response response(int status, String body) {
+        Request request = Request.create(Request.HttpMethod.POST, "http://localhost/solve", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.valorrise.bot.dashboard;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.profiling.ApiLatencies;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DashboardAggregatorTest {
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ApiConfiguration config = config();
+    private final ApiLatencies apiLatencies = new ApiLatencies(config);
+    private final DashboardAggregator aggregator = new DashboardAggregator(config, apiLatencies, now::get);
+
+    private static ApiConfiguration config() {
+        ApiConfiguration config = new ApiConfiguration();
+        config.getDashboard().setWindow(Duration.ofMinutes(1));
+        return config;
+    }
+
+    private void play(String gameId, int turn, String label, boolean success, int reward) {
+        TurnEvent event = new TurnEvent();
+        event.setGameId(gameId);
+        event.setTurn(turn);
+        event.setProbability(label);
+        event.setSuccess(success);
+        event.setReward(reward);
+        event.setScore(turn * 10);
+        aggregator.onEvent(event, turn, true);
+    }
+
+    @Test
+    @DisplayName("turns are coalesced to the latest one per game, most recent games first to be kept")
+    void coalescesTurnsPerGame() {
+        play("a", 1, "Sure thing", true, 10);
+        play("b", 1, "Sure thing", true, 10);
+        play("a", 2, "Sure thing", true, 10);
+        play("c", 1, "Sure thing", true, 10);
+
+        DashboardAggregator.Turns turns = aggregator.drainTurns(2);
+
+        assertThat(turns.getOmitted()).isEqualTo(1);
+        assertThat(turns.getGames()).extracting(DashboardAggregator.GameUpdate::getGameId).containsExactly("a", "c");
+        assertThat(turns.getGames().get(0).getTurn()).isEqualTo(2);
+        assertThat(aggregator.drainTurns(2).getGames()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("aggregates cover the rolling window only")
+    void rollingWindow() {
+        for (int turn = 1; turn <= 30; turn++) {
+            play("a", turn, "Piece of cake", true, 20);
+            play("b", turn, "Gamble", turn % 3 == 0, 100);
+            now.addAndGet(1_000);
+        }
+
+        DashboardAggregator.Aggregates aggregates = aggregator.aggregates();
+        assertThat(aggregates.getTurnsPerMinute()).isCloseTo(60, within(0.001));
+        assertThat(aggregates.getScorePerMinute()).isCloseTo(30 * 20 + 10 * 100, within(0.001));
+        assertThat(aggregates.getSuccessRateByLabel())
+                .containsEntry("Piece of cake", 1.0)
+                .containsEntry("Gamble", 10 / 30.0);
+
+        now.addAndGet(45_000);
+        aggregates = aggregator.aggregates();
+        // Only about the last 15 seconds of play are still in the window
+        assertThat(aggregates.getTurnsPerMinute()).isCloseTo(30, within(2.001));
+
+        now.addAndGet(60_000);
+        aggregates = aggregator.aggregates();
+        assertThat(aggregates.getTurnsPerMinute()).isZero();
+        assertThat(aggregates.getSuccessRateByLabel()).isEmpty();
+        assertThat(aggregates.getSuccessRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("the API p99 comes from the recorded call latencies")
+    void apiP99() {
+        for (int i = 1; i <= 100; i++) {
+            apiLatencies.record(i * 1_000_000L);
+        }
+
+        assertThat(aggregator.aggregates().getApiP99Millis()).isCloseTo(99, within(99 * 0.0625));
+    }
+}
@@ -0,0 +1,187 @@
+package com.valorrise.bot.dashboard;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnEventBus;
+import com.valorrise.bot.profiling.ApiLatencies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class DashboardStreamTest {
+    private final ApiConfiguration config = config();
+    private final DashboardAggregator aggregator = new DashboardAggregator(config, new ApiLatencies(config));
+    // Ticks are driven by the test
+    private final DashboardStream stream = new DashboardStream(aggregator, mock(TurnEventBus.class), config);
+    private int turn;
+
+    private static ApiConfiguration config() {
+        ApiConfiguration config = new ApiConfiguration();
+        config.getDashboard().setInterval(Duration.ofHours(1));
+        config.getDashboard().setSubscriberBuffer(4);
+        config.getDashboard().setMaxSubscribers(2);
+        return config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    private void playTurn(String gameId) {
+        TurnEvent event = new TurnEvent();
+        event.setGameId(gameId);
+        event.setTurn(++turn);
+        event.setProbability("Sure thing");
+        aggregator.onEvent(event, turn, true);
+    }
+
+    private record Sent(String name, Object data) {
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a viewer receives the aggregates and the coalesced turns of each frame")
+    void streamsFrames() throws InterruptedException {
+        List<Sent> sent = new CopyOnWriteArrayList<>();
+        CountDownLatch received = new CountDownLatch(2);
+        stream.subscribe((name, data) -> {
+            sent.add(new Sent(name, data));
+            received.countDown();
+        });
+        playTurn("a");
+        playTurn("a");
+
+        stream.tick();
+
+        await(received);
+        assertThat(sent).extracting(Sent::name)
+                .containsExactly(DashboardSubscriber.AGGREGATES, DashboardSubscriber.TURNS);
+        DashboardAggregator.Turns turns = (DashboardAggregator.Turns) sent.get(1).data();
+        assertThat(turns.getGames()).singleElement().extracting(DashboardAggregator.GameUpdate::getTurn).isEqualTo(2);
+        assertThat(stream.getLatest()).isSameAs(sent.get(0).data());
+    }
+
+    @Test
+    @DisplayName("a stalled viewer never blocks the ticks, keeps only the latest aggregates and is told what it lost")
+    void conflatesForSlowViewers() throws InterruptedException {
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Sent> sent = new CopyOnWriteArrayList<>();
+        stream.subscribe((name, data) -> {
+            if (stalled.getCount() > 0) {
+                stalled.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            sent.add(new Sent(name, data));
+        });
+        List<Sent> fast = new CopyOnWriteArrayList<>();
+        stream.subscribe((name, data) -> fast.add(new Sent(name, data)));
+
+        playTurn("a");
+        stream.tick();
+        await(stalled);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            playTurn("game-" + i);
+            stream.tick();
+        }
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        DashboardAggregator.Aggregates last = stream.getLatest();
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.stream().noneMatch(s -> s.name().equals(DashboardSubscriber.AGGREGATES))) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+
+        // The stalled send held the first aggregates; of the eleven turn frames the buffer kept the last four
+        assertThat(sent).extracting(Sent::name).containsExactly(DashboardSubscriber.TURNS,
+                DashboardSubscriber.TURNS, DashboardSubscriber.TURNS, DashboardSubscriber.TURNS,
+                DashboardSubscriber.DROPPED, DashboardSubscriber.AGGREGATES);
+        assertThat(sent.get(4).data()).isEqualTo(7L);
+        assertThat(sent.get(5).data()).isSameAs(last);
+        // Meanwhile the other viewer kept up
+        while (fast.stream().noneMatch(s -> s.name().equals(DashboardSubscriber.TURNS)
+                && ((DashboardAggregator.Turns) s.data()).getGames().get(0).getGameId().equals("game-9"))) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("viewers keep receiving frames however many other viewers are stalled")
+    void servesViewersPastStalledOnes() throws InterruptedException {
+        config.getDashboard().setMaxSubscribers(4);
+        DashboardStream wide = new DashboardStream(aggregator, mock(TurnEventBus.class), config);
+        CountDownLatch stalled = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int viewer = 0; viewer < 3; viewer++) {
+                wide.subscribe((name, data) -> {
+                    stalled.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            CountDownLatch received = new CountDownLatch(2);
+            wide.subscribe((name, data) -> received.countDown());
+            playTurn("a");
+
+            wide.tick();
+            await(stalled);
+            playTurn("b");
+            wide.tick();
+
+            await(received);
+        } finally {
+            release.countDown();
+            wide.close();
+        }
+    }
+
+    @Test
+    @DisplayName("a failing viewer is unsubscribed, and viewers beyond the limit are refused")
+    void unsubscribesFailedViewers() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        stream.subscribe((name, data) -> {
+            failed.countDown();
+            throw new IOException("Broken pipe");
+        });
+        stream.subscribe((name, data) -> {
+        });
+        assertThatThrownBy(() -> stream.subscribe((name, data) -> {
+        })).isInstanceOf(IllegalStateException.class);
+
+        stream.tick();
+        await(failed);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stream.getSubscriberCount() != 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
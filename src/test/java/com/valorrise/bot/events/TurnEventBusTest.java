@@ -0,0 +1,211 @@
+package com.valorrise.bot.events;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TurnEventBusTest {
+    private TurnEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    private static ApiConfiguration config(int bufferSize) {
+        ApiConfiguration config = new ApiConfiguration();
+        config.getEvents().setBufferSize(bufferSize);
+        config.getEvents().setIdleWait(Duration.ofNanos(100_000));
+        return config;
+    }
+
+    private static boolean publish(TurnEventBus bus, String gameId, int turn) {
+        TurnEvent event = bus.claim();
+        if (event == null) {
+            return false;
+        }
+        event.setGameId(gameId);
+        event.setTurn(turn);
+        bus.publish(event);
+        return true;
+    }
+
+    @Test
+    @DisplayName("every consumer sees every event in order, with the last of each batch flagged")
+    void deliversInOrderToEveryConsumer() {
+        Recorder first = new Recorder("first");
+        Recorder second = new Recorder("second");
+        bus = new TurnEventBus(List.of(first, second), config(8));
+
+        for (int turn = 1; turn <= 20; turn++) {
+            assertThat(publish(bus, "game", turn)).isTrue();
+            awaitBacklogBelow(bus, 4);
+        }
+        bus.close();
+
+        List<Integer> expected = new ArrayList<>();
+        for (int turn = 1; turn <= 20; turn++) {
+            expected.add(turn);
+        }
+        assertThat(first.turns("game")).isEqualTo(expected);
+        assertThat(second.turns("game")).isEqualTo(expected);
+        assertThat(first.sequences).isSorted().doesNotHaveDuplicates().hasSize(20);
+        assertThat(first.batchEnds).isPositive();
+        assertThat(bus.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("concurrent games each keep their turn order and no event is lost")
+    void concurrentProducers() throws InterruptedException {
+        Recorder recorder = new Recorder("recorder");
+        bus = new TurnEventBus(List.of(recorder), config(1024));
+        int games = 4;
+        int turns = 200;
+
+        List<Thread> producers = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            String gameId = "game-" + game;
+            producers.add(new Thread(() -> {
+                for (int turn = 1; turn <= turns; turn++) {
+                    assertThat(publish(bus, gameId, turn)).isTrue();
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        bus.close();
+
+        for (int game = 0; game < games; game++) {
+            List<Integer> seen = recorder.turns("game-" + game);
+            assertThat(seen).hasSize(turns).isSorted();
+        }
+        assertThat(recorder.sequences).hasSize(games * turns).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("events are dropped and counted when the slowest consumer is a whole ring behind")
+    void dropsWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder blocked = new Recorder("blocked") {
+            @Override
+            public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(event, sequence, endOfBatch);
+            }
+        };
+        bus = new TurnEventBus(List.of(blocked), config(4));
+
+        int accepted = 0;
+        for (int turn = 1; turn <= 10; turn++) {
+            if (publish(bus, "game", turn)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+        bus.close();
+
+        assertThat(accepted).isEqualTo(4);
+        assertThat(bus.getDroppedEvents()).isEqualTo(6);
+        assertThat(blocked.turns("game")).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("without consumers nothing is claimed")
+    void noConsumers() {
+        bus = new TurnEventBus(List.of(), config(8));
+
+        assertThat(bus.isEnabled()).isFalse();
+        assertThat(bus.claim()).isNull();
+        assertThat(bus.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("a failing consumer does not stop the others")
+    void failingConsumer() {
+        Recorder recorder = new Recorder("recorder");
+        TurnEventConsumer failing = new TurnEventConsumer() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        bus = new TurnEventBus(List.of(failing, recorder), config(8));
+
+        for (int turn = 1; turn <= 3; turn++) {
+            publish(bus, "game", turn);
+        }
+        bus.close();
+
+        assertThat(recorder.turns("game")).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("the buffer size must be a power of two")
+    void rejectsOtherSizes() {
+        assertThatThrownBy(() -> new TurnEventBus(List.of(), config(6)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitBacklogBelow(TurnEventBus bus, long limit) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bus.getBacklog() >= limit && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class Recorder implements TurnEventConsumer {
+        private final String name;
+        private final Map<String, List<Integer>> turns = Collections.synchronizedMap(new HashMap<>());
+        private final List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        private volatile int batchEnds;
+
+        Recorder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+            turns.computeIfAbsent(event.getGameId(), key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.getTurn());
+            sequences.add(sequence);
+            if (endOfBatch) {
+                batchEnds++;
+            }
+        }
+
+        List<Integer> turns(String gameId) {
+            return turns.getOrDefault(gameId, List.of());
+        }
+    }
+}
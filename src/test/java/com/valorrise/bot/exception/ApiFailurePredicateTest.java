@@ -0,0 +1,37 @@
+package com.valorrise.bot.exception;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiFailurePredicateTest {
+
+    private final ApiFailurePredicate predicate = new ApiFailurePredicate();
+
+    @Test
+    void shouldCountServerErrorsAndTransportErrors() {
+        assertThat(predicate.test(new GameApiException("Down", 503))).isTrue();
+        assertThat(predicate.test(new GameApiException("Slow down", 429))).isTrue();
+        assertThat(predicate.test(new IOException("Connection reset"))).isTrue();
+    }
+
+    @Test
+    void shouldNotCountExpectedGameOutcomes() {
+        assertThat(predicate.test(new GameApiException("Ad expired", 400))).isFalse();
+    }
+
+    @Test
+    void shouldNotCountCallsRejectedLocally() {
+        // E.g. a game start refused because the solve breaker is open
+        assertThat(predicate.test(CallNotPermittedException.createCallNotPermittedException(
+                CircuitBreaker.ofDefaults("solve")))).isFalse();
+        assertThat(predicate.test(BulkheadFullException.createBulkheadFullException(
+                Bulkhead.ofDefaults("gameStart")))).isFalse();
+    }
+}
@@ -0,0 +1,231 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameRunControl;
+import com.valorrise.bot.service.GameRunManager;
+import com.valorrise.bot.service.GameService;
+import com.valorrise.bot.service.GameStatistics;
+import com.valorrise.bot.service.PurchasePlanner;
+import com.valorrise.bot.service.SuccessRateModel;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.SafestTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs a coordinator with workers in this JVM, talking to it over the loopback interface as worker
+ * processes would.
+ */
+class FarmCoordinatorTest {
+    private final ApiConfiguration config = new ApiConfiguration();
+    private final List<GameRunManager> managers = new ArrayList<>();
+    private final List<GameStatistics> statistics = new ArrayList<>();
+    private final AtomicInteger shardsPlayed = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+    private FarmCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        config.setShop(new ApiConfiguration.Shop());
+        config.getRun().setConcurrency(4);
+        ApiConfiguration.Farm farm = config.getFarm();
+        farm.setPort(0);
+        farm.setShardGames(50);
+        farm.setHeartbeatInterval(Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (coordinator != null) {
+            coordinator.close();
+        }
+        managers.forEach(GameRunManager::shutdown);
+        statistics.forEach(GameStatistics::close);
+    }
+
+    private static ApiConfiguration.FarmMix mix(String task, long games) {
+        ApiConfiguration.FarmMix mix = new ApiConfiguration.FarmMix();
+        mix.setTask(task);
+        mix.setPurchase("planner");
+        mix.setGames(games);
+        return mix;
+    }
+
+    private int port() {
+        String address = coordinator.getAddress();
+        return Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+    }
+
+    /**
+     * A worker whose games score 50 with the "safest" strategy and 100 otherwise.
+     */
+    private void startWorker() {
+        GameStatistics gameStatistics = new GameStatistics(config);
+        SuccessRateModel model = new SuccessRateModel(config);
+        StrategyRegistry strategyRegistry = new StrategyRegistry(
+                List.of(new ExpectedRewardTaskStrategy(model), new SafestTaskStrategy(model)),
+                List.of(new PurchasePlanner(config)), config);
+        GameService gameService = mock(GameService.class);
+        doAnswer(invocation -> {
+            StrategyRegistry.Cohort cohort = invocation.getArgument(0);
+            boolean safest = cohort != null && cohort.getTaskStrategy().getName().equals("safest");
+            Thread.sleep(1);
+            gameStatistics.record(20, safest ? 50 : 100, 10, false);
+            return true;
+        }).when(gameService).playGame(any());
+        GameRunManager manager = new GameRunManager(gameService, new GameRunControl(), strategyRegistry,
+                gameStatistics, config);
+        statistics.add(gameStatistics);
+        managers.add(manager);
+
+        FarmWorker worker = new FarmWorker(manager, gameStatistics, config);
+        int port = port();
+        Thread thread = new Thread(() -> {
+            try {
+                shardsPlayed.addAndGet(worker.work("localhost", port));
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        workers.add(thread);
+    }
+
+    /**
+     * Joins like a worker, takes a shard and never plays it.
+     */
+    private FarmConnection takeShardAndDie() throws IOException {
+        FarmConnection connection = new FarmConnection(new Socket("localhost", port()));
+        connection.send(FarmMessage.hello("doomed"));
+        assertThat(connection.receive().getType()).isEqualTo(FarmMessage.Type.SHARD);
+        return connection;
+    }
+
+    @Test
+    @DisplayName("splits each entry of the strategy mix into shards of at most the shard size")
+    void plansShards() {
+        config.getFarm().setShardGames(200);
+        config.getFarm().setMix(List.of(mix("safest", 450), mix("expected-reward", 200)));
+
+        List<Shard> shards = Shard.plan(config.getFarm());
+
+        assertThat(shards).extracting(Shard::getGames).containsExactly(200L, 200L, 50L, 200L);
+        assertThat(shards).extracting(Shard::getId).containsExactly(0, 1, 2, 3);
+        assertThat(shards).extracting(Shard::strategies)
+                .containsExactly("safest/planner", "safest/planner", "safest/planner", "expected-reward/planner");
+    }
+
+    @Test
+    @DisplayName("plays every shard of the mix across the workers and merges their statistics per strategy")
+    void playsTheMixAcrossWorkers() throws Exception {
+        config.getFarm().setMix(List.of(mix("safest", 300), mix("expected-reward", 200)));
+        coordinator = new FarmCoordinator(config, Shard.plan(config.getFarm()));
+        for (int worker = 0; worker < 3; worker++) {
+            startWorker();
+        }
+
+        FarmResult result = coordinator.await();
+        for (Thread worker : workers) {
+            worker.join(10_000);
+        }
+
+        assertThat(result.getGames()).isEqualTo(500);
+        assertThat(result.getShards()).isEqualTo(10);
+        assertThat(result.getWorkers()).isEqualTo(3);
+        assertThat(result.getShardsReassigned()).isZero();
+        assertThat(shardsPlayed.get()).isEqualTo(10);
+        assertThat(result.getSummary().getGames()).isEqualTo(500);
+        assertThat(result.getByStrategy()).containsOnlyKeys("safest/planner", "expected-reward/planner");
+        GameStatistics.Summary safest = result.getByStrategy().get("safest/planner");
+        assertThat(safest.getGames()).isEqualTo(300);
+        assertThat(safest.getScore().getMean()).isEqualTo(50);
+        assertThat(result.getByStrategy().get("expected-reward/planner").getScore().getMean()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("hands the shard of a worker that disconnected to another worker and counts its games once")
+    void reassignsTheShardOfADisconnectedWorker() throws Exception {
+        config.getFarm().setGames(200);
+        coordinator = new FarmCoordinator(config, Shard.plan(config.getFarm()));
+        takeShardAndDie().close();
+        startWorker();
+
+        FarmResult result = coordinator.await();
+
+        assertThat(result.getGames()).isEqualTo(200);
+        assertThat(result.getSummary().getGames()).isEqualTo(200);
+        assertThat(result.getShardsReassigned()).isEqualTo(1);
+        assertThat(result.getWorkersLost()).isEqualTo(1);
+        assertThat(result.getByStrategy()).containsOnlyKeys("cohorts");
+    }
+
+    @Test
+    @DisplayName("gives up on a worker that goes silent for the worker timeout")
+    void reassignsTheShardOfASilentWorker() throws Exception {
+        config.getFarm().setGames(100);
+        config.getFarm().setWorkerTimeout(Duration.ofMillis(200));
+        coordinator = new FarmCoordinator(config, Shard.plan(config.getFarm()));
+        try (FarmConnection silent = takeShardAndDie()) {
+            startWorker();
+
+            FarmResult result = coordinator.await();
+
+            assertThat(result.getGames()).isEqualTo(100);
+            assertThat(result.getSummary().getGames()).isEqualTo(100);
+            assertThat(result.getShardsReassigned()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @Timeout(120)
+    @DisplayName("launches local worker processes, each with its own files, and plays the run on them")
+    void playsTheRunOnLocalWorkerProcesses(@TempDir Path directory) throws Exception {
+        Path model = Files.writeString(directory.resolve("success-rates.bin"), "learned");
+        config.getModel().setFile(model.toString());
+        config.getFarm().setWorkerDirectory(directory.resolve("farm").toString());
+        config.getFarm().setGames(100);
+        coordinator = new FarmCoordinator(config, Shard.plan(config.getFarm()), FarmTestWorker.class.getName());
+        String address = coordinator.getAddress();
+
+        coordinator.launch(1, List.of("--game.mode=farm", "--game.farm.games=100", "--custom=kept"));
+        FarmResult result = coordinator.await();
+        // Waits for the worker to leave
+        coordinator.close();
+
+        assertThat(result.getGames()).isEqualTo(100);
+        assertThat(result.getShards()).isEqualTo(2);
+        assertThat(result.getWorkers()).isEqualTo(1);
+        assertThat(result.getWorkersLost()).isZero();
+        assertThat(result.getSummary().getScore().getMean()).isEqualTo(100);
+        Path worker = directory.resolve("farm").resolve("worker-1");
+        assertThat(worker.resolve("success-rates.bin")).hasContent("learned");
+        List<String> log = Files.readAllLines(worker.resolve("worker.log"));
+        assertThat(log).contains("Played 2 shards");
+        String arguments = log.stream().filter(line -> line.startsWith("Arguments: ")).findFirst().orElseThrow();
+        assertThat(arguments.substring("Arguments: ".length()).split(" "))
+                .contains("--game.farm.games=100", "--custom=kept", "--game.mode=farm-worker",
+                        "--game.farm.coordinator=" + address, "--spring.main.web-application-type=none",
+                        "--game.model.file=" + worker.resolve("success-rates.bin"),
+                        "--game.journal.file=" + worker.resolve("turns.jsonl"))
+                .doesNotContain("--game.mode=farm");
+    }
+}
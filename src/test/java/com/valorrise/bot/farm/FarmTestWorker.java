@@ -0,0 +1,65 @@
+package com.valorrise.bot.farm;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.GameRunControl;
+import com.valorrise.bot.service.GameRunManager;
+import com.valorrise.bot.service.GameService;
+import com.valorrise.bot.service.GameStatistics;
+import com.valorrise.bot.service.PurchasePlanner;
+import com.valorrise.bot.service.SuccessRateModel;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Main class of the worker processes {@link FarmCoordinatorTest} launches in place of the application:
+ * prints its arguments to its log and works for the coordinator named by {@code --game.farm.coordinator},
+ * with games that score 100 without calling any API.
+ */
+public final class FarmTestWorker {
+    private FarmTestWorker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Arguments: " + String.join(" ", args));
+        String coordinator = null;
+        for (String arg : args) {
+            if (arg.startsWith("--game.farm.coordinator=")) {
+                coordinator = arg.substring(arg.indexOf('=') + 1);
+            }
+        }
+        if (coordinator == null) {
+            throw new IllegalArgumentException("No --game.farm.coordinator given");
+        }
+
+        ApiConfiguration config = new ApiConfiguration();
+        config.setShop(new ApiConfiguration.Shop());
+        config.getRun().setConcurrency(2);
+        config.getFarm().setHeartbeatInterval(Duration.ofMillis(10));
+        GameStatistics gameStatistics = new GameStatistics(config);
+        StrategyRegistry strategyRegistry = new StrategyRegistry(
+                List.of(new ExpectedRewardTaskStrategy(new SuccessRateModel(config))),
+                List.of(new PurchasePlanner(config)), config);
+        GameService gameService = mock(GameService.class);
+        doAnswer(invocation -> {
+            gameStatistics.record(20, 100, 10, false);
+            return true;
+        }).when(gameService).playGame(any());
+        GameRunManager manager = new GameRunManager(gameService, new GameRunControl(), strategyRegistry,
+                gameStatistics, config);
+
+        int separator = coordinator.lastIndexOf(':');
+        int shards = new FarmWorker(manager, gameStatistics, config)
+                .work(coordinator.substring(0, separator), Integer.parseInt(coordinator.substring(separator + 1)));
+        System.out.println("Played " + shards + " shards");
+        manager.shutdown();
+        gameStatistics.close();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.valorrise.bot.loadtest;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadTestHarnessTest {
+    @TempDir
+    Path directory;
+
+    private LoadTestHarness harness() {
+        ApiConfiguration config = new ApiConfiguration();
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(3);
+        shop.setMinGoldToBuy(50);
+        config.setShop(shop);
+        config.getPool().setEnabled(false);
+        // Where the application learns and journals; the load test must not touch either
+        config.getModel().setFile(directory.resolve("success-rates.bin").toString());
+        config.getJournal().setEnabled(true);
+        config.getJournal().setFile(directory.resolve("turns.jsonl").toString());
+        return new LoadTestHarness(config);
+    }
+
+    @ParameterizedTest(name = "{0} / {1}")
+    @CsvSource({
+            "default, thread-per-bot",
+            "pooled, thread-per-bot",
+            "pooled, shared-pool"
+    })
+    void playsAgainstTheStandIn(String transport, String threading) {
+        LoadTestResult result = harness().run(LoadTestScenario.builder()
+                .transport(transport)
+                .threading(threading)
+                .bots(4)
+                .poolThreads(2)
+                .warmup(Duration.ZERO)
+                .duration(Duration.ofSeconds(1))
+                .sampleInterval(Duration.ofMillis(500))
+                .latency(Duration.ofMillis(1))
+                .jitter(Duration.ZERO)
+                .timeoutMillis(5_000)
+                .build());
+
+        assertThat(result.getTurns()).isPositive();
+        assertThat(result.getRequests()).isGreaterThanOrEqualTo(result.getTurns());
+        assertThat(result.getTurnsPerSecond()).isPositive();
+        assertThat(result.getP50Micros()).isPositive();
+        assertThat(result.getMaxMicros()).isGreaterThanOrEqualTo(result.getP99Micros());
+        assertThat(result.getPeakThreads()).isPositive();
+        assertThat(directory).isEmptyDirectory();
+    }
+}
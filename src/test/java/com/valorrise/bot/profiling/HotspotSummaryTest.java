@@ -0,0 +1,121 @@
+package com.valorrise.bot.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotspotSummaryTest {
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final HotspotSummary summary = new HotspotSummary(2, 1000);
+
+    private static Instant at(long millis) {
+        return T0.plusMillis(millis);
+    }
+
+    @Nested
+    @DisplayName("Endpoints")
+    class Endpoints {
+        @Test
+        @DisplayName("are ranked by mean latency and limited to the top entries")
+        void rankedByMeanLatency() {
+            summary.onApiCall("getAdvertisements", 200, Duration.ofMillis(40));
+            summary.onApiCall("solveAdvertisement", 200, Duration.ofMillis(100));
+            summary.onApiCall("solveAdvertisement", 500, Duration.ofMillis(300));
+            summary.onApiCall("buyItem", 200, Duration.ofMillis(10));
+
+            HotspotSummary.Report report = summary.drain();
+
+            assertThat(report.getSlowestEndpoints()).extracting(HotspotSummary.EndpointLatency::getEndpoint)
+                    .containsExactly("solveAdvertisement", "getAdvertisements");
+            HotspotSummary.EndpointLatency solve = report.getSlowestEndpoints().get(0);
+            assertThat(solve.getCalls()).isEqualTo(2);
+            assertThat(solve.getErrors()).isEqualTo(1);
+            assertThat(solve.getMean()).isEqualTo(Duration.ofMillis(200));
+            assertThat(solve.getMax()).isEqualTo(Duration.ofMillis(300));
+        }
+    }
+
+    @Nested
+    @DisplayName("Allocations")
+    class Allocations {
+        @Test
+        @DisplayName("are ranked by sampled bytes with their share of the window")
+        void rankedBySampledBytes() {
+            summary.onAllocation("TaskSelectionService.decodeField:158", 600);
+            summary.onAllocation("TaskSelectionService.decodeField:158", 200);
+            summary.onAllocation("GameService.playGame:120", 150);
+            summary.onAllocation("ShopService.buyItem:70", 50);
+
+            HotspotSummary.Report report = summary.drain();
+
+            assertThat(report.getAllocationHotspots()).hasSize(2);
+            HotspotSummary.AllocationSite top = report.getAllocationHotspots().get(0);
+            assertThat(top.getFrame()).isEqualTo("TaskSelectionService.decodeField:158");
+            assertThat(top.getSampledBytes()).isEqualTo(800);
+            assertThat(top.getSamples()).isEqualTo(2);
+            assertThat(top.getShare()).isEqualTo(0.8);
+        }
+    }
+
+    @Nested
+    @DisplayName("GC pauses")
+    class GcPauses {
+        @Test
+        @DisplayName("count only the part of a pause that overlaps a running turn, once for concurrent turns")
+        void overlapWithTurns() {
+            // Two concurrent games: turns cover [0, 100) and [50, 150) ms, and a later one [300, 400)
+            summary.onTurn(at(0), Duration.ofMillis(100));
+            summary.onTurn(at(50), Duration.ofMillis(100));
+            summary.onTurn(at(300), Duration.ofMillis(100));
+            // One pause inside both first turns, one straddling the end of the second, one between turns
+            summary.onGcPause(at(60), Duration.ofMillis(10));
+            summary.onGcPause(at(140), Duration.ofMillis(20));
+            summary.onGcPause(at(200), Duration.ofMillis(30));
+
+            HotspotSummary.Report report = summary.drain();
+
+            assertThat(report.getTurns()).isEqualTo(3);
+            assertThat(report.getTurnsWithGcPause()).isEqualTo(2);
+            assertThat(report.getGcPauses()).isEqualTo(3);
+            assertThat(report.getGcPausesDuringTurns()).isEqualTo(2);
+            assertThat(report.getGcPauseTime()).isEqualTo(Duration.ofMillis(60));
+            assertThat(report.getGcPauseTimeDuringTurns()).isEqualTo(Duration.ofMillis(20));
+        }
+
+        @Test
+        @DisplayName("beyond the interval limit are counted but not analysed")
+        void intervalLimit() {
+            HotspotSummary small = new HotspotSummary(2, 1);
+            small.onTurn(at(0), Duration.ofMillis(100));
+            small.onTurn(at(200), Duration.ofMillis(100));
+            small.onGcPause(at(250), Duration.ofMillis(10));
+
+            HotspotSummary.Report report = small.drain();
+
+            assertThat(report.getTurns()).isEqualTo(1);
+            assertThat(report.getGcPauses()).isEqualTo(1);
+            assertThat(report.getGcPausesDuringTurns()).isZero();
+            assertThat(report.getDroppedIntervals()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("draining starts a new, empty window")
+    void drainResets() {
+        summary.onApiCall("buyItem", 200, Duration.ofMillis(10));
+        summary.onTurn(at(0), Duration.ofMillis(100));
+        summary.drain();
+
+        HotspotSummary.Report report = summary.drain();
+
+        assertThat(report.getSlowestEndpoints()).isEmpty();
+        assertThat(report.getTurns()).isZero();
+        assertThat(report.getGcPauseTime()).isEqualTo(Duration.ZERO);
+    }
+}
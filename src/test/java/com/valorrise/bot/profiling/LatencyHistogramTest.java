@@ -0,0 +1,65 @@
+package com.valorrise.bot.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("buckets are exact below 16 and within 6.25% above")
+    void bucketPrecision() {
+        for (long value = 0; value < 16; value++) {
+            assertThat(LatencyHistogram.lowerBound(LatencyHistogram.index(value))).isEqualTo(value);
+        }
+        for (long value = 16; value < 5_000_000; value = value * 3 / 2 + 1) {
+            long lowerBound = LatencyHistogram.lowerBound(LatencyHistogram.index(value));
+            assertThat(lowerBound).isLessThanOrEqualTo(value);
+            assertThat((double) (value - lowerBound) / value).isLessThan(0.0625);
+        }
+    }
+
+    @Test
+    @DisplayName("quantiles of a uniform distribution")
+    void quantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.getMax()).isEqualTo(10_000);
+        assertThat((double) histogram.valueAt(0.5)).isCloseTo(5_000, within(5_000 * 0.0625));
+        assertThat((double) histogram.valueAt(0.99)).isCloseTo(9_900, within(9_900 * 0.0625));
+        assertThat(histogram.valueAt(1.0)).isLessThanOrEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("merging adds the counts and keeps the larger maximum")
+    void merge() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (long micros = 1; micros <= 100; micros++) {
+            first.record(micros);
+            second.record(micros + 900);
+        }
+
+        first.add(second);
+
+        assertThat(first.getCount()).isEqualTo(200);
+        assertThat(first.getMax()).isEqualTo(1_000);
+        assertThat((double) first.valueAt(0.25)).isCloseTo(50, within(50 * 0.0625));
+        assertThat((double) first.valueAt(0.99)).isCloseTo(990, within(990 * 0.0625));
+    }
+
+    @Test
+    @DisplayName("an empty histogram reports zero")
+    void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.valueAt(0.99)).isZero();
+    }
+}
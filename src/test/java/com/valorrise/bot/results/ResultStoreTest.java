@@ -0,0 +1,152 @@
+package com.valorrise.bot.results;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.model.domain.TaskCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultStoreTest {
+    private static final int GAMES = 200;
+    private static final int TURNS_PER_GAME = 25;
+
+    private static ApiConfiguration.Results config(Path directory) {
+        ApiConfiguration.Results config = new ApiConfiguration.Results();
+        config.setDirectory(directory != null ? directory.toString() : null);
+        // Several segments, with batches that straddle them
+        config.setSegmentRows(1_500);
+        return config;
+    }
+
+    /**
+     * Even games play the "safest" strategy and odd ones "expected-reward"; every third turn succeeds,
+     * and every fourth game reaches the target.
+     */
+    private static void play(ResultStore store) {
+        TurnEvent event = new TurnEvent();
+        for (int game = 0; game < GAMES; game++) {
+            event.setGameId("game-" + game);
+            event.setCohort("control");
+            event.setTaskStrategy(game % 2 == 0 ? "safest" : "expected-reward");
+            event.setPurchaseStrategy("planner");
+            event.setGameOver(false);
+            for (int turn = 1; turn <= TURNS_PER_GAME; turn++) {
+                event.setTurn(turn);
+                event.setAdId("ad-" + game + "-" + turn);
+                event.setProbability(turn % 2 == 0 ? "Sure thing" : "Gamble");
+                event.setCategory(TaskCategory.ESCORT);
+                event.setReward(10);
+                event.setSuccess(turn % 3 == 0);
+                event.setScore(turn * 10);
+                store.onEvent(event, 0, turn == TURNS_PER_GAME);
+            }
+            event.setGameOver(true);
+            event.setTurn(TURNS_PER_GAME);
+            event.setScore(game % 4 == 0 ? 1_100 : 250);
+            event.setSuccess(game % 4 == 0);
+            event.setTasksCompleted(8);
+            event.setTasksFailed(17);
+            store.onEvent(event, 0, true);
+        }
+    }
+
+    @Test
+    @DisplayName("groups turns by strategy and label, counting and summing up rewards")
+    void groupsTurns() {
+        ResultStore store = new ResultStore(config(null));
+        play(store);
+
+        ResultStore.QueryResult result = store.query(new ResultStore.Query("turns",
+                Map.of("success", "true"), List.of("task", "label"), "reward"));
+
+        assertThat(result.getScannedRows()).isEqualTo(GAMES * TURNS_PER_GAME);
+        // Turns 3, 6, ..., 24 of every game: 4 odd (gamble) and 4 even (sure thing)
+        assertThat(result.getMatchedRows()).isEqualTo(GAMES * 8);
+        assertThat(result.getGroups()).hasSize(4);
+        for (ResultStore.Group group : result.getGroups()) {
+            assertThat(group.getCount()).isEqualTo(GAMES / 2 * 4);
+            assertThat(group.getMeasure().getSum()).isEqualTo(GAMES / 2 * 4 * 10);
+            assertThat(group.getMeasure().getMean()).isEqualTo(10);
+        }
+        assertThat(result.getGroups()).extracting(group -> group.getKey().get("task") + "/" + group.getKey().get("label"))
+                .containsExactlyInAnyOrder("safest/SURE_THING", "safest/GAMBLE",
+                        "expected-reward/SURE_THING", "expected-reward/GAMBLE");
+        store.close();
+    }
+
+    @Test
+    @DisplayName("summarizes games, filtered by strategy, and numbers them so they match their turns")
+    void summarizesGames() {
+        ResultStore store = new ResultStore(config(null));
+        play(store);
+
+        ResultStore.QueryResult games = store.query(new ResultStore.Query("games",
+                Map.of("task", "safest"), List.of("target"), "score"));
+
+        assertThat(games.getMatchedRows()).isEqualTo(GAMES / 2);
+        assertThat(games.getGroups()).hasSize(2);
+        ResultStore.Group won = games.getGroups().stream()
+                .filter(group -> group.getKey().get("target").equals("true")).findFirst().orElseThrow();
+        assertThat(won.getCount()).isEqualTo(GAMES / 4);
+        assertThat(won.getMeasure().getMin()).isEqualTo(1_100);
+
+        // The 11th game's turns carry its number
+        ResultStore.QueryResult turns = store.query(new ResultStore.Query("turns",
+                Map.of("game", "10"), List.of(), null));
+        assertThat(turns.getMatchedRows()).isEqualTo(TURNS_PER_GAME);
+        ResultStore.QueryResult game = store.query(new ResultStore.Query("games",
+                Map.of("game", "10"), List.of(), "completed"));
+        assertThat(game.getGroups().get(0).getMeasure().getSum()).isEqualTo(8);
+        store.close();
+    }
+
+    @Test
+    @DisplayName("picks up the segments of its directory after a restart and keeps appending")
+    void reopensDirectory(@TempDir Path directory) {
+        ResultStore store = new ResultStore(config(directory));
+        play(store);
+        store.close();
+
+        ResultStore reopened = new ResultStore(config(directory));
+        assertThat(reopened.getStatus().getRows())
+                .containsEntry("turns", (long) GAMES * TURNS_PER_GAME)
+                .containsEntry("games", (long) GAMES);
+        play(reopened);
+
+        ResultStore.QueryResult result = reopened.query(new ResultStore.Query("games",
+                Map.of(), List.of("task"), "turns"));
+        assertThat(result.getMatchedRows()).isEqualTo(2 * GAMES);
+        assertThat(result.getGroups()).extracting(group -> group.getKey().get("task"))
+                .containsExactlyInAnyOrder("safest", "expected-reward");
+        // Games of the second run are numbered after those of the first
+        ResultStore.QueryResult last = reopened.query(new ResultStore.Query("turns",
+                Map.of("game", String.valueOf(2 * GAMES - 1)), List.of(), null));
+        assertThat(last.getMatchedRows()).isEqualTo(TURNS_PER_GAME);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("rejects columns that can't be used where they are asked for")
+    void rejectsInvalidQueries() {
+        ResultStore store = new ResultStore(config(null));
+        play(store);
+
+        assertThatThrownBy(() -> store.query(new ResultStore.Query("players", Map.of(), List.of(), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.query(new ResultStore.Query("turns", Map.of(), List.of("score"), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.query(new ResultStore.Query("turns", Map.of(), List.of(), "label")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.query(new ResultStore.Query("turns", Map.of("success", "maybe"), List.of(), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        store.close();
+    }
+}
@@ -2,14 +2,13 @@ package com.valorrise.bot.service;
 
 import com.valorrise.bot.api.client.GameApiClient;
 import com.valorrise.bot.model.domain.Advertisement;
-import com.valorrise.bot.model.dto.AdvertisementDto;
-import com.valorrise.bot.model.mapper.AdvertisementMapper;
+import com.valorrise.bot.model.domain.Game;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
@@ -18,7 +17,6 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,25 +26,19 @@ class GameApiServiceTest {
     @Mock
     private GameApiClient gameApiClient;
 
-    @InjectMocks
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     private GameApiService gameApiService;
 
-    private AdvertisementDto advertisementDto1;
-    private AdvertisementDto advertisementDto2;
     private Advertisement advertisement1;
     private Advertisement advertisement2;
 
     @BeforeEach
     void setUp() {
-        // Setup test data
-        advertisementDto1 = new AdvertisementDto();
-        advertisementDto1.setAdId("ad1");
-        advertisementDto1.setMessage("Test Ad 1");
-
-        advertisementDto2 = new AdvertisementDto();
-        advertisementDto2.setAdId("ad2");
-        advertisementDto2.setMessage("Test Ad 2");
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        gameApiService = new GameApiService(gameApiClient, circuitBreakerRegistry);
 
+        // Setup test data
         advertisement1 = new Advertisement();
         advertisement1.setAdId("ad1");
         advertisement1.setMessage("Test Ad 1");
@@ -57,39 +49,28 @@ class GameApiServiceTest {
     }
 
     @Test
-    void getAdvertisements_shouldReturnMappedAdvertisements_whenClientReturnsData() {
+    void getAdvertisements_shouldReturnAdvertisements_whenClientReturnsData() {
         // Given
         String gameId = "game123";
-        List<AdvertisementDto> dtos = Arrays.asList(advertisementDto1, advertisementDto2);
+        List<Advertisement> advertisements = Arrays.asList(advertisement1, advertisement2);
 
-        when(gameApiClient.getAdvertisements(gameId)).thenReturn(dtos);
+        when(gameApiClient.getAdvertisements(gameId)).thenReturn(advertisements);
 
-        try (MockedStatic<AdvertisementMapper> mapperMock = mockStatic(AdvertisementMapper.class)) {
-            mapperMock.when(() -> AdvertisementMapper.toEntity(advertisementDto1))
-                    .thenReturn(advertisement1);
-            mapperMock.when(() -> AdvertisementMapper.toEntity(advertisementDto2))
-                    .thenReturn(advertisement2);
-
-            // When
-            List<Advertisement> result = gameApiService.getAdvertisements(gameId);
+        // When
+        List<Advertisement> result = gameApiService.getAdvertisements(gameId);
 
-            // Then
-            assertThat(result).hasSize(2);
-            assertThat(result).containsExactly(advertisement1, advertisement2);
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result).containsExactly(advertisement1, advertisement2);
 
-            verify(gameApiClient).getAdvertisements(gameId);
-            mapperMock.verify(() -> AdvertisementMapper.toEntity(advertisementDto1));
-            mapperMock.verify(() -> AdvertisementMapper.toEntity(advertisementDto2));
-        }
+        verify(gameApiClient).getAdvertisements(gameId);
     }
 
     @Test
     void getAdvertisements_shouldReturnEmptyList_whenClientReturnsEmptyList() {
         // Given
         String gameId = "game123";
-        List<AdvertisementDto> emptyDtos = Collections.emptyList();
-
-        when(gameApiClient.getAdvertisements(gameId)).thenReturn(emptyDtos);
+        when(gameApiClient.getAdvertisements(gameId)).thenReturn(Collections.emptyList());
 
         // When
         List<Advertisement> result = gameApiService.getAdvertisements(gameId);
@@ -106,10 +87,11 @@ class GameApiServiceTest {
 
         when(gameApiClient.getAdvertisements(gameId)).thenReturn(null);
 
-        // When & Then
-        assertThatThrownBy(() -> gameApiService.getAdvertisements(gameId))
-                .isInstanceOf(NullPointerException.class);
+        // When
+        List<Advertisement> result = gameApiService.getAdvertisements(gameId);
 
+        // Then
+        assertThat(result).isEmpty();
         verify(gameApiClient).getAdvertisements(gameId);
     }
 
@@ -133,73 +115,82 @@ class GameApiServiceTest {
     void getAdvertisements_shouldHandleSingleAdvertisement() {
         // Given
         String gameId = "game123";
-        List<AdvertisementDto> singleDto = Collections.singletonList(advertisementDto1);
-
-        when(gameApiClient.getAdvertisements(gameId)).thenReturn(singleDto);
+        when(gameApiClient.getAdvertisements(gameId)).thenReturn(Collections.singletonList(advertisement1));
 
-        try (MockedStatic<AdvertisementMapper> mapperMock = mockStatic(AdvertisementMapper.class)) {
-            mapperMock.when(() -> AdvertisementMapper.toEntity(advertisementDto1))
-                    .thenReturn(advertisement1);
-
-            // When
-            List<Advertisement> result = gameApiService.getAdvertisements(gameId);
+        // When
+        List<Advertisement> result = gameApiService.getAdvertisements(gameId);
 
-            // Then
-            assertThat(result).hasSize(1);
-            assertThat(result).containsExactly(advertisement1);
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result).containsExactly(advertisement1);
 
-            verify(gameApiClient).getAdvertisements(gameId);
-            mapperMock.verify(() -> AdvertisementMapper.toEntity(advertisementDto1));
-        }
+        verify(gameApiClient).getAdvertisements(gameId);
     }
 
     @Test
-    void getAdvertisements_shouldPropagateMapperException_whenMapperThrowsException() {
+    void getAdvertisements_shouldPassCorrectGameId_toClient() {
         // Given
-        String gameId = "game123";
-        List<AdvertisementDto> dtos = Collections.singletonList(advertisementDto1);
-        RuntimeException mapperException = new RuntimeException("Mapping error");
+        String gameId = "specific-game-id-123";
+        when(gameApiClient.getAdvertisements(gameId)).thenReturn(Collections.emptyList());
+
+        // When
+        gameApiService.getAdvertisements(gameId);
 
-        when(gameApiClient.getAdvertisements(gameId)).thenReturn(dtos);
+        // Then
+        verify(gameApiClient).getAdvertisements(eq(gameId));
+    }
 
-        try (MockedStatic<AdvertisementMapper> mapperMock = mockStatic(AdvertisementMapper.class)) {
-            mapperMock.when(() -> AdvertisementMapper.toEntity(any(AdvertisementDto.class)))
-                    .thenThrow(mapperException);
+    @Test
+    void constructor_shouldAcceptClient() {
+        // Given
+        GameApiClient mockClient = mock(GameApiClient.class);
 
-            // When & Then
-            assertThatThrownBy(() -> gameApiService.getAdvertisements(gameId))
-                    .isInstanceOf(RuntimeException.class)
-                    .hasMessage("Mapping error");
+        // When
+        GameApiService service = new GameApiService(mockClient, CircuitBreakerRegistry.ofDefaults());
 
-            verify(gameApiClient).getAdvertisements(gameId);
-            mapperMock.verify(() -> AdvertisementMapper.toEntity(advertisementDto1));
-        }
+        // Then
+        assertThat(service).isNotNull();
     }
 
     @Test
-    void getAdvertisements_shouldPassCorrectGameId_toClient() {
+    void startGame_shouldReturnGame_whenSolveCircuitIsClosed() {
         // Given
-        String gameId = "specific-game-id-123";
-        List<AdvertisementDto> dtos = Collections.emptyList();
-
-        when(gameApiClient.getAdvertisements(gameId)).thenReturn(dtos);
+        Game game = new Game();
+        game.setGameId("game123");
+        game.setLives(3);
+        when(gameApiClient.startGame()).thenReturn(game);
 
         // When
-        gameApiService.getAdvertisements(gameId);
+        Game result = gameApiService.startGame();
 
         // Then
-        verify(gameApiClient).getAdvertisements(eq(gameId));
+        assertThat(result.getGameId()).isEqualTo("game123");
+        assertThat(result.getLives()).isEqualTo(3);
     }
 
     @Test
-    void constructor_shouldAcceptClient() {
+    void buyItem_shouldCarryGameId_whenResponseOmitsIt() {
         // Given
-        GameApiClient mockClient = mock(GameApiClient.class);
+        Game purchased = new Game();
+        purchased.setGold(100);
+        when(gameApiClient.buyItem("game123", "hpot")).thenReturn(purchased);
 
         // When
-        GameApiService service = new GameApiService(mockClient);
+        Game result = gameApiService.buyItem("game123", "hpot");
 
         // Then
-        assertThat(service).isNotNull();
+        assertThat(result.getGameId()).isEqualTo("game123");
+        assertThat(result.getGold()).isEqualTo(100);
+    }
+
+    @Test
+    void startGame_shouldFailFast_whenSolveCircuitIsOpen() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("solve").transitionToOpenState();
+
+        // When & Then
+        assertThatThrownBy(() -> gameApiService.startGame())
+                .isInstanceOf(CallNotPermittedException.class);
+        verifyNoInteractions(gameApiClient);
     }
 }
\ No newline at end of file
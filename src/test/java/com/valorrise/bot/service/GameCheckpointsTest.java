@@ -0,0 +1,86 @@
+package com.valorrise.bot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameCheckpointsTest {
+
+    private static GameCheckpoints.Checkpoint checkpoint(String gameId, int turn) {
+        return GameCheckpoints.Checkpoint.builder()
+                .gameId(gameId)
+                .cohort("control")
+                .task("expected-reward")
+                .purchase("planner")
+                .turn(turn)
+                .lives(3)
+                .gold(40)
+                .score(turn * 10)
+                .ownedUpgrades(0b101)
+                .tasksCompleted(turn / 2)
+                .build();
+    }
+
+    @Test
+    @DisplayName("suspended games survive a restart and are resumed in the order they were suspended")
+    void resumesAfterRestart(@TempDir Path directory) {
+        String file = directory.resolve("checkpoints.json").toString();
+        GameCheckpoints checkpoints = new GameCheckpoints(file);
+        checkpoints.save(checkpoint("game-1", 4));
+        checkpoints.save(checkpoint("game-2", 9));
+        checkpoints.close();
+
+        GameCheckpoints restarted = new GameCheckpoints(file);
+        assertThat(restarted.size()).isEqualTo(2);
+        GameCheckpoints.Checkpoint first = restarted.take();
+        assertThat(first).isEqualTo(checkpoint("game-1", 4));
+        assertThat(first.toGame().getScore()).isEqualTo(40);
+
+        // A game taken for resuming is gone from the file at once
+        assertThat(new GameCheckpoints(file).take().getGameId()).isEqualTo("game-2");
+    }
+
+    @Test
+    @DisplayName("a game's own checkpoint is not replaced by the one a shutdown takes at its deadline")
+    void keepsTheGamesOwnCheckpoint() {
+        GameCheckpoints checkpoints = new GameCheckpoints();
+        checkpoints.save(checkpoint("game-1", 12));
+
+        checkpoints.saveIfAbsent(checkpoint("game-1", 11));
+        checkpoints.saveIfAbsent(checkpoint("game-2", 3));
+
+        assertThat(checkpoints.take().getTurn()).isEqualTo(12);
+        assertThat(checkpoints.take().getGameId()).isEqualTo("game-2");
+        assertThat(checkpoints.take()).isNull();
+    }
+
+    @Test
+    @DisplayName("a run of fixed strategies only takes the games those strategies played")
+    void takesGamesOfTheGivenStrategies() {
+        GameCheckpoints checkpoints = new GameCheckpoints();
+        checkpoints.save(checkpoint("game-1", 4));
+        GameCheckpoints.Checkpoint safest = checkpoint("game-2", 9);
+        safest.setTask("safest");
+        checkpoints.save(safest);
+
+        assertThat(checkpoints.take("safest", "potions-only")).isNull();
+        assertThat(checkpoints.take("safest", "planner").getGameId()).isEqualTo("game-2");
+        assertThat(checkpoints.take("safest", null)).isNull();
+        assertThat(checkpoints.take(null, "planner").getGameId()).isEqualTo("game-1");
+    }
+
+    @Test
+    @DisplayName("a game that finished after all is discarded")
+    void discardsFinishedGames() {
+        GameCheckpoints checkpoints = new GameCheckpoints();
+        checkpoints.save(checkpoint("game-1", 12));
+
+        checkpoints.discard("game-1");
+
+        assertThat(checkpoints.size()).isZero();
+    }
+}
@@ -0,0 +1,121 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.PreparedGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GamePreStartPoolTest {
+
+    @Mock
+    private GameApiService gameApiService;
+
+    private ApiConfiguration.Pool poolConfig;
+    private GamePreStartPool pool;
+
+    @BeforeEach
+    void setUp() {
+        poolConfig = new ApiConfiguration.Pool();
+        poolConfig.setEnabled(true);
+        poolConfig.setSize(1);
+        poolConfig.setTtl(Duration.ofMinutes(1));
+        poolConfig.setPrefetchShop(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void acquire_shouldReturnNull_whenPoolIsDisabled() {
+        poolConfig.setEnabled(false);
+        pool = createPool();
+
+        assertThat(pool.acquire()).isNull();
+        verifyNoInteractions(gameApiService);
+    }
+
+    @Test
+    void acquire_shouldReturnPreStartedGameWithCatalog() throws InterruptedException {
+        // Given
+        Game game = Game.builder().gameId("pooled").lives(3).build();
+        List<Item> shopItems = List.of(Item.builder().id("hpot").cost(50).build());
+        when(gameApiService.startGame()).thenReturn(game);
+        when(gameApiService.getShopItems("pooled")).thenReturn(shopItems);
+        pool = createPool();
+
+        // When - the first acquire finds an empty pool and triggers a refill
+        assertThat(pool.acquire()).isNull();
+        awaitAvailable();
+        PreparedGame prepared = pool.acquire();
+
+        // Then
+        assertThat(prepared).isNotNull();
+        assertThat(prepared.getGame()).isSameAs(game);
+        assertThat(prepared.getShopItems()).isEqualTo(shopItems);
+    }
+
+    @Test
+    void acquire_shouldSkipShopPrefetch_whenDisabled() throws InterruptedException {
+        // Given
+        poolConfig.setPrefetchShop(false);
+        when(gameApiService.startGame()).thenReturn(Game.builder().gameId("pooled").build());
+        pool = createPool();
+
+        // When
+        pool.acquire();
+        awaitAvailable();
+        PreparedGame prepared = pool.acquire();
+
+        // Then
+        assertThat(prepared.getShopItems()).isNull();
+        verify(gameApiService, never()).getShopItems(anyString());
+    }
+
+    @Test
+    void acquire_shouldDiscardExpiredGames() throws InterruptedException {
+        // Given
+        poolConfig.setTtl(Duration.ofNanos(1));
+        when(gameApiService.startGame()).thenReturn(Game.builder().gameId("stale").build());
+        pool = createPool();
+
+        // When
+        pool.acquire();
+        awaitAvailable();
+        Thread.sleep(5);
+
+        // Then
+        assertThat(pool.acquire()).isNull();
+    }
+
+    private GamePreStartPool createPool() {
+        ApiConfiguration config = new ApiConfiguration();
+        config.setPool(poolConfig);
+        return new GamePreStartPool(gameApiService, config);
+    }
+
+    private void awaitAvailable() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (pool.available() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(pool.available()).isPositive();
+    }
+}
@@ -0,0 +1,258 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class GameRunManagerTest {
+    private final GameRunControl control = new GameRunControl();
+    private final AtomicInteger gameNumber = new AtomicInteger();
+    private final Set<String> cohorts = ConcurrentHashMap.newKeySet();
+    // Games that fail to start before the fake games play
+    private final AtomicInteger failedStarts = new AtomicInteger();
+    private GameRunManager manager;
+    private GameStatistics statistics;
+    private ApiConfiguration config;
+    private StrategyRegistry.Cohort fakeCohort;
+    // Turns each fake game lasts unless it is stopped, and how long each turn takes
+    private volatile int turnsPerGame = 5;
+    private volatile int turnMillis = 1;
+
+    @BeforeEach
+    void setUp() {
+        config = new ApiConfiguration();
+        config.setShop(new ApiConfiguration.Shop());
+        statistics = new GameStatistics(config);
+        StrategyRegistry strategyRegistry = new StrategyRegistry(
+                List.of(new ExpectedRewardTaskStrategy(new SuccessRateModel(config))),
+                List.of(new PurchasePlanner(config)), config);
+        fakeCohort = strategyRegistry.fixed("test", null, null);
+        GameService gameService = mock(GameService.class);
+        doAnswer(invocation -> {
+            StrategyRegistry.Cohort cohort = invocation.getArgument(0);
+            cohorts.add(cohort != null ? cohort.getName() : "assigned");
+            if (failedStarts.getAndDecrement() > 0) {
+                return false;
+            }
+            return playFakeGame();
+        }).when(gameService).playGame(any());
+        manager = new GameRunManager(gameService, control, strategyRegistry, statistics, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+        statistics.close();
+    }
+
+    // Plays like GameService: checks in with the run control before every turn
+    private boolean playFakeGame() throws InterruptedException {
+        Game game = new Game();
+        game.setGameId("game-" + gameNumber.incrementAndGet());
+        game.setLives(3);
+        control.started(game, fakeCohort);
+        try {
+            for (int turn = 1; turn <= turnsPerGame; turn++) {
+                control.record(game, ShopItem.GASOLINE.mask(), 100, turn - 1, 0, (turn - 1) * 20, 1);
+                if (control.shouldStop(game)) {
+                    return !control.isSuspending();
+                }
+                game.setTurn(turn);
+                game.setScore(turn * 10);
+                Thread.sleep(turnMillis);
+            }
+            return true;
+        } finally {
+            control.finished(game.getGameId());
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(2);
+        }
+    }
+
+    @Test
+    @DisplayName("a run plays its number of games and then goes idle")
+    void playsTheConfiguredNumberOfGames() throws InterruptedException {
+        manager.start(3, 10, null, null);
+
+        await(() -> manager.getState() == GameRunManager.State.IDLE);
+        GameRunManager.RunStatus status = manager.getStatus();
+        assertThat(status.getGamesStarted()).isEqualTo(10);
+        assertThat(status.getGamesFinished()).isEqualTo(10);
+        assertThat(status.getWorkers()).isZero();
+        assertThat(status.getActiveGames()).isEmpty();
+        assertThat(cohorts).containsExactly("assigned");
+    }
+
+    @Test
+    @DisplayName("games that could not be started do not count as finished")
+    void countsOnlyGamesPlayed() throws InterruptedException {
+        failedStarts.set(3);
+        manager.start(2, 10, null, null);
+
+        await(() -> manager.getState() == GameRunManager.State.IDLE);
+        GameRunManager.RunStatus status = manager.getStatus();
+        assertThat(status.getGamesStarted()).isEqualTo(10);
+        assertThat(status.getGamesFinished()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("the status lists the games in flight with their progress")
+    void listsActiveGames() throws InterruptedException {
+        turnsPerGame = 100_000;
+        manager.start(2, 0, null, null);
+
+        await(() -> manager.getStatus().getActiveGames().size() == 2
+                && manager.getStatus().getActiveGames().stream().allMatch(game -> game.getTurn() > 0));
+        GameRunControl.GameStatus game = manager.getStatus().getActiveGames().get(0);
+        assertThat(game.getGameId()).startsWith("game-");
+        assertThat(game.getLives()).isEqualTo(3);
+        assertThat(game.getScore()).isEqualTo(game.getTurn() * 10);
+    }
+
+    @Test
+    @DisplayName("pausing holds the games before their next turn until the run resumes")
+    void pausesAndResumes() throws InterruptedException {
+        turnsPerGame = 100_000;
+        manager.start(1, 0, null, null);
+        await(() -> control.getActiveCount() == 1);
+
+        manager.pause();
+        Thread.sleep(20);
+        int heldAt = manager.getStatus().getActiveGames().get(0).getTurn();
+        Thread.sleep(50);
+        assertThat(manager.getStatus().getActiveGames().get(0).getTurn()).isEqualTo(heldAt);
+        assertThatThrownBy(manager::pause).isInstanceOf(IllegalStateException.class);
+
+        manager.resume();
+        await(() -> manager.getStatus().getActiveGames().get(0).getTurn() > heldAt);
+    }
+
+    @Test
+    @DisplayName("draining lets the games in flight finish, a hard stop ends them before their next turn")
+    void drainsOrStops() throws InterruptedException {
+        turnsPerGame = 50;
+        manager.start(2, 0, null, null);
+        await(() -> control.getActiveCount() == 2);
+
+        manager.stop(true);
+        assertThat(manager.getState()).isEqualTo(GameRunManager.State.DRAINING);
+        await(() -> manager.getState() == GameRunManager.State.IDLE);
+        assertThat(manager.getStatus().getGamesFinished()).isEqualTo(manager.getStatus().getGamesStarted());
+
+        turnsPerGame = 100_000;
+        manager.start(2, 0, null, null);
+        await(() -> control.getActiveCount() == 2);
+        manager.pause();
+
+        manager.stop(false);
+        await(() -> manager.getState() == GameRunManager.State.IDLE);
+        assertThat(control.getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("scaling changes the concurrency and the strategies of the games started afterwards")
+    void scales() throws InterruptedException {
+        turnsPerGame = 20;
+        manager.start(1, 0, null, null);
+
+        manager.scale(4, null, null, null);
+        assertThat(manager.getStatus().getWorkers()).isEqualTo(4);
+        await(() -> control.getActiveCount() == 4);
+
+        manager.scale(1, null, "expected-reward", null);
+        await(() -> manager.getStatus().getWorkers() == 1);
+        await(() -> cohorts.contains(GameRunManager.RUN_COHORT));
+        assertThat(manager.getStatus().getTask()).isEqualTo("expected-reward");
+        assertThat(manager.getStatus().getPurchase()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("a second run or settings out of range are rejected")
+    void rejectsInvalidRequests() {
+        assertThatThrownBy(() -> manager.scale(2, null, null, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> manager.start(0, 0, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> manager.start(config.getRun().getMaxConcurrency() + 1, 0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> manager.start(1, 0, "no-such-strategy", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(manager.getState()).isEqualTo(GameRunManager.State.IDLE);
+
+        turnsPerGame = 100_000;
+        manager.start(1, 0, null, null);
+        assertThatThrownBy(() -> manager.start(1, 0, null, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> manager.scale(-1, null, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> manager.scale(config.getRun().getMaxConcurrency() + 1, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("a shutdown suspends the games in flight before their next turn and waits for them")
+    void suspendsForShutdown() throws InterruptedException {
+        turnsPerGame = 100_000;
+        manager.start(2, 0, null, null);
+        await(() -> control.getActiveCount() == 2);
+
+        List<GameCheckpoints.Checkpoint> unfinished = manager.suspend(Duration.ofSeconds(10));
+
+        assertThat(unfinished).isEmpty();
+        assertThat(control.isSuspending()).isTrue();
+        assertThat(control.getActiveCount()).isZero();
+        assertThat(manager.getState()).isEqualTo(GameRunManager.State.IDLE);
+    }
+
+    @Test
+    @DisplayName("a shutdown checkpoints the games still mid-turn at its deadline")
+    void checkpointsGamesPastTheDeadline() throws InterruptedException {
+        turnsPerGame = 100_000;
+        manager.start(1, 0, null, null);
+        await(() -> control.getActiveCount() == 1 && manager.getStatus().getActiveGames().get(0).getTurn() > 0);
+        turnMillis = 2_000;
+        Thread.sleep(20);
+        GameCheckpoints checkpoints = new GameCheckpoints();
+        config.getShutdown().setTimeout(Duration.ofMillis(50));
+        GameShutdown shutdown = new GameShutdown(manager, checkpoints, config);
+        shutdown.start();
+
+        shutdown.stop();
+
+        assertThat(shutdown.isRunning()).isFalse();
+        assertThat(manager.getState()).isEqualTo(GameRunManager.State.DRAINING);
+        GameCheckpoints.Checkpoint checkpoint = checkpoints.take();
+        assertThat(checkpoint.getGameId()).startsWith("game-");
+        assertThat(checkpoint.getCohort()).isEqualTo("test");
+        assertThat(checkpoint.getTask()).isEqualTo(fakeCohort.getTaskStrategy().getName());
+        assertThat(checkpoint.getPurchase()).isEqualTo(fakeCohort.getPurchaseStrategy().getName());
+        assertThat(checkpoint.getLives()).isEqualTo(3);
+        assertThat(checkpoint.getTurn()).isPositive();
+        assertThat(checkpoint.getOwnedUpgrades()).isEqualTo(ShopItem.GASOLINE.mask());
+        assertThat(checkpoint.getUpgradeGold()).isEqualTo(100);
+        assertThat(checkpoint.getTasksCompleted()).isPositive();
+        assertThat(checkpoint.getTotalRewards()).isEqualTo(checkpoint.getTasksCompleted() * 20);
+        assertThat(checkpoint.getItemsPurchased()).isEqualTo(1);
+    }
+}
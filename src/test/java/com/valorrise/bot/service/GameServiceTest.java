@@ -1,28 +1,40 @@
 package com.valorrise.bot.service;
 
-import com.valorrise.bot.api.client.GameApiClient;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnEventBus;
 import com.valorrise.bot.exception.GameApiException;
 import com.valorrise.bot.model.domain.Advertisement;
 import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.PreparedGame;
 import com.valorrise.bot.model.domain.Reputation;
 import com.valorrise.bot.model.domain.SolveResponse;
-import com.valorrise.bot.model.dto.GameDto;
-import com.valorrise.bot.model.dto.ReputationDto;
-import com.valorrise.bot.model.dto.SolveResponseDto;
-import com.valorrise.bot.model.mapper.ReputationMapper;
+import com.valorrise.bot.model.domain.TurnRecord;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import com.valorrise.bot.strategy.TaskStrategy;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,9 +42,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
 
-    @Mock
-    private GameApiClient apiClient;
-
     @Mock
     private GameApiService gameApiService;
 
@@ -42,25 +51,55 @@ class GameServiceTest {
     @Mock
     private ShopService shopService;
 
+    @Mock
+    private GamePreStartPool gamePreStartPool;
+
+    @Mock
+    private ShadowEvaluator shadowEvaluator;
+
+    @Mock
+    private TurnJournal turnJournal;
+
+    @Mock
+    private TurnEventBus turnEventBus;
+
+    @Mock
+    private GameRunControl gameRunControl;
+
+    @Mock
+    private GameStatistics gameStatistics;
+
+    @Mock
+    private GameCheckpoints gameCheckpoints;
+
+    @Spy
+    private StrategyRegistry strategyRegistry = new StrategyRegistry(
+            List.of(new ExpectedRewardTaskStrategy(new SuccessRateModel(shopConfiguration()))),
+            List.of(new PurchasePlanner(shopConfiguration())), shopConfiguration());
+
+    @Spy
+    private ReputationTracker reputationTracker = new ReputationTracker(shopConfiguration());
+
     @InjectMocks
     private GameService gameService;
 
-    private GameDto gameDto;
+    private Game newGame;
     private Game game;
     private Advertisement advertisement;
-    private SolveResponseDto solveResponseDto;
-    private ReputationDto reputationDto;
+    private SolveResponse solveResponse;
     private Reputation reputation;
 
     @BeforeEach
     void setUp() {
+        lenient().when(shopService.knownCatalog(anyString())).thenReturn(ItemCatalog.DEFAULT);
+
         // Setup test data
-        gameDto = new GameDto();
-        gameDto.setGameId("test-game-123");
-        gameDto.setLives(5);
-        gameDto.setGold(200);
-        gameDto.setScore(0);
-        gameDto.setTurn(1);
+        newGame = new Game();
+        newGame.setGameId("test-game-123");
+        newGame.setLives(5);
+        newGame.setGold(200);
+        newGame.setScore(0);
+        newGame.setTurn(1);
 
         game = new Game();
         game.setGameId("test-game-123");
@@ -73,15 +112,7 @@ class GameServiceTest {
         advertisement.setAdId("test-ad-123%3D");
         advertisement.setReward(50);
 
-        solveResponseDto = new SolveResponseDto();
-        solveResponseDto.setSuccess(true);
-        solveResponseDto.setLives(4);
-        solveResponseDto.setGold(250);
-        solveResponseDto.setScore(50);
-        solveResponseDto.setTurn(2);
-        solveResponseDto.setMessage("Success");
-
-        SolveResponse solveResponse = new SolveResponse();
+        solveResponse = new SolveResponse();
         solveResponse.setSuccess(true);
         solveResponse.setLives(4);
         solveResponse.setGold(250);
@@ -89,11 +120,6 @@ class GameServiceTest {
         solveResponse.setTurn(2);
         solveResponse.setMessage("Success");
 
-        reputationDto = new ReputationDto();
-        reputationDto.setPeople(5.0f);
-        reputationDto.setState(5.0f);
-        reputationDto.setUnderworld(5.0f);
-
         reputation = new Reputation();
         reputation.setPeople(5.0f);
         reputation.setState(5.0f);
@@ -108,331 +134,550 @@ class GameServiceTest {
         @DisplayName("Should successfully complete a game with normal flow")
         void shouldSuccessfullyCompleteGame() throws GameApiException {
             // Given
-            gameDto.setTurn(5);
-            when(apiClient.startGame()).thenReturn(gameDto);
+            newGame.setTurn(5);
+            when(gameApiService.startGame()).thenReturn(newGame);
             when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
             when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
-            when(taskSelectionService.selectBestTask(anyList())).thenReturn(advertisement);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(solveResponseDto);
-            when(apiClient.getReputation("test-game-123")).thenReturn(reputationDto);
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(solveResponse);
 
             // Configure solve response to end game (set lives to 0)
-            SolveResponseDto endGameResponse = new SolveResponseDto();
+            SolveResponse endGameResponse = new SolveResponse();
             endGameResponse.setSuccess(true);
             endGameResponse.setLives(0);
             endGameResponse.setGold(300);
             endGameResponse.setScore(100);
             endGameResponse.setTurn(3);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123="))
-                    .thenReturn(solveResponseDto)
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123="))
+                    .thenReturn(solveResponse)
                     .thenReturn(endGameResponse);
 
             // When
             assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            verify(apiClient).startGame();
-            verify(taskSelectionService, atLeastOnce()).selectBestTask(anyList());
-            verify(apiClient, atLeastOnce()).solveAdvertisement(anyString(), anyString());
-            verify(apiClient).getReputation("test-game-123");
+            verify(gameApiService).startGame();
+            verify(taskSelectionService, atLeastOnce()).selectBestTask(anyList(), any());
+            verify(gameApiService, atLeastOnce()).solveAdvertisement(anyString(), anyString());
+            verify(gameApiService, never()).getReputation(anyString());
+            // The first purchase is planned against the game's own shop
+            InOrder shop = inOrder(shopService);
+            shop.verify(shopService).loadCatalog("test-game-123");
+            shop.verify(shopService).knownCatalog("test-game-123");
         }
 
         @Test
-        @DisplayName("Should handle GameApiException when starting game")
-        void shouldHandleGameApiExceptionOnStart() throws GameApiException {
+        @DisplayName("Should play a pre-started game without calling startGame")
+        void shouldPlayPreStartedGame() {
             // Given
-            when(apiClient.startGame()).thenThrow(new GameApiException("Server Error", 500));
+            List<Item> shopItems = List.of(Item.builder().id("hpot").cost(50).build());
+            when(gamePreStartPool.acquire()).thenReturn(PreparedGame.builder().game(game).shopItems(shopItems).build());
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
 
-            // When & Then
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+
+            // When
             assertDoesNotThrow(() -> gameService.playGame());
-            verify(apiClient).startGame();
-            verifyNoMoreInteractions(taskSelectionService, shopService);
+
+            // Then
+            verify(gameApiService, never()).startGame();
+            verify(shopService).primeCatalog("test-game-123", shopItems);
+            verify(shopService).releaseGame("test-game-123");
         }
 
         @Test
-        @DisplayName("Should buy health potion when lives are low")
-        void shouldBuyHealthPotionWhenLivesAreLow() throws GameApiException {
+        @DisplayName("Should select tasks with the task strategy of the game's cohort")
+        void shouldUseCohortTaskStrategy() {
             // Given
-            GameDto lowLivesGameDto = new GameDto();
-            lowLivesGameDto.setGameId("test-game-123");
-            lowLivesGameDto.setLives(2);
-            lowLivesGameDto.setGold(100);
-            lowLivesGameDto.setScore(0);
-            lowLivesGameDto.setTurn(1);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
 
-            Game updatedGame = new Game();
-            updatedGame.setGameId("test-game-123");
-            updatedGame.setLives(3);
-            updatedGame.setGold(50);
-            updatedGame.setScore(0);
-            updatedGame.setTurn(1);
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+
+            // When
+            gameService.playGame();
+
+            // Then
+            TaskStrategy taskStrategy = strategyRegistry.getCohorts().get(0).getTaskStrategy();
+            verify(strategyRegistry).assign("test-game-123");
+            verify(taskSelectionService).selectBestTask(anyList(), same(taskStrategy));
+            verify(shadowEvaluator).observe(eq("test-game-123"), anyInt(), eq(List.of(advertisement)),
+                    same(advertisement), same(taskStrategy));
+        }
 
-            when(apiClient.startGame()).thenReturn(lowLivesGameDto);
-            when(shopService.buyHealthPotionIfNeeded(any(Game.class))).thenReturn(updatedGame);
+        @Test
+        @DisplayName("Should journal each played turn when the journal is enabled")
+        void shouldJournalPlayedTurns() {
+            // Given
+            when(turnJournal.isEnabled()).thenReturn(true);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
             when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
-            when(taskSelectionService.selectBestTask(anyList())).thenReturn(advertisement);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(solveResponseDto);
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
 
-            // Configure to end game after one iteration
-            SolveResponseDto endGameResponse = new SolveResponseDto();
+            SolveResponse endGameResponse = new SolveResponse();
             endGameResponse.setLives(0);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+            endGameResponse.setGold(200);
+            endGameResponse.setTurn(2);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
 
             // When
-            assertDoesNotThrow(() -> gameService.playGame());
+            gameService.playGame();
 
             // Then
-            verify(shopService).buyHealthPotionIfNeeded(any(Game.class));
+            ArgumentCaptor<TurnRecord> turn = ArgumentCaptor.forClass(TurnRecord.class);
+            verify(turnJournal).record(turn.capture());
+            assertEquals("test-game-123", turn.getValue().getGameId());
+            assertEquals(2, turn.getValue().getTurn());
+            assertEquals(5, turn.getValue().getLivesBefore());
+            assertEquals(List.of(advertisement), turn.getValue().getBoard());
+            assertEquals("test-ad-123%3D", turn.getValue().getChosenAdId());
+            assertFalse(turn.getValue().isSuccess());
+            assertEquals(0, turn.getValue().getLivesAfter());
         }
 
         @Test
-        @DisplayName("Should stop game when score exceeds 1000")
-        void shouldStopGameWhenScoreExceeds1000() throws GameApiException {
+        @DisplayName("Should publish each played turn and then the game's end to the event bus")
+        void shouldPublishPlayedTurns() {
             // Given
-            gameDto.setTurn(5);
-            when(apiClient.startGame()).thenReturn(gameDto);
+            TurnEvent slot = new TurnEvent();
+            TurnEvent gameOver = new TurnEvent();
+            when(turnEventBus.claim()).thenReturn(slot, gameOver);
+            when(gameApiService.startGame()).thenReturn(newGame);
             when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            advertisement.setMessage("Escort the caravan");
             when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
-            when(taskSelectionService.selectBestTask(anyList())).thenReturn(advertisement);
-            when(apiClient.getReputation("test-game-123")).thenReturn(reputationDto);
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
 
-            // Configure solve response with high score
-            SolveResponseDto highScoreResponse = new SolveResponseDto();
-            highScoreResponse.setSuccess(true);
-            highScoreResponse.setLives(4);
-            highScoreResponse.setGold(250);
-            highScoreResponse.setScore(1500);
-            highScoreResponse.setTurn(2);
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            endGameResponse.setGold(120);
+            endGameResponse.setScore(40);
+            endGameResponse.setTurn(2);
+            endGameResponse.setMessage("You were ambushed");
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
 
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(highScoreResponse);
+            // When
+            gameService.playGame();
+
+            // Then
+            verify(turnEventBus).publish(same(slot));
+            assertEquals("test-game-123", slot.getGameId());
+            assertEquals(StrategyRegistry.DEFAULT_COHORT, slot.getCohort());
+            assertEquals(2, slot.getTurn());
+            assertEquals("test-ad-123=", slot.getAdId());
+            assertEquals("Escort the caravan", slot.getTask());
+            assertFalse(slot.isSuccess());
+            assertEquals("You were ambushed", slot.getOutcome());
+            assertEquals(120, slot.getGold());
+            assertEquals(40, slot.getScore());
+            assertFalse(slot.isGameOver());
+
+            verify(turnEventBus).publish(same(gameOver));
+            assertTrue(gameOver.isGameOver());
+            assertEquals("test-game-123", gameOver.getGameId());
+            assertEquals(2, gameOver.getTurn());
+            assertEquals(0, gameOver.getLives());
+            assertEquals(40, gameOver.getScore());
+            assertEquals(0, gameOver.getTasksCompleted());
+            assertEquals(1, gameOver.getTasksFailed());
+            assertFalse(gameOver.isSuccess());
+        }
+
+        @Test
+        @DisplayName("Should stop a game before its next turn when the run control says so")
+        void shouldStopGameWhenRunIsStopped() {
+            // Given
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(gameRunControl.shouldStop(newGame)).thenReturn(true);
 
             // When
-            assertDoesNotThrow(() -> gameService.playGame());
+            boolean played = gameService.playGame(null);
 
             // Then
-            verify(apiClient).solveAdvertisement("test-game-123", "test-ad-123=");
-            verify(apiClient).getReputation("test-game-123");
+            assertTrue(played);
+            verify(gameRunControl).started(same(newGame),
+                    argThat(cohort -> cohort.getName().equals(StrategyRegistry.DEFAULT_COHORT)));
+            verify(gameApiService, never()).getAdvertisements(anyString());
+            verify(gameRunControl).finished("test-game-123");
+            verify(shopService).releaseGame("test-game-123");
         }
 
         @Test
-        @DisplayName("Should handle 404 error and end game")
-        void shouldHandle404ErrorAndEndGame() throws GameApiException {
+        @DisplayName("Should release the game's shop catalog when the game fails unexpectedly")
+        void shouldReleaseShopCatalogWhenGameFails() {
             // Given
-            gameDto.setTurn(5);
-            try (MockedStatic<ReputationMapper> mockedStatic = mockStatic(ReputationMapper.class)) {
-                when(apiClient.startGame()).thenReturn(gameDto);
-                when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
-                when(apiClient.getReputation("test-game-123")).thenReturn(reputationDto);
-                mockedStatic.when(() -> ReputationMapper.toEntity(any(ReputationDto.class))).thenReturn(reputation);
-                when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
-                when(taskSelectionService.selectBestTask(anyList())).thenReturn(advertisement);
-                when(apiClient.solveAdvertisement("test-game-123", "test-ad-123="))
-                        .thenThrow(new GameApiException("Game not found", 404));
-
-                // When
-                assertDoesNotThrow(() -> gameService.playGame());
-
-                // Then
-                verify(apiClient).solveAdvertisement("test-game-123", "test-ad-123=");
-                verify(apiClient).getReputation("test-game-123");
-            }
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(gameRunControl.shouldStop(newGame)).thenThrow(new IllegalStateException("Boom"));
+
+            // When
+            assertThrows(IllegalStateException.class, () -> gameService.playGame(null));
+
+            // Then
+            verify(gameRunControl).finished("test-game-123");
+            verify(shopService).releaseGame("test-game-123");
         }
 
         @Test
-        @DisplayName("Should handle no valid advertisements")
-        void shouldHandleNoValidAdvertisements() throws GameApiException {
+        @DisplayName("Should checkpoint a game suspended by a shutdown instead of ending it")
+        void shouldCheckpointSuspendedGame() {
+            // Given
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(gameRunControl.shouldStop(newGame)).thenReturn(true);
+            when(gameRunControl.isSuspending()).thenReturn(true);
+
+            // When
+            boolean played = gameService.playGame(null);
+
+            // Then
+            assertFalse(played);
+            ArgumentCaptor<GameCheckpoints.Checkpoint> checkpoint = ArgumentCaptor.forClass(GameCheckpoints.Checkpoint.class);
+            verify(gameCheckpoints).save(checkpoint.capture());
+            assertEquals("test-game-123", checkpoint.getValue().getGameId());
+            assertEquals(StrategyRegistry.DEFAULT_COHORT, checkpoint.getValue().getCohort());
+            assertEquals(1, checkpoint.getValue().getTurn());
+            assertEquals(5, checkpoint.getValue().getLives());
+            assertEquals(200, checkpoint.getValue().getGold());
+            assertArrayEquals(new double[3], checkpoint.getValue().getReputation());
+            assertArrayEquals(new double[3], checkpoint.getValue().getReputationVariance());
+            verify(gameRunControl).finished("test-game-123");
+            verify(gameStatistics, never()).record(anyInt(), anyInt(), anyInt(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("Should resume a checkpointed game before starting a new one")
+        void shouldResumeCheckpointedGame() {
             // Given
-            gameDto.setTurn(5);
-            try (MockedStatic<ReputationMapper> mockedStatic = mockStatic(ReputationMapper.class)) {
-                when(apiClient.startGame()).thenReturn(gameDto);
-                when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
-                when(apiClient.getReputation("test-game-123")).thenReturn(reputationDto);
-                mockedStatic.when(() -> ReputationMapper.toEntity(any(ReputationDto.class))).thenReturn(reputation);
-                when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.emptyList());
-                when(taskSelectionService.selectBestTask(anyList())).thenReturn(null);
-
-                // When
-                assertDoesNotThrow(() -> gameService.playGame());
-
-                // Then
-                verify(taskSelectionService).selectBestTask(anyList());
-                verify(apiClient, never()).solveAdvertisement(anyString(), anyString());
-                verify(apiClient).getReputation("test-game-123");
-            }
+            when(gameCheckpoints.take()).thenReturn(GameCheckpoints.Checkpoint.builder()
+                    .gameId("suspended-game")
+                    .cohort(StrategyRegistry.DEFAULT_COHORT)
+                    .turn(7)
+                    .lives(5)
+                    .gold(90)
+                    .score(120)
+                    .tasksCompleted(4)
+                    .tasksFailed(2)
+                    .build());
+            lenient().when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("suspended-game")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            endGameResponse.setGold(90);
+            endGameResponse.setScore(120);
+            endGameResponse.setTurn(8);
+            when(gameApiService.solveAdvertisement("suspended-game", "test-ad-123=")).thenReturn(endGameResponse);
+            TurnEvent gameOver = new TurnEvent();
+            when(turnEventBus.claim()).thenReturn(null, gameOver);
+
+            // When
+            gameService.playGame();
+
+            // Then
+            verify(gameApiService, never()).startGame();
+            verify(gamePreStartPool, never()).acquire();
+            verify(gameStatistics).record(8, 120, 90, false);
+            assertEquals(4, gameOver.getTasksCompleted());
+            assertEquals(3, gameOver.getTasksFailed());
         }
 
         @Test
-        @DisplayName("Should buy upgrade items when conditions are met")
-        void shouldBuyUpgradeItemsWhenConditionsMet() throws GameApiException {
+        @DisplayName("Should play the fixed strategies of a run instead of the game's cohort")
+        void shouldPlayFixedCohort() {
             // Given
-            gameDto.setTurn(5);
-            GameDto richGameDto = new GameDto();
-            richGameDto.setGameId("test-game-123");
-            richGameDto.setLives(5);
-            richGameDto.setGold(500);
-            richGameDto.setScore(0);
-            richGameDto.setTurn(1);
+            StrategyRegistry.Cohort fixed = strategyRegistry.fixed("run", null, null);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+
+            // When
+            gameService.playGame(fixed);
+
+            // Then
+            verify(strategyRegistry, never()).assign(anyString());
+            verify(gameRunControl).started(newGame, fixed);
+            verify(taskSelectionService).selectBestTask(anyList(), same(fixed.getTaskStrategy()));
+        }
+
+        @Test
+        @DisplayName("Should only resume games that the fixed strategies of a run played")
+        void shouldResumeOnlyGamesOfTheFixedStrategies() {
+            // Given
+            StrategyRegistry.Cohort fixed = strategyRegistry.fixed("run", null, null);
+            String task = fixed.getTaskStrategy().getName();
+            String purchase = fixed.getPurchaseStrategy().getName();
+            when(gameCheckpoints.take(task, purchase)).thenReturn(GameCheckpoints.Checkpoint.builder()
+                    .gameId("suspended-game")
+                    .cohort("run")
+                    .task(task)
+                    .purchase(purchase)
+                    .turn(7)
+                    .lives(5)
+                    .gold(90)
+                    .score(120)
+                    .build());
+            lenient().when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("suspended-game")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            endGameResponse.setTurn(8);
+            when(gameApiService.solveAdvertisement("suspended-game", "test-ad-123=")).thenReturn(endGameResponse);
+
+            // When
+            gameService.playGame(fixed);
+
+            // Then
+            verify(gameCheckpoints, never()).take();
+            verify(gameApiService, never()).startGame();
+            verify(gameRunControl).started(argThat(resumed -> resumed.getGameId().equals("suspended-game")),
+                    same(fixed));
+            verify(taskSelectionService).selectBestTask(anyList(), same(fixed.getTaskStrategy()));
+        }
+
+        @Test
+        @DisplayName("Should handle GameApiException when starting game")
+        void shouldHandleGameApiExceptionOnStart() throws GameApiException {
+            // Given
+            when(gameApiService.startGame()).thenThrow(new GameApiException("Server Error", 500));
+
+            // When & Then
+            assertFalse(assertDoesNotThrow(() -> gameService.playGame(null)));
+            verify(gameApiService).startGame();
+            verifyNoMoreInteractions(taskSelectionService, shopService);
+        }
+
+        @Test
+        @DisplayName("Should buy health potion when lives are low")
+        void shouldBuyHealthPotionWhenLivesAreLow() throws GameApiException {
+            // Given
+            Game lowLivesGame = new Game();
+            lowLivesGame.setGameId("test-game-123");
+            lowLivesGame.setLives(2);
+            lowLivesGame.setGold(100);
+            lowLivesGame.setScore(0);
+            lowLivesGame.setTurn(1);
 
             Game updatedGame = new Game();
             updatedGame.setGameId("test-game-123");
-            updatedGame.setLives(5);
-            updatedGame.setGold(200);
+            updatedGame.setLives(3);
+            updatedGame.setGold(50);
             updatedGame.setScore(0);
             updatedGame.setTurn(1);
 
-            when(apiClient.startGame()).thenReturn(richGameDto);
-            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(updatedGame);
+            when(gameApiService.startGame()).thenReturn(lowLivesGame);
+            when(shopService.buyItem(any(Game.class), eq("hpot"))).thenReturn(updatedGame);
             when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
-            when(taskSelectionService.selectBestTask(anyList())).thenReturn(advertisement);
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(solveResponse);
 
             // Configure to end game after one iteration
-            SolveResponseDto endGameResponse = new SolveResponseDto();
+            SolveResponse endGameResponse = new SolveResponse();
             endGameResponse.setLives(0);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
 
             // When
             assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            verify(shopService).buyItem(any(Game.class), anyString());
+            verify(shopService).buyItem(any(Game.class), eq("hpot"));
+            verify(shopService, times(1)).buyItem(any(Game.class), anyString());
         }
-    }
-
-    @Nested
-    @DisplayName("selectUpgradeItem() method tests")
-    class SelectUpgradeItemTests {
 
         @Test
-        @DisplayName("Should return null when insufficient gold")
-        void shouldReturnNullWhenInsufficientGold() throws Exception {
-            // Given
-            Game poorGame = new Game();
-            poorGame.setGold(100);
-            poorGame.setTurn(5);
-            boolean[] purchasedUpgrades = new boolean[10];
-            Reputation goodReputation = new Reputation();
-            goodReputation.setPeople(5.0f);
-            goodReputation.setState(5.0f);
-            goodReputation.setUnderworld(5.0f);
+        @DisplayName("Should not call the shop when a potion is not affordable")
+        void shouldNotCallShopWhenPotionIsNotAffordable() {
+            // Given - 60 gold is below potion cost (50) + minGoldToBuy (50)
+            Game poorGame = Game.builder().gameId("test-game-123").lives(2).gold(60).turn(1).build();
+            when(gameApiService.startGame()).thenReturn(poorGame);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
 
             // When
-            String result = invokeSelectUpgradeItem(poorGame, purchasedUpgrades, goodReputation);
+            assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            assertNull(result);
+            verify(shopService, never()).buyItem(any(Game.class), anyString());
         }
 
         @Test
-        @DisplayName("Should prioritize state reputation items when state is lowest")
-        void shouldPrioritizeStateReputationItems() throws Exception {
+        @DisplayName("Should stop game when score exceeds 1000")
+        void shouldStopGameWhenScoreExceeds1000() throws GameApiException {
             // Given
-            Game game = new Game();
-            game.setGold(400);
-            game.setTurn(15);
-            boolean[] purchasedUpgrades = new boolean[10];
-            Reputation lowStateReputation = new Reputation();
-            lowStateReputation.setPeople(5.0f);
-            lowStateReputation.setState(2.0f);
-            lowStateReputation.setUnderworld(5.0f);
+            newGame.setTurn(5);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            // Configure solve response with high score
+            SolveResponse highScoreResponse = new SolveResponse();
+            highScoreResponse.setSuccess(true);
+            highScoreResponse.setLives(4);
+            highScoreResponse.setGold(250);
+            highScoreResponse.setScore(1500);
+            highScoreResponse.setTurn(2);
+
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(highScoreResponse);
 
             // When
-            String result = invokeSelectUpgradeItem(game, purchasedUpgrades, lowStateReputation);
+            assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            assertEquals("tricks", result);
+            verify(gameApiService).solveAdvertisement("test-game-123", "test-ad-123=");
+            verify(gameApiService, never()).getReputation(anyString());
         }
 
         @Test
-        @DisplayName("Should prioritize underworld reputation items when underworld is lowest")
-        void shouldPrioritizeUnderworldReputationItems() throws Exception {
+        @DisplayName("Should handle 404 error and end game")
+        void shouldHandle404ErrorAndEndGame() throws GameApiException {
             // Given
-            Game game = new Game();
-            game.setGold(450);
-            game.setTurn(15);
-            boolean[] purchasedUpgrades = new boolean[10];
-            Reputation lowUnderworldReputation = new Reputation();
-            lowUnderworldReputation.setPeople(5.0f);
-            lowUnderworldReputation.setState(5.0f);
-            lowUnderworldReputation.setUnderworld(2.0f);
+            newGame.setTurn(5);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123="))
+                    .thenThrow(new GameApiException("Game not found", 404));
 
             // When
-            String result = invokeSelectUpgradeItem(game, purchasedUpgrades, lowUnderworldReputation);
+            assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            assertEquals("cs", result);
+            verify(gameApiService).solveAdvertisement("test-game-123", "test-ad-123=");
+            verify(gameApiService, never()).getReputation(anyString());
         }
 
         @Test
-        @DisplayName("Should prioritize people reputation items when people is lowest")
-        void shouldPrioritizePeopleReputationItems() throws Exception {
+        @DisplayName("Should not play when game starts are paused by an open circuit")
+        void shouldNotPlayWhenGameStartsArePaused() {
             // Given
-            Game game = new Game();
-            game.setGold(400);
-            game.setTurn(15);
-            boolean[] purchasedUpgrades = new boolean[10];
-            Reputation lowPeopleReputation = new Reputation();
-            lowPeopleReputation.setPeople(2.0f);
-            lowPeopleReputation.setState(5.0f);
-            lowPeopleReputation.setUnderworld(5.0f);
+            when(gameApiService.startGame()).thenThrow(
+                    CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("solve")));
+
+            // When & Then
+            assertDoesNotThrow(() -> gameService.playGame());
+            verify(gameApiService).startGame();
+            verifyNoInteractions(taskSelectionService, shopService);
+        }
+
+        @Test
+        @DisplayName("Should abandon game when the solve circuit opens")
+        void shouldAbandonGameWhenSolveCircuitOpens() {
+            // Given
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123="))
+                    .thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("solve")));
 
             // When
-            String result = invokeSelectUpgradeItem(game, purchasedUpgrades, lowPeopleReputation);
+            assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            assertEquals("wingpot", result);
+            verify(gameApiService, times(1)).solveAdvertisement("test-game-123", "test-ad-123=");
         }
 
         @Test
-        @DisplayName("Should prefer cheap items when early in game")
-        void shouldPreferCheapItemsWhenEarlyInGame() throws Exception {
+        @DisplayName("Should go on with the game when the API cannot be reached for a turn")
+        void shouldContinueGameAfterTransportError() {
             // Given
-            Game earlyGame = new Game();
-            earlyGame.setGold(200);
-            earlyGame.setTurn(5);
-            boolean[] purchasedUpgrades = new boolean[10];
-            Reputation goodReputation = new Reputation();
-            goodReputation.setPeople(5.0f);
-            goodReputation.setState(5.0f);
-            goodReputation.setUnderworld(5.0f);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            lenient().when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            Request request = Request.create(Request.HttpMethod.GET, "/api/v2/test-game-123/messages", Map.of(),
+                    null, StandardCharsets.UTF_8, null);
+            when(gameApiService.getAdvertisements("test-game-123"))
+                    .thenThrow(new RetryableException(-1, "Read timed out", Request.HttpMethod.GET, (Long) null, request))
+                    .thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
 
             // When
-            String result = invokeSelectUpgradeItem(earlyGame, purchasedUpgrades, goodReputation);
+            boolean played = gameService.playGame(null);
 
             // Then
-            assertNotNull(result);
-            // Should be one of the first 5 items (100 gold items)
-            assertTrue(Arrays.asList("cs", "gas", "wax", "tricks", "wingpot").contains(result));
+            assertTrue(played);
+            verify(gameApiService, times(1)).startGame();
+            verify(gameApiService, times(2)).getAdvertisements("test-game-123");
+            verify(gameApiService).solveAdvertisement("test-game-123", "test-ad-123=");
         }
 
         @Test
-        @DisplayName("Should return null when all upgrades are purchased")
-        void shouldReturnNullWhenAllUpgradesPurchased() throws Exception {
+        @DisplayName("Should handle no valid advertisements")
+        void shouldHandleNoValidAdvertisements() throws GameApiException {
             // Given
-            Game game = new Game();
-            game.setGold(500);
-            game.setTurn(15);
-            boolean[] purchasedUpgrades = new boolean[10];
-            Arrays.fill(purchasedUpgrades, true); // All items purchased
-            Reputation goodReputation = new Reputation();
-            goodReputation.setPeople(5.0f);
-            goodReputation.setState(5.0f);
-            goodReputation.setUnderworld(5.0f);
+            newGame.setTurn(5);
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.emptyList());
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(null);
 
             // When
-            String result = invokeSelectUpgradeItem(game, purchasedUpgrades, goodReputation);
+            assertDoesNotThrow(() -> gameService.playGame());
 
             // Then
-            assertNull(result);
+            verify(taskSelectionService).selectBestTask(anyList(), any());
+            verify(gameApiService, never()).solveAdvertisement(anyString(), anyString());
+            verify(gameApiService, never()).getReputation(anyString());
         }
 
-        // Helper method to invoke private selectUpgradeItem method
-        private String invokeSelectUpgradeItem(Game game, boolean[] purchasedUpgrades,
-                                               Reputation reputation) throws Exception {
-            var method = GameService.class.getDeclaredMethod("selectUpgradeItem",
-                    Game.class, boolean[].class, int.class, int.class, Reputation.class);
-            method.setAccessible(true);
-            return (String) method.invoke(gameService, game, purchasedUpgrades,
-                    0, 5, reputation);
+        @Test
+        @DisplayName("Should buy upgrade items when conditions are met")
+        void shouldBuyUpgradeItemsWhenConditionsMet() throws GameApiException {
+            // Given
+            newGame.setTurn(5);
+            Game richGame = new Game();
+            richGame.setGameId("test-game-123");
+            richGame.setLives(5);
+            richGame.setGold(500);
+            richGame.setScore(0);
+            richGame.setTurn(1);
+
+            Game updatedGame = new Game();
+            updatedGame.setGameId("test-game-123");
+            updatedGame.setLives(5);
+            updatedGame.setGold(200);
+            updatedGame.setScore(0);
+            updatedGame.setTurn(1);
+
+            when(gameApiService.startGame()).thenReturn(richGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(updatedGame);
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            // Configure to end game after one iteration
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+
+            // When
+            assertDoesNotThrow(() -> gameService.playGame());
+
+            // Then
+            verify(shopService).buyItem(any(Game.class), anyString());
         }
     }
 
@@ -440,26 +685,44 @@ class GameServiceTest {
     @DisplayName("Integration tests")
     class IntegrationTests {
 
+        @Test
+        @DisplayName("Should investigate reputation only once the prediction is too uncertain")
+        void shouldInvestigateReputationWhenPredictionIsUncertain() {
+            // Given - an upgrade is planned every turn, each solved task adds uncertainty
+            playUntilInvestigation();
+            when(gameApiService.getReputation("test-game-123")).thenReturn(reputation);
+
+            // When
+            assertDoesNotThrow(() -> gameService.playGame());
+
+            // Then - five solved tasks of unknown category push the variance past 4.0
+            verify(gameApiService, times(6)).solveAdvertisement("test-game-123", "test-ad-123=");
+            verify(gameApiService, times(1)).getReputation("test-game-123");
+        }
+
         @Test
         @DisplayName("Should handle reputation fetch failure gracefully")
         void shouldHandleReputationFetchFailure() throws GameApiException {
-
             // Given
-            gameDto.setTurn(5);
-            when(apiClient.startGame()).thenReturn(gameDto);
-            when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
-            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
-            when(taskSelectionService.selectBestTask(anyList())).thenReturn(advertisement);
-            when(apiClient.getReputation("test-game-123")).thenThrow(new GameApiException( "Server Error", 500));
-
-            // Configure to end game after one iteration
-            SolveResponseDto endGameResponse = new SolveResponseDto();
-            endGameResponse.setLives(0);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=")).thenReturn(endGameResponse);
+            playUntilInvestigation();
+            when(gameApiService.getReputation("test-game-123")).thenThrow(new GameApiException( "Server Error", 500));
 
             // When & Then
             assertDoesNotThrow(() -> gameService.playGame());
-            verify(apiClient).getReputation("test-game-123");
+            verify(gameApiService).getReputation("test-game-123");
+            verify(gameApiService, times(6)).solveAdvertisement("test-game-123", "test-ad-123=");
+        }
+
+        private void playUntilInvestigation() {
+            when(gameApiService.startGame()).thenReturn(newGame);
+            when(shopService.buyItem(any(Game.class), anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(gameApiService.getAdvertisements("test-game-123")).thenReturn(Collections.singletonList(advertisement));
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(advertisement);
+
+            SolveResponse endGameResponse = new SolveResponse();
+            endGameResponse.setLives(0);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123="))
+                    .thenReturn(solveResponse, solveResponse, solveResponse, solveResponse, solveResponse, endGameResponse);
         }
 
         @Test
@@ -467,27 +730,36 @@ class GameServiceTest {
         void shouldDecodeUrlEncodedAdvertisementIds() throws GameApiException {
 
             // Given
-            gameDto.setTurn(5);
+            newGame.setTurn(5);
             Advertisement encodedAd = new Advertisement();
             encodedAd.setAdId("test-ad-123%3D%26special");
             encodedAd.setReward(50);
 
-            when(apiClient.startGame()).thenReturn(gameDto);
+            when(gameApiService.startGame()).thenReturn(newGame);
             when(shopService.buyItem(any(Game.class), anyString())).thenReturn(game);
             when(gameApiService.getAdvertisements("test-game-123")).thenReturn(List.of(encodedAd));
-            when(taskSelectionService.selectBestTask(anyList())).thenReturn(encodedAd);
-            when(apiClient.getReputation("test-game-123")).thenReturn(reputationDto);
+            when(taskSelectionService.selectBestTask(anyList(), any())).thenReturn(encodedAd);
 
             // Configure to end game after one iteration
-            SolveResponseDto endGameResponse = new SolveResponseDto();
+            SolveResponse endGameResponse = new SolveResponse();
             endGameResponse.setLives(0);
-            when(apiClient.solveAdvertisement("test-game-123", "test-ad-123=&special")).thenReturn(endGameResponse);
+            when(gameApiService.solveAdvertisement("test-game-123", "test-ad-123=&special")).thenReturn(endGameResponse);
 
             // When
             assertDoesNotThrow(() -> gameService.playGame());
 
             // Then - verify that the decoded ID was used
-            verify(apiClient).solveAdvertisement("test-game-123", "test-ad-123=&special");
+            verify(gameApiService).solveAdvertisement("test-game-123", "test-ad-123=&special");
         }
     }
+
+    // Shop thresholds as in application.yaml, default investigation settings
+    private static ApiConfiguration shopConfiguration() {
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(3);
+        shop.setMinGoldToBuy(50);
+        ApiConfiguration config = new ApiConfiguration();
+        config.setShop(shop);
+        return config;
+    }
 }
\ No newline at end of file
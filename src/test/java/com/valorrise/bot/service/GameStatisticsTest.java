@@ -0,0 +1,129 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GameStatisticsTest {
+    private final GameStatistics statistics = new GameStatistics(config());
+
+    private static ApiConfiguration config() {
+        ApiConfiguration config = new ApiConfiguration();
+        config.getStatistics().setMergeInterval(Duration.ofMillis(1));
+        return config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.close();
+    }
+
+    @Test
+    @DisplayName("summarizes the final statistics of all games with their quantiles")
+    void summarizes() {
+        for (int game = 1; game <= 1_000; game++) {
+            // Every tenth game reaches the target score
+            boolean won = game % 10 == 0;
+            statistics.record(game % 100 + 1, won ? 1_000 + game : game, game * 2, won);
+        }
+
+        GameStatistics.Summary summary = statistics.getSummary();
+
+        assertThat(summary.getGames()).isEqualTo(1_000);
+        assertThat(summary.getReachedTarget()).isEqualTo(100);
+        assertThat(summary.getTurns().getMin()).isEqualTo(1);
+        assertThat(summary.getTurns().getMax()).isEqualTo(100);
+        assertThat(summary.getTurns().getMean()).isCloseTo(50.5, within(0.001));
+        assertThat((double) summary.getGoldRemaining().getP50()).isCloseTo(1_000, within(1_000 * 0.0625));
+        assertThat((double) summary.getGoldRemaining().getP99()).isCloseTo(1_980, within(1_980 * 0.0625));
+        assertThat(summary.getTurnsToTarget().getCount()).isEqualTo(100);
+        assertThat(summary.getTurnsToTarget().getMax()).isEqualTo(91);
+    }
+
+    @Test
+    @DisplayName("no game is lost or counted twice while threads record and merges run concurrently")
+    void mergesConcurrently() throws InterruptedException {
+        int threads = 8;
+        int gamesPerThread = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> recorders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int game = 0; game < gamesPerThread; game++) {
+                    statistics.record(10, 100, 50, false);
+                }
+            });
+            thread.start();
+            recorders.add(thread);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Thread merger = new Thread(() -> {
+            while (!done.get()) {
+                statistics.merge();
+            }
+        });
+        merger.start();
+
+        start.countDown();
+        for (Thread thread : recorders) {
+            thread.join();
+        }
+        done.set(true);
+        merger.join();
+
+        GameStatistics.Summary summary = statistics.getSummary();
+        assertThat(summary.getGames()).isEqualTo((long) threads * gamesPerThread);
+        assertThat(summary.getScore().getMean()).isEqualTo(100);
+        assertThat(summary.getGoldRemaining().getCount()).isEqualTo((long) threads * gamesPerThread);
+    }
+
+    @Test
+    @DisplayName("a reset starts the totals over")
+    void resets() {
+        statistics.record(10, 100, 50, false);
+        statistics.reset();
+        statistics.record(20, 1_200, 70, true);
+
+        GameStatistics.Summary summary = statistics.getSummary();
+        assertThat(summary.getGames()).isEqualTo(1);
+        assertThat(summary.getScore().getP50()).isEqualTo(1_200);
+        assertThat(summary.getReachedTarget()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the snapshots of separate instances add up to the statistics of all their games")
+    void mergesSnapshots() {
+        GameStatistics other = new GameStatistics(config());
+        for (int game = 1; game <= 100; game++) {
+            statistics.record(10, game, 0, false);
+            other.record(30, 1_000 + game, 0, true);
+        }
+
+        GameStatistics.Summary merged = GameStatistics.summarize(
+                GameStatistics.merge(statistics.snapshot(), other.snapshot()));
+        statistics.add(other.snapshot());
+        other.close();
+
+        assertThat(merged.getGames()).isEqualTo(200);
+        assertThat(merged.getReachedTarget()).isEqualTo(100);
+        assertThat(merged.getScore().getMin()).isEqualTo(1);
+        assertThat(merged.getScore().getMax()).isEqualTo(1_100);
+        assertThat(merged.getTurns().getMean()).isCloseTo(20, within(0.001));
+        assertThat(statistics.getSummary()).isEqualTo(merged);
+    }
+}
@@ -0,0 +1,146 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PurchasePlannerTest {
+
+    private PurchasePlanner planner;
+    private Reputation goodReputation;
+
+    @BeforeEach
+    void setUp() {
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(3);
+        shop.setMinGoldToBuy(50);
+        ApiConfiguration config = new ApiConfiguration();
+        config.setShop(shop);
+        planner = new PurchasePlanner(config);
+
+        goodReputation = reputation(5.0f, 5.0f, 5.0f);
+    }
+
+    @Nested
+    @DisplayName("plan() method tests")
+    class PlanTests {
+
+        @Test
+        @DisplayName("Should plan nothing when a potion is not affordable")
+        void shouldPlanNothingWhenPotionIsNotAffordable() {
+            Game game = Game.builder().lives(2).gold(99).turn(1).build();
+
+            assertThat(planner.plan(game, ItemCatalog.DEFAULT, 0L, 0, 0, goodReputation)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should plan a potion followed by an upgrade with the remaining gold")
+        void shouldPlanPotionThenUpgrade() {
+            Game game = Game.builder().lives(2).gold(200).turn(1).build();
+
+            List<ShopItem> plan = planner.plan(game, ItemCatalog.DEFAULT, 0L, 0, 0, goodReputation);
+
+            // 200 - 50 leaves 150, exactly enough for a 100 gold upgrade + minGoldToBuy
+            assertThat(plan).containsExactly(ShopItem.HEALING_POTION, ShopItem.CLAW_SHARPENING);
+        }
+
+        @Test
+        @DisplayName("Should not plan an upgrade when a potion does not restore enough lives")
+        void shouldNotPlanUpgradeWhenLivesStayLow() {
+            Game game = Game.builder().lives(1).gold(500).turn(1).build();
+
+            assertThat(planner.plan(game, ItemCatalog.DEFAULT, 0L, 0, 0, goodReputation))
+                    .containsExactly(ShopItem.HEALING_POTION);
+        }
+
+        @Test
+        @DisplayName("Should plan against the game's actual catalog")
+        void shouldUseActualCatalogCosts() {
+            Game game = Game.builder().lives(2).gold(100).turn(1).build();
+            ItemCatalog expensivePotions = ItemCatalog.of(List.of(Item.builder().id("hpot").cost(80).build()));
+
+            assertThat(planner.plan(game, expensivePotions, 0L, 0, 0, goodReputation)).isEmpty();
+            assertThat(planner.plan(game, ItemCatalog.DEFAULT, 0L, 0, 0, goodReputation))
+                    .containsExactly(ShopItem.HEALING_POTION);
+        }
+    }
+
+    @Nested
+    @DisplayName("selectUpgrade() method tests")
+    class SelectUpgradeTests {
+
+        @Test
+        @DisplayName("Should return null when insufficient gold")
+        void shouldReturnNullWhenInsufficientGold() {
+            assertThat(select(100, 5, 0L, goodReputation)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should prioritize state reputation items when state is lowest")
+        void shouldPrioritizeStateReputationItems() {
+            assertThat(select(400, 15, 0L, reputation(5.0f, 2.0f, 5.0f))).isEqualTo(ShopItem.BOOK_OF_TRICKS);
+        }
+
+        @Test
+        @DisplayName("Should prioritize underworld reputation items when underworld is lowest")
+        void shouldPrioritizeUnderworldReputationItems() {
+            assertThat(select(450, 15, 0L, reputation(5.0f, 5.0f, 2.0f))).isEqualTo(ShopItem.CLAW_SHARPENING);
+        }
+
+        @Test
+        @DisplayName("Should prioritize people reputation items when people is lowest")
+        void shouldPrioritizePeopleReputationItems() {
+            assertThat(select(400, 15, 0L, reputation(2.0f, 5.0f, 5.0f))).isEqualTo(ShopItem.POTION_OF_STRONGER_WINGS);
+        }
+
+        @Test
+        @DisplayName("Should prefer cheap items when early in game")
+        void shouldPreferCheapItemsWhenEarlyInGame() {
+            ShopItem result = select(200, 5, 0L, goodReputation);
+
+            assertThat(result).isNotNull();
+            assertThat(result.getListCost()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should skip an unaffordable reputation item instead of selecting it")
+        void shouldSkipUnaffordableItems() {
+            // Book of Tricks owned; Book of Megatricks (300) + minGoldToBuy is more than 200 gold
+            long owned = ShopItem.BOOK_OF_TRICKS.mask();
+
+            ShopItem result = select(200, 5, owned, reputation(5.0f, 2.0f, 5.0f));
+
+            assertThat(result).isEqualTo(ShopItem.CLAW_SHARPENING);
+        }
+
+        @Test
+        @DisplayName("Should return null when all upgrades are purchased")
+        void shouldReturnNullWhenAllUpgradesPurchased() {
+            long owned = 0L;
+            for (ShopItem item : ShopItem.values()) {
+                owned |= item.mask();
+            }
+
+            assertThat(select(500, 15, owned, goodReputation)).isNull();
+        }
+
+        private ShopItem select(int gold, int turn, long owned, Reputation reputation) {
+            return planner.selectUpgrade(ItemCatalog.DEFAULT, gold, turn, owned, 0, 5, reputation);
+        }
+    }
+
+    private static Reputation reputation(float people, float state, float underworld) {
+        return Reputation.builder().people(people).state(state).underworld(underworld).build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.TaskCategory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReputationTrackerTest {
+
+    private final ReputationTracker tracker = new ReputationTracker(new ApiConfiguration());
+
+    @Test
+    void newEstimate_shouldBeNeutralAndCertain() {
+        ReputationTracker.Estimate estimate = tracker.newEstimate();
+
+        assertThat(estimate.toReputation()).isEqualTo(new Reputation(0f, 0f, 0f));
+        assertThat(tracker.shouldInvestigate(estimate, 300)).isFalse();
+    }
+
+    @Test
+    void onTaskSolved_shouldApplyCategoryEffectOnSuccessOnly() {
+        ReputationTracker.Estimate estimate = tracker.newEstimate();
+
+        tracker.onTaskSolved(estimate, TaskCategory.STEAL, true);
+        tracker.onTaskSolved(estimate, TaskCategory.ESCORT, false);
+
+        assertThat(estimate.toReputation()).isEqualTo(new Reputation(0f, -1f, 1f));
+        assertThat(estimate.maxVariance()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldInvestigate_whenUncertaintyExceedsThreshold() {
+        ReputationTracker.Estimate estimate = tracker.newEstimate();
+
+        for (int i = 0; i < 8; i++) {
+            tracker.onTaskSolved(estimate, TaskCategory.DEFEND, true);
+        }
+        assertThat(tracker.shouldInvestigate(estimate, 100)).isFalse();
+
+        tracker.onTaskSolved(estimate, TaskCategory.DEFEND, true);
+        assertThat(tracker.shouldInvestigate(estimate, 100)).isTrue();
+    }
+
+    @Test
+    void shouldInvestigate_beforeHighStakesPurchaseUnlessExact() {
+        ReputationTracker.Estimate estimate = tracker.newEstimate();
+        tracker.onTaskSolved(estimate, TaskCategory.BIOGRAPHY, true);
+
+        assertThat(tracker.shouldInvestigate(estimate, 100)).isFalse();
+        assertThat(tracker.shouldInvestigate(estimate, 300)).isTrue();
+
+        tracker.onObserved(estimate, new Reputation(2f, -1f, 0.5f));
+        assertThat(tracker.shouldInvestigate(estimate, 300)).isFalse();
+        assertThat(estimate.toReputation()).isEqualTo(new Reputation(2f, -1f, 0.5f));
+    }
+
+    @Test
+    void resumedEstimate_shouldContinueFromCheckpointedEstimate() {
+        ReputationTracker.Estimate estimate = tracker.newEstimate();
+        tracker.onTaskSolved(estimate, TaskCategory.STEAL, true);
+
+        ReputationTracker.Estimate resumed = tracker.resumedEstimate(estimate.means(), estimate.variances());
+
+        assertThat(resumed.toReputation()).isEqualTo(estimate.toReputation());
+        assertThat(resumed.maxVariance()).isEqualTo(estimate.maxVariance());
+    }
+
+    @Test
+    void resumedEstimate_withoutCheckpointedEstimate_shouldInvestigateBeforeAnyUpgrade() {
+        ReputationTracker.Estimate resumed = tracker.resumedEstimate(null, null);
+
+        assertThat(tracker.shouldInvestigate(resumed, 100)).isTrue();
+
+        tracker.onObserved(resumed, new Reputation(1f, 0f, 0f));
+        assertThat(tracker.shouldInvestigate(resumed, 300)).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.PurchaseStrategy;
+import com.valorrise.bot.strategy.SafestTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import com.valorrise.bot.strategy.TaskStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShadowEvaluatorTest {
+
+    private SuccessRateModel model;
+    private TaskSelectionService taskSelectionService;
+    private StrategyRegistry registry;
+    private ApiConfiguration config;
+    private ShadowEvaluator shadowEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        model = new SuccessRateModel(new ApiConfiguration());
+        taskSelectionService = new TaskSelectionService(model, new TaskCategoryClassifier());
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(3);
+        shop.setMinGoldToBuy(50);
+        config = new ApiConfiguration();
+        config.setShop(shop);
+        config.getShadow().setEnabled(true);
+        List<TaskStrategy> taskStrategies = List.of(new ExpectedRewardTaskStrategy(model), new SafestTaskStrategy(model));
+        List<PurchaseStrategy> purchaseStrategies = List.of(new PurchasePlanner(shop));
+        registry = new StrategyRegistry(taskStrategies, purchaseStrategies, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (shadowEvaluator != null) {
+            shadowEvaluator.shutdown();
+        }
+    }
+
+    @Test
+    void observe_shouldRecordShadowPickNextToLivePick() throws InterruptedException {
+        shadowEvaluator = new ShadowEvaluator(taskSelectionService, model, registry, config);
+        List<Advertisement> board = board();
+        TaskStrategy live = registry.getTaskStrategy(ExpectedRewardTaskStrategy.NAME);
+        Advertisement liveChoice = taskSelectionService.selectBestTask(board, live);
+
+        shadowEvaluator.observe("game-1", 1, board, liveChoice, live);
+        awaitShadowWork();
+
+        List<ShadowEvaluator.Report> reports = shadowEvaluator.getReports();
+        assertThat(reports).hasSize(1);
+        ShadowEvaluator.Report safest = reports.get(0);
+        assertThat(safest.getStrategy()).isEqualTo("safest");
+        assertThat(safest.getBoards()).isEqualTo(1);
+        assertThat(safest.getAgreementRate()).isZero();
+        // 150 * 0.55 live against 20 * 0.98 for the safe pick
+        assertThat(safest.getMeanLiveValue()).isGreaterThan(safest.getMeanShadowValue());
+        assertThat(liveChoice.getAdId()).isEqualTo("AD002");
+    }
+
+    @Test
+    void observe_shouldDropBoardsInsteadOfBlockingWhenQueueIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskStrategy blocking = new TaskStrategy() {
+            @Override
+            public String getName() {
+                return "blocking";
+            }
+
+            @Override
+            public double score(Advertisement ad) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 0;
+            }
+        };
+        config.getStrategy().setTask("blocking");
+        config.getShadow().setStrategies(List.of("blocking"));
+        config.getShadow().setQueueSize(1);
+        shadowEvaluator = new ShadowEvaluator(taskSelectionService, model,
+                new StrategyRegistry(List.of(blocking), List.of(new PurchasePlanner(config.getShop())), config), config);
+        List<Advertisement> board = board();
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                shadowEvaluator.observe("game-1", i, board, board.get(0), blocking);
+            }
+
+            // One board is being evaluated, one is queued and the rest are dropped
+            assertThat(shadowEvaluator.getDroppedBoards()).isEqualTo(3);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void observe_shouldDoNothingWhenDisabled() {
+        config.getShadow().setEnabled(false);
+        shadowEvaluator = new ShadowEvaluator(taskSelectionService, model, registry, config);
+        List<Advertisement> board = board();
+
+        shadowEvaluator.observe("game-1", 1, board, board.get(0), registry.getTaskStrategy("safest"));
+
+        assertThat(shadowEvaluator.isEnabled()).isFalse();
+        assertThat(shadowEvaluator.getReports()).isEmpty();
+    }
+
+    private void awaitShadowWork() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (shadowEvaluator.getReports().get(0).getBoards() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<Advertisement> board() {
+        return List.of(
+                Advertisement.builder().adId("AD001").message("Safe").reward(20).expiresIn(5).probability("Sure thing").build(),
+                Advertisement.builder().adId("AD002").message("Gamble").reward(150).expiresIn(5).probability("Gamble").build());
+    }
+}
@@ -1,22 +1,16 @@
 package com.valorrise.bot.service;
 
-import com.valorrise.bot.api.client.GameApiClient;
 import com.valorrise.bot.configuration.ApiConfiguration;
 import com.valorrise.bot.model.domain.Game;
 import com.valorrise.bot.model.domain.Item;
-import com.valorrise.bot.model.dto.GameDto;
-import com.valorrise.bot.model.dto.ItemDto;
-import com.valorrise.bot.model.mapper.GameMapper;
-import com.valorrise.bot.model.mapper.ItemMapper;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.ShopItem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.slf4j.Logger;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,14 +18,13 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ShopServiceTest {
 
     @Mock
-    private GameApiClient gameApiClient;
+    private GameApiService gameApiService;
 
     @Mock
     private ApiConfiguration apiConfiguration;
@@ -42,9 +35,7 @@ class ShopServiceTest {
     private ShopService shopService;
 
     private Game testGame;
-    private GameDto testGameDto;
-    private ItemDto healthPotionDto;
-    private ItemDto expensiveItemDto;
+    private Game updatedGame;
     private Item healthPotion;
     private Item expensiveItem;
 
@@ -52,11 +43,10 @@ class ShopServiceTest {
     void setUp() {
         // Setup configuration mocks first
         when(apiConfiguration.getShop()).thenReturn(shopConfig);
-        when(shopConfig.getMinLivesToBuy()).thenReturn(3);
         when(shopConfig.getMinGoldToBuy()).thenReturn(100);
 
         // Create service instance after mocks are configured
-        shopService = new ShopService(gameApiClient, apiConfiguration);
+        shopService = new ShopService(gameApiService, apiConfiguration);
 
         // Setup test data
         testGame = new Game();
@@ -64,18 +54,10 @@ class ShopServiceTest {
         testGame.setLives(2);
         testGame.setGold(200);
 
-        testGameDto = new GameDto();
-        testGameDto.setGameId("game123");
-        testGameDto.setLives(3);
-        testGameDto.setGold(150);
-
-        healthPotionDto = new ItemDto();
-        healthPotionDto.setId("hpot");
-        healthPotionDto.setCost(50);
-
-        expensiveItemDto = new ItemDto();
-        expensiveItemDto.setId("expensive");
-        expensiveItemDto.setCost(200);
+        updatedGame = new Game();
+        updatedGame.setGameId("game123");
+        updatedGame.setLives(3);
+        updatedGame.setGold(150);
 
         healthPotion = new Item();
         healthPotion.setId("hpot");
@@ -87,224 +69,184 @@ class ShopServiceTest {
     }
 
     @Nested
-    class BuyHealthPotionIfNeededTests {
+    class BuyItemTests {
 
         @Test
         void shouldReturnNull_whenGameIsNull() {
             // When
-            Game result = shopService.buyHealthPotionIfNeeded(null);
+            Game result = shopService.buyItem(null, "hpot");
 
             // Then
             assertThat(result).isNull();
-            verifyNoInteractions(gameApiClient);
+            verifyNoInteractions(gameApiService);
         }
 
         @Test
-        void shouldReturnGameUnchanged_whenLivesAreSufficient() {
+        void shouldReturnGameUnchanged_whenItemNotFoundInShop() {
             // Given
-            testGame.setLives(3); // Equal to minLivesToBuy
-            testGame.setGold(200);
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(expensiveItem));
 
             // When
-            Game result = shopService.buyHealthPotionIfNeeded(testGame);
+            Game result = shopService.buyItem(testGame, "hpot");
 
             // Then
             assertThat(result).isSameAs(testGame);
-            verifyNoInteractions(gameApiClient);
+            verify(gameApiService).getShopItems("game123");
+            verify(gameApiService, never()).buyItem(any(), any());
         }
 
         @Test
-        void shouldReturnGameUnchanged_whenGoldIsInsufficient() {
+        void shouldReturnGameUnchanged_whenInsufficientGold() {
             // Given
-            testGame.setLives(1); // Less than minLivesToBuy
-            testGame.setGold(50); // Less than minGoldToBuy
+            testGame.setGold(120); // Not enough for item (50) + minGoldToBuy (100)
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(healthPotion));
 
             // When
-            Game result = shopService.buyHealthPotionIfNeeded(testGame);
+            Game result = shopService.buyItem(testGame, "hpot");
 
             // Then
             assertThat(result).isSameAs(testGame);
-            verifyNoInteractions(gameApiClient);
+            verify(gameApiService).getShopItems("game123");
+            verify(gameApiService, never()).buyItem(any(), any());
         }
 
         @Test
-        void shouldBuyHealthPotion_whenConditionsAreMet() {
+        void shouldBuyItem_whenConditionsAreMet() {
             // Given
-            testGame.setLives(1); // Less than minLivesToBuy (3)
-            testGame.setGold(200); // More than minGoldToBuy (100)
-
-            List<ItemDto> shopItems = Collections.singletonList(healthPotionDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-            when(gameApiClient.buyItem("game123", "hpot")).thenReturn(testGameDto);
-
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class);
-                 MockedStatic<GameMapper> gameMapperMock = mockStatic(GameMapper.class)) {
-
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto)).thenReturn(healthPotion);
-                gameMapperMock.when(() -> GameMapper.toEntity(any(GameDto.class))).thenReturn(testGame);
+            testGame.setGold(200); // Enough for item (50) + minGoldToBuy (100)
+            List<Item> shopItems = Arrays.asList(healthPotion, expensiveItem);
+            when(gameApiService.getShopItems("game123")).thenReturn(shopItems);
+            when(gameApiService.buyItem("game123", "hpot")).thenReturn(updatedGame);
 
-                // When
-                Game result = shopService.buyHealthPotionIfNeeded(testGame);
+            // When
+            Game result = shopService.buyItem(testGame, "hpot");
 
-                // Then
-                assertThat(result).isNotNull();
-                verify(gameApiClient).getShopItems("game123");
-                verify(gameApiClient).buyItem("game123", "hpot");
-            }
+            // Then
+            assertThat(result).isEqualTo(updatedGame);
+            verify(gameApiService).getShopItems("game123");
+            verify(gameApiService).buyItem("game123", "hpot");
         }
-    }
-
-    @Nested
-    class BuyItemTests {
 
         @Test
-        void shouldReturnNull_whenGameIsNull() {
+        void shouldReturnGameUnchanged_whenApiThrowsException() {
+            // Given
+            when(gameApiService.getShopItems("game123")).thenThrow(new RuntimeException("API Error"));
+
             // When
-            Game result = shopService.buyItem(null, "hpot");
+            Game result = shopService.buyItem(testGame, "hpot");
 
             // Then
-            assertThat(result).isNull();
-            verifyNoInteractions(gameApiClient);
+            assertThat(result).isSameAs(testGame);
+            verify(gameApiService).getShopItems("game123");
+            verify(gameApiService, never()).buyItem(any(), any());
         }
 
         @Test
-        void shouldReturnGameUnchanged_whenItemNotFoundInShop() {
+        void shouldReturnGameUnchanged_whenBuyItemThrowsException() {
             // Given
-            List<ItemDto> shopItems = Collections.singletonList(expensiveItemDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class)) {
-                itemMapperMock.when(() -> ItemMapper.toEntity(expensiveItemDto)).thenReturn(expensiveItem);
+            testGame.setGold(200);
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(healthPotion));
+            when(gameApiService.buyItem("game123", "hpot")).thenThrow(new RuntimeException("Buy failed"));
 
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            // When
+            Game result = shopService.buyItem(testGame, "hpot");
 
-                // Then
-                assertThat(result).isSameAs(testGame);
-                verify(gameApiClient).getShopItems("game123");
-                verify(gameApiClient, never()).buyItem(any(), any());
-            }
+            // Then
+            assertThat(result).isSameAs(testGame);
+            verify(gameApiService).getShopItems("game123");
+            verify(gameApiService).buyItem("game123", "hpot");
         }
 
         @Test
-        void shouldReturnGameUnchanged_whenInsufficientGold() {
+        void shouldFetchShopCatalogOncePerGame() {
             // Given
-            testGame.setGold(120); // Not enough for item (50) + minGoldToBuy (100)
-            List<ItemDto> shopItems = Collections.singletonList(healthPotionDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class)) {
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto)).thenReturn(healthPotion);
+            testGame.setGold(120);
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(healthPotion));
 
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            // When
+            shopService.buyItem(testGame, "hpot");
+            shopService.buyItem(testGame, "hpot");
 
-                // Then
-                assertThat(result).isSameAs(testGame);
-                verify(gameApiClient).getShopItems("game123");
-                verify(gameApiClient, never()).buyItem(any(), any());
-            }
+            // Then
+            verify(gameApiService, times(1)).getShopItems("game123");
         }
 
         @Test
-        void shouldBuyItem_whenConditionsAreMet() {
+        void shouldUsePrimedCatalog_andRefetchAfterRelease() {
             // Given
-            testGame.setGold(200); // Enough for item (50) + minGoldToBuy (100)
-            List<ItemDto> shopItems = Arrays.asList(healthPotionDto, expensiveItemDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-            when(gameApiClient.buyItem("game123", "hpot")).thenReturn(testGameDto);
-
-            Game expectedGame = new Game();
-            expectedGame.setGameId("game123");
-
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class);
-                 MockedStatic<GameMapper> gameMapperMock = mockStatic(GameMapper.class)) {
-
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto)).thenReturn(healthPotion);
-                itemMapperMock.when(() -> ItemMapper.toEntity(expensiveItemDto)).thenReturn(expensiveItem);
-                gameMapperMock.when(() -> GameMapper.toEntity(any(GameDto.class))).thenReturn(expectedGame);
-
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            testGame.setGold(200);
+            shopService.primeCatalog("game123", Collections.singletonList(healthPotion));
+            when(gameApiService.buyItem("game123", "hpot")).thenReturn(updatedGame);
 
-                // Then
-                assertThat(result).isEqualTo(expectedGame);
-                verify(gameApiClient).getShopItems("game123");
-                verify(gameApiClient).buyItem("game123", "hpot");
+            // When
+            Game result = shopService.buyItem(testGame, "hpot");
 
-                // Verify that gameId is set on the DTO before mapping
-                verify(gameApiClient).buyItem("game123", "hpot");
-            }
+            // Then
+            assertThat(result).isSameAs(updatedGame);
+            verify(gameApiService, never()).getShopItems(any());
+
+            // And after the game is released the catalog is fetched again
+            shopService.releaseGame("game123");
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.emptyList());
+            shopService.buyItem(testGame, "hpot");
+            verify(gameApiService).getShopItems("game123");
         }
 
         @Test
-        void shouldReturnGameUnchanged_whenApiThrowsException() {
+        void shouldHandleEmptyShopItems() {
             // Given
-            when(gameApiClient.getShopItems("game123")).thenThrow(new RuntimeException("API Error"));
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.emptyList());
 
             // When
             Game result = shopService.buyItem(testGame, "hpot");
 
             // Then
             assertThat(result).isSameAs(testGame);
-            verify(gameApiClient).getShopItems("game123");
-            verify(gameApiClient, never()).buyItem(any(), any());
+            verify(gameApiService).getShopItems("game123");
+            verify(gameApiService, never()).buyItem(any(), any());
         }
+    }
+
+    @Nested
+    class CatalogTests {
 
         @Test
-        void shouldReturnGameUnchanged_whenBuyItemThrowsException() {
+        void shouldPlanOnTheFetchedCatalog_onceLoaded() {
             // Given
-            testGame.setGold(200);
-            List<ItemDto> shopItems = Collections.singletonList(healthPotionDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-            when(gameApiClient.buyItem("game123", "hpot")).thenThrow(new RuntimeException("Buy failed"));
+            Item cheapPotion = new Item();
+            cheapPotion.setId("hpot");
+            cheapPotion.setCost(10);
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(cheapPotion));
 
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class)) {
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto)).thenReturn(healthPotion);
-
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            // When
+            shopService.loadCatalog("game123");
+            shopService.loadCatalog("game123");
 
-                // Then
-                assertThat(result).isSameAs(testGame);
-                verify(gameApiClient).getShopItems("game123");
-                verify(gameApiClient).buyItem("game123", "hpot");
-            }
+            // Then
+            assertThat(shopService.knownCatalog("game123").cost(ShopItem.HEALING_POTION)).isEqualTo(10);
+            verify(gameApiService, times(1)).getShopItems("game123");
         }
 
         @Test
-        void shouldHandleEmptyShopItems() {
-            // Given
-            List<ItemDto> emptyShopItems = Collections.emptyList();
-            when(gameApiClient.getShopItems("game123")).thenReturn(emptyShopItems);
-
+        void shouldNotFetchAPrimedCatalog() {
             // When
-            Game result = shopService.buyItem(testGame, "hpot");
+            shopService.primeCatalog("game123", Collections.singletonList(healthPotion));
+            shopService.loadCatalog("game123");
 
             // Then
-            assertThat(result).isSameAs(testGame);
-            verify(gameApiClient).getShopItems("game123");
-            verify(gameApiClient, never()).buyItem(any(), any());
+            verify(gameApiService, never()).getShopItems(any());
         }
 
         @Test
-        void shouldHandleMapperException() {
+        void shouldPlanOnListPrices_whenTheShopCannotBeFetched() {
             // Given
-            List<ItemDto> shopItems = Collections.singletonList(healthPotionDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class)) {
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto))
-                        .thenThrow(new RuntimeException("Mapping failed"));
+            when(gameApiService.getShopItems("game123")).thenThrow(new RuntimeException("API Error"));
 
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            // When
+            shopService.loadCatalog("game123");
 
-                // Then
-                assertThat(result).isSameAs(testGame);
-                verify(gameApiClient).getShopItems("game123");
-                verify(gameApiClient, never()).buyItem(any(), any());
-            }
+            // Then
+            assertThat(shopService.knownCatalog("game123")).isSameAs(ItemCatalog.DEFAULT);
         }
     }
 
@@ -314,19 +256,18 @@ class ShopServiceTest {
         @Test
         void shouldInitializeWithCorrectConfiguration() {
             // Given
-            GameApiClient testClient = mock(GameApiClient.class);
+            GameApiService testApiService = mock(GameApiService.class);
             ApiConfiguration config = mock(ApiConfiguration.class);
             ApiConfiguration.Shop shop = mock(ApiConfiguration.Shop.class);
+
             when(config.getShop()).thenReturn(shop);
-            when(shop.getMinLivesToBuy()).thenReturn(5);
             when(shop.getMinGoldToBuy()).thenReturn(200);
 
             // When
-            ShopService service = new ShopService(testClient, config);
+            ShopService service = new ShopService(testApiService, config);
 
             // Then
             assertThat(service).isNotNull();
-            verify(shop).getMinLivesToBuy();
             verify(shop).getMinGoldToBuy();
         }
     }
@@ -338,42 +279,29 @@ class ShopServiceTest {
         void shouldHandleExactGoldAmount() {
             // Given - exactly enough gold (item cost + minGoldToBuy)
             testGame.setGold(150); // healthPotion cost (50) + minGoldToBuy (100)
-            List<ItemDto> shopItems = Collections.singletonList(healthPotionDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
-            when(gameApiClient.buyItem("game123", "hpot")).thenReturn(testGameDto);
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(healthPotion));
+            when(gameApiService.buyItem("game123", "hpot")).thenReturn(updatedGame);
 
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class);
-                 MockedStatic<GameMapper> gameMapperMock = mockStatic(GameMapper.class)) {
-
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto)).thenReturn(healthPotion);
-                gameMapperMock.when(() -> GameMapper.toEntity(any(GameDto.class))).thenReturn(testGame);
-
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            // When
+            Game result = shopService.buyItem(testGame, "hpot");
 
-                // Then
-                assertThat(result).isNotNull();
-                verify(gameApiClient).buyItem("game123", "hpot");
-            }
+            // Then
+            assertThat(result).isNotNull();
+            verify(gameApiService).buyItem("game123", "hpot");
         }
 
         @Test
         void shouldNotBuyWhen_goldIsOneLessThanRequired() {
             // Given - one gold less than required
             testGame.setGold(149); // healthPotion cost (50) + minGoldToBuy (100) - 1
-            List<ItemDto> shopItems = Collections.singletonList(healthPotionDto);
-            when(gameApiClient.getShopItems("game123")).thenReturn(shopItems);
+            when(gameApiService.getShopItems("game123")).thenReturn(Collections.singletonList(healthPotion));
 
-            try (MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class)) {
-                itemMapperMock.when(() -> ItemMapper.toEntity(healthPotionDto)).thenReturn(healthPotion);
-
-                // When
-                Game result = shopService.buyItem(testGame, "hpot");
+            // When
+            Game result = shopService.buyItem(testGame, "hpot");
 
-                // Then
-                assertThat(result).isSameAs(testGame);
-                verify(gameApiClient, never()).buyItem(any(), any());
-            }
+            // Then
+            assertThat(result).isSameAs(testGame);
+            verify(gameApiService, never()).buyItem(any(), any());
         }
     }
 }
\ No newline at end of file
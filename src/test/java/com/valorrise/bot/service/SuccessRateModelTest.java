@@ -0,0 +1,121 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SuccessRateModelTest {
+
+    @Test
+    void estimate_shouldStartAtLabelPrior() {
+        SuccessRateModel model = new SuccessRateModel(new ApiConfiguration());
+
+        for (ProbabilityLabel label : ProbabilityLabel.values()) {
+            assertThat(model.estimate(label, TaskCategory.ESCORT)).isEqualTo(label.getPrior(), within(1e-9));
+        }
+    }
+
+    @Test
+    void estimate_shouldMoveTowardsObservedRate() {
+        SuccessRateModel model = new SuccessRateModel(new ApiConfiguration());
+
+        for (int i = 0; i < 180; i++) {
+            model.record(ProbabilityLabel.GAMBLE, TaskCategory.UNKNOWN, true);
+        }
+
+        // (0.55 * 20 + 180) / (20 + 180)
+        assertThat(model.estimate(ProbabilityLabel.GAMBLE, TaskCategory.UNKNOWN)).isEqualTo(0.955, within(1e-9));
+        assertThat(model.estimate(ProbabilityLabel.RISKY, TaskCategory.UNKNOWN)).isEqualTo(0.46, within(1e-9));
+    }
+
+    @Test
+    void estimate_shouldShrinkSparseCategoryTowardsLabel() {
+        SuccessRateModel model = new SuccessRateModel(new ApiConfiguration());
+        for (int i = 0; i < 80; i++) {
+            model.record(ProbabilityLabel.GAMBLE, TaskCategory.ESCORT, true);
+        }
+        model.record(ProbabilityLabel.GAMBLE, TaskCategory.STEAL, false);
+
+        double labelRate = model.estimate(ProbabilityLabel.GAMBLE, TaskCategory.INVESTIGATE);
+        double stealRate = model.estimate(ProbabilityLabel.GAMBLE, TaskCategory.STEAL);
+
+        // One failure pulls the category below its label, but not to zero
+        assertThat(stealRate).isLessThan(labelRate).isGreaterThan(0.7);
+        assertThat(model.estimate(ProbabilityLabel.GAMBLE, TaskCategory.ESCORT)).isGreaterThan(labelRate);
+    }
+
+    @Test
+    void record_shouldCountOutcomesFromConcurrentGames() throws InterruptedException {
+        SuccessRateModel model = new SuccessRateModel(new ApiConfiguration());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    model.record(ProbabilityLabel.SURE_THING, TaskCategory.UNKNOWN, i % 2 == 0);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(model.observations(ProbabilityLabel.SURE_THING)).isEqualTo(80_000);
+    }
+
+    @Test
+    void flush_shouldWarmStartFromFile(@TempDir Path dir) {
+        String file = dir.resolve("model.bin").toString();
+        ApiConfiguration.Model config = new ApiConfiguration.Model();
+
+        SuccessRateModel first = new SuccessRateModel(config, file);
+        for (int i = 0; i < 30; i++) {
+            first.record(ProbabilityLabel.RISKY, TaskCategory.STEAL, i < 27);
+        }
+        first.flush();
+        double learned = first.estimate(ProbabilityLabel.RISKY, TaskCategory.STEAL);
+
+        SuccessRateModel restarted = new SuccessRateModel(config, file);
+
+        assertThat(restarted.observations(ProbabilityLabel.RISKY)).isEqualTo(30);
+        assertThat(restarted.estimate(ProbabilityLabel.RISKY, TaskCategory.STEAL)).isEqualTo(learned, within(1e-9));
+        first.close();
+        restarted.close();
+    }
+
+    @Test
+    void record_shouldBeFlushedInTheBackground(@TempDir Path dir) throws InterruptedException {
+        String file = dir.resolve("model.bin").toString();
+        ApiConfiguration.Model config = new ApiConfiguration.Model();
+        config.setFlushInterval(Duration.ofMillis(10));
+        SuccessRateModel model = new SuccessRateModel(config, file);
+        try {
+            for (int i = 0; i < 5; i++) {
+                model.record(ProbabilityLabel.GAMBLE, TaskCategory.ESCORT, true);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            long persisted;
+            do {
+                Thread.sleep(10);
+                SuccessRateModel reader = new SuccessRateModel(new ApiConfiguration.Model(), file);
+                persisted = reader.observations(ProbabilityLabel.GAMBLE);
+                reader.close();
+            } while (persisted < 5 && System.nanoTime() < deadline);
+
+            assertThat(persisted).isEqualTo(5);
+        } finally {
+            model.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.valorrise.bot.service;
+
+import com.valorrise.bot.model.domain.TaskCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCategoryClassifierTest {
+
+    private final TaskCategoryClassifier classifier = new TaskCategoryClassifier();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Steal beer mug delivery to Loki Whinery and share some of the profits with the people.|STEAL_AND_SHARE",
+            "Steal bucket from Valerian Hermanson|STEAL",
+            "Escort Willifrid Þórsdóttir to savannah in Fangcawl where they can meet with their long lost horse|ESCORT",
+            "Investigate Adrian Andrewson and find out their relation to the magic potatoes.|INVESTIGATE",
+            "Infiltrate The Emerald Forsaken Squad and recover their secrets.|INFILTRATE",
+            "Help defending plains in Pencawl from the intruders|DEFEND",
+            "Help Christi Jakeman to write their biographical novel about their difficulties with a deranged water|BIOGRAPHY",
+            "Create an advertisement campaign for Pate Rennoll to promote their dog based business|ADVERTISE",
+            "Rescue the princess|UNKNOWN"
+    })
+    void classify_shouldRecognizeGameTemplates(String message, TaskCategory expected) {
+        assertThat(classifier.classify(message)).isEqualTo(expected);
+    }
+
+    @Test
+    void classify_shouldIgnoreCase() {
+        assertThat(classifier.classify("ESCORT someone")).isEqualTo(TaskCategory.ESCORT);
+    }
+
+    @Test
+    void classify_shouldReturnUnknown_forNullOrEmptyMessage() {
+        assertThat(classifier.classify(null)).isEqualTo(TaskCategory.UNKNOWN);
+        assertThat(classifier.classify("")).isEqualTo(TaskCategory.UNKNOWN);
+    }
+
+    @Test
+    void classify_shouldFindOverlappingFragments() {
+        // "she" is a suffix of "ushe": only reachable through a failure link
+        Map<String, TaskCategory> fragments = new LinkedHashMap<>();
+        fragments.put("she", TaskCategory.DEFEND);
+        fragments.put("ushers", TaskCategory.ESCORT);
+        TaskCategoryClassifier custom = new TaskCategoryClassifier(fragments);
+
+        assertThat(custom.classify("the usher")).isEqualTo(TaskCategory.DEFEND);
+        assertThat(custom.classify("ushxers")).isEqualTo(TaskCategory.UNKNOWN);
+    }
+}
@@ -1,6 +1,11 @@
 package com.valorrise.bot.service;
 
+import com.valorrise.bot.configuration.ApiConfiguration;
 import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.strategy.SafestTaskStrategy;
+import com.valorrise.bot.strategy.TaskStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,7 +25,8 @@ class TaskSelectionServiceTest {
 
     @BeforeEach
     void setUp() {
-        taskSelectionService = new TaskSelectionService();
+        taskSelectionService = new TaskSelectionService(new SuccessRateModel(new ApiConfiguration()),
+                new TaskCategoryClassifier());
     }
 
     @Test
@@ -179,6 +185,146 @@ class TaskSelectionServiceTest {
         assertEquals("surething", result.getProbability());
     }
 
+    @Test
+    void selectBestTask_withRepeatedEncryptedFields_servesDecodeFromCache() {
+        String encodedMessage = Base64.getEncoder().encodeToString("Escort the merchant".getBytes());
+        String encodedProbability = Base64.getEncoder().encodeToString("surething".getBytes());
+        Advertisement first = createAdvertisement(Base64.getEncoder().encodeToString("AD1".getBytes()),
+                encodedMessage, 100.0, 3600, true, encodedProbability);
+        Advertisement second = createAdvertisement(Base64.getEncoder().encodeToString("AD2".getBytes()),
+                encodedMessage, 80.0, 3600, true, encodedProbability);
+
+        taskSelectionService.selectBestTask(Collections.singletonList(first));
+        Advertisement result = taskSelectionService.selectBestTask(Collections.singletonList(second));
+
+        assertNotNull(result);
+        assertEquals("AD2", result.getAdId());
+        assertEquals("Escort the merchant", result.getMessage());
+        assertEquals(2, taskSelectionService.getDecodeCacheStats().missCount());
+        assertEquals(2, taskSelectionService.getDecodeCacheStats().hitCount());
+    }
+
+    @Test
+    void selectBestTask_usesLearnedSuccessRates() {
+        // Given - cold model: 100 * 0.98 beats 150 * 0.55
+        Advertisement safe = createAdvertisement("AD001", "Safe", 100.0, 3600, false, "Sure thing");
+        Advertisement gamble = createAdvertisement("AD002", "Gamble", 150.0, 3600, false, "Gamble");
+        List<Advertisement> ads = Arrays.asList(safe, gamble);
+        assertEquals("AD001", taskSelectionService.selectBestTask(ads).getAdId());
+
+        // When - gambles keep succeeding
+        for (int i = 0; i < 200; i++) {
+            taskSelectionService.recordOutcome(gamble, true);
+        }
+
+        // Then
+        assertEquals("AD002", taskSelectionService.selectBestTask(ads).getAdId());
+    }
+
+    @Test
+    void recordOutcome_recordsUnderDecodedLabel() {
+        SuccessRateModel model = new SuccessRateModel(new ApiConfiguration());
+        TaskSelectionService service = new TaskSelectionService(model, new TaskCategoryClassifier());
+
+        service.recordOutcome(createAdvertisement("AD001", "Test", 100.0, 3600, false, "Walk in the park"), false);
+
+        assertEquals(1, model.observations(ProbabilityLabel.WALK_IN_THE_PARK));
+    }
+
+    @Test
+    void selectBestTask_tagsCategoryAfterDecoding() {
+        String message = "Escort Bas Chapman to steppe in Redwatch where they can meet with their long lost chicken";
+        Advertisement ad = createAdvertisement("AD001", Base64.getEncoder().encodeToString(message.getBytes()),
+                100.0, 3600, true, "c3VyZXRoaW5n");
+
+        Advertisement result = taskSelectionService.selectBestTask(Collections.singletonList(ad));
+
+        assertNotNull(result);
+        assertEquals(TaskCategory.ESCORT, result.getCategory());
+    }
+
+    @Test
+    void decode_leavesTheGivenAdvertisementUntouched() {
+        Advertisement ad = createAdvertisement("AD001",
+                "Escort Bas Chapman to steppe in Redwatch where they can meet with their long lost chicken",
+                100.0, 3600, false, "Sure thing");
+
+        Advertisement result = taskSelectionService.decode(ad);
+
+        assertEquals(TaskCategory.ESCORT, result.getCategory());
+        assertEquals("AD001", result.getAdId());
+        assertNull(ad.getCategory());
+        assertSame(result, taskSelectionService.decode(result));
+    }
+
+    @Test
+    void decode_returnsTheAdvertisementsOfACategorizedBoardAsTheyAre() {
+        Advertisement plain = createAdvertisement("AD001", "Steal bucket from Valerian Hermanson",
+                100.0, 3600, false, "Sure thing");
+        Advertisement encrypted = createAdvertisement("AD002",
+                Base64.getEncoder().encodeToString("Steal bucket from Valerian Hermanson".getBytes()),
+                100.0, 3600, true, Base64.getEncoder().encodeToString("Sure thing".getBytes()));
+
+        taskSelectionService.categorize(Arrays.asList(plain, encrypted));
+
+        assertEquals(TaskCategory.STEAL, plain.getCategory());
+        assertSame(plain, taskSelectionService.decode(plain));
+        assertNull(encrypted.getCategory());
+        assertEquals(TaskCategory.STEAL, taskSelectionService.decode(encrypted).getCategory());
+    }
+
+    @Test
+    void selectBestTask_usesCategorySpecificSuccessRates() {
+        // Given - steals keep failing while escorts succeed, under the same label
+        Advertisement steal = createAdvertisement("AD001", "Steal bucket from Valerian Hermanson", 110.0, 3600, false, "Gamble");
+        Advertisement escort = createAdvertisement("AD002", "Escort Ige Wannell to meadow in Newtown", 100.0, 3600, false, "Gamble");
+        steal.setCategory(TaskCategory.STEAL);
+        escort.setCategory(TaskCategory.ESCORT);
+        for (int i = 0; i < 50; i++) {
+            taskSelectionService.recordOutcome(steal, false);
+            taskSelectionService.recordOutcome(escort, true);
+        }
+
+        // When
+        Advertisement result = taskSelectionService.selectBestTask(Arrays.asList(steal, escort));
+
+        // Then
+        assertEquals("AD002", result.getAdId());
+    }
+
+    @Test
+    void selectBestTask_withStrategy_usesStrategyScores() {
+        // Given - the default strategy prefers the larger expected reward
+        Advertisement safe = createAdvertisement("AD001", "Safe", 20.0, 3600, false, "Sure thing");
+        Advertisement gamble = createAdvertisement("AD002", "Gamble", 150.0, 3600, false, "Gamble");
+        List<Advertisement> ads = Arrays.asList(safe, gamble);
+        assertEquals("AD002", taskSelectionService.selectBestTask(ads).getAdId());
+
+        // When
+        Advertisement result = taskSelectionService.selectBestTask(ads, new SafestTaskStrategy(new SuccessRateModel(new ApiConfiguration())));
+
+        // Then
+        assertEquals("AD001", result.getAdId());
+    }
+
+    @Test
+    void selectBestTask_withStrategy_neverOffersTraps() {
+        Advertisement trap = createAdvertisement("AD001", "Trap", 500.0, 3600, false, "Suicide mission");
+        TaskStrategy rewardOnly = new TaskStrategy() {
+            @Override
+            public String getName() {
+                return "reward-only";
+            }
+
+            @Override
+            public double score(Advertisement ad) {
+                return ad.getReward();
+            }
+        };
+
+        assertNull(taskSelectionService.selectBestTask(Collections.singletonList(trap), rewardOnly));
+    }
+
     @Test
     void selectBestTask_roundsScoreCorrectly() {
         // Create an ad that will produce a score needing rounding
@@ -0,0 +1,374 @@
+package com.valorrise.bot.service;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.valorrise.bot.api.client.GameApiCodec;
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnEventBus;
+import com.valorrise.bot.events.TurnEventConsumer;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.Game;
+import com.valorrise.bot.model.domain.Item;
+import com.valorrise.bot.model.domain.ItemCatalog;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.model.domain.SolveResponse;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation regression harness: plays in-memory games through {@link GameService} and
+ * {@link TaskSelectionService} on the test thread and measures the bytes allocated per turn with
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, split by stage of the turn loop.
+ * Each stage must stay within its budget in {@code allocation-budget.properties}.
+ * <p>
+ * Stage boundaries are taken where the loop calls its collaborators: {@code knownCatalog} starts the shop
+ * stage, {@code getAdvertisements} and every {@code decode} count as fetch/decode, the rest of task
+ * selection as select, and {@code solveAdvertisement} starts solve/mapping, which runs until the next
+ * turn's shop stage. The API stub maps JSON with the production readers, so response mapping is included.
+ * Logging is raised to WARN: log output has its own, configuration-dependent cost.
+ */
+class TurnAllocationBudgetTest {
+    private static final int TURNS_PER_GAME = 2_000;
+    private static final int WARMUP_GAMES = 10;
+    private static final int MEASURED_GAMES = 3;
+
+    private static ch.qos.logback.classic.Logger botLogger;
+    private static Level previousLevel;
+
+    enum Stage {
+        FETCH_DECODE("fetch-decode"),
+        SELECT("select"),
+        SHOP("shop"),
+        SOLVE_MAPPING("solve-mapping");
+
+        private final String key;
+
+        Stage(String key) {
+            this.key = key;
+        }
+    }
+
+    @BeforeAll
+    static void quietLogs() {
+        botLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.valorrise.bot");
+        previousLevel = botLogger.getLevel();
+        botLogger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreLogs() {
+        botLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("bytes allocated per turn stay within each stage's budget")
+    void allocationPerTurnWithinBudget() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counters need com.sun.management.ThreadMXBean");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counters are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Meter meter = new Meter(threads);
+        ApiConfiguration config = configuration();
+        StubGameApi api = new StubGameApi(meter);
+        TurnEventBus bus = new TurnEventBus(List.of(new NoOpConsumer()), config);
+        GameStatistics statistics = new GameStatistics(config);
+        GamePreStartPool pool = new GamePreStartPool(api, config);
+        SuccessRateModel successRateModel = new SuccessRateModel(config);
+        TaskSelectionService taskSelectionService = taskSelectionService(successRateModel, meter);
+        StrategyRegistry strategyRegistry = new StrategyRegistry(
+                List.of(new ExpectedRewardTaskStrategy(successRateModel)), List.of(new PurchasePlanner(config)), config);
+        ShadowEvaluator shadowEvaluator = new ShadowEvaluator(taskSelectionService, successRateModel,
+                strategyRegistry, config);
+        try {
+            GameService gameService = new GameService(api, taskSelectionService, shopService(api, config, meter),
+                    pool, strategyRegistry, new ReputationTracker(config), shadowEvaluator,
+                    new TurnJournal(taskSelectionService, config), bus, new GameRunControl(), statistics,
+                    new GameCheckpoints());
+
+            // Warm up until the hot path is compiled, so that escape analysis applies as in production
+            for (int game = 0; game < WARMUP_GAMES; game++) {
+                gameService.playGame();
+            }
+
+            meter.reset();
+            api.solves = 0;
+            for (int game = 0; game < MEASURED_GAMES; game++) {
+                gameService.playGame();
+                meter.stop();
+            }
+        } finally {
+            shadowEvaluator.shutdown();
+            pool.shutdown();
+            statistics.close();
+            bus.close();
+        }
+
+        assertThat(api.solves).as("measured turns").isGreaterThanOrEqualTo(MEASURED_GAMES * TURNS_PER_GAME / 2);
+        Properties budget = budget();
+        Map<Stage, Long> perTurn = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            perTurn.put(stage, meter.bytes[stage.ordinal()] / api.solves);
+        }
+        for (Stage stage : Stage.values()) {
+            long limit = Long.parseLong(budget.getProperty(stage.key));
+            assertThat(perTurn.get(stage))
+                    .as("bytes allocated per turn in stage %s (budget %d) over %d turns; all stages: %s",
+                            stage.key, limit, api.solves, perTurn)
+                    .isLessThanOrEqualTo(limit);
+        }
+    }
+
+    private static TaskSelectionService taskSelectionService(SuccessRateModel successRateModel, Meter meter) {
+        return new TaskSelectionService(successRateModel, new TaskCategoryClassifier()) {
+            @Override
+            public Advertisement decode(Advertisement ad) {
+                meter.enter(Stage.FETCH_DECODE);
+                try {
+                    return super.decode(ad);
+                } finally {
+                    meter.enter(Stage.SELECT);
+                }
+            }
+        };
+    }
+
+    private static ShopService shopService(StubGameApi api, ApiConfiguration config, Meter meter) {
+        return new ShopService(api, config) {
+            @Override
+            public ItemCatalog knownCatalog(String gameId) {
+                meter.enter(Stage.SHOP);
+                return super.knownCatalog(gameId);
+            }
+        };
+    }
+
+    private static ApiConfiguration configuration() {
+        ApiConfiguration config = new ApiConfiguration();
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(3);
+        shop.setMinGoldToBuy(50);
+        config.setShop(shop);
+        config.getPool().setEnabled(false);
+        return config;
+    }
+
+    private static Properties budget() {
+        Properties budget = new Properties();
+        try (InputStream in = TurnAllocationBudgetTest.class.getResourceAsStream("/allocation-budget.properties")) {
+            assertThat(in).as("allocation-budget.properties").isNotNull();
+            budget.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budget;
+    }
+
+    /**
+     * Attributes the test thread's allocated bytes to the stage that is current when they are allocated.
+     */
+    private static final class Meter {
+        private final com.sun.management.ThreadMXBean threads;
+        private final long threadId = Thread.currentThread().getId();
+        private final long[] bytes = new long[Stage.values().length];
+        private Stage current;
+        private long since;
+
+        private Meter(com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+        }
+
+        void enter(Stage stage) {
+            long now = threads.getThreadAllocatedBytes(threadId);
+            if (current != null) {
+                bytes[current.ordinal()] += now - since;
+            }
+            current = stage;
+            since = threads.getThreadAllocatedBytes(threadId);
+        }
+
+        // End of a game; its final statistics are charged to the last turn, negligible over a long game
+        void stop() {
+            enter(null);
+        }
+
+        void reset() {
+            current = null;
+            Arrays.fill(bytes, 0);
+        }
+    }
+
+    /**
+     * In-memory Game API: rotates through pre-rendered boards (some ads encrypted) and maps every response
+     * from JSON with the production readers. Every seventh task fails; games end after
+     * {@link #TURNS_PER_GAME} turns.
+     */
+    private static final class StubGameApi extends GameApiService {
+        private static final String[] TEMPLATES = {"Help defending %s from the intruders",
+                "Escort %s to the harbour", "Investigate %s and find out the truth", "Steal a horse from %s",
+                "Create an advertisement campaign for %s", "Write a biographical novel about %s"};
+        private static final String[] LABELS = {"Sure thing", "Piece of cake", "Walk in the park", "Quite likely",
+                "Hmmm....", "Gamble", "Risky", "Playing with fire"};
+        private static final byte[] SOLVE_JSON = ("{\"success\":true,\"lives\":3,\"gold\":0,\"score\":0,"
+                + "\"highScore\":0,\"turn\":0,\"message\":\"You successfully solved the mission!\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        private static final byte[] GAME_JSON = "{\"gameId\":\"alloc\",\"lives\":3,\"gold\":0,\"score\":0,\"turn\":0}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        private final Meter meter;
+        private final ObjectReader boardReader = GameApiCodec.readerFor(
+                new TypeReference<List<Advertisement>>() { }.getType());
+        private final ObjectReader solveReader = GameApiCodec.readerFor(SolveResponse.class);
+        private final ObjectReader gameReader = GameApiCodec.readerFor(Game.class);
+        private final byte[][] boards = new byte[16][];
+        private final List<Item> shopItems = new ArrayList<>();
+        private int lives;
+        private int gold;
+        private int turn;
+        private long solves;
+
+        private StubGameApi(Meter meter) {
+            super(null, null);
+            this.meter = meter;
+            ObjectMapper mapper = new ObjectMapper();
+            Random random = new Random(42);
+            for (int b = 0; b < boards.length; b++) {
+                List<Advertisement> board = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    String adId = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+                    String message = String.format(TEMPLATES[random.nextInt(TEMPLATES.length)], "Town " + i);
+                    String label = LABELS[random.nextInt(LABELS.length)];
+                    boolean encrypted = random.nextInt(10) < 3;
+                    board.add(Advertisement.builder()
+                            .adId(encrypted ? base64(adId) : adId)
+                            .message(encrypted ? base64(message) : message)
+                            .probability(encrypted ? base64(label) : label)
+                            .reward(5 + random.nextInt(100))
+                            .expiresIn(1 + random.nextInt(7))
+                            .encrypted(encrypted)
+                            .build());
+                }
+                try {
+                    boards[b] = mapper.writeValueAsBytes(board);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            for (ShopItem item : ShopItem.values()) {
+                shopItems.add(Item.builder().id(item.getId()).name(item.name()).cost(item.getListCost()).build());
+            }
+        }
+
+        private static String base64(String text) {
+            return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Game startGame() {
+            lives = 3;
+            gold = 0;
+            turn = 0;
+            return read(gameReader, GAME_JSON);
+        }
+
+        @Override
+        public List<Advertisement> getAdvertisements(String gameId) {
+            meter.enter(Stage.FETCH_DECODE);
+            List<Advertisement> board = read(boardReader, boards[turn % boards.length]);
+            meter.enter(Stage.SELECT);
+            return board;
+        }
+
+        @Override
+        public SolveResponse solveAdvertisement(String gameId, String adId) {
+            meter.enter(Stage.SOLVE_MAPPING);
+            solves++;
+            turn++;
+            SolveResponse response = read(solveReader, SOLVE_JSON);
+            boolean success = turn % 7 != 0;
+            if (success) {
+                gold += 30;
+            } else {
+                lives--;
+            }
+            if (turn >= TURNS_PER_GAME) {
+                lives = 0;
+            }
+            response.setSuccess(success);
+            response.setLives(lives);
+            response.setGold(gold);
+            response.setTurn(turn);
+            return response;
+        }
+
+        @Override
+        public List<Item> getShopItems(String gameId) {
+            return shopItems;
+        }
+
+        @Override
+        public Game buyItem(String gameId, String itemId) {
+            ShopItem item = ShopItem.fromId(itemId);
+            gold -= item.getListCost();
+            if (item == ShopItem.HEALING_POTION) {
+                lives++;
+            }
+            Game game = read(gameReader, GAME_JSON);
+            game.setLives(lives);
+            game.setGold(gold);
+            game.setTurn(turn);
+            return game;
+        }
+
+        @Override
+        public Reputation getReputation(String gameId) {
+            return new Reputation();
+        }
+
+        private static <T> T read(ObjectReader reader, byte[] json) {
+            try {
+                return reader.readValue(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class NoOpConsumer implements TurnEventConsumer {
+        @Override
+        public String getName() {
+            return "no-op";
+        }
+
+        @Override
+        public void onEvent(TurnEvent event, long sequence, boolean endOfBatch) {
+        }
+    }
+}
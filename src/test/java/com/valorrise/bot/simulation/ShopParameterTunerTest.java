@@ -0,0 +1,67 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShopParameterTunerTest {
+
+    private ShopParameterTuner tuner;
+    private ApiConfiguration.Shop baseline;
+
+    @BeforeEach
+    void setUp() {
+        tuner = new ShopParameterTuner(new SimulationParameters(), new ApiConfiguration());
+        baseline = new ApiConfiguration.Shop();
+        baseline.setMinLivesToBuy(3);
+        baseline.setMinGoldToBuy(50);
+    }
+
+    @Test
+    void tune_shouldHalveCandidatesAndGrowGamesEachRound() {
+        ShopParameterTuner.Result result = tuner.tune(baseline, 9, 3, 500, 4_500, 11L);
+
+        assertThat(result.getRounds()).isEqualTo(3);
+        assertThat(result.getGamesSimulated()).isEqualTo(9 * 500 + 3 * 1_500 + 4_500);
+        assertThat(result.getStats().getGames()).isEqualTo(4_500);
+        assertThat(result.getExpectedTurns()).isPositive()
+                .isLessThanOrEqualTo(new SimulationParameters().getMaxTurns());
+    }
+
+    @Test
+    void tune_shouldBeReproducibleForSameSeed() {
+        ShopParameterTuner.Result first = tuner.tune(baseline, 6, 2, 500, 2_000, 3L);
+        ShopParameterTuner.Result second = tuner.tune(baseline, 6, 2, 500, 2_000, 3L);
+
+        assertThat(second.getShop()).isEqualTo(first.getShop());
+        assertThat(second.getExpectedTurns()).isEqualTo(first.getExpectedTurns());
+    }
+
+    @Test
+    void tune_shouldRejectInvalidBudget() {
+        assertThatThrownBy(() -> tuner.tune(baseline, 9, 1, 500, 4_500, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tuner.tune(baseline, 9, 3, 5_000, 4_500, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void writeProfile_shouldWriteLoadableShopProperties(@TempDir Path dir) throws IOException {
+        ShopParameterTuner.Result result = tuner.tune(baseline, 1, 3, 500, 500, 5L);
+        Path file = dir.resolve("application-tuned.yaml");
+
+        tuner.writeProfile(result, file);
+
+        String yaml = Files.readString(file);
+        assertThat(yaml).contains("game:", "  shop:", "    min-lives-to-buy: 3", "    min-gold-to-buy: 50",
+                "    low-reputation: 5.0", "# Expected turns to a score of 1000");
+    }
+}
@@ -0,0 +1,218 @@
+package com.valorrise.bot.simulation;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valorrise.bot.events.TurnEvent;
+import com.valorrise.bot.events.TurnLogConsumer;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.model.domain.ProbabilityLabel;
+import com.valorrise.bot.model.domain.Reputation;
+import com.valorrise.bot.model.domain.ShopItem;
+import com.valorrise.bot.model.domain.TaskCategory;
+import com.valorrise.bot.model.domain.TurnRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SimulationCalibratorTest {
+
+    private static final int GAMBLE = ProbabilityLabel.GAMBLE.ordinal();
+    private static final int SURE_THING = ProbabilityLabel.SURE_THING.ordinal();
+
+    private SimulationCalibrator calibrator;
+    private SimulationParameters defaults;
+
+    @BeforeEach
+    void setUp() {
+        calibrator = new SimulationCalibrator(10);
+        defaults = new SimulationParameters();
+    }
+
+    @Test
+    void fit_withoutData_shouldKeepPrior() {
+        SimulationParameters fitted = calibrator.fit(defaults);
+
+        assertThat(fitted).isEqualTo(defaults).isNotSameAs(defaults);
+    }
+
+    @Test
+    void fit_shouldLearnBoardMixAndSuccessRatesFromJournal() {
+        for (int turn = 1; turn <= 500; turn++) {
+            calibrator.addTurn(turn("game-1", turn, true, 0, null));
+        }
+
+        SimulationParameters fitted = calibrator.fit(defaults);
+
+        assertThat(fitted.getAdsPerTurn()).isEqualTo(2);
+        assertThat(fitted.getMaxExpiresIn()).isEqualTo(4);
+        assertThat(fitted.getEncryptedShare()).isCloseTo(0.5, within(0.01));
+        assertThat(fitted.getMeanRewards()[GAMBLE]).isCloseTo(80, within(0.5));
+        assertThat(fitted.getLabelWeights()[GAMBLE]).isGreaterThan(fitted.getLabelWeights()[ProbabilityLabel.RISKY.ordinal()]);
+        // Every gamble succeeded, well above the 0.5 prior; sure things were never attempted
+        assertThat(fitted.getSuccessRates()[GAMBLE]).isGreaterThan(0.98);
+        assertThat(fitted.getSuccessRates()[SURE_THING]).isEqualTo(defaults.getSuccessRates()[SURE_THING]);
+    }
+
+    @Test
+    void fit_shouldLearnReputationEffectsFromObservations() {
+        // Every successful escort raises people by 2 and state by 1
+        int people = 0;
+        int state = 0;
+        for (int turn = 1; turn <= 400; turn++) {
+            Reputation observed = null;
+            if (turn % 5 == 0) {
+                observed = Reputation.builder().people(people).state(state).underworld(0).build();
+            }
+            calibrator.addTurn(turn("game-" + turn / 50, turn, true, 0, observed));
+            if (turn % 50 == 49) {
+                people = 0;
+                state = 0;
+            } else {
+                people += 2;
+                state += 1;
+            }
+        }
+
+        double[] escort = calibrator.fit(defaults).getReputationEffects()[TaskCategory.ESCORT.ordinal()];
+
+        assertThat(calibrator.getReputationObservations()).isPositive();
+        assertThat(escort[0]).isCloseTo(2, within(0.1));
+        assertThat(escort[1]).isCloseTo(1, within(0.1));
+        assertThat(escort[2]).isCloseTo(0, within(0.1));
+    }
+
+    @Test
+    void fit_shouldLearnUpgradeBonus() {
+        // Without upgrades half of the gambles succeed, with 500 gold of upgrades all of them do
+        for (int turn = 1; turn <= 2_000; turn++) {
+            calibrator.addTurn(turn("game-1", turn, turn % 2 == 0, 0, null));
+            calibrator.addTurn(turn("game-2", turn, true, 500, null));
+        }
+
+        SimulationParameters fitted = calibrator.fit(defaults);
+
+        assertThat(fitted.getSuccessRates()[GAMBLE]).isCloseTo(0.5, within(0.01));
+        assertThat(fitted.getUpgradeBonusPer100Gold()).isCloseTo(0.1, within(0.005));
+    }
+
+    @Test
+    void readJournal_shouldReadJsonLines(@TempDir Path dir) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Path journal = dir.resolve("turns.jsonl");
+        List<String> lines = new ArrayList<>();
+        for (int turn = 1; turn <= 3; turn++) {
+            lines.add(mapper.writeValueAsString(turn("game-1", turn, true, 0, null)));
+        }
+        Files.write(journal, lines);
+
+        calibrator.readJournal(journal);
+
+        assertThat(calibrator.getTurns()).isEqualTo(3);
+        assertThat(calibrator.getBoards()).isEqualTo(3);
+    }
+
+    @Test
+    void readLog_shouldFitPotionEffectAndReputationFromGameLog(@TempDir Path dir) throws IOException {
+        Path log = dir.resolve("game.log");
+        String prefix = "2025-05-28T22:18:16.511+03:00  INFO 3660 --- [ValorRise] [main] c.v.bot.service.GameService : ";
+        Files.write(log, List.of(
+                prefix + "🎮 New Adventure Begins! Game ID: JKDvWxh9, Lives: ❤️ 3, Gold: 💰 0",
+                prefix + "📜 Selected Task: 'Escort Liat Sherman to grassland in Millerville where they can meet with their long lost squirrel' (ID: ZmixOxOr)",
+                prefix + "🎯 Task 'Escort Liat Sherman' (ID: ZmixOxOr) Attempted! Success: ✅ Yes, Lives: ❤️ 2, Gold: 💰 108, Score: 🏆 108",
+                prefix + "🧪 Purchased Healing Potion! Lives: ❤️ 3, Gold: 💰 58",
+                prefix + "🧪 Purchased Healing Potion! Lives: ❤️ 3, Gold: 💰 58",
+                prefix + "📊 Reputation Check at Turn 2 for Game JKDvWxh9: People: 😊 1.0, State: 🏰 0.0, Underworld: 👹 0.0"));
+
+        calibrator.readLog(log);
+
+        assertThat(calibrator.getPotions()).isEqualTo(1);
+        assertThat(calibrator.getReputationObservations()).isEqualTo(1);
+        assertThat(calibrator.fit(defaults).getPotionLives()).isEqualTo(1);
+    }
+
+    @Test
+    void readLog_shouldReadTheTurnLogConsumersLines(@TempDir Path dir) throws IOException {
+        Logger turnLog = (Logger) LoggerFactory.getLogger(TurnLogConsumer.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        turnLog.addAppender(appender);
+        try {
+            TurnLogConsumer consumer = new TurnLogConsumer();
+            consumer.onEvent(turnEvent(0, 0, 1, 150, true), 0, false);
+            consumer.onEvent(turnEvent(2, ShopItem.GASOLINE.mask(), 3, 50, false), 1, true);
+        } finally {
+            turnLog.detachAppender(appender);
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("🎮 New Adventure Begins! Game ID: JKDvWxh9, Lives: ❤️ 3, Gold: 💰 0, Cohort: control");
+        appender.list.forEach(event -> lines.add(event.getFormattedMessage()));
+        Path log = dir.resolve("game.log");
+        Files.write(log, lines);
+
+        calibrator.readLog(log);
+
+        assertThat(calibrator.getPotions()).isEqualTo(2);
+        assertThat(calibrator.fit(defaults).getPotionLives()).isEqualTo(1);
+    }
+
+    private static TurnEvent turnEvent(int potionsBought, long upgradesBought, int livesAfterPurchases,
+                                       int goldAfterPurchases, boolean success) {
+        TurnEvent event = new TurnEvent();
+        event.setGameId("JKDvWxh9");
+        event.setAdId("ZmixOxOr");
+        event.setTask("Escort Liat Sherman to grassland in Millerville");
+        event.setPotionsBought(potionsBought);
+        event.setUpgradesBought(upgradesBought);
+        event.setLivesAfterPurchases(livesAfterPurchases);
+        event.setGoldAfterPurchases(goldAfterPurchases);
+        event.setSuccess(success);
+        event.setOutcome(success ? "You successfully escorted" : "You failed to escort");
+        event.setLives(livesAfterPurchases);
+        event.setGold(goldAfterPurchases);
+        return event;
+    }
+
+    @Test
+    void calibratedParameters_shouldRoundTripThroughParameterFile(@TempDir Path dir) throws IOException {
+        for (int turn = 1; turn <= 50; turn++) {
+            calibrator.addTurn(turn("game-1", turn, turn % 3 != 0, 0, null));
+        }
+        SimulationParameters fitted = calibrator.fit(defaults);
+        Path file = dir.resolve("simulation-parameters.json");
+
+        fitted.save(file);
+
+        assertThat(SimulationParameters.load(file)).isEqualTo(fitted);
+    }
+
+    private static TurnRecord turn(String gameId, int turn, boolean success, int upgradeGold, Reputation observed) {
+        Advertisement gamble = Advertisement.builder().adId("AD" + turn).reward(80).expiresIn(4).encrypted(true)
+                .probability("Gamble").message("Escort Ige Wannell to meadow in Newtown").category(TaskCategory.ESCORT).build();
+        Advertisement other = Advertisement.builder().adId("OTHER" + turn).reward(20).expiresIn(1)
+                .probability("Sure thing").message("Steal bucket from Valerian Hermanson").build();
+        return TurnRecord.builder()
+                .gameId(gameId)
+                .turn(turn)
+                .livesBefore(3)
+                .livesAfterPurchases(3)
+                .purchases(List.of())
+                .upgradeGold(upgradeGold)
+                .observedReputation(observed)
+                .board(List.of(gamble, other))
+                .chosenAdId(gamble.getAdId())
+                .success(success)
+                .build();
+    }
+}
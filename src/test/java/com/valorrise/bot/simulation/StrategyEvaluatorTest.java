@@ -0,0 +1,67 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StrategyEvaluatorTest {
+
+    private StrategyEvaluator evaluator;
+    private ApiConfiguration.Shop strategy;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new StrategyEvaluator(new SimulationParameters(), new ApiConfiguration());
+        strategy = new ApiConfiguration.Shop();
+        strategy.setMinLivesToBuy(3);
+        strategy.setMinGoldToBuy(50);
+    }
+
+    @Test
+    void evaluate_shouldBeReproducibleForSameSeed() {
+        EvaluationStats first = evaluator.evaluate(strategy, 10_000, 7L);
+        EvaluationStats second = evaluator.evaluate(strategy, 10_000, 7L);
+
+        assertThat(first.getGames()).isEqualTo(10_000);
+        assertThat(second.getMeanScore()).isEqualTo(first.getMeanScore());
+        assertThat(second.getGameOverRate()).isEqualTo(first.getGameOverRate());
+        assertThat(second.getMeanTurnsToTarget()).isEqualTo(first.getMeanTurnsToTarget());
+    }
+
+    @Test
+    void evaluate_shouldReportOutcomesWithConfidenceIntervals() {
+        EvaluationStats stats = evaluator.evaluate(strategy, 5_000, 1L);
+
+        assertThat(stats.getMeanScore()).isPositive();
+        assertThat(stats.getScoreCi95()).isPositive().isLessThan(stats.getMeanScore());
+        assertThat(stats.getGameOverRate()).isBetween(0.0, 1.0);
+        assertThat(stats.getGameOverRate() + stats.getTargetRate()).isLessThanOrEqualTo(1.0);
+    }
+
+    @Test
+    void evaluate_shouldDistinguishStrategies() {
+        ApiConfiguration.Shop neverHeal = new ApiConfiguration.Shop();
+        neverHeal.setMinLivesToBuy(1);
+        neverHeal.setMinGoldToBuy(50);
+
+        EvaluationStats healing = evaluator.evaluate(strategy, 5_000, 3L);
+        EvaluationStats reckless = evaluator.evaluate(neverHeal, 5_000, 3L);
+
+        assertThat(reckless.getGameOverRate()).isGreaterThan(healing.getGameOverRate());
+    }
+
+    @Test
+    void evaluate_shouldTakeFewerExpectedTurnsToTheTargetWhenHealing() {
+        ApiConfiguration.Shop neverHeal = new ApiConfiguration.Shop();
+        neverHeal.setMinLivesToBuy(1);
+        neverHeal.setMinGoldToBuy(50);
+        ShopParameterTuner tuner = new ShopParameterTuner(new SimulationParameters(), new ApiConfiguration());
+
+        EvaluationStats healing = evaluator.evaluate(strategy, 5_000, 2L);
+        EvaluationStats reckless = evaluator.evaluate(neverHeal, 5_000, 2L);
+
+        assertThat(tuner.expectedTurns(healing)).isLessThan(tuner.expectedTurns(reckless));
+    }
+}
@@ -0,0 +1,89 @@
+package com.valorrise.bot.simulation;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.model.domain.Advertisement;
+import com.valorrise.bot.service.PurchasePlanner;
+import com.valorrise.bot.service.SuccessRateModel;
+import com.valorrise.bot.strategy.ExpectedRewardTaskStrategy;
+import com.valorrise.bot.strategy.SafestTaskStrategy;
+import com.valorrise.bot.strategy.StrategyRegistry;
+import com.valorrise.bot.strategy.TaskStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class StrategyTournamentTest {
+
+    private StrategyTournament tournament;
+    private StrategyRegistry strategyRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ApiConfiguration config = new ApiConfiguration();
+        config.setShop(new ApiConfiguration.Shop());
+        SuccessRateModel successRateModel = SuccessRateModel.inMemory(config);
+        // Chases the biggest reward whatever the odds, so it keeps losing lives
+        TaskStrategy greedy = new TaskStrategy() {
+            @Override
+            public String getName() {
+                return "greedy";
+            }
+
+            @Override
+            public double score(Advertisement ad) {
+                return ad.getReward();
+            }
+        };
+        strategyRegistry = new StrategyRegistry(
+                List.of(new ExpectedRewardTaskStrategy(successRateModel), new SafestTaskStrategy(successRateModel), greedy),
+                List.of(new PurchasePlanner(config)), config);
+        tournament = new StrategyTournament(new SimulationParameters(), config);
+    }
+
+    @Test
+    void run_shouldStopEarlyWhenWinnerIsClear() {
+        StrategyRegistry.Cohort safest = strategyRegistry.fixed("safest", SafestTaskStrategy.NAME, null);
+        StrategyRegistry.Cohort greedy = strategyRegistry.fixed("greedy", "greedy", null);
+
+        TournamentResult result = tournament.run(List.of(greedy, safest), 0.95, 500, 50_000, 5L);
+
+        assertThat(result.isDecided()).isTrue();
+        assertThat(result.getGamesPerStrategy()).isLessThan(50_000);
+        assertThat(result.getRanking().get(0).getStrategy()).isSameAs(safest);
+        assertThat(result.getRanking().get(0).getTurnsBehindLeader()).isZero();
+        assertThat(result.getRanking().get(1).getTurnsBehindLeader()).isPositive();
+        assertThat(result.getRanking().get(1).getEffectSize()).isPositive();
+    }
+
+    @Test
+    void run_shouldNotDeclareWinnerBetweenIdenticalStrategies() {
+        TournamentResult result = tournament.run(List.of(pair("a"), pair("b")), 0.95, 500, 2_000, 5L);
+
+        assertThat(result.isDecided()).isFalse();
+        assertThat(result.getGamesPerStrategy()).isEqualTo(2_000);
+        // Common random numbers: identical strategies play identical games
+        assertThat(result.getRanking().get(1).getTurnsBehindLeader()).isZero();
+    }
+
+    @Test
+    void run_shouldRejectSingleStrategy() {
+        assertThatThrownBy(() -> tournament.run(List.of(pair("a")), 0.95, 500, 2_000, 5L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void inverseNormal_shouldMatchKnownQuantiles() {
+        assertThat(StrategyTournament.inverseNormal(0.5)).isCloseTo(0.0, within(1e-9));
+        assertThat(StrategyTournament.inverseNormal(0.975)).isCloseTo(1.959964, within(1e-6));
+        assertThat(StrategyTournament.inverseNormal(0.001)).isCloseTo(-3.090232, within(1e-6));
+    }
+
+    private StrategyRegistry.Cohort pair(String name) {
+        return strategyRegistry.fixed(name, ExpectedRewardTaskStrategy.NAME, PurchasePlanner.NAME);
+    }
+}
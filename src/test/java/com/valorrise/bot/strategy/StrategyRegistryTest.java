@@ -0,0 +1,127 @@
+package com.valorrise.bot.strategy;
+
+import com.valorrise.bot.configuration.ApiConfiguration;
+import com.valorrise.bot.service.PurchasePlanner;
+import com.valorrise.bot.service.SuccessRateModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StrategyRegistryTest {
+
+    private ApiConfiguration config;
+    private List<TaskStrategy> taskStrategies;
+    private List<PurchaseStrategy> purchaseStrategies;
+
+    @BeforeEach
+    void setUp() {
+        ApiConfiguration.Shop shop = new ApiConfiguration.Shop();
+        shop.setMinLivesToBuy(3);
+        shop.setMinGoldToBuy(50);
+        config = new ApiConfiguration();
+        config.setShop(shop);
+
+        SuccessRateModel model = new SuccessRateModel(new ApiConfiguration());
+        taskStrategies = List.of(new ExpectedRewardTaskStrategy(model), new SafestTaskStrategy(model));
+        purchaseStrategies = List.of(new PurchasePlanner(shop), new PotionsOnlyPurchaseStrategy(shop));
+    }
+
+    @Test
+    void shouldBuildDefaultCohortFromConfiguration() {
+        config.getStrategy().setTask(SafestTaskStrategy.NAME);
+
+        StrategyRegistry registry = new StrategyRegistry(taskStrategies, purchaseStrategies, config);
+
+        assertThat(registry.getTaskStrategyNames()).containsExactly("expected-reward", "safest");
+        assertThat(registry.getPurchaseStrategyNames()).containsExactly("planner", "potions-only");
+        StrategyRegistry.Cohort cohort = registry.assign("any-game");
+        assertThat(cohort.getName()).isEqualTo(StrategyRegistry.DEFAULT_COHORT);
+        assertThat(cohort.getTaskStrategy().getName()).isEqualTo("safest");
+        assertThat(cohort.getPurchaseStrategy().getName()).isEqualTo("planner");
+    }
+
+    @Test
+    void shouldFailFastOnUnknownConfiguredStrategy() {
+        config.getStrategy().setPurchase("hoarder");
+
+        assertThatThrownBy(() -> new StrategyRegistry(taskStrategies, purchaseStrategies, config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("hoarder");
+    }
+
+    @Test
+    void shouldSplitGamesBetweenCohortsByWeight() {
+        config.getStrategy().getCohorts().add(cohort("safe", SafestTaskStrategy.NAME, 3));
+        StrategyRegistry registry = new StrategyRegistry(taskStrategies, purchaseStrategies, config);
+
+        int safe = 0;
+        for (int i = 0; i < 4_000; i++) {
+            if (registry.assign("game-" + i).getName().equals("safe")) {
+                safe++;
+            }
+        }
+
+        assertThat(safe).isBetween(2_800, 3_200);
+        assertThat(registry.assign("game-7")).isSameAs(registry.assign("game-7"));
+    }
+
+    @Test
+    void shouldSkipCohortsWithoutWeight() {
+        config.getStrategy().setWeight(0);
+        config.getStrategy().getCohorts().add(cohort("safe", SafestTaskStrategy.NAME, 1));
+        StrategyRegistry registry = new StrategyRegistry(taskStrategies, purchaseStrategies, config);
+
+        Set<String> cohorts = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            cohorts.add(registry.assign("game-" + i).getName());
+        }
+
+        assertThat(cohorts).containsExactly("safe");
+    }
+
+    @Test
+    void swap_shouldApplyToNewAssignmentsOnly() {
+        StrategyRegistry registry = new StrategyRegistry(taskStrategies, purchaseStrategies, config);
+        StrategyRegistry.Cohort inFlight = registry.assign("game-1");
+
+        StrategyRegistry.Cohort swapped = registry.swap(StrategyRegistry.DEFAULT_COHORT, null, PotionsOnlyPurchaseStrategy.NAME);
+
+        assertThat(swapped.getTaskStrategy().getName()).isEqualTo("expected-reward");
+        assertThat(swapped.getPurchaseStrategy().getName()).isEqualTo("potions-only");
+        assertThat(registry.assign("game-2")).isSameAs(swapped);
+        assertThat(inFlight.getPurchaseStrategy().getName()).isEqualTo("planner");
+    }
+
+    @Test
+    void swap_shouldRejectUnknownNames() {
+        StrategyRegistry registry = new StrategyRegistry(taskStrategies, purchaseStrategies, config);
+
+        assertThatThrownBy(() -> registry.swap("canary", "safest", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.swap(StrategyRegistry.DEFAULT_COHORT, "random", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.getCohorts().get(0).getTaskStrategy().getName()).isEqualTo("expected-reward");
+    }
+
+    @Test
+    void shouldRejectDuplicateStrategyNames() {
+        List<TaskStrategy> duplicates = List.of(taskStrategies.get(0), taskStrategies.get(0));
+
+        assertThatThrownBy(() -> new StrategyRegistry(duplicates, purchaseStrategies, config))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ApiConfiguration.Cohort cohort(String name, String task, int weight) {
+        ApiConfiguration.Cohort cohort = new ApiConfiguration.Cohort();
+        cohort.setName(name);
+        cohort.setTask(task);
+        cohort.setWeight(weight);
+        return cohort;
+    }
+}